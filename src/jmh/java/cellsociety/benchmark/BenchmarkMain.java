@@ -0,0 +1,50 @@
+package cellsociety.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Runs the benchmarks with the GC profiler, so every result
+ * includes allocation rates next to throughput, and writes the results as JSON to
+ * {@value #RESULT_FILE} for regression tracking. Standard JMH command line options, such as
+ * {@code -p size=64} or {@code -rff other.json}, can narrow the run or override the result
+ * file and format.
+ *
+ * @author Tatum McKinnis
+ */
+public class BenchmarkMain {
+
+  private static final String RESULT_FILE = "target/jmh-result.json";
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args JMH command line options
+   * @throws CommandLineOptionException if the options cannot be parsed
+   * @throws RunnerException            if a benchmark fails
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    OptionsBuilder builder = new OptionsBuilder();
+    if (commandLine.getIncludes().isEmpty()) {
+      builder.include(SimulationStepBenchmark.class.getSimpleName());
+    }
+    if (!commandLine.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      builder.result(RESULT_FILE);
+    }
+    Options options = builder
+        .addProfiler(GCProfiler.class)
+        .parent(commandLine)
+        .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,158 @@
+package cellsociety.benchmark;
+
+import cellsociety.controller.BatchRunner;
+import cellsociety.controller.SimulationConfig;
+import cellsociety.controller.SimulationController.SimulationType;
+import cellsociety.model.Simulation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link Simulation#step()} for every {@link SimulationType}, over grid sizes, initial
+ * densities, edge strategies and neighborhoods.
+ * <p>
+ * Every simulation type is measured by default, since JMH takes the values of an enum parameter
+ * from the enum itself, but only at one density, edge strategy and neighborhood, which keeps the
+ * default run to two forks per type. The full matrix, twelve forks per type, is opt-in:
+ * </p>
+ * <pre>
+ * java -jar target/benchmarks.jar -p density=0.2,0.5 -p edge=BOUNDED,TOROIDAL,MIRROR \
+ *     -p neighborhood=MOORE,VON_NEUMANN
+ * </pre>
+ * <p>
+ * Each iteration starts from a freshly built simulation, so grids that grow under the infinite
+ * edge strategy or simulations that die out do not skew later iterations. Initial states are drawn
+ * from a fixed seed, and the same seed is passed to the simulation, so runs are comparable across
+ * builds. The density is the fraction of cells that start in a state other than 0.
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationStepBenchmark {
+
+  private static final long SEED = 42;
+
+  @Param
+  private SimulationType type;
+
+  @Param({"64", "256"})
+  private int size;
+
+  @Param({"0.2"})
+  private double density;
+
+  // BOUNDED and MIRROR can be selected with -p edge=...; so can INFINITE, though most
+  // simulations cache the grid size and cannot yet step while an InfiniteGrid expands under them.
+  @Param({"TOROIDAL"})
+  private String edge;
+
+  @Param({"MOORE"})
+  private String neighborhood;
+
+  private Simulation simulation;
+
+  /**
+   * Builds a new simulation for the current parameter combination.
+   */
+  @Setup(Level.Iteration)
+  public void buildSimulation() {
+    SimulationConfig config = new SimulationConfig(type.getDisplayName(),
+        "Benchmark", "Benchmark", "Benchmark", size, size,
+        initialStates(stateCount(type)), parameters(type), "Rectangle");
+    simulation = BatchRunner.buildSimulation(config, edge, neighborhood);
+  }
+
+  /**
+   * Advances the simulation by one step.
+   *
+   * @param blackhole consumes the state counts so the step cannot be optimized away
+   */
+  @Benchmark
+  public void step(Blackhole blackhole) {
+    simulation.step();
+    blackhole.consume(simulation.getStateCounts());
+  }
+
+  /**
+   * Draws the initial states: each cell is non-zero with probability {@link #density}, in which
+   * case its state is chosen uniformly from the type's non-zero states.
+   *
+   * @param stateCount number of states the simulation accepts in its initial grid
+   * @return the initial state of every cell
+   */
+  private int[] initialStates(int stateCount) {
+    Random random = new Random(SEED);
+    int[] states = new int[size * size];
+    for (int i = 0; i < states.length; i++) {
+      if (random.nextDouble() < density) {
+        states[i] = 1 + random.nextInt(stateCount - 1);
+      }
+    }
+    return states;
+  }
+
+  /**
+   * Gets the number of states each simulation type accepts in its initial grid.
+   *
+   * @param simulationType the simulation type
+   * @return the number of valid initial states, starting at 0
+   */
+  private static int stateCount(SimulationType simulationType) {
+    return switch (simulationType) {
+      case GAME_OF_LIFE, RULES_GAME_OF_LIFE -> 2;
+      case ANT -> 4;
+      case LANGTON_LOOP, TEMPESTI_LOOP -> 8;
+      default -> 3;
+    };
+  }
+
+  /**
+   * Gets the parameters each simulation type needs, with typical values.
+   *
+   * @param simulationType the simulation type
+   * @return the simulation parameters, including the seed
+   */
+  private static Map<String, Double> parameters(SimulationType simulationType) {
+    Map<String, Double> parameters = new HashMap<>();
+    parameters.put(Simulation.SEED_PARAMETER, (double) SEED);
+    switch (simulationType) {
+      case SPREADING_FIRE -> {
+        parameters.put("fireProb", 0.01);
+        parameters.put("treeProb", 0.05);
+      }
+      case PERCOLATION -> parameters.put("percolationProb", 0.5);
+      case SCHELLING -> parameters.put("satisfaction", 0.5);
+      case WATOR_WORLD -> {
+        parameters.put("fishBreedTime", 3.0);
+        parameters.put("sharkBreedTime", 10.0);
+        parameters.put("sharkInitialEnergy", 5.0);
+        parameters.put("sharkEnergyGain", 2.0);
+      }
+      case ANT -> parameters.put("numAnts", 1.0);
+      default -> {
+      }
+    }
+    return parameters;
+  }
+}
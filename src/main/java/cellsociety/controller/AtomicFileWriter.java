@@ -0,0 +1,119 @@
+package cellsociety.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Writes files so that readers never see a partly written file: content is streamed to a
+ * temporary file in the target's directory through a buffered {@link FileChannel}, or written to
+ * the channel directly, forced to disk, and then renamed over the target. If writing fails, the
+ * target is left untouched.
+ *
+ * @author angelapredolac
+ */
+final class AtomicFileWriter {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private AtomicFileWriter() {
+  }
+
+  /**
+   * Produces the content of a file.
+   */
+  @FunctionalInterface
+  interface ContentWriter {
+
+    /**
+     * Writes the content to a stream. The stream is buffered and is closed by the caller.
+     *
+     * @param out the stream to write to
+     * @throws IOException        if the stream cannot be written
+     * @throws XMLStreamException if XML content cannot be produced
+     */
+    void writeTo(OutputStream out) throws IOException, XMLStreamException;
+  }
+
+  /**
+   * Produces the content of a file that is written at explicit positions or memory-mapped.
+   */
+  @FunctionalInterface
+  interface ChannelWriter {
+
+    /**
+     * Writes the content to a channel open for reading and writing. The channel is forced and
+     * closed by the caller.
+     *
+     * @param channel the temporary file
+     * @throws IOException if the channel cannot be written
+     */
+    void writeTo(FileChannel channel) throws IOException;
+  }
+
+  /**
+   * Writes a file atomically.
+   *
+   * @param target  the file to create or replace
+   * @param content produces the file's content
+   * @throws IOException if the content cannot be written or the file cannot be replaced
+   */
+  static void write(Path target, ContentWriter content) throws IOException {
+    writeChannel(target, channel -> {
+      OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+      try {
+        content.writeTo(out);
+      } catch (XMLStreamException e) {
+        throw new IOException("Could not write XML: " + e.getMessage(), e);
+      }
+      out.flush();
+    });
+  }
+
+  /**
+   * Writes a file atomically through a channel.
+   *
+   * @param target  the file to create or replace
+   * @param content produces the file's content
+   * @throws IOException if the content cannot be written or the file cannot be replaced
+   */
+  static void writeChannel(Path target, ChannelWriter content) throws IOException {
+    Path absolute = target.toAbsolutePath();
+    Path temporary = Files.createTempFile(absolute.getParent(),
+        absolute.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        content.writeTo(channel);
+        channel.force(true);
+      }
+      moveIntoPlace(temporary, absolute);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Renames the finished temporary file over the target, atomically where the file system allows.
+   *
+   * @param temporary the finished file
+   * @param target    the file to replace
+   * @throws IOException if the file cannot be moved
+   */
+  private static void moveIntoPlace(Path temporary, Path target) throws IOException {
+    try {
+      Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
@@ -3,7 +3,6 @@ package cellsociety.controller;
 import cellsociety.model.Grid;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 
 /**
@@ -16,14 +15,15 @@ import java.nio.file.Paths;
 public abstract class BaseFileWriter implements SimulationWriter {
 
     /**
-     * Writes the given content to the specified file path.
+     * Writes the given content to the specified file path, replacing the file only once the
+     * content has been written in full.
      *
      * @param filePath The path to the file where content should be written.
      * @param content  The content to write to the file.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
     protected void writeToFile(String filePath, String content) throws IOException {
-        Files.write(Paths.get(filePath), content.getBytes());
+        AtomicFileWriter.write(Paths.get(filePath), out -> out.write(content.getBytes()));
     }
 
     /**
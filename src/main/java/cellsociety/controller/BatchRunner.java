@@ -0,0 +1,323 @@
+package cellsociety.controller;
+
+import cellsociety.model.EdgeStrategyFactory;
+import cellsociety.model.Grid;
+import cellsociety.model.InfiniteGrid;
+import cellsociety.model.NeighborhoodFactory;
+import cellsociety.model.Simulation;
+import cellsociety.model.StateInterface;
+import cellsociety.model.state.MockState;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs simulations without a user interface. A configuration file is loaded through
+ * {@link XMLParser}, the model is built with {@link SimulationFactory}, and the simulation is
+ * stepped as fast as possible while its state counts, and optionally full grid snapshots, are
+ * streamed to files. Nothing here touches the JavaFX toolkit, so it can run on headless machines.
+ * <p>
+ * For a run named {@code name} the following files are written to the output directory:
+ * <ul>
+ *   <li>{@code name-counts.csv}: one {@code step,state,count} line per state and step, starting
+ *   with the initial grid at step 0</li>
+ *   <li>{@code name-step-NNNNNN.txt}: the numeric value of every cell, one grid row per line, every
+ *   {@code snapshotInterval} steps when snapshots are enabled</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Usage:
+ * {@code BatchRunner [--steps N] [--output DIR] [--snapshot-every K] [--edge TYPE]
+ * [--neighborhood TYPE] config.xml...}
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public class BatchRunner {
+
+  /**
+   * Number of steps run when none is given.
+   */
+  public static final int DEFAULT_STEPS = 100;
+
+  private static final Logger LOG = LogManager.getLogger(BatchRunner.class);
+  private static final String USAGE = "Usage: BatchRunner [--steps N] [--output DIR] "
+      + "[--snapshot-every K] [--edge TYPE] [--neighborhood TYPE] config.xml...";
+  private static final String INFINITE_EDGE = "INFINITE";
+  private static final String COUNTS_HEADER = "step,state,count";
+  private static final int EXIT_USAGE = 2;
+  private static final int EXIT_FAILURE = 1;
+
+  private final int steps;
+  private final int snapshotInterval;
+  private final String edgeType;
+  private final String neighborhoodType;
+
+  /**
+   * Creates a runner.
+   *
+   * @param steps            number of steps to run each simulation
+   * @param snapshotInterval steps between grid snapshots, or 0 for no snapshots
+   * @param edgeType         edge strategy type for {@link EdgeStrategyFactory}, or null for the
+   *                         grid's default
+   * @param neighborhoodType neighborhood type for {@link NeighborhoodFactory}, or null for the
+   *                         grid's default
+   * @throws IllegalArgumentException if the step count or snapshot interval is negative
+   */
+  public BatchRunner(int steps, int snapshotInterval, String edgeType, String neighborhoodType) {
+    if (steps < 0 || snapshotInterval < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid batch settings: steps=%d, snapshotInterval=%d", steps, snapshotInterval));
+    }
+    this.steps = steps;
+    this.snapshotInterval = snapshotInterval;
+    this.edgeType = edgeType;
+    this.neighborhoodType = neighborhoodType;
+  }
+
+  /**
+   * Builds a simulation and its grid from a configuration, the same way
+   * {@link SimulationEngine#initializeSimulation} does, without any view. As in the controller,
+   * the infinite edge type is backed by an {@link InfiniteGrid} that expands as needed.
+   *
+   * @param config           the parsed configuration
+   * @param edgeType         edge strategy type, or null to keep the grid's default
+   * @param neighborhoodType neighborhood type, or null to keep the grid's default
+   * @return the new simulation
+   */
+  public static Simulation buildSimulation(SimulationConfig config, String edgeType,
+      String neighborhoodType) {
+    Grid grid;
+    if (INFINITE_EDGE.equalsIgnoreCase(edgeType)) {
+      grid = new InfiniteGrid(config.getWidth(), config.getHeight(), MockState.STATE_TWO);
+    } else {
+      grid = new Grid(config.getWidth(), config.getHeight(), MockState.STATE_TWO);
+    }
+    if (edgeType != null && !INFINITE_EDGE.equalsIgnoreCase(edgeType)) {
+      grid.setEdgeStrategy(EdgeStrategyFactory.createEdgeStrategy(edgeType));
+    }
+    if (neighborhoodType != null) {
+      grid.setNeighborhoodStrategy(NeighborhoodFactory.createNeighborhoodStrategy(
+          neighborhoodType));
+    }
+    return SimulationFactory.createSimulation(config.getType(), config, grid);
+  }
+
+  /**
+   * Parses a configuration file and runs it.
+   *
+   * @param configPath      path of the XML configuration file
+   * @param outputDirectory directory the result files are written to
+   * @return the run's result
+   * @throws ConfigurationException if the configuration cannot be parsed
+   * @throws IOException            if a result file cannot be written
+   */
+  public RunResult run(Path configPath, Path outputDirectory)
+      throws ConfigurationException, IOException {
+    SimulationConfig config = new XMLParser().parseXMLFile(configPath.toString());
+    return run(config, outputDirectory, runName(configPath));
+  }
+
+  /**
+   * Runs a configuration for the configured number of steps, streaming its counts and snapshots.
+   *
+   * @param config          the parsed configuration
+   * @param outputDirectory directory the result files are written to
+   * @param name            prefix of the result files
+   * @return the run's result
+   * @throws IOException if a result file cannot be written
+   */
+  public RunResult run(SimulationConfig config, Path outputDirectory, String name)
+      throws IOException {
+    Files.createDirectories(outputDirectory);
+    Simulation simulation = buildSimulation(config, edgeType, neighborhoodType);
+    long start = System.nanoTime();
+    try (BufferedWriter counts = Files.newBufferedWriter(
+        outputDirectory.resolve(name + "-counts.csv"))) {
+      counts.write(COUNTS_HEADER);
+      counts.newLine();
+      writeCounts(counts, 0, simulation.getStateCounts());
+      writeSnapshotIfDue(simulation, outputDirectory, name, 0);
+      for (int step = 1; step <= steps; step++) {
+        simulation.step();
+        writeCounts(counts, step, simulation.getStateCounts());
+        writeSnapshotIfDue(simulation, outputDirectory, name, step);
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    return new RunResult(name, steps, elapsed, labelCounts(simulation.getStateCounts()));
+  }
+
+  /**
+   * The outcome of one run.
+   *
+   * @param name         the run's name
+   * @param steps        number of steps run
+   * @param elapsedNanos wall-clock time spent stepping and writing results
+   * @param finalCounts  state counts after the last step, keyed by state value
+   */
+  public record RunResult(String name, int steps, long elapsedNanos,
+                          Map<String, Double> finalCounts) {
+
+  }
+
+  /**
+   * Appends one step's state counts to the counts file.
+   *
+   * @param writer      the counts file
+   * @param step        the step number
+   * @param stateCounts the counts to write
+   * @throws IOException if the file cannot be written
+   */
+  private void writeCounts(BufferedWriter writer, int step,
+      Map<StateInterface, Double> stateCounts) throws IOException {
+    for (Map.Entry<String, Double> entry : labelCounts(stateCounts).entrySet()) {
+      writer.write(step + "," + csvField(entry.getKey()) + ","
+          + entry.getValue().longValue());
+      writer.newLine();
+    }
+  }
+
+  /**
+   * Writes the grid's numeric cell values if a snapshot is due at this step.
+   *
+   * @param simulation      the simulation
+   * @param outputDirectory directory the snapshot is written to
+   * @param name            prefix of the snapshot file
+   * @param step            the step number
+   * @throws IOException if the file cannot be written
+   */
+  private void writeSnapshotIfDue(Simulation simulation, Path outputDirectory, String name,
+      int step) throws IOException {
+    if (snapshotInterval == 0 || step % snapshotInterval != 0) {
+      return;
+    }
+    Grid grid = simulation.getGrid();
+    Path file = outputDirectory.resolve(String.format("%s-step-%06d.txt", name, step));
+    try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+      StringBuilder line = new StringBuilder();
+      for (int r = 0; r < grid.getRows(); r++) {
+        line.setLength(0);
+        for (int c = 0; c < grid.getCols(); c++) {
+          if (c > 0) {
+            line.append(' ');
+          }
+          line.append(grid.getCell(r, c).getCurrentState().getNumericValue());
+        }
+        writer.write(line.toString());
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Keys state counts by their state values, summing states that share a value.
+   *
+   * @param stateCounts counts keyed by state
+   * @return counts keyed by state value, in the iteration order of the input
+   */
+  static Map<String, Double> labelCounts(Map<StateInterface, Double> stateCounts) {
+    Map<String, Double> labeled = new LinkedHashMap<>();
+    for (Map.Entry<StateInterface, Double> entry : stateCounts.entrySet()) {
+      labeled.merge(entry.getKey().getStateValue(), entry.getValue(), Double::sum);
+    }
+    return labeled;
+  }
+
+  /**
+   * Quotes a CSV field if it contains a separator, quote or line break.
+   *
+   * @param value the raw value
+   * @return the value as a CSV field
+   */
+  static String csvField(String value) {
+    if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+  /**
+   * Derives a run name from a configuration file name by dropping its extension.
+   *
+   * @param configPath the configuration file
+   * @return the run name
+   */
+  static String runName(Path configPath) {
+    String fileName = configPath.getFileName().toString();
+    int dot = fileName.lastIndexOf('.');
+    return dot > 0 ? fileName.substring(0, dot) : fileName;
+  }
+
+  /**
+   * Runs every configuration given on the command line.
+   *
+   * @param args options followed by configuration file paths
+   */
+  public static void main(String[] args) {
+    int steps = DEFAULT_STEPS;
+    int snapshotInterval = 0;
+    Path output = Path.of("batch-output");
+    String edge = null;
+    String neighborhood = null;
+    List<Path> configs = new ArrayList<>();
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--steps" -> steps = Integer.parseInt(optionValue(args, ++i));
+          case "--output" -> output = Path.of(optionValue(args, ++i));
+          case "--snapshot-every" -> snapshotInterval = Integer.parseInt(optionValue(args, ++i));
+          case "--edge" -> edge = optionValue(args, ++i);
+          case "--neighborhood" -> neighborhood = optionValue(args, ++i);
+          default -> configs.add(Path.of(args[i]));
+        }
+      }
+      if (configs.isEmpty()) {
+        throw new IllegalArgumentException("No configuration files given");
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(EXIT_USAGE);
+      return;
+    }
+
+    BatchRunner runner = new BatchRunner(steps, snapshotInterval, edge, neighborhood);
+    int failures = 0;
+    for (Path config : configs) {
+      try {
+        RunResult result = runner.run(config, output);
+        LOG.info("{}: {} steps in {} ms", result.name(), result.steps(),
+            result.elapsedNanos() / 1_000_000);
+      } catch (ConfigurationException | IOException | RuntimeException e) {
+        LOG.error("Failed to run {}: {}", config, e.getMessage());
+        failures++;
+      }
+    }
+    if (failures > 0) {
+      System.exit(EXIT_FAILURE);
+    }
+  }
+
+  /**
+   * Reads the value following a command line option.
+   *
+   * @param args  the command line
+   * @param index position of the value
+   * @return the value
+   * @throws IllegalArgumentException if the option has no value
+   */
+  static String optionValue(String[] args, int index) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+    }
+    return args[index];
+  }
+}
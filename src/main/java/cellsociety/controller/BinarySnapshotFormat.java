@@ -0,0 +1,91 @@
+package cellsociety.controller;
+
+/**
+ * Constants and layout of the binary grid snapshot format, written by
+ * {@link BinarySnapshotWriter} and read by {@link BinarySnapshotParser}. A snapshot holds the same
+ * information as an XML configuration file, with the cell states bit-packed instead of written as
+ * text, so large grids are saved and loaded in a fraction of the time and space.
+ * <p>
+ * All numbers are big-endian. The file is laid out as:
+ * <pre>
+ *   int     magic, {@value #MAGIC} ("CSNP")
+ *   short   format version, {@value #VERSION}
+ *   short   flags; bit 0 set if the cell payload is Deflate-compressed
+ *   int     rows
+ *   int     columns
+ *   byte    bits per cell code
+ *   int     palette size, followed by that many ints: the numeric state values, where a cell's
+ *           code is the index of its state value in the palette
+ *   string  type, title, author, description and tiling, each as an int byte length (-1 for
+ *           null) followed by UTF-8 bytes
+ *   int     parameter count, followed by that many (string name, double value) pairs
+ *   long    payload length in bytes, followed by the payload
+ * </pre>
+ * The uncompressed payload holds the codes of all cells in row-major order, each in exactly
+ * the palette's bit width, packed from the most significant bit of each byte; the last byte is
+ * padded with zero bits.
+ * </p>
+ *
+ * @author angelapredolac
+ */
+final class BinarySnapshotFormat {
+
+  /**
+   * File name extension of binary snapshots.
+   */
+  static final String EXTENSION = ".cellsnap";
+  /**
+   * First four bytes of every snapshot.
+   */
+  static final int MAGIC = 0x43534E50;
+  /**
+   * Version of the layout written by this release.
+   */
+  static final short VERSION = 1;
+  /**
+   * Flag set when the payload is Deflate-compressed.
+   */
+  static final short FLAG_DEFLATE = 1;
+  /**
+   * Byte length written for a null string.
+   */
+  static final int NULL_STRING = -1;
+  /**
+   * Size of the buffers data is compressed and decompressed through.
+   */
+  static final int CHUNK_SIZE = 1 << 16;
+
+  private BinarySnapshotFormat() {
+  }
+
+  /**
+   * Gets the number of bits needed to tell a number of states apart.
+   *
+   * @param paletteSize number of distinct states
+   * @return the bits per cell code, at least 1
+   */
+  static int bitsPerCell(int paletteSize) {
+    return Math.max(1, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+  }
+
+  /**
+   * Gets the size of the uncompressed payload.
+   *
+   * @param cells       number of cells
+   * @param bitsPerCell bits per cell code
+   * @return the payload size in bytes
+   */
+  static long packedLength(long cells, int bitsPerCell) {
+    return (cells * bitsPerCell + Byte.SIZE - 1) / Byte.SIZE;
+  }
+
+  /**
+   * Checks whether a path names a binary snapshot.
+   *
+   * @param filePath the path
+   * @return true if the path ends in {@value #EXTENSION}
+   */
+  static boolean isSnapshot(String filePath) {
+    return filePath != null && filePath.toLowerCase().endsWith(EXTENSION);
+  }
+}
@@ -0,0 +1,199 @@
+package cellsociety.controller;
+
+import static cellsociety.controller.BinarySnapshotFormat.FLAG_DEFLATE;
+import static cellsociety.controller.BinarySnapshotFormat.MAGIC;
+import static cellsociety.controller.BinarySnapshotFormat.NULL_STRING;
+import static cellsociety.controller.BinarySnapshotFormat.VERSION;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Loads a binary snapshot written by {@link BinarySnapshotWriter} into a
+ * {@link SimulationConfig}. The file is memory-mapped and the cell codes are unpacked straight
+ * from the mapped buffer, or from a buffer the payload is inflated into, so loading never builds
+ * the grid as text.
+ *
+ * @author angelapredolac
+ */
+public class BinarySnapshotParser {
+
+  /**
+   * Parses a binary snapshot and returns a SimulationConfig object with its contents. The
+   * configuration's width is the number of grid rows and its height the number of columns, the
+   * way {@link SimulationEngine} builds its grid.
+   *
+   * @param filePath The path to the snapshot.
+   * @return A populated SimulationConfig object.
+   * @throws ConfigurationException If the file cannot be read or is not a valid snapshot.
+   */
+  public SimulationConfig parseSnapshotFile(String filePath) throws ConfigurationException {
+    try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new ConfigurationException("Snapshot is too large to load: " + filePath);
+      }
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return parseSnapshot(buffer);
+    } catch (IOException e) {
+      throw new ConfigurationException("Error reading file: " + e.getMessage());
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new ConfigurationException("Snapshot is truncated: " + filePath);
+    }
+  }
+
+  /**
+   * Parses a snapshot held in a buffer.
+   *
+   * @param buffer The snapshot's bytes, positioned at the start.
+   * @return A populated SimulationConfig object.
+   * @throws ConfigurationException If the bytes are not a valid snapshot.
+   */
+  SimulationConfig parseSnapshot(ByteBuffer buffer) throws ConfigurationException {
+    if (buffer.getInt() != MAGIC) {
+      throw new ConfigurationException("Not a binary snapshot");
+    }
+    short version = buffer.getShort();
+    if (version < 1 || version > VERSION) {
+      throw new ConfigurationException("Unsupported snapshot version: " + version);
+    }
+    short flags = buffer.getShort();
+    int rows = buffer.getInt();
+    int cols = buffer.getInt();
+    int bits = buffer.get();
+    if (rows < 0 || cols < 0 || bits < 1 || bits > Integer.SIZE) {
+      throw new ConfigurationException(String.format(
+          "Invalid snapshot dimensions: rows=%d, cols=%d, bits=%d", rows, cols, bits));
+    }
+    int paletteSize = buffer.getInt();
+    if (paletteSize < 1 || paletteSize > buffer.remaining() / Integer.BYTES) {
+      throw new ConfigurationException("Invalid snapshot palette size: " + paletteSize);
+    }
+    int[] palette = new int[paletteSize];
+    for (int code = 0; code < palette.length; code++) {
+      palette[code] = buffer.getInt();
+    }
+    String type = readString(buffer);
+    String title = readString(buffer);
+    String author = readString(buffer);
+    String description = readString(buffer);
+    String tiling = readString(buffer);
+    int parameterCount = buffer.getInt();
+    Map<String, Double> parameters = new HashMap<>();
+    for (int i = 0; i < parameterCount; i++) {
+      String name = readString(buffer);
+      parameters.put(name, buffer.getDouble());
+    }
+    long payloadLength = buffer.getLong();
+    if (payloadLength < 0 || payloadLength > buffer.remaining()) {
+      throw new ConfigurationException("Snapshot is truncated");
+    }
+    ByteBuffer payload = buffer.slice(buffer.position(), (int) payloadLength);
+
+    long cells = (long) rows * cols;
+    if (cells > Integer.MAX_VALUE) {
+      throw new ConfigurationException("Snapshot grid is too large: " + rows + " x " + cols);
+    }
+    long packedLength = BinarySnapshotFormat.packedLength(cells, bits);
+    if ((flags & FLAG_DEFLATE) != 0) {
+      payload = inflate(payload, packedLength);
+    } else if (payloadLength != packedLength) {
+      throw new ConfigurationException("Snapshot payload has the wrong length");
+    }
+    int[] states = unpack(payload, (int) cells, bits, palette);
+    SimulationConfig config = new SimulationConfig(type, title, author, description, rows, cols,
+        states, parameters, tiling);
+    config.setCellShapeValues(new HashMap<>());
+    return config;
+  }
+
+  /**
+   * Reads a string written as its UTF-8 byte length followed by its bytes.
+   *
+   * @param buffer The buffer to read from.
+   * @return The string, or null.
+   * @throws ConfigurationException If the length is invalid.
+   */
+  private String readString(ByteBuffer buffer) throws ConfigurationException {
+    int length = buffer.getInt();
+    if (length == NULL_STRING) {
+      return null;
+    }
+    if (length < 0 || length > buffer.remaining()) {
+      throw new ConfigurationException("Snapshot is truncated");
+    }
+    byte[] encoded = new byte[length];
+    buffer.get(encoded);
+    return new String(encoded, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Decompresses the payload.
+   *
+   * @param compressed   The compressed payload.
+   * @param packedLength The expected length of the packed cells.
+   * @return The packed cells.
+   * @throws ConfigurationException If the payload is corrupt or has the wrong length.
+   */
+  private ByteBuffer inflate(ByteBuffer compressed, long packedLength)
+      throws ConfigurationException {
+    ByteBuffer packed = ByteBuffer.allocateDirect((int) packedLength);
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      while (!inflater.finished()) {
+        if (inflater.inflate(packed) == 0 && (inflater.needsInput() || inflater.needsDictionary()
+            || !packed.hasRemaining())) {
+          break;
+        }
+      }
+      if (!inflater.finished() || packed.hasRemaining()) {
+        throw new ConfigurationException("Snapshot payload has the wrong length");
+      }
+    } catch (DataFormatException e) {
+      throw new ConfigurationException("Snapshot payload is corrupt: " + e.getMessage());
+    } finally {
+      inflater.end();
+    }
+    return packed.flip();
+  }
+
+  /**
+   * Unpacks the cell codes and maps them to numeric state values.
+   *
+   * @param packed  The packed cells.
+   * @param cells   The number of cells.
+   * @param bits    Bits per cell code.
+   * @param palette The numeric state values, indexed by code.
+   * @return The numeric state of every cell, in row-major order.
+   * @throws ConfigurationException If a code is outside the palette.
+   */
+  private int[] unpack(ByteBuffer packed, int cells, int bits, int[] palette)
+      throws ConfigurationException {
+    int[] states = new int[cells];
+    long mask = (1L << bits) - 1;
+    long buffer = 0;
+    int buffered = 0;
+    for (int i = 0; i < cells; i++) {
+      while (buffered < bits) {
+        buffer = (buffer << Byte.SIZE) | (packed.get() & 0xFF);
+        buffered += Byte.SIZE;
+      }
+      buffered -= bits;
+      int code = (int) ((buffer >>> buffered) & mask);
+      if (code >= palette.length) {
+        throw new ConfigurationException("Invalid cell code in snapshot: " + code);
+      }
+      states[i] = palette[code];
+    }
+    return states;
+  }
+}
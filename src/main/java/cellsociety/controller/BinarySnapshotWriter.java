@@ -0,0 +1,288 @@
+package cellsociety.controller;
+
+import static cellsociety.controller.BinarySnapshotFormat.CHUNK_SIZE;
+import static cellsociety.controller.BinarySnapshotFormat.FLAG_DEFLATE;
+import static cellsociety.controller.BinarySnapshotFormat.MAGIC;
+import static cellsociety.controller.BinarySnapshotFormat.NULL_STRING;
+import static cellsociety.controller.BinarySnapshotFormat.VERSION;
+
+import cellsociety.model.Grid;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * The BinarySnapshotWriter class saves the simulation configuration and grid state in the binary
+ * snapshot format described in {@link BinarySnapshotFormat}. Cell states are bit-packed using as
+ * few bits as the number of distinct states allows, and the packed cells are either written
+ * straight into a memory-mapped region of the file or Deflate-compressed through a
+ * {@link FileChannel}, so no text representation of the grid is ever built. The snapshot is
+ * written through {@link AtomicFileWriter}, so an existing file is only replaced once the new one
+ * is complete.
+ *
+ * @author angelapredolac
+ */
+public class BinarySnapshotWriter implements SimulationWriter {
+
+  private static final int MAX_LOOKUP_RANGE = 1 << 16;
+  private static final int MAX_SEEN_VALUES = 16;
+
+  private final boolean compress;
+
+  /**
+   * Creates a writer that compresses the cell payload.
+   */
+  public BinarySnapshotWriter() {
+    this(true);
+  }
+
+  /**
+   * Creates a writer.
+   *
+   * @param compress true to Deflate-compress the cell payload, false to write it uncompressed
+   *                 through a memory-mapped buffer
+   */
+  public BinarySnapshotWriter(boolean compress) {
+    this.compress = compress;
+  }
+
+  /**
+   * Saves the simulation configuration and grid state to a binary snapshot at the specified path.
+   *
+   * @param config   The simulation configuration containing metadata and parameters.
+   * @param grid     The grid representing the current simulation state.
+   * @param filePath The path to save the snapshot to.
+   * @throws IOException If an error occurs while writing to the file, or if the grid is too
+   *                     large for a snapshot.
+   */
+  @Override
+  public void save(SimulationConfig config, Grid grid, String filePath) throws IOException {
+    int[] palette = findPalette(grid);
+    int bits = BinarySnapshotFormat.bitsPerCell(palette.length);
+    long packedLength = BinarySnapshotFormat.packedLength((long) grid.getRows() * grid.getCols(),
+        bits);
+    if (packedLength > Integer.MAX_VALUE) {
+      throw new IOException(String.format("Grid of %d x %d cells is too large for a snapshot",
+          grid.getRows(), grid.getCols()));
+    }
+    ByteBuffer header = ByteBuffer.wrap(formatHeader(config, grid, bits, palette));
+    long payloadStart = header.remaining() + Long.BYTES;
+
+    AtomicFileWriter.writeChannel(Path.of(filePath), channel -> {
+      writeFully(channel, header, 0);
+      long payloadLength;
+      if (compress) {
+        ByteBuffer packed = ByteBuffer.allocateDirect((int) packedLength);
+        pack(grid, palette, bits, packed);
+        packed.flip();
+        payloadLength = deflate(packed, channel, payloadStart);
+      } else {
+        MappedByteBuffer packed = channel.map(FileChannel.MapMode.READ_WRITE, payloadStart,
+            packedLength);
+        pack(grid, palette, bits, packed);
+        packed.force();
+        payloadLength = packedLength;
+      }
+      writeFully(channel, ByteBuffer.allocate(Long.BYTES).putLong(0, payloadLength),
+          payloadStart - Long.BYTES);
+    });
+  }
+
+  /**
+   * Formats everything before the payload length: the fixed header, the palette and the
+   * configuration's metadata and parameters.
+   *
+   * @param config  The simulation configuration.
+   * @param grid    The grid being saved.
+   * @param bits    Bits per cell code.
+   * @param palette The numeric state values, indexed by code.
+   * @return The header bytes.
+   * @throws IOException If the header cannot be formatted.
+   */
+  private byte[] formatHeader(SimulationConfig config, Grid grid, int bits, int[] palette)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeShort(VERSION);
+      out.writeShort(compress ? FLAG_DEFLATE : 0);
+      out.writeInt(grid.getRows());
+      out.writeInt(grid.getCols());
+      out.writeByte(bits);
+      out.writeInt(palette.length);
+      for (int value : palette) {
+        out.writeInt(value);
+      }
+      writeString(out, config.getType());
+      writeString(out, config.getTitle());
+      writeString(out, config.getAuthor());
+      writeString(out, config.getDescription());
+      writeString(out, config.getTiling());
+      Map<String, Double> parameters = config.getParameters();
+      out.writeInt(parameters == null ? 0 : parameters.size());
+      if (parameters != null) {
+        for (Map.Entry<String, Double> parameter : parameters.entrySet()) {
+          writeString(out, parameter.getKey());
+          out.writeDouble(parameter.getValue());
+        }
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Writes a string as its UTF-8 byte length followed by its bytes.
+   *
+   * @param out   The stream to write to.
+   * @param value The string, or null.
+   * @throws IOException If the stream cannot be written.
+   */
+  private void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_STRING);
+      return;
+    }
+    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(encoded.length);
+    out.write(encoded);
+  }
+
+  /**
+   * Collects the distinct numeric state values in the grid. Simulations have a handful of states,
+   * so values are first checked against the ones already seen before touching the set.
+   *
+   * @param grid The grid.
+   * @return The values in ascending order.
+   */
+  private int[] findPalette(Grid grid) {
+    Set<Integer> values = new HashSet<>();
+    int[] seen = new int[MAX_SEEN_VALUES];
+    int seenCount = 0;
+    for (int row = 0; row < grid.getRows(); row++) {
+      for (int col = 0; col < grid.getCols(); col++) {
+        int value = grid.getCell(row, col).getCurrentState().getNumericValue();
+        if (!contains(seen, seenCount, value) && values.add(value)
+            && seenCount < seen.length) {
+          seen[seenCount++] = value;
+        }
+      }
+    }
+    int[] palette = values.stream().mapToInt(Integer::intValue).toArray();
+    Arrays.sort(palette);
+    return palette.length == 0 ? new int[]{0} : palette;
+  }
+
+  private boolean contains(int[] values, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Packs the code of every cell, in row-major order, into the buffer.
+   *
+   * @param grid    The grid.
+   * @param palette The numeric state values, indexed by code.
+   * @param bits    Bits per cell code.
+   * @param out     The buffer the packed codes are written to.
+   */
+  private void pack(Grid grid, int[] palette, int bits, ByteBuffer out) {
+    int[] lookup = createLookup(palette);
+    int lookupBase = palette[0];
+    long buffer = 0;
+    int buffered = 0;
+    for (int row = 0; row < grid.getRows(); row++) {
+      for (int col = 0; col < grid.getCols(); col++) {
+        int value = grid.getCell(row, col).getCurrentState().getNumericValue();
+        int code = lookup != null ? lookup[value - lookupBase]
+            : Arrays.binarySearch(palette, value);
+        buffer = (buffer << bits) | code;
+        buffered += bits;
+        while (buffered >= Byte.SIZE) {
+          buffered -= Byte.SIZE;
+          out.put((byte) (buffer >>> buffered));
+        }
+      }
+    }
+    if (buffered > 0) {
+      out.put((byte) (buffer << (Byte.SIZE - buffered)));
+    }
+  }
+
+  /**
+   * Creates a table from state value to code, if the values span a small enough range.
+   *
+   * @param palette The numeric state values in ascending order.
+   * @return The codes indexed by value minus the smallest value, or null to search the palette.
+   */
+  private int[] createLookup(int[] palette) {
+    long range = (long) palette[palette.length - 1] - palette[0] + 1;
+    if (range > MAX_LOOKUP_RANGE) {
+      return null;
+    }
+    int[] lookup = new int[(int) range];
+    for (int code = 0; code < palette.length; code++) {
+      lookup[palette[code] - palette[0]] = code;
+    }
+    return lookup;
+  }
+
+  /**
+   * Compresses the packed cells into the file.
+   *
+   * @param packed   The packed cells.
+   * @param channel  The file.
+   * @param position Where the compressed payload starts.
+   * @return The compressed length in bytes.
+   * @throws IOException If the file cannot be written.
+   */
+  private long deflate(ByteBuffer packed, FileChannel channel, long position) throws IOException {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    long written = 0;
+    try {
+      deflater.setInput(packed);
+      deflater.finish();
+      while (!deflater.finished()) {
+        chunk.clear();
+        deflater.deflate(chunk);
+        chunk.flip();
+        written += writeFully(channel, chunk, position + written);
+      }
+    } finally {
+      deflater.end();
+    }
+    return written;
+  }
+
+  /**
+   * Writes the whole buffer at a position in the file.
+   *
+   * @param channel  The file.
+   * @param buffer   The bytes to write.
+   * @param position Where to write them.
+   * @return The number of bytes written.
+   * @throws IOException If the file cannot be written.
+   */
+  private long writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long written = 0;
+    while (buffer.hasRemaining()) {
+      written += channel.write(buffer, position + written);
+    }
+    return written;
+  }
+}
@@ -0,0 +1,63 @@
+package cellsociety.controller;
+
+/**
+ * Decides how long turbo mode steps the simulation before publishing a frame. The budget follows
+ * the measured cost of drawing a frame, so frames arrive about as fast as the JavaFX thread can
+ * draw them while leaving it the rest of its time for input; capturing frames nobody will see
+ * would only slow the model down.
+ * <p>
+ * Render costs are smoothed with an exponential moving average, so one slow frame does not stall
+ * publishing. Renders are recorded on the JavaFX thread and the budget is read on the worker
+ * thread.
+ * </p>
+ *
+ * @author angelapredolac
+ */
+class FrameBudget {
+
+  private static final double SMOOTHING = 0.2;
+
+  private final long minBudgetNanos;
+  private final long maxBudgetNanos;
+  private final double renderShare;
+  private volatile double renderCostNanos;
+
+  /**
+   * Creates a budget that has not yet seen a render, which starts at the minimum.
+   *
+   * @param minBudgetNanos the shortest time to step between frames
+   * @param maxBudgetNanos the longest time to step between frames
+   * @param renderShare    the largest fraction of the JavaFX thread's time to spend drawing
+   *                       frames, above 0 and at most 1
+   */
+  FrameBudget(long minBudgetNanos, long maxBudgetNanos, double renderShare) {
+    if (minBudgetNanos <= 0 || maxBudgetNanos < minBudgetNanos) {
+      throw new IllegalArgumentException("Frame budget bounds must be positive and ordered");
+    }
+    if (renderShare <= 0 || renderShare > 1) {
+      throw new IllegalArgumentException("Render share must be above 0 and at most 1");
+    }
+    this.minBudgetNanos = minBudgetNanos;
+    this.maxBudgetNanos = maxBudgetNanos;
+    this.renderShare = renderShare;
+  }
+
+  /**
+   * Records how long a frame took to draw.
+   *
+   * @param latencyNanos the time the render took
+   */
+  void recordRender(long latencyNanos) {
+    double previous = renderCostNanos;
+    renderCostNanos = previous == 0 ? latencyNanos
+        : previous + SMOOTHING * (latencyNanos - previous);
+  }
+
+  /**
+   * @return how long to step before publishing the next frame, in nanoseconds
+   */
+  long budgetNanos() {
+    long budget = (long) (renderCostNanos / renderShare);
+    return Math.max(minBudgetNanos, Math.min(maxBudgetNanos, budget));
+  }
+}
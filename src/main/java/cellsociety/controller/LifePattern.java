@@ -0,0 +1,152 @@
+package cellsociety.controller;
+
+import java.util.Arrays;
+
+/**
+ * A two-state Life pattern read from a pattern file: its metadata, its rule and the coordinates
+ * of its live cells. Only live cells are stored, so reading a sparse pattern costs memory in
+ * proportion to its population rather than its area.
+ *
+ * @author angelapredolac
+ */
+final class LifePattern {
+
+  /**
+   * Largest number of cells a pattern's grid may have.
+   */
+  static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private String title;
+  private String author;
+  private String rule;
+  private final StringBuilder description = new StringBuilder();
+  private long declaredRows;
+  private long declaredCols;
+  private long[] rows = new long[INITIAL_CAPACITY];
+  private long[] cols = new long[INITIAL_CAPACITY];
+  private int population;
+  private long minRow = Long.MAX_VALUE;
+  private long minCol = Long.MAX_VALUE;
+  private long maxRow = Long.MIN_VALUE;
+  private long maxCol = Long.MIN_VALUE;
+
+  /**
+   * Adds a live cell.
+   *
+   * @param row the cell's row
+   * @param col the cell's column
+   * @throws ConfigurationException if the pattern has too many live cells to load
+   */
+  void addLiveCell(long row, long col) throws ConfigurationException {
+    if (population == rows.length) {
+      if (population >= MAX_CELLS / 2) {
+        throw new ConfigurationException("Pattern has too many live cells to load");
+      }
+      rows = Arrays.copyOf(rows, population * 2);
+      cols = Arrays.copyOf(cols, population * 2);
+    }
+    rows[population] = row;
+    cols[population] = col;
+    population++;
+    minRow = Math.min(minRow, row);
+    minCol = Math.min(minCol, col);
+    maxRow = Math.max(maxRow, row);
+    maxCol = Math.max(maxCol, col);
+  }
+
+  /**
+   * Sets the size the pattern file declares. The pattern's bounding box then always starts at
+   * (0, 0) and covers at least this size, keeping any empty border the file describes.
+   *
+   * @param rows the declared number of rows
+   * @param cols the declared number of columns
+   */
+  void setDeclaredSize(long rows, long cols) {
+    declaredRows = rows;
+    declaredCols = cols;
+  }
+
+  /**
+   * @return the first row of the pattern's bounding box
+   */
+  long getOriginRow() {
+    return declaredRows > 0 ? Math.min(0, minRow) : (population == 0 ? 0 : minRow);
+  }
+
+  /**
+   * @return the first column of the pattern's bounding box
+   */
+  long getOriginCol() {
+    return declaredCols > 0 ? Math.min(0, minCol) : (population == 0 ? 0 : minCol);
+  }
+
+  /**
+   * @return the number of rows in the pattern's bounding box, at least 1
+   */
+  long getRows() {
+    long end = Math.max(declaredRows, population == 0 ? 1 : maxRow + 1);
+    return end - getOriginRow();
+  }
+
+  /**
+   * @return the number of columns in the pattern's bounding box, at least 1
+   */
+  long getCols() {
+    long end = Math.max(declaredCols, population == 0 ? 1 : maxCol + 1);
+    return end - getOriginCol();
+  }
+
+  int getPopulation() {
+    return population;
+  }
+
+  long getRow(int i) {
+    return rows[i];
+  }
+
+  long getCol(int i) {
+    return cols[i];
+  }
+
+  String getTitle() {
+    return title;
+  }
+
+  void setTitle(String title) {
+    this.title = title;
+  }
+
+  String getAuthor() {
+    return author;
+  }
+
+  void setAuthor(String author) {
+    this.author = author;
+  }
+
+  String getRule() {
+    return rule;
+  }
+
+  void setRule(String rule) {
+    this.rule = rule;
+  }
+
+  String getDescription() {
+    return description.toString();
+  }
+
+  /**
+   * Adds a line to the pattern's description.
+   *
+   * @param line a comment from the pattern file
+   */
+  void addDescriptionLine(String line) {
+    if (!description.isEmpty()) {
+      description.append('\n');
+    }
+    description.append(line);
+  }
+}
@@ -0,0 +1,31 @@
+package cellsociety.controller;
+
+/**
+ * Validates Life pattern files, such as {@code .rle} and Macrocell {@code .mc} files, by their
+ * extension.
+ *
+ * @author angelapredolac
+ */
+public class LifePatternFileValidator extends BaseFileValidator {
+
+  private final String extension;
+
+  /**
+   * Creates a validator for one pattern format.
+   *
+   * @param extension the file extension of the format, without the dot
+   */
+  public LifePatternFileValidator(String extension) {
+    this.extension = extension;
+  }
+
+  @Override
+  protected boolean isValidFileExtension(String extension) {
+    return extension.equalsIgnoreCase(this.extension);
+  }
+
+  @Override
+  protected String getExpectedFileExtension() {
+    return extension.toUpperCase();
+  }
+}
@@ -0,0 +1,184 @@
+package cellsociety.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Base class for importers of the standard Life pattern formats. A subclass reads the live cells
+ * and metadata of a pattern; this class places the pattern in the middle of an empty grid and
+ * turns its rule into a Game of Life configuration. Conway's rule B3/S23 runs as
+ * {@code Game of Life}; other rules run as {@code Rules-Based Game of Life} with the equivalent
+ * {@code ruleCode} parameter.
+ *
+ * @author angelapredolac
+ */
+public abstract class LifePatternParser extends BaseConfigParser {
+
+  /**
+   * Simulation type of patterns using Conway's rule.
+   */
+  static final String CONWAY_TYPE = "Game of Life";
+  /**
+   * Simulation type of patterns using any other rule.
+   */
+  static final String RULES_TYPE = "Rules-Based Game of Life";
+
+  private static final String DEFAULT_PROPERTIES_PATH = "cellsociety.controller.Simulation";
+  private static final Set<Integer> CONWAY_BIRTH = Set.of(3);
+  private static final Set<Integer> CONWAY_SURVIVAL = Set.of(2, 3);
+  private static final String DEFAULT_TILING = "Default";
+
+  private final String extension;
+  private final int margin;
+
+  /**
+   * Creates an importer for one pattern format.
+   *
+   * @param extension the file extension of the format, without the dot
+   */
+  protected LifePatternParser(String extension) {
+    super(new LifePatternFileValidator(extension), DEFAULT_PROPERTIES_PATH);
+    this.extension = extension;
+    this.margin = Integer.parseInt(defaultProperties.getString("pattern.margin"));
+  }
+
+  /**
+   * Checks whether a path names a file in this importer's format.
+   *
+   * @param filePath the path
+   * @return true if the path ends in this format's extension
+   */
+  public boolean accepts(String filePath) {
+    return filePath != null && filePath.toLowerCase().endsWith("." + extension);
+  }
+
+  /**
+   * Reads the pattern from a file and builds its configuration.
+   *
+   * @param filePath the path to the pattern file
+   * @return a configuration with the pattern centered in an empty grid
+   * @throws ConfigurationException if the file cannot be read or is not a valid pattern
+   */
+  @Override
+  protected SimulationConfig parseConfig(String filePath) throws ConfigurationException {
+    LifePattern pattern = new LifePattern();
+    try (BufferedReader reader = Files.newBufferedReader(Path.of(filePath),
+        StandardCharsets.UTF_8)) {
+      readPattern(reader, pattern);
+    } catch (IOException e) {
+      throw new ConfigurationException("Error reading file: " + e.getMessage());
+    }
+    if (pattern.getTitle() == null) {
+      String fileName = Path.of(filePath).getFileName().toString();
+      pattern.setTitle(fileName.substring(0, fileName.length() - extension.length() - 1));
+    }
+    return createConfig(pattern);
+  }
+
+  /**
+   * Reads a pattern file.
+   *
+   * @param reader  the file's text
+   * @param pattern the pattern to add the file's live cells and metadata to
+   * @throws IOException            if the file cannot be read
+   * @throws ConfigurationException if the file is not a valid pattern
+   */
+  protected abstract void readPattern(BufferedReader reader, LifePattern pattern)
+      throws IOException, ConfigurationException;
+
+  /**
+   * Builds the configuration of a pattern surrounded by a margin of dead cells.
+   *
+   * @param pattern the pattern read from a file
+   * @return the configuration
+   * @throws ConfigurationException if the pattern is too large or its rule cannot be run
+   */
+  SimulationConfig createConfig(LifePattern pattern) throws ConfigurationException {
+    long rows = pattern.getRows() + 2L * margin;
+    long cols = pattern.getCols() + 2L * margin;
+    if (rows > LifePattern.MAX_CELLS || cols > LifePattern.MAX_CELLS
+        || rows * cols > LifePattern.MAX_CELLS) {
+      throw new ConfigurationException(String.format(
+          "Pattern of %d x %d cells is too large to load", pattern.getRows(), pattern.getCols()));
+    }
+    int[] states = new int[(int) (rows * cols)];
+    long rowOffset = margin - pattern.getOriginRow();
+    long colOffset = margin - pattern.getOriginCol();
+    for (int i = 0; i < pattern.getPopulation(); i++) {
+      long row = pattern.getRow(i) + rowOffset;
+      long col = pattern.getCol(i) + colOffset;
+      states[(int) (row * cols + col)] = 1;
+    }
+
+    Map<String, Double> parameters = new HashMap<>();
+    String type = resolveRule(pattern.getRule(), parameters);
+    String description = pattern.getDescription().isEmpty()
+        ? "Imported " + extension.toUpperCase() + " pattern" : pattern.getDescription();
+    SimulationConfig config = new SimulationConfig(type, pattern.getTitle(), pattern.getAuthor(),
+        description, (int) rows, (int) cols, states, parameters, DEFAULT_TILING);
+    config.setCellShapeValues(new HashMap<>());
+    return config;
+  }
+
+  /**
+   * Chooses the simulation type that runs a rule, adding the rule code parameter when needed.
+   *
+   * @param rule       the pattern's rule, in B/S, S/B or survival/birth notation, or null for
+   *                   Conway's rule
+   * @param parameters the configuration's parameters
+   * @return the simulation type
+   * @throws ConfigurationException if the rule is invalid or cannot be run
+   */
+  private String resolveRule(String rule, Map<String, Double> parameters)
+      throws ConfigurationException {
+    RuleStringParser rules;
+    try {
+      rules = new RuleStringParser(normalizeRule(rule));
+    } catch (IllegalArgumentException e) {
+      throw new ConfigurationException("Invalid pattern rule: " + e.getMessage());
+    }
+    Set<Integer> birth = rules.getBirthRules();
+    Set<Integer> survival = rules.getSurvivalRules();
+    if (birth.equals(CONWAY_BIRTH) && survival.equals(CONWAY_SURVIVAL)) {
+      return CONWAY_TYPE;
+    }
+    // ruleCode holds one birth count followed by the survival counts, such as 323 for B3/S23
+    if (birth.size() != 1 || birth.contains(0) || survival.isEmpty()) {
+      throw new ConfigurationException("Rule " + rules + " cannot be run: " + RULES_TYPE
+          + " needs a single birth count from 1 to 8 and at least one survival count");
+    }
+    String survivalDigits = new TreeSet<>(survival).stream().map(String::valueOf)
+        .collect(Collectors.joining());
+    parameters.put("ruleCode", Double.parseDouble(birth.iterator().next() + survivalDigits));
+    return RULES_TYPE;
+  }
+
+  /**
+   * Rewrites a pattern file's rule in a form {@link RuleStringParser} reads: drops any bounded
+   * grid suffix such as {@code :T100,100} and turns survival/birth notation such as {@code 23/3}
+   * into {@code S23/B3}.
+   */
+  private String normalizeRule(String rule) {
+    if (rule == null) {
+      return null;
+    }
+    String normalized = rule.trim();
+    int suffix = normalized.indexOf(':');
+    if (suffix >= 0) {
+      normalized = normalized.substring(0, suffix);
+    }
+    if (normalized.matches("[0-8]*/[0-8]*")) {
+      String[] parts = normalized.split("/", -1);
+      normalized = "S" + parts[0] + "/B" + parts[1];
+    }
+    return normalized;
+  }
+}
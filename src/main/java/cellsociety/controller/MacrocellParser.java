@@ -0,0 +1,244 @@
+package cellsociety.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Imports patterns in Golly's Macrocell format ({@code .mc}), which stores a pattern as a
+ * quadtree whose identical subtrees are written once, so huge but regular patterns stay small:
+ * <pre>
+ *   [M2] (golly 2.0)
+ *   #R B3/S23
+ *   $$..*$...*$.***$
+ *   4 1 0 0 0
+ * </pre>
+ * After the {@code [M2]} line, {@code #R}, {@code #N}, {@code #O} and {@code #C} lines give the
+ * rule, title, author and description. Every other line defines the next node, numbered from 1:
+ * either an 8 x 8 leaf drawn with {@code .} for dead cells, {@code *} for live cells and
+ * {@code $} ending each row, or {@code k nw ne sw se}, a node of size 2<sup>k</sup> made of the
+ * four numbered quadrants, where 0 is an empty quadrant. Level 1 nodes list the states of their
+ * four cells instead. The last node is the whole pattern. Only two-state patterns are supported.
+ * <p>
+ * The population of every node is counted as the file is read, so a pattern with more live cells
+ * than a grid can hold is rejected before any of it is expanded.
+ * </p>
+ *
+ * @author angelapredolac
+ */
+public class MacrocellParser extends LifePatternParser {
+
+  /**
+   * File extension of Macrocell patterns.
+   */
+  public static final String EXTENSION = "mc";
+
+  private static final String HEADER = "[M2]";
+  private static final int LEAF_LEVEL = 3;
+  private static final int LEAF_SIZE = 1 << LEAF_LEVEL;
+  private static final int MAX_LEVEL = 62;
+  private static final int INITIAL_CAPACITY = 256;
+
+  /**
+   * Creates a Macrocell importer.
+   */
+  public MacrocellParser() {
+    super(EXTENSION);
+  }
+
+  @Override
+  protected void readPattern(BufferedReader reader, LifePattern pattern)
+      throws IOException, ConfigurationException {
+    String header = reader.readLine();
+    if (header == null || !header.startsWith(HEADER)) {
+      throw new ConfigurationException("Macrocell file must start with " + HEADER);
+    }
+    NodeTable nodes = new NodeTable();
+
+    String line;
+    while ((line = reader.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+      if (line.startsWith("#")) {
+        readComment(line, pattern);
+      } else if (Character.isDigit(line.charAt(0))) {
+        readNode(line, nodes);
+      } else {
+        readLeaf(line, nodes);
+      }
+    }
+    if (nodes.count == 1) {
+      return;
+    }
+    int root = nodes.count - 1;
+    if (nodes.populations[root] > LifePattern.MAX_CELLS) {
+      throw new ConfigurationException("Pattern has too many live cells to load");
+    }
+    expand(nodes, root, 0, 0, pattern);
+  }
+
+  /**
+   * Reads a {@code #} line, keeping the pattern's rule, name, author and comments.
+   */
+  private void readComment(String line, LifePattern pattern) {
+    if (line.length() < 2) {
+      return;
+    }
+    String text = line.substring(2).trim();
+    switch (line.charAt(1)) {
+      case 'R' -> pattern.setRule(text);
+      case 'N' -> pattern.setTitle(text);
+      case 'O' -> pattern.setAuthor(text);
+      case 'C', 'c' -> pattern.addDescriptionLine(text);
+      default -> {
+      }
+    }
+  }
+
+  /**
+   * Reads an 8 x 8 leaf such as {@code $$..*$...*$.***$}.
+   *
+   * @throws ConfigurationException if the leaf is malformed
+   */
+  private void readLeaf(String line, NodeTable nodes) throws ConfigurationException {
+    long cells = 0;
+    int row = 0;
+    int col = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '$') {
+        row++;
+        col = 0;
+        continue;
+      }
+      if ((c != '.' && c != '*') || row >= LEAF_SIZE || col >= LEAF_SIZE) {
+        throw new ConfigurationException("Invalid Macrocell leaf: " + line);
+      }
+      if (c == '*') {
+        cells |= 1L << (row * LEAF_SIZE + col);
+      }
+      col++;
+    }
+    int node = nodes.add(LEAF_LEVEL);
+    nodes.leafCells[node] = cells;
+    nodes.populations[node] = Long.bitCount(cells);
+  }
+
+  /**
+   * Reads a node line such as {@code 4 1 0 0 0}.
+   *
+   * @throws ConfigurationException if the node is malformed or refers to a later node
+   */
+  private void readNode(String line, NodeTable nodes) throws ConfigurationException {
+    String[] fields = line.split("\\s+");
+    if (fields.length != 5) {
+      throw new ConfigurationException("Invalid Macrocell node: " + line);
+    }
+    int[] values = new int[4];
+    int level;
+    try {
+      level = Integer.parseInt(fields[0]);
+      for (int i = 0; i < values.length; i++) {
+        values[i] = Integer.parseInt(fields[i + 1]);
+      }
+    } catch (NumberFormatException e) {
+      throw new ConfigurationException("Invalid Macrocell node: " + line);
+    }
+    if (level < 1 || level > MAX_LEVEL) {
+      throw new ConfigurationException("Invalid Macrocell node level " + level + ": " + line);
+    }
+
+    long population = 0;
+    for (int value : values) {
+      if (level == 1) {
+        if (value != 0 && value != 1) {
+          throw new ConfigurationException(
+              "Unsupported Macrocell state " + value + ": only two-state patterns can be imported");
+        }
+        population += value;
+      } else if (value != 0) {
+        if (value >= nodes.count || nodes.levels[value] != level - 1) {
+          throw new ConfigurationException("Invalid Macrocell node reference " + value + ": "
+              + line);
+        }
+        population = Math.min(population + nodes.populations[value], Long.MAX_VALUE / 4);
+      }
+    }
+    int node = nodes.add(level);
+    nodes.children[node] = values;
+    nodes.populations[node] = population;
+  }
+
+  /**
+   * Adds the live cells of a node and its descendants to the pattern, skipping empty quadrants.
+   *
+   * @param nodes     the nodes read from the file
+   * @param node      the node
+   * @param rowOffset the row of the node's top-left cell
+   * @param colOffset the column of the node's top-left cell
+   * @param pattern   the pattern to add the cells to
+   * @throws ConfigurationException if the pattern has too many live cells
+   */
+  private void expand(NodeTable nodes, int node, long rowOffset, long colOffset,
+      LifePattern pattern) throws ConfigurationException {
+    if (node == 0 || nodes.populations[node] == 0) {
+      return;
+    }
+    int level = nodes.levels[node];
+    int[] quadrants = nodes.children[node];
+    if (quadrants == null) {
+      long cells = nodes.leafCells[node];
+      while (cells != 0) {
+        int bit = Long.numberOfTrailingZeros(cells);
+        pattern.addLiveCell(rowOffset + bit / LEAF_SIZE, colOffset + bit % LEAF_SIZE);
+        cells &= cells - 1;
+      }
+      return;
+    }
+    if (level == 1) {
+      for (int i = 0; i < quadrants.length; i++) {
+        if (quadrants[i] == 1) {
+          pattern.addLiveCell(rowOffset + i / 2, colOffset + i % 2);
+        }
+      }
+      return;
+    }
+    long half = 1L << (level - 1);
+    expand(nodes, quadrants[0], rowOffset, colOffset, pattern);
+    expand(nodes, quadrants[1], rowOffset, colOffset + half, pattern);
+    expand(nodes, quadrants[2], rowOffset + half, colOffset, pattern);
+    expand(nodes, quadrants[3], rowOffset + half, colOffset + half, pattern);
+  }
+
+  /**
+   * The nodes of a Macrocell file, indexed by their number. Node 0 is the empty node.
+   */
+  private static final class NodeTable {
+
+    private int[] levels = new int[INITIAL_CAPACITY];
+    private long[] leafCells = new long[INITIAL_CAPACITY];
+    private int[][] children = new int[INITIAL_CAPACITY][];
+    private long[] populations = new long[INITIAL_CAPACITY];
+    private int count = 1;
+
+    /**
+     * Numbers the next node.
+     *
+     * @param level the node's level
+     * @return the node's number
+     */
+    int add(int level) {
+      if (count == levels.length) {
+        int grown = levels.length * 2;
+        levels = Arrays.copyOf(levels, grown);
+        leafCells = Arrays.copyOf(leafCells, grown);
+        children = Arrays.copyOf(children, grown);
+        populations = Arrays.copyOf(populations, grown);
+      }
+      levels[count] = level;
+      return count++;
+    }
+  }
+}
@@ -0,0 +1,398 @@
+package cellsociety.controller;
+
+import cellsociety.model.Simulation;
+import cellsociety.model.StateInterface;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs a simulation over the cross product of several parameter ranges, such as
+ * {@code fireProb} and {@code treeProb} for Spreading Fire or {@code satisfaction} for Schelling.
+ * <p>
+ * Every parameter point gets its own copy of the base {@link SimulationConfig}, with the swept
+ * values and a per-run {@value Simulation#SEED_PARAMETER} filled in, and its own model built by
+ * {@link BatchRunner#buildSimulation}. Runs execute on virtual threads, with at most
+ * {@code maxConcurrentRuns} in progress at a time. As each run finishes, its state-count
+ * trajectory is appended to a single CSV file with one
+ * {@code run,seed,<parameters>,step,state,count} line per state and step, and the progress
+ * listener is notified.
+ * </p>
+ * <p>
+ * Usage:
+ * {@code ParameterSweep [--steps N] [--output FILE] [--threads N] [--seed S]
+ * --param name=start:end:step | --param name=v1,v2,... config.xml}
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public class ParameterSweep {
+
+  private static final Logger LOG = LogManager.getLogger(ParameterSweep.class);
+  private static final String USAGE = "Usage: ParameterSweep [--steps N] [--output FILE] "
+      + "[--threads N] [--seed S] --param name=start:end:step | --param name=v1,v2,... config.xml";
+  private static final int EXIT_USAGE = 2;
+  private static final int EXIT_FAILURE = 1;
+  private static final double RANGE_EPSILON = 1e-9;
+
+  private final SimulationConfig baseConfig;
+  private final Map<String, List<Double>> ranges;
+  private final int steps;
+  private final int maxConcurrentRuns;
+  private final long baseSeed;
+
+  /**
+   * Receives a notification each time a run finishes.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+
+    /**
+     * Called after a run has finished and its trajectory has been written.
+     *
+     * @param completed number of runs finished so far
+     * @param total     number of runs in the sweep
+     * @param outcome   the run that just finished
+     */
+    void runCompleted(int completed, int total, RunOutcome outcome);
+  }
+
+  /**
+   * The outcome of one parameter point.
+   *
+   * @param run          the run's position in the sweep
+   * @param parameters   the swept parameter values
+   * @param seed         the seed passed to the simulation
+   * @param finalCounts  state counts after the last step, keyed by state value, or empty if the
+   *                     run failed
+   * @param elapsedNanos wall-clock time of the run
+   * @param error        the failure message, or null if the run succeeded
+   */
+  public record RunOutcome(int run, Map<String, Double> parameters, long seed,
+                           Map<String, Double> finalCounts, long elapsedNanos, String error) {
+
+    /**
+     * Checks whether the run completed without an exception.
+     *
+     * @return true if the run succeeded
+     */
+    public boolean succeeded() {
+      return error == null;
+    }
+  }
+
+  /**
+   * Creates a sweep.
+   *
+   * @param baseConfig        configuration every run starts from
+   * @param ranges            values to try for each swept parameter, in column order
+   * @param steps             number of steps per run
+   * @param maxConcurrentRuns maximum number of runs in progress at once
+   * @param baseSeed          seed of the first run; run {@code i} uses {@code baseSeed + i}
+   * @throws IllegalArgumentException if a range is empty or the step or concurrency limits are
+   *                                  invalid
+   */
+  public ParameterSweep(SimulationConfig baseConfig, Map<String, List<Double>> ranges, int steps,
+      int maxConcurrentRuns, long baseSeed) {
+    if (steps < 0 || maxConcurrentRuns < 1) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid sweep settings: steps=%d, maxConcurrentRuns=%d", steps, maxConcurrentRuns));
+    }
+    for (Map.Entry<String, List<Double>> range : ranges.entrySet()) {
+      if (range.getValue().isEmpty()) {
+        throw new IllegalArgumentException("No values given for " + range.getKey());
+      }
+    }
+    this.baseConfig = baseConfig;
+    this.ranges = new LinkedHashMap<>(ranges);
+    this.steps = steps;
+    this.maxConcurrentRuns = maxConcurrentRuns;
+    this.baseSeed = baseSeed;
+  }
+
+  /**
+   * Lists every parameter point of the sweep. The last parameter varies fastest.
+   *
+   * @return the parameter values of each run, in run order
+   */
+  public List<Map<String, Double>> getPoints() {
+    List<Map<String, Double>> points = new ArrayList<>();
+    points.add(new LinkedHashMap<>());
+    for (Map.Entry<String, List<Double>> range : ranges.entrySet()) {
+      List<Map<String, Double>> expanded = new ArrayList<>();
+      for (Map<String, Double> point : points) {
+        for (double value : range.getValue()) {
+          Map<String, Double> next = new LinkedHashMap<>(point);
+          next.put(range.getKey(), value);
+          expanded.add(next);
+        }
+      }
+      points = expanded;
+    }
+    return points;
+  }
+
+  /**
+   * Runs every parameter point and writes their trajectories to a CSV file.
+   *
+   * @param outputFile the aggregated trajectory file
+   * @param listener   notified as each run finishes
+   * @return the outcome of every run, in run order
+   * @throws IOException          if the output file cannot be written
+   * @throws InterruptedException if the sweep is interrupted while waiting for runs
+   */
+  public List<RunOutcome> run(Path outputFile, ProgressListener listener)
+      throws IOException, InterruptedException {
+    List<Map<String, Double>> points = getPoints();
+    if (outputFile.getParent() != null) {
+      Files.createDirectories(outputFile.getParent());
+    }
+    Semaphore permits = new Semaphore(maxConcurrentRuns);
+    AtomicInteger completed = new AtomicInteger();
+    List<RunOutcome> outcomes = new ArrayList<>();
+
+    try (BufferedWriter writer = Files.newBufferedWriter(outputFile);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      writer.write(header());
+      writer.newLine();
+      List<Future<RunOutcome>> futures = new ArrayList<>();
+      for (int i = 0; i < points.size(); i++) {
+        int run = i;
+        futures.add(executor.submit(() -> {
+          permits.acquire();
+          try {
+            RunOutcome outcome = runPoint(run, points.get(run), writer);
+            listener.runCompleted(completed.incrementAndGet(), points.size(), outcome);
+            return outcome;
+          } finally {
+            permits.release();
+          }
+        }));
+      }
+      for (Future<RunOutcome> future : futures) {
+        outcomes.add(future.get());
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException io) {
+        throw io.getCause();
+      }
+      throw new IllegalStateException("Sweep run failed", e.getCause());
+    }
+    return outcomes;
+  }
+
+  /**
+   * Runs one parameter point and appends its trajectory to the shared output.
+   *
+   * @param run    the run's position in the sweep
+   * @param point  the swept parameter values
+   * @param writer the shared output, locked while the trajectory is appended
+   * @return the run's outcome
+   */
+  private RunOutcome runPoint(int run, Map<String, Double> point, BufferedWriter writer) {
+    long seed = baseSeed + run;
+    long start = System.nanoTime();
+    StringBuilder trajectory = new StringBuilder();
+    Map<String, Double> counts;
+    try {
+      Simulation simulation = BatchRunner.buildSimulation(configFor(point, seed), null, null);
+      String prefix = linePrefix(run, seed, point);
+      appendCounts(trajectory, prefix, 0, simulation.getStateCounts());
+      for (int step = 1; step <= steps; step++) {
+        simulation.step();
+        appendCounts(trajectory, prefix, step, simulation.getStateCounts());
+      }
+      counts = BatchRunner.labelCounts(simulation.getStateCounts());
+    } catch (RuntimeException e) {
+      LOG.warn("Run {} with {} failed: {}", run, point, e.getMessage());
+      return new RunOutcome(run, point, seed, Map.of(), System.nanoTime() - start,
+          String.valueOf(e.getMessage()));
+    }
+
+    synchronized (writer) {
+      try {
+        writer.write(trajectory.toString());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return new RunOutcome(run, point, seed, counts, System.nanoTime() - start, null);
+  }
+
+  /**
+   * Copies the base configuration with a parameter point and seed applied.
+   *
+   * @param point the swept parameter values
+   * @param seed  the run's seed
+   * @return a configuration for one run
+   */
+  SimulationConfig configFor(Map<String, Double> point, long seed) {
+    Map<String, Double> parameters = new HashMap<>();
+    if (baseConfig.getParameters() != null) {
+      parameters.putAll(baseConfig.getParameters());
+    }
+    parameters.putAll(point);
+    parameters.put(Simulation.SEED_PARAMETER, (double) seed);
+    SimulationConfig config = new SimulationConfig(baseConfig.getType(), baseConfig.getTitle(),
+        baseConfig.getAuthor(), baseConfig.getDescription(), baseConfig.getWidth(),
+        baseConfig.getHeight(), baseConfig.getInitialStates().clone(), parameters,
+        baseConfig.getTiling());
+    if (baseConfig.getCellShapeMap() != null) {
+      config.setCellShapeValues(baseConfig.getCellShapeMap());
+    }
+    return config;
+  }
+
+  /**
+   * Builds the CSV header.
+   *
+   * @return the header line
+   */
+  private String header() {
+    StringBuilder header = new StringBuilder("run,seed");
+    for (String name : ranges.keySet()) {
+      header.append(',').append(BatchRunner.csvField(name));
+    }
+    return header.append(",step,state,count").toString();
+  }
+
+  /**
+   * Builds the columns shared by every line of a run.
+   *
+   * @param run   the run's position in the sweep
+   * @param seed  the run's seed
+   * @param point the swept parameter values
+   * @return the line prefix, ending with a separator
+   */
+  private String linePrefix(int run, long seed, Map<String, Double> point) {
+    StringBuilder prefix = new StringBuilder().append(run).append(',').append(seed);
+    for (double value : point.values()) {
+      prefix.append(',').append(value);
+    }
+    return prefix.append(',').toString();
+  }
+
+  /**
+   * Appends one step's state counts to a run's trajectory.
+   *
+   * @param trajectory  the trajectory being built
+   * @param prefix      the run's line prefix
+   * @param step        the step number
+   * @param stateCounts the counts to append
+   */
+  private void appendCounts(StringBuilder trajectory, String prefix, int step,
+      Map<StateInterface, Double> stateCounts) {
+    for (Map.Entry<String, Double> entry : BatchRunner.labelCounts(stateCounts).entrySet()) {
+      trajectory.append(prefix).append(step).append(',')
+          .append(BatchRunner.csvField(entry.getKey())).append(',')
+          .append(entry.getValue().longValue()).append(System.lineSeparator());
+    }
+  }
+
+  /**
+   * Parses a parameter range, either {@code start:end:step} (inclusive of {@code end}) or a
+   * comma-separated list of values.
+   *
+   * @param spec the range specification
+   * @return the values of the range
+   * @throws IllegalArgumentException if the specification is malformed
+   */
+  static List<Double> parseRange(String spec) {
+    List<Double> values = new ArrayList<>();
+    String[] bounds = spec.split(":");
+    if (bounds.length == 3) {
+      double start = Double.parseDouble(bounds[0]);
+      double end = Double.parseDouble(bounds[1]);
+      double step = Double.parseDouble(bounds[2]);
+      if (step <= 0 || end < start) {
+        throw new IllegalArgumentException("Invalid range: " + spec);
+      }
+      long count = (long) Math.floor((end - start) / step + RANGE_EPSILON);
+      for (long i = 0; i <= count; i++) {
+        values.add(start + i * step);
+      }
+    } else if (bounds.length == 1) {
+      for (String value : spec.split(",")) {
+        values.add(Double.parseDouble(value.trim()));
+      }
+    } else {
+      throw new IllegalArgumentException("Invalid range: " + spec);
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  /**
+   * Runs a sweep described on the command line.
+   *
+   * @param args options followed by the base configuration file
+   */
+  public static void main(String[] args) {
+    int steps = BatchRunner.DEFAULT_STEPS;
+    int threads = Runtime.getRuntime().availableProcessors();
+    long seed = 0;
+    Path output = Path.of("sweep-output", "trajectories.csv");
+    Map<String, List<Double>> ranges = new LinkedHashMap<>();
+    Path configPath = null;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--steps" -> steps = Integer.parseInt(BatchRunner.optionValue(args, ++i));
+          case "--output" -> output = Path.of(BatchRunner.optionValue(args, ++i));
+          case "--threads" -> threads = Integer.parseInt(BatchRunner.optionValue(args, ++i));
+          case "--seed" -> seed = Long.parseLong(BatchRunner.optionValue(args, ++i));
+          case "--param" -> {
+            String[] parts = BatchRunner.optionValue(args, ++i).split("=", 2);
+            if (parts.length != 2) {
+              throw new IllegalArgumentException("Expected name=range but got " + args[i]);
+            }
+            ranges.put(parts[0], parseRange(parts[1]));
+          }
+          default -> configPath = Path.of(args[i]);
+        }
+      }
+      if (configPath == null || ranges.isEmpty()) {
+        throw new IllegalArgumentException("A configuration file and at least one --param "
+            + "are required");
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(EXIT_USAGE);
+      return;
+    }
+
+    try {
+      SimulationConfig base = new XMLParser().parseXMLFile(configPath.toString());
+      ParameterSweep sweep = new ParameterSweep(base, ranges, steps, threads, seed);
+      List<RunOutcome> outcomes = sweep.run(output, (completed, total, outcome) ->
+          LOG.info("[{}/{}] run {} {} in {} ms{}", completed, total, outcome.run(),
+              outcome.parameters(), outcome.elapsedNanos() / 1_000_000,
+              outcome.succeeded() ? "" : " FAILED: " + outcome.error()));
+      if (outcomes.stream().anyMatch(outcome -> !outcome.succeeded())) {
+        System.exit(EXIT_FAILURE);
+      }
+    } catch (ConfigurationException | IOException | RuntimeException e) {
+      LOG.error("Sweep failed: {}", e.getMessage());
+      System.exit(EXIT_FAILURE);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.exit(EXIT_FAILURE);
+    }
+  }
+}
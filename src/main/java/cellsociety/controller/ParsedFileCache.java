@@ -0,0 +1,146 @@
+package cellsociety.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the most recently parsed files so switching back to a simulation or reloading it does not
+ * parse the same file again. Entries are keyed by the file's canonical path and remember the
+ * file's modification time and size, so a file changed on disk is parsed again. When the cache is
+ * full, the least recently used file is dropped.
+ * <p>
+ * Parsed objects are mutable, so the cache stores a copy of what it parses and hands out a fresh
+ * copy on every lookup. Objects that parsing the same file again would not reproduce, such as
+ * unseeded random starts, are not cached.
+ * </p>
+ *
+ * @param <V> the type of parsed object
+ * @author angelapredolac
+ */
+class ParsedFileCache<V> {
+
+  /**
+   * Parses a file.
+   *
+   * @param <V> the type of parsed object
+   */
+  @FunctionalInterface
+  interface Parser<V> {
+
+    /**
+     * @param filePath the file to parse
+     * @return the parsed object
+     * @throws ConfigurationException if the file cannot be parsed
+     */
+    V parse(String filePath) throws ConfigurationException;
+  }
+
+  private final Map<Path, Entry<V>> entries;
+  private final Parser<V> parser;
+  private final UnaryOperator<V> copier;
+  private final Predicate<V> cacheable;
+
+  /**
+   * Creates an empty cache that keeps every parsed object.
+   *
+   * @param capacity the number of files to keep
+   * @param parser   parses a file that is not cached
+   * @param copier   copies a parsed object
+   */
+  ParsedFileCache(int capacity, Parser<V> parser, UnaryOperator<V> copier) {
+    this(capacity, parser, copier, parsed -> true);
+  }
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param capacity  the number of files to keep
+   * @param parser    parses a file that is not cached
+   * @param copier    copies a parsed object
+   * @param cacheable tells whether a parsed object may be kept
+   */
+  ParsedFileCache(int capacity, Parser<V> parser, UnaryOperator<V> copier,
+      Predicate<V> cacheable) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Cache capacity must be at least 1");
+    }
+    this.parser = parser;
+    this.copier = copier;
+    this.cacheable = cacheable;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Path, Entry<V>> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Returns a copy of a file's parsed object, parsing the file only if it is not cached or has
+   * changed since it was parsed. A file whose attributes cannot be read is parsed directly, so the
+   * parser reports the problem.
+   *
+   * @param filePath the file
+   * @return a copy of the parsed object
+   * @throws ConfigurationException if the file cannot be parsed
+   */
+  V get(String filePath) throws ConfigurationException {
+    Path path;
+    FileVersion version;
+    try {
+      path = Path.of(filePath).toRealPath();
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      version = new FileVersion(attributes.lastModifiedTime().toMillis(), attributes.size());
+    } catch (IOException | RuntimeException e) {
+      return parser.parse(filePath);
+    }
+
+    synchronized (entries) {
+      Entry<V> entry = entries.get(path);
+      if (entry != null && entry.version().equals(version)) {
+        return copier.apply(entry.value());
+      }
+    }
+    V parsed = parser.parse(filePath);
+    synchronized (entries) {
+      if (cacheable.test(parsed)) {
+        entries.put(path, new Entry<>(version, copier.apply(parsed)));
+      } else {
+        entries.remove(path);
+      }
+    }
+    return parsed;
+  }
+
+  /**
+   * @return the number of cached files
+   */
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Drops every cached file.
+   */
+  void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  private record FileVersion(long lastModified, long size) {
+
+  }
+
+  private record Entry<V>(FileVersion version, V value) {
+
+  }
+}
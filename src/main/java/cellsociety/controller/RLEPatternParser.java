@@ -0,0 +1,147 @@
+package cellsociety.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Imports patterns in the standard Life run-length encoded format ({@code .rle}), as written by
+ * Golly and published by pattern collections such as LifeWiki:
+ * <pre>
+ *   #N Glider
+ *   #O Richard K. Guy
+ *   x = 3, y = 3, rule = B3/S23
+ *   bob$2bo$3o!
+ * </pre>
+ * {@code #N}, {@code #O} and {@code #C} lines give the title, author and description. The header
+ * gives the pattern's width {@code x}, height {@code y} and optional rule. In the cell data,
+ * {@code b} is a dead cell, {@code o} a live cell and {@code $} the end of a row, each optionally
+ * preceded by a repeat count, and {@code !} ends the pattern. Only two-state patterns are
+ * supported.
+ *
+ * @author angelapredolac
+ */
+public class RLEPatternParser extends LifePatternParser {
+
+  /**
+   * File extension of RLE patterns.
+   */
+  public static final String EXTENSION = "rle";
+
+  /**
+   * Creates an RLE importer.
+   */
+  public RLEPatternParser() {
+    super(EXTENSION);
+  }
+
+  @Override
+  protected void readPattern(BufferedReader reader, LifePattern pattern)
+      throws IOException, ConfigurationException {
+    boolean headerRead = false;
+    long row = 0;
+    long col = 0;
+    long count = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+      if (line.startsWith("#")) {
+        readComment(line, pattern);
+        continue;
+      }
+      if (!headerRead) {
+        readHeader(line, pattern);
+        headerRead = true;
+        continue;
+      }
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (c >= '0' && c <= '9') {
+          count = count * 10 + (c - '0');
+          if (count > LifePattern.MAX_CELLS) {
+            throw new ConfigurationException("RLE run count is too large at line: " + line);
+          }
+          continue;
+        }
+        long run = count == 0 ? 1 : count;
+        count = 0;
+        switch (c) {
+          case 'b', '.' -> col += run;
+          case 'o', 'A' -> {
+            for (long j = 0; j < run; j++) {
+              pattern.addLiveCell(row, col++);
+            }
+          }
+          case '$' -> {
+            row += run;
+            col = 0;
+          }
+          case '!' -> {
+            return;
+          }
+          case ' ', '\t' -> {
+          }
+          default -> throw new ConfigurationException(
+              "Unsupported RLE cell '" + c + "': only two-state patterns can be imported");
+        }
+      }
+    }
+    if (!headerRead) {
+      throw new ConfigurationException("RLE file has no header line such as: x = 3, y = 3");
+    }
+  }
+
+  /**
+   * Reads a {@code #} line, keeping the pattern's name, author and comments.
+   */
+  private void readComment(String line, LifePattern pattern) {
+    if (line.length() < 2) {
+      return;
+    }
+    String text = line.substring(2).trim();
+    switch (line.charAt(1)) {
+      case 'N' -> pattern.setTitle(text);
+      case 'O' -> pattern.setAuthor(text);
+      case 'C', 'c' -> pattern.addDescriptionLine(text);
+      case 'r' -> pattern.setRule(text);
+      default -> {
+      }
+    }
+  }
+
+  /**
+   * Reads the header line, such as {@code x = 3, y = 3, rule = B3/S23}.
+   *
+   * @throws ConfigurationException if the line does not give the pattern's size
+   */
+  private void readHeader(String line, LifePattern pattern) throws ConfigurationException {
+    long width = -1;
+    long height = -1;
+    for (String field : line.split(",")) {
+      String[] keyValue = field.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new ConfigurationException("Invalid RLE header: " + line);
+      }
+      String key = keyValue[0].trim();
+      String value = keyValue[1].trim();
+      try {
+        switch (key) {
+          case "x" -> width = Long.parseLong(value);
+          case "y" -> height = Long.parseLong(value);
+          case "rule" -> pattern.setRule(value);
+          default -> {
+          }
+        }
+      } catch (NumberFormatException e) {
+        throw new ConfigurationException("Invalid RLE header: " + line);
+      }
+    }
+    if (width < 0 || height < 0) {
+      throw new ConfigurationException("RLE header must give the pattern size as x and y: "
+          + line);
+    }
+    pattern.setDeclaredSize(height, width);
+  }
+}
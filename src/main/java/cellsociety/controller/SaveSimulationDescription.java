@@ -105,8 +105,9 @@ public class SaveSimulationDescription {
   private SimulationMetadata showFileChooserAndCreateMetadata() {
     FileChooser fileChooser = new FileChooser();
     fileChooser.setTitle(myResources.getString("Save"));
-    fileChooser.getExtensionFilters().add(
-        new FileChooser.ExtensionFilter("XML Files", "*.xml"));
+    fileChooser.getExtensionFilters().addAll(
+        new FileChooser.ExtensionFilter("XML Files", "*.xml"),
+        new FileChooser.ExtensionFilter("Binary Snapshots", "*" + BinarySnapshotFormat.EXTENSION));
 
     // Set initial directory to the data folder
     File initialDirectory = new File("data/" + currentConfig.getType().replace(" ", ""));
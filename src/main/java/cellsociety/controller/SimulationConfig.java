@@ -33,6 +33,7 @@ public class SimulationConfig {
   private Map<Integer, String> cellShapeMap;
   private Map<StateInterface, Color> colorMap;
   private String tiling;
+  private boolean reproducible = true;
 
   /**
    * Default constructor for XML parsing
@@ -67,6 +68,23 @@ public class SimulationConfig {
     this.tiling = tiling;
   }
 
+  /**
+   * Copies this configuration. The initial states, parameters and cell shapes are copied, so
+   * changing the copy leaves this configuration as it was.
+   *
+   * @return a copy of this configuration
+   */
+  public SimulationConfig copy() {
+    SimulationConfig copy = new SimulationConfig(type, title, author, description, width, height,
+        initialStates == null ? null : initialStates.clone(),
+        parameters == null ? null : new HashMap<>(parameters), tiling);
+    if (cellShapeMap != null) {
+      copy.setCellShapeValues(new HashMap<>(cellShapeMap));
+    }
+    copy.setReproducible(reproducible);
+    return copy;
+  }
+
   /**
    * Initializes the JavaFX stage for the simulation.
    *
@@ -244,4 +262,21 @@ public class SimulationConfig {
   public void setTiling(String tiling) {
     this.tiling = tiling;
   }
+
+  /**
+   * @return false if the initial states were drawn at random without a seed, so parsing the same
+   * file again gives different states
+   */
+  public boolean isReproducible() {
+    return reproducible;
+  }
+
+  /**
+   * Records whether parsing the same file again gives the same configuration.
+   *
+   * @param reproducible false if the initial states were drawn at random without a seed
+   */
+  public void setReproducible(boolean reproducible) {
+    this.reproducible = reproducible;
+  }
 }
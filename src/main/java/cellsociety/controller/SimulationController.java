@@ -52,6 +52,8 @@ public class SimulationController {
   private final SimulationUI ui;
   private final SimulationFileManager fileManager;
   private final XMLStyleParser styleParser;
+  private final ParsedFileCache<SimulationStyle> styleCache;
+  private final Map<String, String> defaultStylePaths = new HashMap<>();
 
   // Current simulation state
   private Stage primaryStage;
@@ -74,6 +76,8 @@ public class SimulationController {
     this.ui = Objects.requireNonNull(ui, "SimulationUI cannot be null");
     this.fileManager = Objects.requireNonNull(fileManager, "SimulationFileManager cannot be null");
     this.styleParser = Objects.requireNonNull(styleParser, "XMLStyleParser cannot be null");
+    this.styleCache = new ParsedFileCache<>(SimulationFileManager.parseCacheSize(),
+            styleParser::parseStyleFile, SimulationStyle::new);
 
     this.currentStyle = new SimulationStyle();
   }
@@ -99,6 +103,15 @@ public class SimulationController {
       this.displayName = displayName;
     }
 
+    /**
+     * Gets the display name used for this type in configuration files.
+     *
+     * @return the display name of the simulation type.
+     */
+    public String getDisplayName() {
+      return displayName;
+    }
+
     /**
      * Retrieves a SimulationType from a string representation.
      *
@@ -121,6 +134,8 @@ public class SimulationController {
     this.ui = new SimulationUI(CONFIG);
     this.fileManager = new SimulationFileManager();
     this.styleParser = new XMLStyleParser();
+    this.styleCache = new ParsedFileCache<>(SimulationFileManager.parseCacheSize(),
+            styleParser::parseStyleFile, SimulationStyle::new);
     this.currentStyle = new SimulationStyle();
   }
 
@@ -145,18 +160,9 @@ public class SimulationController {
       try {
         String defaultStylePath = getDefaultStylePath(simulationType);
 
-        LOG.warn("Attempting to load default style from: " + defaultStylePath);
-
         if (defaultStylePath != null) {
-          try {
-            String fileContents = new String(java.nio.file.Files.readAllBytes(java.nio.file.Paths.get(defaultStylePath)));
-            LOG.info("Default Style File Contents:\n" + fileContents);
-          } catch (Exception e) {
-            LOG.error("Could not read file contents: " + e.getMessage());
-          }
-
-          this.currentStyle = styleParser.parseStyleFile(defaultStylePath);
-          LOG.info("Successfully loaded default style");
+          this.currentStyle = styleCache.get(defaultStylePath);
+          LOG.debug("Loaded default style from: " + defaultStylePath);
         } else {
           LOG.error("No default style file found");
           this.currentStyle = new SimulationStyle();
@@ -167,7 +173,7 @@ public class SimulationController {
       }
     } else {
       try {
-        this.currentStyle = styleParser.parseStyleFile(styleFileName);
+        this.currentStyle = styleCache.get(styleFileName);
       } catch (ConfigurationException e) {
         ui.handleError("StyleLoadError", e);
         this.currentStyle = new SimulationStyle();
@@ -178,12 +184,22 @@ public class SimulationController {
   }
 
   /**
-   * Gets the default style path for a simulation type.
+   * Gets the default style path for a simulation type, remembering it once found.
    *
    * @param simulationType the type of simulation
    * @return the path to the default style file for this simulation type
    */
   private String getDefaultStylePath(String simulationType) {
+    return defaultStylePaths.computeIfAbsent(simulationType, this::findDefaultStylePath);
+  }
+
+  /**
+   * Probes the places a default style file may be kept.
+   *
+   * @param simulationType the type of simulation
+   * @return the path to the default style file, or null if there is none
+   */
+  private String findDefaultStylePath(String simulationType) {
     String formattedType = simulationType.toLowerCase()
             .replace(" ", "")
             .replace("of", "");
@@ -196,9 +212,9 @@ public class SimulationController {
 
     for (String path : possiblePaths) {
       File file = new File(path);
-      LOG.info("Checking style file path: " + file.getAbsolutePath());
+      LOG.debug("Checking style file path: " + file.getAbsolutePath());
       if (file.exists()) {
-        LOG.info("Found style file at: " + file.getAbsolutePath());
+        LOG.debug("Found style file at: " + file.getAbsolutePath());
         return path;
       }
     }
@@ -231,7 +247,7 @@ public class SimulationController {
    */
   public void applyStyle(SimulationStyle style) throws ClassNotFoundException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
     applyCellStateAppearances(style);
-    applyGridProperties(style);
+    engine.runLocked(() -> applyGridProperties(style));
     applyDisplayOptions(style);
     ui.updateView(engine.getSimulation().getColorMap());
   }
@@ -397,7 +413,7 @@ public class SimulationController {
    */
   public void loadStyle(String styleFilePath) {
     try {
-      SimulationStyle style = styleParser.parseStyleFile(styleFilePath);
+      SimulationStyle style = styleCache.get(styleFilePath);
       this.currentStyle = style;
       applyStyle(style);
     } catch (ConfigurationException | ClassNotFoundException | InvocationTargetException |
@@ -441,8 +457,7 @@ public class SimulationController {
 
   /**
    * allows user to go back one "step" in time to view previous cell states, but will not allow this
-   * action if it is the zeroth iteration. Will also prevent user from stepping backward more than
-   * once in a row
+   * action if it is the zeroth iteration or if no earlier generation is left in the history
    */
   public void stepBackSimulation() {
     try {
@@ -473,7 +488,7 @@ public class SimulationController {
   public void resetGrid() {
     try {
       engine.resetGrid();
-      ui.updateView(engine.getSimulation().getColorMap(), engine.getSimulation().getStateCounts());
+      engine.redraw();
     } catch (Exception e) {
       ui.handleError("ResetError", e);
     }
@@ -489,11 +504,22 @@ public class SimulationController {
     currentStyle.setAnimationSpeed(speed);
   }
 
+  /**
+   * turns turbo mode on or off, in which the simulation runs as fast as it can and is only drawn as
+   * often as rendering keeps up with
+   *
+   * @param turbo true to run as fast as possible
+   */
+  public void setTurboMode(boolean turbo) {
+    engine.setTurbo(turbo);
+  }
+
   /**
    * saves the current simulation state as a new configuration file
    */
   public void saveSimulation() {
-    fileManager.saveSimulation(primaryStage, ui.getResources(), engine.getConfig(), engine.getGrid());
+    engine.runLocked(() -> fileManager.saveSimulation(primaryStage, ui.getResources(),
+        engine.getConfig(), engine.getGrid()));
   }
 
   /**
@@ -542,6 +568,24 @@ public class SimulationController {
     return ui;
   }
 
+  /**
+   * Captures the cell states of a grid for drawing, while the simulation is not in the middle of a
+   * step.
+   *
+   * @param grid the grid to capture
+   * @return the grid's current states and the cells that changed since it was last drawn
+   */
+  public GridFrame captureFrame(Grid grid) {
+    return engine.captureFrame(grid);
+  }
+
+  /**
+   * @return the live performance measurements of the running simulation
+   */
+  public SimulationMetrics getMetrics() {
+    return engine.getMetrics();
+  }
+
   /**
    * @return number of iterations that have passed of the simulation
    */
@@ -2,26 +2,60 @@ package cellsociety.controller;
 
 import cellsociety.model.EdgeStrategyFactory;
 import cellsociety.model.Grid;
+import cellsociety.model.GridFrame;
 import cellsociety.model.NeighborhoodFactory;
 import cellsociety.model.Simulation;
+import cellsociety.model.SimulationEvents;
+import cellsociety.model.StateInterface;
 import cellsociety.model.state.MockState;
 import java.lang.reflect.InvocationTargetException;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.management.JMException;
+import javafx.application.Platform;
 import javafx.stage.Stage;
-import javafx.util.Duration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.ResourceBundle;
 
 /**
  * The {@code SimulationEngine} class manages the execution and control of a simulation.
- * It handles the simulation's timeline, step progression, and interactions with the UI.
+ * It handles the simulation's step progression and interactions with the UI.
+ * Every step and render is measured by a {@link SimulationMetrics} registered over JMX.
+ * <p>
+ * While running, the simulation steps on its own worker thread. After a step the worker captures
+ * a {@link GridFrame} of the grid and the JavaFX thread draws it when it next can. The worker only
+ * captures a new frame once the last one has been taken for drawing, so a slow render skips
+ * frames rather than holding back the model, and a slow step never blocks the JavaFX thread.
+ * Anything that reads or changes the model from another thread holds the model lock, which the
+ * worker holds for the length of each step.
+ * </p>
+ * <p>
+ * In turbo mode the worker ignores the speed and steps back to back, publishing a frame only after
+ * stepping for a {@link FrameBudget} that follows the measured render cost. Many generations then
+ * pass between frames, and the steps in between are never drawn or charted.
+ * </p>
  *
  * @author angelapredolac
  */
 public class SimulationEngine {
-    private final Timeline timeline;
+    private static final Logger LOG = LogManager.getLogger(SimulationEngine.class);
+    private static final double NANOS_PER_SECOND = 1e9;
+    private final SimulationMetrics metrics = new SimulationMetrics();
     private final ResourceBundle config;
+    private final double framesPerSecond;
+    private final FrameBudget frameBudget;
+    private final ReentrantLock modelLock = new ReentrantLock(true);
+    private final AtomicReference<GridFrame> pendingFrame = new AtomicReference<>();
+    private final AtomicReference<StateInterface[]> spareFrameBuffer = new AtomicReference<>();
+    private final AtomicBoolean renderScheduled = new AtomicBoolean();
+    private volatile Thread worker;
+    private volatile double speed = 1;
+    private volatile boolean turbo;
+    private GridFrame drawnFrame;
     private Simulation simulation;
     private Grid grid;
     private SimulationConfig simulationConfig;
@@ -36,33 +70,16 @@ public class SimulationEngine {
      */
     public SimulationEngine(ResourceBundle config) {
         this.config = config;
-        this.timeline = initializeTimeline();
-    }
-
-    /**
-     * Initializes the simulation timeline based on the frame rate specified in the configuration.
-     *
-     * @return A configured {@code Timeline} object that updates the simulation at regular intervals.
-     */
-    private Timeline initializeTimeline() {
-        double framesPerSecond = Double.parseDouble(config.getString("frames.per.second"));
-        double secondDelay = 1.0 / framesPerSecond;
-
-        Timeline timeline = new Timeline();
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.getKeyFrames().add(
-                new KeyFrame(Duration.seconds(secondDelay),
-                        e -> {
-                          try {
-                            step();
-                          } catch (ClassNotFoundException | NoSuchMethodException |
-                                   InvocationTargetException | InstantiationException |
-                                   IllegalAccessException ex) {
-                            SimulationUI.displayAlert("Error", ex.getMessage());
-                          }
-                        })
-        );
-        return timeline;
+        this.framesPerSecond = Double.parseDouble(config.getString("frames.per.second"));
+        this.frameBudget = new FrameBudget(
+            millisToNanos(config.getString("turbo.frame.budget.min.ms")),
+            millisToNanos(config.getString("turbo.frame.budget.max.ms")),
+            Double.parseDouble(config.getString("turbo.render.share")));
+        try {
+            metrics.register();
+        } catch (JMException e) {
+            LOG.warn("Simulation metrics are not available over JMX: {}", e.getMessage());
+        }
     }
 
     /**
@@ -72,11 +89,21 @@ public class SimulationEngine {
      * @param simulationController The controller managing the simulation.
      */
     public void initializeSimulation(SimulationConfig config, SimulationController simulationController) {
-        this.simulationConfig = config;
-        this.grid = new Grid(config.getWidth(), config.getHeight(), MockState.STATE_TWO);
-        this.simulation = SimulationFactory.createSimulation(config.getType(), config, grid);
-        this.simulationController = simulationController;
-        this.simulationUI = simulationController.getUI();
+        pause();
+        modelLock.lock();
+        try {
+            this.simulationConfig = config;
+            this.grid = new Grid(config.getWidth(), config.getHeight(), MockState.STATE_TWO);
+            this.simulation = SimulationFactory.createSimulation(config.getType(), config, grid);
+            this.simulationController = simulationController;
+            this.simulationUI = simulationController.getUI();
+            pendingFrame.set(null);
+            spareFrameBuffer.set(null);
+            drawnFrame = null;
+            metrics.setSimulation(simulation);
+        } finally {
+            modelLock.unlock();
+        }
     }
 
     /**
@@ -90,8 +117,15 @@ public class SimulationEngine {
      */
     public void step()
         throws ClassNotFoundException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
-        simulation.step();
-        simulationUI.updateView(getSimulation().getColorMap(), getSimulation().getStateCounts());
+        GridFrame frame;
+        modelLock.lock();
+        try {
+            metrics.measureStep(simulation);
+            frame = captureLatestFrame();
+        } finally {
+            modelLock.unlock();
+        }
+        renderView(frame);
     }
 
     /**
@@ -105,22 +139,236 @@ public class SimulationEngine {
      */
     public void stepBackOnce()
         throws ClassNotFoundException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
-        boolean applied = simulation.stepBackOnce();
-        if (applied) {
-            simulationUI.updateView(getSimulation().getColorMap(), getSimulation().getStateCounts());
+        GridFrame frame = null;
+        modelLock.lock();
+        try {
+            if (simulation.stepBackOnce()) {
+                frame = captureLatestFrame();
+            }
+        } finally {
+            modelLock.unlock();
+        }
+        if (frame != null) {
+            renderView(frame);
+        }
+    }
+
+    /**
+     * Draws the simulation's current state.
+     *
+     * @throws ClassNotFoundException    If the simulation class cannot be found.
+     * @throws NoSuchMethodException     If a required method is not found.
+     * @throws InvocationTargetException If an invoked method throws an exception.
+     * @throws InstantiationException    If the simulation instance cannot be created.
+     * @throws IllegalAccessException    If access to a method is denied.
+     */
+    public void redraw()
+        throws ClassNotFoundException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
+        GridFrame frame;
+        modelLock.lock();
+        try {
+            frame = captureLatestFrame();
+        } finally {
+            modelLock.unlock();
+        }
+        renderView(frame);
+    }
+
+    /**
+     * Captures a frame of a grid while no step is in progress. A frame of the simulation's own grid
+     * takes over any frame still waiting to be drawn, so the changes it reported are not lost.
+     *
+     * @param grid the grid to capture
+     * @return the frame
+     */
+    public GridFrame captureFrame(Grid grid) {
+        modelLock.lock();
+        try {
+            if (simulation != null && grid == simulation.getGrid()) {
+                return captureLatestFrame();
+            }
+            return GridFrame.capture(grid);
+        } finally {
+            modelLock.unlock();
+        }
+    }
+
+    /**
+     * Runs an action that reads or changes the model while no step is in progress.
+     *
+     * @param action the action
+     */
+    public void runLocked(Runnable action) {
+        modelLock.lock();
+        try {
+            action.run();
+        } finally {
+            modelLock.unlock();
+        }
+    }
+
+    /**
+     * Captures the grid the simulation steps as it is now, folding in and reusing the buffer of any frame that was never
+     * drawn. Must be called while holding the model lock.
+     */
+    private GridFrame captureLatestFrame() {
+        GridFrame undrawn = pendingFrame.getAndSet(null);
+        StateInterface[] buffer =
+            undrawn != null ? undrawn.releaseBuffer() : spareFrameBuffer.getAndSet(null);
+        return GridFrame.capture(simulation.getGrid(), simulation.retrieveIterationCount(),
+            simulation.getStateCounts(), undrawn, buffer);
+    }
+
+    private static long millisToNanos(String millis) {
+        return (long) (Double.parseDouble(millis) * 1e6);
+    }
+
+    /**
+     * Steps the simulation at the current speed, or as fast as it can in turbo mode, until this
+     * thread is no longer the worker, then publishes the final state so the last steps are always
+     * drawn.
+     */
+    private void runSteps() {
+        Thread self = Thread.currentThread();
+        long nextStep = System.nanoTime();
+        try {
+            while (worker == self) {
+                long budget = turbo ? frameBudget.budgetNanos() : 0;
+                modelLock.lock();
+                try {
+                    if (worker != self) {
+                        break;
+                    }
+                    long batchStart = System.nanoTime();
+                    do {
+                        metrics.measureStep(simulation);
+                    } while (turbo && worker == self && System.nanoTime() - batchStart < budget);
+                    if (pendingFrame.get() == null) {
+                        pendingFrame.set(captureLatestFrame());
+                    }
+                } finally {
+                    modelLock.unlock();
+                }
+                requestRender();
+                if (turbo) {
+                    nextStep = System.nanoTime();
+                    continue;
+                }
+                nextStep += (long) (NANOS_PER_SECOND / (framesPerSecond * speed));
+                long wait = nextStep - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(this, wait);
+                } else {
+                    nextStep = System.nanoTime();
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Simulation step failed", e);
+            if (worker == self) {
+                worker = null;
+            }
+            Platform.runLater(() -> SimulationUI.displayAlert("Error", e.getMessage()));
+        } finally {
+            modelLock.lock();
+            try {
+                pendingFrame.set(captureLatestFrame());
+            } finally {
+                modelLock.unlock();
+            }
+            requestRender();
+        }
+    }
+
+    /**
+     * Asks the JavaFX thread to draw the latest frame, unless it has already been asked and has
+     * not yet done so.
+     */
+    private void requestRender() {
+        if (renderScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::renderLatestFrame);
+        }
+    }
+
+    private void renderLatestFrame() {
+        renderScheduled.set(false);
+        GridFrame frame = pendingFrame.getAndSet(null);
+        if (frame == null) {
+            return;
+        }
+        try {
+            renderView(frame);
+        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException
+                 | InstantiationException | IllegalAccessException e) {
+            pause();
+            SimulationUI.displayAlert("Error", e.getMessage());
+        }
+    }
+
+    /**
+     * Draws a frame of the simulation, timed by a flight recorder render event and recorded in the
+     * metrics. Once drawn, the previous frame is no longer shown anywhere, so its buffer is kept
+     * for the worker to capture into. Must be called on the JavaFX thread.
+     *
+     * @param frame the frame to draw
+     *
+     * @throws ClassNotFoundException    If the simulation class cannot be found.
+     * @throws NoSuchMethodException     If a required method is not found.
+     * @throws InvocationTargetException If an invoked method throws an exception.
+     * @throws InstantiationException    If the simulation instance cannot be created.
+     * @throws IllegalAccessException    If access to a method is denied.
+     */
+    private void renderView(GridFrame frame)
+        throws ClassNotFoundException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
+        SimulationEvents.Render event = new SimulationEvents.Render();
+        long start = System.nanoTime();
+        event.begin();
+        simulationUI.updateView(frame, simulation.getColorMap());
+        event.end();
+        long latency = System.nanoTime() - start;
+        metrics.recordRender(latency);
+        frameBudget.recordRender(latency);
+        if (drawnFrame != null && drawnFrame != frame) {
+            spareFrameBuffer.set(drawnFrame.releaseBuffer());
+        }
+        drawnFrame = frame;
+        if (event.shouldCommit()) {
+            event.describe(simulation.getClass().getSimpleName(), frame.getRows(), frame.getCols(),
+                frame.getChangedCells().cardinality());
+            event.commit();
         }
     }
 
     public void resetGrid() {
-        simulation.reinitializeGridStates(simulationConfig);
+        modelLock.lock();
+        try {
+            simulation.reinitializeGridStates(simulationConfig);
+        } finally {
+            modelLock.unlock();
+        }
     }
 
+    /**
+     * Starts stepping the simulation on a worker thread, unless it is already running.
+     */
     public void start() {
-        timeline.play();
+        if (worker != null) {
+            return;
+        }
+        Thread thread = Thread.ofPlatform().name("simulation-worker").daemon()
+            .unstarted(this::runSteps);
+        worker = thread;
+        thread.start();
     }
 
+    /**
+     * Stops stepping the simulation. A step already in progress finishes and is drawn.
+     */
     public void pause() {
-        timeline.pause();
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
     }
 
     /**
@@ -131,27 +379,63 @@ public class SimulationEngine {
     public void setSpeed(double speed) {
         double minSpeed = Double.parseDouble(config.getString("min.speed"));
         double maxSpeed = Double.parseDouble(config.getString("max.speed"));
-        double clampedSpeed = Math.max(minSpeed, Math.min(maxSpeed, speed));
-        timeline.setRate(clampedSpeed);
+        this.speed = Math.max(minSpeed, Math.min(maxSpeed, speed));
     }
 
 
+    /**
+     * Turns turbo mode on or off. In turbo mode the simulation steps as fast as it can and is only
+     * drawn as often as rendering keeps up with.
+     *
+     * @param turbo true to step as fast as possible
+     */
+    public void setTurbo(boolean turbo) {
+        this.turbo = turbo;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @return true if the simulation steps as fast as it can while running
+     */
+    public boolean isTurbo() {
+        return turbo;
+    }
+
     public void setEdgeStrategy(String type) {
         //no checking for validation here
-        grid.setEdgeStrategy(EdgeStrategyFactory.createEdgeStrategy(type));
+        modelLock.lock();
+        try {
+            grid.setEdgeStrategy(EdgeStrategyFactory.createEdgeStrategy(type));
+        } finally {
+            modelLock.unlock();
+        }
     }
 
     public void setNeighborhoodStrategy(String type) {
         //no checking for validation here
-        grid.setNeighborhoodStrategy(NeighborhoodFactory.createNeighborhoodStrategy(type));
+        modelLock.lock();
+        try {
+            grid.setNeighborhoodStrategy(NeighborhoodFactory.createNeighborhoodStrategy(type));
+        } finally {
+            modelLock.unlock();
+        }
     }
 
     // Getters
     public SimulationConfig getConfig() { return simulationConfig; }
     public Grid getGrid() { return grid; }
     public Simulation getSimulation() { return simulation; }
+    public SimulationMetrics getMetrics() { return metrics; }
 
     public void setGrid(Grid infiniteGrid) {
-        grid = infiniteGrid;
+        modelLock.lock();
+        try {
+            grid = infiniteGrid;
+        } finally {
+            modelLock.unlock();
+        }
     }
 }
\ No newline at end of file
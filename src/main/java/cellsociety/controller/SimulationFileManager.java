@@ -5,19 +5,15 @@ import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.ResourceBundle;
 
@@ -26,7 +22,12 @@ public class SimulationFileManager {
     private FileRetriever fileRetriever;
     private XMLParser xmlParser;
     private SimulationWriter xmlWriter;
+    private BinarySnapshotParser snapshotParser;
+    private SimulationWriter snapshotWriter;
+    private LifePatternParser rlePatternParser;
+    private LifePatternParser macrocellParser;
     private ResourceBundle resources;
+    private final ParsedFileCache<SimulationConfig> configCache;
 
     /**
      * initializes a file manager
@@ -34,6 +35,21 @@ public class SimulationFileManager {
     public SimulationFileManager() {
         this.xmlParser = new XMLParser();
         this.xmlWriter = new XMLWriter();
+        this.snapshotParser = new BinarySnapshotParser();
+        this.snapshotWriter = new BinarySnapshotWriter();
+        this.rlePatternParser = new RLEPatternParser();
+        this.macrocellParser = new MacrocellParser();
+        this.configCache = new ParsedFileCache<>(parseCacheSize(), this::parseFile,
+                SimulationConfig::copy, SimulationConfig::isReproducible);
+    }
+
+    /**
+     * @return the number of parsed files to keep, from the {@code parse.cache.size} property
+     */
+    static int parseCacheSize() {
+        return Integer.parseInt(ResourceBundle.getBundle(
+                SimulationFileManager.class.getPackageName() + ".Simulation")
+                .getString("parse.cache.size"));
     }
 
     /**
@@ -53,15 +69,40 @@ public class SimulationFileManager {
         }
     }
 
+    /**
+     * parses the loaded file, reusing the result of an earlier parse if the
+     * file has not changed since
+     *
+     * @return the parsed configuration, which the caller may change freely
+     * @throws Exception if the file cannot be parsed
+     */
     public SimulationConfig parseConfiguration() throws Exception {
         try {
-            return xmlParser.parseXMLFile(configFilePath);
+            return configCache.get(configFilePath);
         } catch (Exception e) {
             displayAlert("Error", "Failed to parse configuration file");
             throw e;
         }
     }
 
+    /**
+     * parses a file as a binary snapshot if its name ends in {@code .cellsnap},
+     * as a Life pattern if it ends in {@code .rle} or {@code .mc}, and as an
+     * XML configuration otherwise
+     */
+    private SimulationConfig parseFile(String filePath) throws ConfigurationException {
+        if (BinarySnapshotFormat.isSnapshot(filePath)) {
+            return snapshotParser.parseSnapshotFile(filePath);
+        }
+        if (rlePatternParser.accepts(filePath)) {
+            return rlePatternParser.parse(filePath);
+        }
+        if (macrocellParser.accepts(filePath)) {
+            return macrocellParser.parse(filePath);
+        }
+        return xmlParser.parseXMLFile(filePath);
+    }
+
     public void saveSimulation(Stage stage, ResourceBundle resources, SimulationConfig config, Grid grid) {
         this.resources = resources;
         try {
@@ -96,7 +137,36 @@ public class SimulationFileManager {
     private void saveConfigurationToFile(SimulationConfig config, Grid grid,
                                          SaveSimulationDescription.SimulationMetadata metadata) throws IOException {
 
-        xmlWriter.save(config, grid, metadata.saveLocation().getAbsolutePath());
+        String path = metadata.saveLocation().getAbsolutePath();
+        if (BinarySnapshotFormat.isSnapshot(path)) {
+            saveSnapshot(config, grid, path);
+        } else {
+            xmlWriter.save(config, grid, path);
+        }
+    }
+
+    /**
+     * Saves the configuration and grid as a compressed binary snapshot, which is much smaller and
+     * faster to write and read than XML for large grids.
+     *
+     * @param config the simulation configuration
+     * @param grid the grid holding the current cell states
+     * @param filePath the path to write, conventionally ending in {@code .cellsnap}
+     * @throws IOException if the file cannot be written
+     */
+    public void saveSnapshot(SimulationConfig config, Grid grid, String filePath) throws IOException {
+        snapshotWriter.save(config, grid, filePath);
+    }
+
+    /**
+     * Loads a binary snapshot written by {@link #saveSnapshot}.
+     *
+     * @param filePath the path of the snapshot
+     * @return the configuration, with the snapshot's cell states as its initial states
+     * @throws ConfigurationException if the file cannot be read or is not a valid snapshot
+     */
+    public SimulationConfig loadSnapshot(String filePath) throws ConfigurationException {
+        return snapshotParser.parseSnapshotFile(filePath);
     }
 
     private void displaySuccessMessage(String fileName) {
@@ -141,86 +211,90 @@ public class SimulationFileManager {
     }
 
     /**
-     * Saves a style to a file.
+     * Saves a style to a file, streaming the XML through StAX and replacing the file only once the
+     * document is complete.
      *
      * @param file the file to save to
      * @param style the style to save
      */
     private void saveStyleToFile(File file, SimulationStyle style) {
         try {
-            DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-
-            Document doc = docBuilder.newDocument();
-            Element rootElement = doc.createElement("style");
-            doc.appendChild(rootElement);
-
-            Element idElement = doc.createElement("id");
-            idElement.setTextContent("custom-style-" + System.currentTimeMillis());
-            rootElement.appendChild(idElement);
-
-            Element cellStatesElement = doc.createElement("cell-states");
-            rootElement.appendChild(cellStatesElement);
-
-            for (Map.Entry<String, CellAppearance> entry : style.getCellAppearances().entrySet()) {
-                Element stateElement = doc.createElement("state");
-                stateElement.setAttribute("name", entry.getKey());
-
-                CellAppearance appearance = entry.getValue();
-                if (appearance.getColor() != null) {
-                    stateElement.setAttribute("color", appearance.getColor());
-                }
-
-                if (appearance.usesImage()) {
-                    Element imageElement = doc.createElement("image");
-                    imageElement.setTextContent(appearance.getImagePath());
-                    stateElement.appendChild(imageElement);
-                }
+            AtomicFileWriter.write(file.toPath(), out -> writeStyle(out, style));
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
 
-                cellStatesElement.appendChild(stateElement);
+    /**
+     * Writes a style as an XML document.
+     *
+     * @param out the stream to write to
+     * @param style the style to write
+     * @throws XMLStreamException if the document cannot be written
+     */
+    private void writeStyle(OutputStream out, SimulationStyle style) throws XMLStreamException {
+        XMLStreamWriter writer = XMLOutputFactory.newInstance()
+                .createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        writer.writeCharacters("\n");
+        writer.writeStartElement("style");
+        writeStyleElement(writer, 1, "id", "custom-style-" + System.currentTimeMillis());
+
+        writeIndent(writer, 1);
+        writer.writeStartElement("cell-states");
+        for (Map.Entry<String, CellAppearance> entry : style.getCellAppearances().entrySet()) {
+            CellAppearance appearance = entry.getValue();
+            writeIndent(writer, 2);
+            if (appearance.usesImage()) {
+                writer.writeStartElement("state");
+            } else {
+                writer.writeEmptyElement("state");
             }
+            writer.writeAttribute("name", entry.getKey());
+            if (appearance.getColor() != null) {
+                writer.writeAttribute("color", appearance.getColor());
+            }
+            if (appearance.usesImage()) {
+                writeStyleElement(writer, 3, "image", appearance.getImagePath());
+                writeIndent(writer, 2);
+                writer.writeEndElement();
+            }
+        }
+        writeIndent(writer, 1);
+        writer.writeEndElement();
+
+        writeIndent(writer, 1);
+        writer.writeStartElement("grid");
+        writeStyleElement(writer, 2, "edge-policy", style.getEdgePolicy().toString());
+        writeStyleElement(writer, 2, "cell-shape", style.getCellShape().toString());
+        writeStyleElement(writer, 2, "neighbor-arrangement",
+                style.getNeighborArrangement().toString());
+        writeIndent(writer, 1);
+        writer.writeEndElement();
+
+        writeIndent(writer, 1);
+        writer.writeStartElement("display");
+        writeStyleElement(writer, 2, "grid-outline", String.valueOf(style.isShowGridOutline()));
+        writeStyleElement(writer, 2, "color-theme", style.getColorTheme().toString());
+        writeStyleElement(writer, 2, "animation-speed", String.valueOf(style.getAnimationSpeed()));
+        writeIndent(writer, 1);
+        writer.writeEndElement();
+
+        writer.writeCharacters("\n");
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.close();
+    }
 
-            Element gridElement = doc.createElement("grid");
-            rootElement.appendChild(gridElement);
-
-            Element edgePolicyElement = doc.createElement("edge-policy");
-            edgePolicyElement.setTextContent(style.getEdgePolicy().toString());
-            gridElement.appendChild(edgePolicyElement);
-
-            Element cellShapeElement = doc.createElement("cell-shape");
-            cellShapeElement.setTextContent(style.getCellShape().toString());
-            gridElement.appendChild(cellShapeElement);
-
-            Element neighborElement = doc.createElement("neighbor-arrangement");
-            neighborElement.setTextContent(style.getNeighborArrangement().toString());
-            gridElement.appendChild(neighborElement);
-
-            Element displayElement = doc.createElement("display");
-            rootElement.appendChild(displayElement);
-
-            Element gridOutlineElement = doc.createElement("grid-outline");
-            gridOutlineElement.setTextContent(String.valueOf(style.isShowGridOutline()));
-            displayElement.appendChild(gridOutlineElement);
-
-            Element colorThemeElement = doc.createElement("color-theme");
-            colorThemeElement.setTextContent(style.getColorTheme().toString());
-            displayElement.appendChild(colorThemeElement);
-
-            Element speedElement = doc.createElement("animation-speed");
-            speedElement.setTextContent(String.valueOf(style.getAnimationSpeed()));
-            displayElement.appendChild(speedElement);
-
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-
-            DOMSource source = new DOMSource(doc);
-            StreamResult result = new StreamResult(file);
-            transformer.transform(source, result);
+    private void writeStyleElement(XMLStreamWriter writer, int depth, String tag, String value)
+            throws XMLStreamException {
+        writeIndent(writer, depth);
+        writer.writeStartElement(tag);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    private void writeIndent(XMLStreamWriter writer, int depth) throws XMLStreamException {
+        writer.writeCharacters("\n" + "  ".repeat(depth));
     }
 }
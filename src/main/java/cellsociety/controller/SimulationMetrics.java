@@ -0,0 +1,496 @@
+package cellsociety.controller;
+
+import cellsociety.model.Simulation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Live measurements of a running simulation, published as an MXBean so that long-running
+ * instances can be watched from JConsole. {@link SimulationEngine} creates and registers one per
+ * engine under {@code cellsociety:type=SimulationMetrics,name=engine-N}, then reports every step
+ * and render to it.
+ * <p>
+ * Latencies, changed cells and allocations are kept for the last {@value #WINDOW_SIZE} steps, and
+ * percentiles are computed over that window when a client reads them. Steps and renders are counted
+ * per second for their rates, so a fast simulation's rate is not capped by the window size. The grid
+ * footprint and the simulation's counters are sampled on the stepping thread after each step, so
+ * JMX clients never read the model while it is being updated. All methods are thread-safe.
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public class SimulationMetrics implements SimulationMetricsMXBean {
+
+  /**
+   * Number of recent steps the latency and size statistics are computed over.
+   */
+  public static final int WINDOW_SIZE = 1024;
+
+  private static final String OBJECT_NAME = "cellsociety:type=SimulationMetrics,name=engine-";
+  private static final int RATE_WINDOW_SECONDS = 5;
+  private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+  private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+  private final LongSupplier clock;
+  private final ThreadMXBean threadBean;
+  private final boolean allocationSupported;
+  private final SampleWindow stepLatencies = new SampleWindow(WINDOW_SIZE);
+  private final SampleWindow renderLatencies = new SampleWindow(WINDOW_SIZE);
+  private final SampleWindow cellsChanged = new SampleWindow(WINDOW_SIZE);
+  private final SampleWindow allocatedBytes = new SampleWindow(WINDOW_SIZE);
+  private final RateCounter stepRate = new RateCounter(RATE_WINDOW_SECONDS);
+  private final RateCounter renderRate = new RateCounter(RATE_WINDOW_SECONDS);
+  private String simulationType = "";
+  private long totalSteps;
+  private long startTime;
+  private long gridFootprint;
+  private Map<String, Long> simulationCounters = Map.of();
+  private ObjectName objectName;
+
+  /**
+   * Creates empty metrics timed by {@link System#nanoTime()}.
+   */
+  public SimulationMetrics() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Creates empty metrics timed by the given clock.
+   *
+   * @param clock source of monotonic timestamps in nanoseconds
+   */
+  SimulationMetrics(LongSupplier clock) {
+    this.clock = clock;
+    this.threadBean = ManagementFactory.getThreadMXBean();
+    this.allocationSupported = enableAllocationMeasurement(threadBean);
+    this.startTime = clock.getAsLong();
+  }
+
+  /**
+   * Registers these metrics with the platform MBean server under a name unique to this JVM.
+   *
+   * @return the registered name
+   * @throws JMException if the MBean cannot be registered
+   */
+  public synchronized ObjectName register() throws JMException {
+    if (objectName == null) {
+      ObjectName name = new ObjectName(OBJECT_NAME + NEXT_ID.getAndIncrement());
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+      objectName = name;
+    }
+    return objectName;
+  }
+
+  /**
+   * Removes these metrics from the platform MBean server, if they were registered.
+   *
+   * @throws JMException if the MBean cannot be unregistered
+   */
+  public synchronized void unregister() throws JMException {
+    if (objectName != null) {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+      objectName = null;
+    }
+  }
+
+  /**
+   * Starts measuring a newly loaded simulation, discarding the samples of the previous one.
+   *
+   * @param simulation the simulation to measure
+   */
+  public synchronized void setSimulation(Simulation simulation) {
+    reset();
+    simulationType = simulation.getClass().getSimpleName();
+    sample(simulation);
+  }
+
+  /**
+   * Advances a simulation by one step, measuring its latency and the bytes the current thread
+   * allocates, and records the result.
+   *
+   * @param simulation the simulation to step
+   */
+  public void measureStep(Simulation simulation) {
+    long allocatedBefore = currentThreadAllocatedBytes();
+    long start = clock.getAsLong();
+    simulation.step();
+    long latency = clock.getAsLong() - start;
+    long allocated = allocationSupported ? currentThreadAllocatedBytes() - allocatedBefore : -1;
+    recordStep(simulation, latency, allocated);
+  }
+
+  /**
+   * Records a step that has just completed and samples the simulation's footprint and counters.
+   * Must be called on the thread that steps the simulation.
+   *
+   * @param simulation   the simulation that stepped
+   * @param latencyNanos time the step took
+   * @param allocated    bytes allocated during the step, or -1 if unknown
+   */
+  public synchronized void recordStep(Simulation simulation, long latencyNanos, long allocated) {
+    totalSteps++;
+    stepLatencies.add(latencyNanos);
+    cellsChanged.add(simulation.getCellsChangedLastStep());
+    if (allocated >= 0) {
+      allocatedBytes.add(allocated);
+    }
+    stepRate.add(secondOf(clock.getAsLong()));
+    sample(simulation);
+  }
+
+  /**
+   * Records the time spent drawing a step.
+   *
+   * @param latencyNanos time the render took
+   */
+  public synchronized void recordRender(long latencyNanos) {
+    renderLatencies.add(latencyNanos);
+    renderRate.add(secondOf(clock.getAsLong()));
+  }
+
+  /**
+   * Reads the figures shown in the on-screen performance display under a single lock, so a
+   * sampler pays for one short critical section instead of one per figure.
+   *
+   * @return the current figures
+   */
+  public synchronized Snapshot snapshot() {
+    return new Snapshot(getStepsPerSecond(), getRendersPerSecond(), getStepLatencyP50Millis(),
+        getStepLatencyP99Millis(), getRenderLatencyP50Millis(), getRenderLatencyP99Millis(),
+        getCellsChangedLastStep(), getAllocatedBytesLastStep(), gridFootprint);
+  }
+
+  /**
+   * A consistent set of the most watched figures.
+   *
+   * @param stepsPerSecond         recent step rate
+   * @param rendersPerSecond       recent render rate
+   * @param stepLatencyP50Millis   median step latency
+   * @param stepLatencyP99Millis   99th percentile step latency
+   * @param renderLatencyP50Millis median render latency
+   * @param renderLatencyP99Millis 99th percentile render latency
+   * @param cellsChangedLastStep   cells changed by the last step
+   * @param allocatedBytesLastStep bytes allocated by the last step, or -1 if unknown
+   * @param gridFootprintBytes     estimated grid and history footprint
+   */
+  public record Snapshot(double stepsPerSecond, double rendersPerSecond,
+                         double stepLatencyP50Millis,
+                         double stepLatencyP99Millis, double renderLatencyP50Millis,
+                         double renderLatencyP99Millis, long cellsChangedLastStep,
+                         long allocatedBytesLastStep, long gridFootprintBytes) {
+
+  }
+
+  @Override
+  public synchronized String getSimulationType() {
+    return simulationType;
+  }
+
+  @Override
+  public synchronized long getTotalSteps() {
+    return totalSteps;
+  }
+
+  @Override
+  public synchronized double getStepsPerSecond() {
+    return ratePerSecond(stepRate);
+  }
+
+  @Override
+  public synchronized double getRendersPerSecond() {
+    return ratePerSecond(renderRate);
+  }
+
+  @Override
+  public synchronized double getStepLatencyP50Millis() {
+    return stepLatencies.percentile(50) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public synchronized double getStepLatencyP90Millis() {
+    return stepLatencies.percentile(90) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public synchronized double getStepLatencyP99Millis() {
+    return stepLatencies.percentile(99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public synchronized double getStepLatencyMaxMillis() {
+    return stepLatencies.percentile(100) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public synchronized double getRenderLatencyP50Millis() {
+    return renderLatencies.percentile(50) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public synchronized double getRenderLatencyP99Millis() {
+    return renderLatencies.percentile(99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public synchronized long getCellsChangedLastStep() {
+    return cellsChanged.last();
+  }
+
+  @Override
+  public synchronized double getCellsChangedPerStepMean() {
+    return cellsChanged.mean();
+  }
+
+  @Override
+  public synchronized long getAllocatedBytesLastStep() {
+    return allocationSupported ? allocatedBytes.last() : -1;
+  }
+
+  @Override
+  public synchronized double getAllocatedBytesPerStepMean() {
+    return allocationSupported ? allocatedBytes.mean() : -1;
+  }
+
+  @Override
+  public synchronized long getGridMemoryFootprintBytes() {
+    return gridFootprint;
+  }
+
+  @Override
+  public synchronized Map<String, Long> getSimulationCounters() {
+    return simulationCounters;
+  }
+
+  @Override
+  public synchronized void reset() {
+    stepLatencies.clear();
+    renderLatencies.clear();
+    cellsChanged.clear();
+    allocatedBytes.clear();
+    stepRate.clear();
+    renderRate.clear();
+    totalSteps = 0;
+    startTime = clock.getAsLong();
+  }
+
+  /**
+   * Computes the rate of the events a counter holds, over the seconds it keeps up to now.
+   *
+   * @param counter the events
+   * @return events per second
+   */
+  private double ratePerSecond(RateCounter counter) {
+    long now = clock.getAsLong();
+    long firstSecond = Math.max(0, secondOf(now) - RATE_WINDOW_SECONDS);
+    long elapsed = now - (startTime + firstSecond * ONE_SECOND_NANOS);
+    if (elapsed <= 0) {
+      return 0;
+    }
+    return counter.countSince(firstSecond) * NANOS_PER_SECOND / elapsed;
+  }
+
+  /**
+   * Gets the whole second since the metrics started or were reset that a timestamp falls in.
+   *
+   * @param time a timestamp from the clock
+   * @return the second, counting from 0
+   */
+  private long secondOf(long time) {
+    return Math.max(0, time - startTime) / ONE_SECOND_NANOS;
+  }
+
+  /**
+   * Samples the values read from the model itself.
+   *
+   * @param simulation the simulation to sample
+   */
+  private void sample(Simulation simulation) {
+    gridFootprint = simulation.getGrid().estimateMemoryFootprint()
+        + simulation.getHistoryMemoryUsage();
+    simulationCounters = Collections.unmodifiableMap(
+        new LinkedHashMap<>(simulation.getCounters()));
+  }
+
+  /**
+   * Gets the total bytes allocated by the current thread.
+   *
+   * @return the allocated bytes, or -1 if the JVM cannot measure them
+   */
+  private long currentThreadAllocatedBytes() {
+    if (!allocationSupported) {
+      return -1;
+    }
+    return ((com.sun.management.ThreadMXBean) threadBean).getCurrentThreadAllocatedBytes();
+  }
+
+  /**
+   * Turns on per-thread allocation accounting if the JVM offers it.
+   *
+   * @param threadBean the platform thread bean
+   * @return true if allocations can be measured
+   */
+  private static boolean enableAllocationMeasurement(ThreadMXBean threadBean) {
+    if (!(threadBean instanceof com.sun.management.ThreadMXBean sunThreadBean)
+        || !sunThreadBean.isThreadAllocatedMemorySupported()) {
+      return false;
+    }
+    if (!sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+      sunThreadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+    return true;
+  }
+
+  /**
+   * Fixed-size ring of the most recent samples.
+   */
+  static final class SampleWindow {
+
+    private final long[] samples;
+    private int size;
+    private int next;
+
+    /**
+     * Creates an empty window.
+     *
+     * @param capacity number of samples kept
+     */
+    SampleWindow(int capacity) {
+      samples = new long[capacity];
+    }
+
+    /**
+     * Adds a sample, replacing the oldest one when the window is full.
+     *
+     * @param value the sample
+     */
+    void add(long value) {
+      samples[next] = value;
+      next = (next + 1) % samples.length;
+      size = Math.min(size + 1, samples.length);
+    }
+
+    /**
+     * Gets the most recent sample.
+     *
+     * @return the last sample added, or 0 if the window is empty
+     */
+    long last() {
+      return size == 0 ? 0 : samples[(next - 1 + samples.length) % samples.length];
+    }
+
+    /**
+     * Computes the mean of the samples.
+     *
+     * @return the mean, or 0 if the window is empty
+     */
+    double mean() {
+      if (size == 0) {
+        return 0;
+      }
+      double sum = 0;
+      for (int i = 0; i < size; i++) {
+        sum += samples[i];
+      }
+      return sum / size;
+    }
+
+    /**
+     * Computes a percentile of the samples by the nearest-rank method.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the smallest sample at or above the percentile, or 0 if the window is empty
+     */
+    long percentile(double percentile) {
+      if (size == 0) {
+        return 0;
+      }
+      long[] sorted = Arrays.copyOf(samples, size);
+      Arrays.sort(sorted);
+      int rank = (int) Math.ceil(percentile / 100 * size);
+      return sorted[Math.max(0, Math.min(size, rank) - 1)];
+    }
+
+    /**
+     * Removes all samples.
+     */
+    void clear() {
+      size = 0;
+      next = 0;
+    }
+  }
+
+  /**
+   * Counts events in one-second buckets over a few recent seconds, so the rate it reports is not
+   * limited by how many individual timestamps could be kept.
+   */
+  static final class RateCounter {
+
+    private final long[] seconds;
+    private final long[] counts;
+
+    /**
+     * Creates a counter with no events.
+     *
+     * @param windowSeconds number of whole seconds before the current one that are kept
+     */
+    RateCounter(int windowSeconds) {
+      seconds = new long[windowSeconds + 1];
+      counts = new long[windowSeconds + 1];
+      clear();
+    }
+
+    /**
+     * Counts an event in the given second, reusing the bucket of a second that has left the
+     * window.
+     *
+     * @param second the second the event happened in
+     */
+    void add(long second) {
+      int bucket = (int) (second % seconds.length);
+      if (seconds[bucket] != second) {
+        seconds[bucket] = second;
+        counts[bucket] = 0;
+      }
+      counts[bucket]++;
+    }
+
+    /**
+     * Counts the events from a second onwards.
+     *
+     * @param firstSecond the earliest second counted
+     * @return the number of such events
+     */
+    long countSince(long firstSecond) {
+      long count = 0;
+      for (int i = 0; i < seconds.length; i++) {
+        if (seconds[i] >= firstSecond) {
+          count += counts[i];
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Removes all events.
+     */
+    void clear() {
+      Arrays.fill(seconds, -1);
+      Arrays.fill(counts, 0);
+    }
+  }
+}
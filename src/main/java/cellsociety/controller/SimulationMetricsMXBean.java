@@ -0,0 +1,130 @@
+package cellsociety.controller;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link SimulationMetrics}, as shown in JConsole and other JMX clients.
+ * Latencies are reported in milliseconds over the most recent steps; counts and sizes are taken
+ * from the last completed step.
+ *
+ * @author Tatum McKinnis
+ */
+public interface SimulationMetricsMXBean {
+
+  /**
+   * Gets the simple class name of the simulation being measured.
+   *
+   * @return the simulation type, or an empty string before a simulation is loaded
+   */
+  String getSimulationType();
+
+  /**
+   * Gets the number of steps recorded since the metrics were created or reset.
+   *
+   * @return the total step count
+   */
+  long getTotalSteps();
+
+  /**
+   * Gets the step rate over the last few seconds.
+   *
+   * @return steps completed per second
+   */
+  double getStepsPerSecond();
+
+  /**
+   * Gets the rate at which steps were drawn over the last few seconds.
+   *
+   * @return renders completed per second
+   */
+  double getRendersPerSecond();
+
+  /**
+   * Gets the median step latency.
+   *
+   * @return the 50th percentile in milliseconds
+   */
+  double getStepLatencyP50Millis();
+
+  /**
+   * Gets the 90th percentile step latency.
+   *
+   * @return the 90th percentile in milliseconds
+   */
+  double getStepLatencyP90Millis();
+
+  /**
+   * Gets the 99th percentile step latency.
+   *
+   * @return the 99th percentile in milliseconds
+   */
+  double getStepLatencyP99Millis();
+
+  /**
+   * Gets the longest step latency in the sample window.
+   *
+   * @return the maximum in milliseconds
+   */
+  double getStepLatencyMaxMillis();
+
+  /**
+   * Gets the median time spent drawing a step.
+   *
+   * @return the 50th percentile in milliseconds
+   */
+  double getRenderLatencyP50Millis();
+
+  /**
+   * Gets the 99th percentile time spent drawing a step.
+   *
+   * @return the 99th percentile in milliseconds
+   */
+  double getRenderLatencyP99Millis();
+
+  /**
+   * Gets how many cells changed state during the last step.
+   *
+   * @return the number of changed cells
+   */
+  long getCellsChangedLastStep();
+
+  /**
+   * Gets the mean number of cells changed per step in the sample window.
+   *
+   * @return the mean number of changed cells
+   */
+  double getCellsChangedPerStepMean();
+
+  /**
+   * Gets the bytes allocated by the stepping thread during the last step.
+   *
+   * @return the allocated bytes, or -1 if the JVM cannot measure thread allocation
+   */
+  long getAllocatedBytesLastStep();
+
+  /**
+   * Gets the mean bytes allocated per step in the sample window.
+   *
+   * @return the mean allocated bytes, or -1 if the JVM cannot measure thread allocation
+   */
+  double getAllocatedBytesPerStepMean();
+
+  /**
+   * Gets the estimated heap used by the grid and the step-back history.
+   *
+   * @return the estimated footprint in bytes
+   */
+  long getGridMemoryFootprintBytes();
+
+  /**
+   * Gets the simulation's own counters, such as live agents, active loans or grid expansions.
+   *
+   * @return counter values keyed by name
+   */
+  Map<String, Long> getSimulationCounters();
+
+  /**
+   * Clears all recorded samples and totals.
+   */
+  void reset();
+}
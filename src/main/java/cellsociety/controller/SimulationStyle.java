@@ -28,6 +28,28 @@ public class SimulationStyle {
         this.animationSpeed = 1.0;
     }
 
+    /**
+     * Copies a style, including each of its cell appearances, so changing the copy leaves the
+     * original as it was.
+     *
+     * @param other the style to copy
+     */
+    public SimulationStyle(SimulationStyle other) {
+        this.cellAppearances = new HashMap<>();
+        for (Map.Entry<String, CellAppearance> entry : other.cellAppearances.entrySet()) {
+            CellAppearance appearance = new CellAppearance();
+            appearance.setColor(entry.getValue().getColor());
+            appearance.setImagePath(entry.getValue().getImagePath());
+            this.cellAppearances.put(entry.getKey(), appearance);
+        }
+        this.edgePolicy = other.edgePolicy;
+        this.cellShape = other.cellShape;
+        this.neighborArrangement = other.neighborArrangement;
+        this.showGridOutline = other.showGridOutline;
+        this.colorTheme = other.colorTheme;
+        this.animationSpeed = other.animationSpeed;
+    }
+
     public EdgePolicy getEdgePolicy() {
         return edgePolicy;
     }
@@ -1,6 +1,7 @@
 package cellsociety.controller;
 
 import cellsociety.model.Grid;
+import cellsociety.model.GridFrame;
 import cellsociety.model.Simulation;
 import cellsociety.model.StateInterface;
 import cellsociety.view.SimulationSelector;
@@ -73,6 +74,25 @@ public class SimulationUI {
     simulationView.updateCellCharts(stateCountsMap, colorMap);
   }
 
+  /**
+   * Updates the grid, iteration counter and charts to show a frame of the simulation.
+   *
+   * @param frame    the frame to show
+   * @param colorMap map of cell states to colors
+   * @throws ClassNotFoundException    if there is no factory class for creating the grid view
+   * @throws InvocationTargetException if a new grid view cannot be made
+   * @throws NoSuchMethodException     if there is no constructor for creating the gridview
+   * @throws InstantiationException    if a new gridview cannot be instantiated
+   * @throws IllegalAccessException    if user attempts to access a method that should not be
+   *                                   accessed
+   */
+  public void updateView(GridFrame frame, Map<StateInterface, String> colorMap)
+      throws ClassNotFoundException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
+    simulationView.updateGrid(frame, colorMap);
+    simulationView.updateIterationCounter(frame.getIteration());
+    simulationView.updateCellCharts(frame.getStateCounts(), colorMap);
+  }
+
     /**
      * Initializes and displays the splash screen.
      *
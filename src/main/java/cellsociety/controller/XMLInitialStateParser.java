@@ -1,5 +1,6 @@
 package cellsociety.controller;
 
+import cellsociety.model.Simulation;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
@@ -13,20 +14,21 @@ class XMLInitialStateParser {
      * Validates and sets the initial states for the simulation based on the XML configuration.
      * Ensures only one initialization method is used and applies appropriate validations.
      *
-     * @param doc    The XML document containing the simulation configuration.
+     * @param loaded The streamed XML file containing the simulation configuration.
      * @param config The simulation configuration object to be updated.
      * @throws ConfigurationException If multiple initialization methods are specified or the configuration is invalid.
      */
-    public void validateAndSetInitialStates(Document doc, SimulationConfig config)
+    public void validateAndSetInitialStates(XMLStreamLoader.LoadedDocument loaded, SimulationConfig config)
             throws ConfigurationException {
-        NodeList cellNodes = doc.getElementsByTagName("cell");
-        String initialStatesStr = XMLDocumentUtil.getElementContent(doc, "initial_states");
+        Document doc = loaded.document();
+        XMLStreamLoader.CellDefinitions cells = loaded.cells();
+        XMLStreamLoader.StateTokenizer initialStates = loaded.initialStates();
         NodeList randomStateNodes = doc.getElementsByTagName("random_states");
         NodeList randomProportionNodes = doc.getElementsByTagName("random_proportions");
 
         int initializationMethods = 0;
-        if (cellNodes.getLength() > 0) initializationMethods++;
-        if (initialStatesStr != null) initializationMethods++;
+        if (cells.size() > 0) initializationMethods++;
+        if (initialStates != null) initializationMethods++;
         if (randomStateNodes.getLength() > 0) initializationMethods++;
         if (randomProportionNodes.getLength() > 0) initializationMethods++;
 
@@ -35,14 +37,15 @@ class XMLInitialStateParser {
                     "Only one initialization method (cells, initial_states, random_states, or random_proportions) can be specified");
         }
 
-        if (cellNodes.getLength() > 0) {
-            validateAndSetCellLocations(cellNodes, config);
-        } else if (initialStatesStr != null) {
-            validateInitialStates(initialStatesStr);
-            int[] initialStates = parseInitialStates(initialStatesStr);
-            validateCellStates(initialStates, config.getType());
-            validateGridSize(config, initialStates.length);
-            config.setInitialStates(initialStates);
+        if (cells.size() > 0) {
+            validateAndSetCellLocations(cells, config);
+        } else if (initialStates != null) {
+            validateEncoding(doc);
+            validateInitialStates(initialStates);
+            validateGridSize(config, initialStates.size());
+            int[] states = initialStates.toArray();
+            validateDistinctStates(initialStates.distinctStates(), states, config.getType());
+            config.setInitialStates(states);
         } else if (randomStateNodes.getLength() > 0) {
             parseRandomStates(doc, config);
         } else if (randomProportionNodes.getLength() > 0) {
@@ -55,18 +58,39 @@ class XMLInitialStateParser {
     }
 
     /**
-     * Validates the initial states string to ensure it is non-empty and contains only numbers and whitespace.
+     * Validates that the initial states are either plain or run-length encoded.
      *
-     * @param states The string representing initial states.
-     * @throws ConfigurationException if the states string is empty or contains invalid characters.
+     * @param doc The XML document containing the initial_states element.
+     * @throws ConfigurationException if the element names an unknown encoding.
      */
-    private void validateInitialStates(String states) throws ConfigurationException {
-        if (states == null || states.trim().isEmpty()) {
+    private void validateEncoding(Document doc) throws ConfigurationException {
+        Element initialStates = (Element) doc.getElementsByTagName("initial_states").item(0);
+        String encoding = initialStates.getAttribute(XMLStreamLoader.ENCODING_ATTRIBUTE);
+        if (!encoding.isEmpty() && !encoding.equals(XMLStreamLoader.RUN_LENGTH_ENCODING)) {
+            throw new ConfigurationException("Unsupported initial states encoding: " + encoding
+                    + ". Expected " + XMLStreamLoader.RUN_LENGTH_ENCODING + " or no encoding");
+        }
+    }
+
+    /**
+     * Validates the tokenized initial states to ensure they are non-empty and contain only numbers and whitespace.
+     *
+     * @param states The tokens of the initial states text.
+     * @throws ConfigurationException if the states are empty, contain invalid characters or do not fit in an int.
+     */
+    private void validateInitialStates(XMLStreamLoader.StateTokenizer states) throws ConfigurationException {
+        if (states.hasInvalidCharacter()) {
+            throw new ConfigurationException(states.isRunLength()
+                    ? "Run-length encoded initial states can only contain states and runs written as count*state, with a count of at least 1"
+                    : "Initial states can only contain numbers and whitespace");
+        }
+
+        if (states.size() == 0) {
             throw new ConfigurationException("Initial states cannot be empty");
         }
 
-        if (!states.trim().matches("^[0-9\\s]+$")) {
-            throw new ConfigurationException("Initial states can only contain numbers and whitespace");
+        if (states.hasOverflow()) {
+            throw new ConfigurationException("Invalid state value format. All states must be integers.");
         }
     }
 
@@ -74,45 +98,48 @@ class XMLInitialStateParser {
      * Parses and validates specific cell locations and their states based on XML input.
      * Ensures locations are within bounds and do not overlap.
      *
-     * @param cellNodes The list of cell nodes from the XML document.
-     * @param config    The simulation configuration object to be updated.
+     * @param cells  The cell definitions streamed from the XML file.
+     * @param config The simulation configuration object to be updated.
      * @throws ConfigurationException If locations are out of bounds, duplicated, or states are invalid.
      */
-    private void validateAndSetCellLocations(NodeList cellNodes, SimulationConfig config)
+    private void validateAndSetCellLocations(XMLStreamLoader.CellDefinitions cells, SimulationConfig config)
             throws ConfigurationException {
+        if (cells.firstInvalidIndex() >= 0) {
+            throw new ConfigurationException(
+                    "Invalid number format in cell definition at index " + cells.firstInvalidIndex());
+        }
+
         int width = config.getWidth();
         int height = config.getHeight();
         int[] states = new int[width * height];
-        Set<String> usedLocations = new HashSet<>();
+        BitSet usedLocations = new BitSet(states.length);
+        BitSet distinctStates = new BitSet();
+        boolean negativeState = false;
         List<String> outOfBoundsCells = new ArrayList<>();
         List<String> duplicateLocations = new ArrayList<>();
 
-        Arrays.fill(states, 0);
-
-        for (int i = 0; i < cellNodes.getLength(); i++) {
-            Element cellElement = (Element) cellNodes.item(i);
-
-            try {
-                int row = Integer.parseInt(cellElement.getAttribute("row"));
-                int col = Integer.parseInt(cellElement.getAttribute("col"));
-                int state = Integer.parseInt(cellElement.getAttribute("state"));
-
-                if (row < 0 || row >= height || col < 0 || col >= width) {
-                    outOfBoundsCells.add(String.format("(row=%d, col=%d)", row, col));
-                    continue;
-                }
+        for (int i = 0; i < cells.size(); i++) {
+            int row = cells.row(i);
+            int col = cells.col(i);
+            int state = cells.state(i);
 
-                String location = row + "," + col;
-                if (!usedLocations.add(location)) {
-                    duplicateLocations.add(String.format("(row=%d, col=%d)", row, col));
-                    continue;
-                }
+            if (row < 0 || row >= height || col < 0 || col >= width) {
+                outOfBoundsCells.add(String.format("(row=%d, col=%d)", row, col));
+                continue;
+            }
 
-                states[row * width + col] = state;
+            int location = row * width + col;
+            if (usedLocations.get(location)) {
+                duplicateLocations.add(String.format("(row=%d, col=%d)", row, col));
+                continue;
+            }
+            usedLocations.set(location);
 
-            } catch (NumberFormatException e) {
-                throw new ConfigurationException(
-                        "Invalid number format in cell definition at index " + i);
+            states[location] = state;
+            if (state < 0) {
+                negativeState = true;
+            } else {
+                distinctStates.set(state);
             }
         }
 
@@ -129,7 +156,14 @@ class XMLInitialStateParser {
             throw new ConfigurationException(errorMsg.toString());
         }
 
-        validateCellStates(states, config.getType());
+        if (usedLocations.cardinality() < states.length) {
+            distinctStates.set(0);
+        }
+        if (negativeState) {
+            validateCellStates(states, config.getType());
+        } else {
+            validateDistinctStates(distinctStates, states, config.getType());
+        }
         config.setInitialStates(states);
     }
 
@@ -140,7 +174,7 @@ class XMLInitialStateParser {
      * @param statesLength The number of states provided.
      * @throws ConfigurationException If the number of states does not match the grid size.
      */
-    private void validateGridSize(SimulationConfig config, int statesLength)
+    private void validateGridSize(SimulationConfig config, long statesLength)
             throws ConfigurationException {
         int expectedCells = config.getWidth() * config.getHeight();
         if (statesLength != expectedCells) {
@@ -150,31 +184,6 @@ class XMLInitialStateParser {
         }
     }
 
-    /**
-     * Parses the initial states string into an array of integers
-     *
-     * @param statesStr The string containing space-separated state values
-     * @return Array of integer state values
-     */
-    private int[] parseInitialStates(String statesStr) throws ConfigurationException {
-        try {
-            String[] values = statesStr.trim().split("\\s+");
-            int[] states = new int[values.length];
-
-            for (int i = 0; i < values.length; i++) {
-                if (!values[i].isEmpty()) {
-                    states[i] = Integer.parseInt(values[i].trim());
-                } else {
-                    throw new ConfigurationException("Empty state value found at position " + i);
-                }
-            }
-
-            return states;
-        } catch (NumberFormatException e) {
-            throw new ConfigurationException("Invalid state value format. All states must be integers.");
-        }
-    }
-
     /**
      * Parses and validates random state assignments for cells in the simulation grid.
      *
@@ -229,47 +238,96 @@ class XMLInitialStateParser {
                             totalSpecifiedCells, gridSize));
         }
 
-        int[] states = generateRandomStates(config.getWidth(), config.getHeight(),
-                stateCounts);
+        int[] states = generateRandomStates(config, stateCounts);
         config.setInitialStates(states);
     }
 
     /**
-     * Generates random state assignments based on specified counts
+     * Generates random state assignments based on specified counts, seeded from the optional
+     * {@value Simulation#SEED_PARAMETER} parameter so that random starts can be reproduced.
      *
-     * @param width       Grid width
-     * @param height      Grid height
+     * @param config      The simulation configuration holding the grid size and parameters.
      * @param stateCounts Map of state values to their desired counts
      * @return Array of randomly assigned states
      */
-    private int[] generateRandomStates(int width, int height,
+    private int[] generateRandomStates(SimulationConfig config,
                                        Map<Integer, Integer> stateCounts) {
-        return getInts(width, height, stateCounts);
+        Map<String, Double> parameters = config.getParameters();
+        Double seed = parameters == null ? null : parameters.get(Simulation.SEED_PARAMETER);
+        SplittableRandom random = seed != null ? new SplittableRandom(seed.longValue())
+                : new SplittableRandom();
+        config.setReproducible(seed != null);
+        return getInts(config.getWidth(), config.getHeight(), stateCounts, random);
     }
 
-    static int[] getInts(int width, int height, Map<Integer, Integer> stateCounts) {
+    /**
+     * Places the requested number of cells of each state at random, with any cells left over in
+     * state 0. Cells are filled in order, each drawing its state with probability proportional to
+     * how many cells of that state are still to be placed, so the counts come out exact, every
+     * arrangement is equally likely, and generation takes one random draw per cell written
+     * sequentially, however dense the requested states are. Any state, including 0, can be
+     * requested.
+     *
+     * @param width       Grid width
+     * @param height      Grid height
+     * @param stateCounts Map of state values to their desired counts; counts past the grid size
+     *                    are dropped
+     * @param random      The source of randomness
+     * @return Array of randomly assigned states
+     */
+    static int[] getInts(int width, int height, Map<Integer, Integer> stateCounts,
+                         SplittableRandom random) {
         int gridSize = width * height;
         int[] states = new int[gridSize];
-        Random random = new Random();
-
-        Arrays.fill(states, 0);
 
-        for (Map.Entry<Integer, Integer> entry : stateCounts.entrySet()) {
-            int stateValue = entry.getKey();
-            int count = entry.getValue();
-
-            for (int i = 0; i < count; i++) {
-                int position;
-                do {
-                    position = random.nextInt(gridSize);
-                } while (states[position] != 0);
-                states[position] = stateValue;
+        TreeMap<Integer, Integer> counts = new TreeMap<>(stateCounts);
+        int[] values = new int[counts.size() + 1];
+        int[] remaining = new int[values.length];
+        int placed = 0;
+        int kinds = 0;
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            int count = Math.min(entry.getValue(), gridSize - placed);
+            values[kinds] = entry.getKey();
+            remaining[kinds++] = count;
+            placed += count;
+        }
+        values[kinds] = 0;
+        remaining[kinds++] = gridSize - placed;
+
+        for (int i = 0; i < gridSize; i++) {
+            int draw = nextBoundedInt(random, gridSize - i);
+            int kind = 0;
+            while (draw >= remaining[kind]) {
+                draw -= remaining[kind++];
             }
+            remaining[kind]--;
+            states[i] = values[kind];
         }
 
         return states;
     }
 
+    /**
+     * Draws a uniform int below a bound with Lemire's multiply-shift method, which avoids the
+     * division {@link SplittableRandom#nextInt(int)} performs on every call.
+     *
+     * @param random The source of randomness
+     * @param bound  The exclusive upper bound, at least 1
+     * @return A uniformly distributed value from 0 to bound - 1
+     */
+    private static int nextBoundedInt(SplittableRandom random, int bound) {
+        long product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                product = (random.nextInt() & 0xFFFFFFFFL) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
     /**
      * Parses and applies random state proportions for initialization.
      * Ensures the proportions sum up to at most 1.0 and assigns states accordingly.
@@ -325,11 +383,35 @@ class XMLInitialStateParser {
             stateCounts.put(entry.getKey(), cellCount);
         }
 
-        int[] states = generateRandomStates(config.getWidth(), config.getHeight(),
-                stateCounts);
+        int[] states = generateRandomStates(config, stateCounts);
         config.setInitialStates(states);
     }
 
+    /**
+     * Validates the distinct states found in a grid, so only a handful of values are looked up
+     * rather than every cell. The full scan only runs to report where invalid states are.
+     *
+     * @param distinctStates Every distinct state value in the grid.
+     * @param states         The grid's states, used to report the positions of invalid states.
+     * @param simulationType The type of simulation being run.
+     * @throws ConfigurationException If any state is not valid for the simulation type.
+     */
+    private void validateDistinctStates(BitSet distinctStates, int[] states, String simulationType)
+            throws ConfigurationException {
+        Set<Integer> validStates = VALID_STATES.get(simulationType);
+        if (validStates == null) {
+            validateCellStates(states, simulationType);
+            return;
+        }
+        for (int state = distinctStates.nextSetBit(0); state >= 0;
+             state = distinctStates.nextSetBit(state + 1)) {
+            if (!validStates.contains(state)) {
+                validateCellStates(states, simulationType);
+                return;
+            }
+        }
+    }
+
     /**
      * Validates that the given cell states are valid for the specified simulation type.
      *
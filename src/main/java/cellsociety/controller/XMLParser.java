@@ -1,10 +1,10 @@
 package cellsociety.controller;
 
 import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.*;
-import java.io.*;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
 
 /**
  * Parser for reading and validating configuration files in XML format.
@@ -15,7 +15,7 @@ import java.io.*;
  */
 public class XMLParser extends BaseConfigParser{
 
-  private static final String DEFAULT_PROPERTIES_PATH = "cellsociety.controller.simulation";
+  private static final String DEFAULT_PROPERTIES_PATH = "cellsociety.controller.Simulation";
 
   private final XMLStructureValidator structureValidator;
   private final XMLInitialStateParser initialStateParser;
@@ -23,6 +23,7 @@ public class XMLParser extends BaseConfigParser{
   private final XMLCellShapeParser cellShapeParser;
   private final FileValidator fileValidator;
   private final XMLTilingParser tilingParser;
+  private final XMLStreamLoader streamLoader;
 
   /**
    * Constructs an XMLParser with a default XMLFileValidator and properties path.
@@ -35,6 +36,7 @@ public class XMLParser extends BaseConfigParser{
     this.cellShapeParser = new XMLCellShapeParser();
     this.fileValidator = new FileValidator();
     this.tilingParser = new XMLTilingParser();
+    this.streamLoader = new XMLStreamLoader();
   }
 
   /**
@@ -47,11 +49,10 @@ public class XMLParser extends BaseConfigParser{
   @Override
   protected SimulationConfig parseConfig(String filePath) throws ConfigurationException {
     try {
-      Document document = loadXMLDocument(filePath);
-      return parseXMLDocument(document);
+      return parseXMLDocument(streamLoader.load(filePath));
     } catch (ParserConfigurationException e) {
       throw new ConfigurationException("XML parser configuration error: " + e.getMessage());
-    } catch (SAXException e) {
+    } catch (XMLStreamException e) {
       throw new ConfigurationException("Invalid XML format: " + e.getMessage());
     } catch (IOException e) {
       throw new ConfigurationException("Error reading file: " + e.getMessage());
@@ -68,44 +69,26 @@ public class XMLParser extends BaseConfigParser{
   public SimulationConfig parseXMLFile(String filePath) throws ConfigurationException {
     fileValidator.validateFile(filePath);
     try {
-      Document document = loadXMLDocument(filePath);
-      return parseXMLDocument(document);
+      return parseXMLDocument(streamLoader.load(filePath));
     } catch (ParserConfigurationException e) {
       throw new ConfigurationException("XML parser configuration error: " + e.getMessage());
-    } catch (SAXException e) {
+    } catch (XMLStreamException e) {
       throw new ConfigurationException("Invalid XML format: " + e.getMessage());
     } catch (Exception e) {
       throw new ConfigurationException("Error reading file: " + e.getMessage());
     }
   }
 
-  /**
-   * Loads an XML document from a file path.
-   *
-   * @param filePath The path to the XML file.
-   * @return The loaded Document object.
-   * @throws ParserConfigurationException If there are parser configuration issues.
-   * @throws SAXException If there are XML parsing issues.
-   * @throws IOException If there are file reading issues.
-   */
-  private Document loadXMLDocument(String filePath)
-          throws ParserConfigurationException, SAXException, IOException {
-    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-    DocumentBuilder builder = factory.newDocumentBuilder();
-    Document document = builder.parse(new File(filePath));
-    document.getDocumentElement().normalize();
-    return document;
-  }
-
   /**
    * Parses the XML document to create a SimulationConfig object.
    *
-   * @param document The XML document to parse.
+   * @param loaded The streamed XML file to parse.
    * @return A populated SimulationConfig object.
    * @throws ConfigurationException If validation or parsing errors occur.
    */
-  private SimulationConfig parseXMLDocument(Document document) throws ConfigurationException {
+  private SimulationConfig parseXMLDocument(XMLStreamLoader.LoadedDocument loaded)
+      throws ConfigurationException {
+    Document document = loaded.document();
     structureValidator.validateXMLStructure(document);
     structureValidator.validateRequiredFields(document);
 
@@ -123,9 +106,10 @@ public class XMLParser extends BaseConfigParser{
     String heightStr = XMLDocumentUtil.getElementContent(document, "height");
     GridDimensionParser.setGridDimensions(widthStr, heightStr, config);
 
-    initialStateParser.validateAndSetInitialStates(document, config);
-
+    // parameters come first so that a seed parameter can seed random initial states
     config.setParameters(parameterParser.parseParametersWithValidation(document));
+    initialStateParser.validateAndSetInitialStates(loaded, config);
+
     config.setCellShapeValues(cellShapeParser.parseCellShapesWithValidation(document));
     config.setTiling(tilingParser.parseTilingWithValidation(document));
     return config;
@@ -0,0 +1,488 @@
+package cellsociety.controller;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+
+/**
+ * Reads a simulation XML file with a single pass of a StAX stream reader. Everything except the
+ * grid's cells is built into a small DOM {@link Document} for the metadata, parameter and style
+ * parsers, while the text of {@code initial_states} is tokenized straight into an {@code int[]}
+ * and {@code cell} elements are collected into primitive arrays, so a large grid is never held as
+ * a string, a {@code String[]} of tokens or a list of DOM nodes.
+ * <p>
+ * The {@code initial_states} element is kept in the document without its text, so checks for its
+ * presence and its attributes still work; {@code cell} elements are left out of the document
+ * entirely.
+ * </p>
+ *
+ * @author angelapredolac
+ */
+final class XMLStreamLoader {
+
+  private static final String INITIAL_STATES = "initial_states";
+  private static final String CELL = "cell";
+  private static final char RUN_SEPARATOR = '*';
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int INITIAL_CAPACITY = 1 << 10;
+  private static final int MAX_CAPACITY_HINT = 1 << 22;
+
+  /**
+   * Attribute of {@code initial_states} naming how its text is encoded.
+   */
+  static final String ENCODING_ATTRIBUTE = "encoding";
+  /**
+   * Encoding of {@code initial_states} text written as runs of {@code count*state}.
+   */
+  static final String RUN_LENGTH_ENCODING = "rle";
+  /**
+   * The largest state any simulation type accepts, used to bound states when the file names its
+   * type after {@code initial_states}.
+   */
+  private static final int MAX_VALID_STATE = BaseConfigParser.VALID_STATES.values().stream()
+      .flatMap(Set::stream).mapToInt(Integer::intValue).max().orElse(0);
+
+  private final XMLInputFactory inputFactory;
+  private final DocumentBuilderFactory documentFactory;
+
+  /**
+   * Creates a loader that rejects DTDs and external entities, like the DOM parser it replaces.
+   */
+  XMLStreamLoader() {
+    inputFactory = XMLInputFactory.newFactory();
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    documentFactory = DocumentBuilderFactory.newInstance();
+  }
+
+  /**
+   * A loaded simulation file.
+   *
+   * @param document      the file without the grid's cells
+   * @param initialStates the tokens of the first {@code initial_states} element, or null if there
+   *                      is none
+   * @param cells         the {@code cell} elements, in document order
+   */
+  record LoadedDocument(Document document, StateTokenizer initialStates,
+                        CellDefinitions cells) {
+
+  }
+
+  /**
+   * Loads a simulation file.
+   *
+   * @param filePath the path to the XML file
+   * @return the loaded file
+   * @throws ParserConfigurationException if no DOM document can be created
+   * @throws XMLStreamException           if the file is not well-formed XML or declares a DTD
+   * @throws IOException                  if the file cannot be read
+   * @throws ConfigurationException       if {@code initial_states} holds a state larger than the
+   *                                      simulation accepts
+   */
+  LoadedDocument load(String filePath)
+      throws ParserConfigurationException, XMLStreamException, IOException,
+      ConfigurationException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(filePath)),
+        BUFFER_SIZE)) {
+      XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+      try {
+        return read(reader);
+      } finally {
+        reader.close();
+      }
+    }
+  }
+
+  /**
+   * Reads every event of the stream, building the document and collecting the grid's cells.
+   *
+   * @param reader the stream, positioned at the start of the document
+   * @return the loaded file
+   * @throws ParserConfigurationException if no DOM document can be created
+   * @throws XMLStreamException           if the stream is not well-formed XML or declares a DTD
+   * @throws ConfigurationException       if {@code initial_states} holds a state larger than the
+   *                                      simulation accepts
+   */
+  private LoadedDocument read(XMLStreamReader reader)
+      throws ParserConfigurationException, XMLStreamException, ConfigurationException {
+    Document document = documentFactory.newDocumentBuilder().newDocument();
+    Deque<Node> open = new ArrayDeque<>();
+    open.push(document);
+    Element initialStatesElement = null;
+    StateTokenizer initialStates = null;
+    CellDefinitions cells = new CellDefinitions();
+    int skippedDepth = 0;
+
+    while (reader.hasNext()) {
+      switch (reader.next()) {
+        case XMLStreamConstants.DTD ->
+            throw new XMLStreamException("DOCTYPE is not allowed", reader.getLocation());
+        case XMLStreamConstants.START_ELEMENT -> {
+          if (skippedDepth > 0) {
+            skippedDepth++;
+          } else if (CELL.equals(reader.getLocalName())) {
+            cells.add(reader.getAttributeValue(null, "row"),
+                reader.getAttributeValue(null, "col"), reader.getAttributeValue(null, "state"));
+            skippedDepth = 1;
+          } else {
+            Element element = createElement(document, reader);
+            open.peek().appendChild(element);
+            open.push(element);
+            if (initialStatesElement == null && INITIAL_STATES.equals(element.getTagName())) {
+              initialStatesElement = element;
+              initialStates = new StateTokenizer(capacityHint(document),
+                  RUN_LENGTH_ENCODING.equals(element.getAttribute(ENCODING_ATTRIBUTE)),
+                  simulationType(document));
+            }
+          }
+        }
+        case XMLStreamConstants.END_ELEMENT -> {
+          if (skippedDepth > 0) {
+            skippedDepth--;
+          } else {
+            open.pop();
+          }
+        }
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+             XMLStreamConstants.SPACE -> {
+          Node parent = open.peek();
+          if (skippedDepth > 0 || parent == document) {
+            break;
+          }
+          if (parent == initialStatesElement) {
+            initialStates.accept(reader.getTextCharacters(), reader.getTextStart(),
+                reader.getTextLength());
+          } else {
+            appendText(document, parent, reader.getText());
+          }
+        }
+        default -> {
+        }
+      }
+    }
+    if (initialStates != null) {
+      initialStates.finish();
+    }
+    return new LoadedDocument(document, initialStates, cells);
+  }
+
+  private Element createElement(Document document, XMLStreamReader reader) {
+    Element element = document.createElement(reader.getLocalName());
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+    }
+    return element;
+  }
+
+  /**
+   * Appends text to an element, merging it with the element's last text node the way
+   * {@link Document#normalize()} would.
+   */
+  private void appendText(Document document, Node parent, String text) {
+    if (parent.getLastChild() instanceof Text last) {
+      last.appendData(text);
+    } else {
+      parent.appendChild(document.createTextNode(text));
+    }
+  }
+
+  /**
+   * Guesses how many states {@code initial_states} holds from the grid dimensions, when they
+   * appear before it in the file, so the state array rarely has to grow.
+   *
+   * @param document the document read so far
+   * @return the expected number of states
+   */
+  private int capacityHint(Document document) {
+    try {
+      long cells = Long.parseLong(XMLDocumentUtil.getElementContent(document, "width").trim())
+          * Long.parseLong(XMLDocumentUtil.getElementContent(document, "height").trim());
+      if (cells > 0) {
+        return (int) Math.min(cells, MAX_CAPACITY_HINT);
+      }
+    } catch (NullPointerException | NumberFormatException e) {
+      // dimensions come later in the file or are invalid; they are validated separately
+    }
+    return INITIAL_CAPACITY;
+  }
+
+  /**
+   * Finds the simulation type when it appears before {@code initial_states} in the file.
+   *
+   * @param document the document read so far
+   * @return the type, or null if it has not been read yet
+   */
+  private String simulationType(Document document) {
+    String type = XMLDocumentUtil.getElementContent(document, "type");
+    return type == null ? null : type.trim();
+  }
+
+  /**
+   * Splits the text of {@code initial_states} into non-negative integer states as it arrives,
+   * without building the text. Tokens are separated by whitespace; any other character marks the
+   * whole text invalid. The distinct states seen are recorded as they are parsed, so they can be
+   * checked against the simulation's valid states without another pass over the grid. A state
+   * larger than any the simulation accepts is rejected as soon as its token ends, so it never
+   * reaches the set of distinct states.
+   * <p>
+   * When the element has {@code encoding="rle"}, each token is either a single state or a run
+   * written as {@code count*state}, such as {@code 4000*0}. Runs are kept as runs until
+   * {@link #toArray()} is called, so the grid size can be checked before any cells are allocated.
+   * </p>
+   */
+  static final class StateTokenizer {
+
+    private final boolean runLength;
+    private int[] states;
+    private int[] runLengths;
+    private int count;
+    private long cells;
+    private long current;
+    private long pendingRun = -1;
+    private boolean inToken;
+    private boolean invalidCharacter;
+    private boolean overflow;
+    private final BitSet distinctStates = new BitSet();
+    private final String simulationType;
+    private final Set<Integer> validStates;
+    private final int maxState;
+
+    /**
+     * @param capacity       the expected number of states
+     * @param runLength      whether the text is run-length encoded
+     * @param simulationType the simulation's type, or null if it is not known yet
+     */
+    StateTokenizer(int capacity, boolean runLength, String simulationType) {
+      this.runLength = runLength;
+      this.simulationType = simulationType;
+      validStates = simulationType == null ? null : BaseConfigParser.VALID_STATES.get(simulationType);
+      maxState = validStates == null ? MAX_VALID_STATE
+          : validStates.stream().mapToInt(Integer::intValue).max().orElse(0);
+      int tokens = runLength ? INITIAL_CAPACITY : Math.max(1, capacity);
+      states = new int[tokens];
+      runLengths = runLength ? new int[tokens] : null;
+    }
+
+    /**
+     * Tokenizes a chunk of text.
+     *
+     * @param text   the characters
+     * @param start  the first character of the chunk
+     * @param length the number of characters in the chunk
+     * @throws ConfigurationException if a state is larger than the simulation accepts
+     */
+    void accept(char[] text, int start, int length) throws ConfigurationException {
+      int end = start + length;
+      for (int i = start; i < end; i++) {
+        char c = text[i];
+        if (c >= '0' && c <= '9') {
+          current = current * 10 + (c - '0');
+          if (current > Integer.MAX_VALUE) {
+            overflow = true;
+            current = Integer.MAX_VALUE;
+          }
+          inToken = true;
+        } else if (Character.isWhitespace(c)) {
+          endToken();
+        } else if (c == RUN_SEPARATOR && runLength && inToken && pendingRun < 0) {
+          pendingRun = current;
+          current = 0;
+          inToken = false;
+        } else {
+          invalidCharacter = true;
+        }
+      }
+    }
+
+    /**
+     * Ends the last token once all of the text has been read.
+     *
+     * @throws ConfigurationException if the last state is larger than the simulation accepts
+     */
+    void finish() throws ConfigurationException {
+      endToken();
+    }
+
+    private void endToken() throws ConfigurationException {
+      if (!inToken) {
+        if (pendingRun >= 0) {
+          invalidCharacter = true;
+          pendingRun = -1;
+        }
+        return;
+      }
+      if (current > maxState) {
+        rejectState();
+      }
+      int run = pendingRun < 0 ? 1 : (int) pendingRun;
+      if (run == 0) {
+        invalidCharacter = true;
+      }
+      if (count == states.length) {
+        int grown = Math.max(states.length * 2, count + 1);
+        states = Arrays.copyOf(states, grown);
+        if (runLength) {
+          runLengths = Arrays.copyOf(runLengths, grown);
+        }
+      }
+      int state = (int) current;
+      states[count] = state;
+      if (runLength) {
+        runLengths[count] = run;
+      }
+      count++;
+      cells += run;
+      if (cells > Integer.MAX_VALUE) {
+        overflow = true;
+      }
+      distinctStates.set(state);
+      current = 0;
+      pendingRun = -1;
+      inToken = false;
+    }
+
+    /**
+     * Reports the state just read, which no simulation of this type accepts, along with the cell
+     * it belongs to.
+     */
+    private void rejectState() throws ConfigurationException {
+      if (current == Integer.MAX_VALUE && overflow) {
+        throw new ConfigurationException("Invalid state value format. All states must be integers.");
+      }
+      if (validStates == null) {
+        throw new ConfigurationException(String.format(
+            "Invalid cell states found at positions [%d]. Found invalid values: [%d]. "
+                + "No simulation has a state above %d", cells, current, maxState));
+      }
+      throw new ConfigurationException(String.format(
+          "Invalid cell states found at positions [%d]. Found invalid values: [%d]. "
+              + "Valid states for %s are: %s", cells, current, simulationType, validStates));
+    }
+
+    /**
+     * Expands the tokens into one state per cell.
+     *
+     * @return the states, in document order
+     */
+    int[] toArray() {
+      if (!runLength) {
+        return count == states.length ? states : Arrays.copyOf(states, count);
+      }
+      int[] expanded = new int[(int) cells];
+      int position = 0;
+      for (int i = 0; i < count; i++) {
+        Arrays.fill(expanded, position, position + runLengths[i], states[i]);
+        position += runLengths[i];
+      }
+      return expanded;
+    }
+
+    /**
+     * @return the number of cells the tokens describe
+     */
+    long size() {
+      return cells;
+    }
+
+    /**
+     * @return every distinct state value seen
+     */
+    BitSet distinctStates() {
+      return distinctStates;
+    }
+
+    boolean isRunLength() {
+      return runLength;
+    }
+
+    boolean hasInvalidCharacter() {
+      return invalidCharacter;
+    }
+
+    boolean hasOverflow() {
+      return overflow;
+    }
+  }
+
+  /**
+   * The {@code cell} elements of a file, parsed into parallel arrays of rows, columns and states.
+   * The index of the first element whose attributes are not integers is recorded instead of
+   * failing, so the error is reported in the same order as the other validations.
+   */
+  static final class CellDefinitions {
+
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] cols = new int[INITIAL_CAPACITY];
+    private int[] states = new int[INITIAL_CAPACITY];
+    private int count;
+    private int firstInvalidIndex = -1;
+    private int definitions;
+
+    void add(String row, String col, String state) {
+      int index = definitions++;
+      if (firstInvalidIndex >= 0) {
+        return;
+      }
+      try {
+        int parsedRow = Integer.parseInt(row);
+        int parsedCol = Integer.parseInt(col);
+        int parsedState = Integer.parseInt(state);
+        if (count == rows.length) {
+          rows = Arrays.copyOf(rows, count * 2);
+          cols = Arrays.copyOf(cols, count * 2);
+          states = Arrays.copyOf(states, count * 2);
+        }
+        rows[count] = parsedRow;
+        cols[count] = parsedCol;
+        states[count] = parsedState;
+        count++;
+      } catch (NumberFormatException e) {
+        firstInvalidIndex = index;
+      }
+    }
+
+    /**
+     * @return the number of {@code cell} elements in the file
+     */
+    int size() {
+      return definitions;
+    }
+
+    int row(int i) {
+      return rows[i];
+    }
+
+    int col(int i) {
+      return cols[i];
+    }
+
+    int state(int i) {
+      return states[i];
+    }
+
+    /**
+     * @return the index of the first element whose attributes are not integers, or -1 if there is
+     * none
+     */
+    int firstInvalidIndex() {
+      return firstInvalidIndex;
+    }
+  }
+}
@@ -3,21 +3,37 @@ package cellsociety.controller;
 import cellsociety.model.Grid;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Map;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 /**
  * The XMLWriter class is responsible for saving the current simulation state to an XML file. It
  * constructs the XML structure based on the provided simulation configuration and grid state.
  * This class extends {@code BaseFileWriter} and overrides the {@code save} and {@code formatContent}
  * methods to generate XML-formatted content representing the simulation details and grid layout.
+ * <p>
+ * Files are written incrementally through a StAX {@link XMLStreamWriter}, one grid row at a time,
+ * so saving uses the same small amount of memory whatever the grid size. The document goes to a
+ * temporary file that replaces the target only once it is complete.
+ * </p>
+ * <p>
+ * Grids that are mostly one state can be written with {@code encoding="rle"}, as runs of
+ * {@code count*state} that may span rows, which shrinks sparse grids by orders of magnitude. By
+ * default the encoding is chosen per file: runs are used when they take at most a quarter as many
+ * tokens as listing every cell.
+ * </p>
  *
  * @author angelapredolac
  */
 public class XMLWriter extends BaseFileWriter {
 
-  private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n";
+  private static final String ENCODING = StandardCharsets.UTF_8.name();
   private static final String SIMULATION_TAG = "simulation";
   private static final String TYPE_TAG = "type";
   private static final String TITLE_TAG = "title";
@@ -27,6 +43,45 @@ public class XMLWriter extends BaseFileWriter {
   private static final String HEIGHT_TAG = "height";
   private static final String GRID_TAG = "initial_states";
   private static final String PARAMETER_TAG = "parameter";
+  private static final String INDENT = "  ";
+  private static final int RUNS_PER_LINE = 16;
+  private static final int MIN_CELLS_PER_RUN = 4;
+
+  /**
+   * How the grid's states are written.
+   */
+  public enum GridEncoding {
+    /**
+     * Every cell's state, one grid row per line.
+     */
+    PLAIN,
+    /**
+     * Runs of {@code count*state}.
+     */
+    RUN_LENGTH,
+    /**
+     * Runs when they make the grid much shorter, every cell otherwise.
+     */
+    AUTOMATIC
+  }
+
+  private final GridEncoding encoding;
+
+  /**
+   * Creates a writer that chooses the grid encoding for each file.
+   */
+  public XMLWriter() {
+    this(GridEncoding.AUTOMATIC);
+  }
+
+  /**
+   * Creates a writer.
+   *
+   * @param encoding how the grid's states are written
+   */
+  public XMLWriter(GridEncoding encoding) {
+    this.encoding = encoding;
+  }
 
   /**
    * Saves the simulation configuration and grid state to an XML file at the specified file path.
@@ -38,8 +93,7 @@ public class XMLWriter extends BaseFileWriter {
    */
   @Override
   public void save(SimulationConfig config, Grid grid, String filePath) throws IOException {
-    String content = formatContent(config, grid);
-    writeToFile(filePath, content);
+    AtomicFileWriter.write(Path.of(filePath), out -> writeDocument(out, config, grid));
   }
 
   /**
@@ -51,49 +105,187 @@ public class XMLWriter extends BaseFileWriter {
    */
   @Override
   protected String formatContent(SimulationConfig config, Grid grid) {
-    StringBuilder xmlContent = new StringBuilder();
-    xmlContent.append(XML_DECLARATION);
+    StringWriter content = new StringWriter();
+    try {
+      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(content);
+      writeDocument(writer, config, grid);
+      writer.close();
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Could not format simulation as XML", e);
+    }
+    return content.toString();
+  }
 
-    xmlContent.append(String.format("<%s>\n", SIMULATION_TAG));
+  /**
+   * Streams the XML document to an output stream.
+   *
+   * @param out    The stream to write to.
+   * @param config The simulation configuration containing metadata and parameters.
+   * @param grid   The grid representing the current simulation state.
+   * @throws XMLStreamException If the document cannot be written.
+   */
+  private void writeDocument(OutputStream out, SimulationConfig config, Grid grid)
+      throws XMLStreamException {
+    XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, ENCODING);
+    writeDocument(writer, config, grid);
+    writer.close();
+  }
 
-    appendTag(xmlContent, TYPE_TAG, config.getType());
-    appendTag(xmlContent, TITLE_TAG, config.getTitle());
-    appendTag(xmlContent, AUTHOR_TAG, config.getAuthor());
-    appendTag(xmlContent, DESCRIPTION_TAG, config.getDescription());
-    appendTag(xmlContent, WIDTH_TAG, String.valueOf(config.getWidth()));
-    appendTag(xmlContent, HEIGHT_TAG, String.valueOf(config.getHeight()));
+  /**
+   * Writes the XML document, emitting the grid one row at a time.
+   *
+   * @param writer The StAX writer to write to.
+   * @param config The simulation configuration containing metadata and parameters.
+   * @param grid   The grid representing the current simulation state.
+   * @throws XMLStreamException If the document cannot be written.
+   */
+  private void writeDocument(XMLStreamWriter writer, SimulationConfig config, Grid grid)
+      throws XMLStreamException {
+    writer.writeStartDocument(ENCODING, "1.0");
+    writer.writeCharacters("\n");
+    writer.writeStartElement(SIMULATION_TAG);
+
+    writeTag(writer, TYPE_TAG, config.getType());
+    writeTag(writer, TITLE_TAG, config.getTitle());
+    writeTag(writer, AUTHOR_TAG, config.getAuthor());
+    writeTag(writer, DESCRIPTION_TAG, config.getDescription());
+    writeTag(writer, WIDTH_TAG, String.valueOf(config.getWidth()));
+    writeTag(writer, HEIGHT_TAG, String.valueOf(config.getHeight()));
 
     for (Map.Entry<String, Double> parameter : config.getParameters().entrySet()) {
-      xmlContent.append(String.format("    <%s name=\"%s\" value=\"%f\"/>\n",
-              PARAMETER_TAG, parameter.getKey(), parameter.getValue()));
+      writer.writeCharacters("\n" + INDENT);
+      writer.writeEmptyElement(PARAMETER_TAG);
+      writer.writeAttribute("name", parameter.getKey());
+      writer.writeAttribute("value", String.valueOf(parameter.getValue()));
     }
 
-    xmlContent.append(String.format("  <%s>\n", GRID_TAG));
+    writer.writeCharacters("\n" + INDENT);
+    writer.writeStartElement(GRID_TAG);
+    if (useRunLength(grid)) {
+      writer.writeAttribute(XMLStreamLoader.ENCODING_ATTRIBUTE,
+          XMLStreamLoader.RUN_LENGTH_ENCODING);
+      writeRuns(writer, grid);
+    } else {
+      writeRows(writer, grid);
+    }
+    writer.writeCharacters("\n" + INDENT);
+    writer.writeEndElement();
+
+    writer.writeCharacters("\n");
+    writer.writeEndElement();
+    writer.writeEndDocument();
+  }
+
+  /**
+   * Decides whether the grid is written as runs.
+   *
+   * @param grid The grid representing the current simulation state.
+   * @return true to write runs of {@code count*state}
+   */
+  private boolean useRunLength(Grid grid) {
+    if (encoding != GridEncoding.AUTOMATIC) {
+      return encoding == GridEncoding.RUN_LENGTH;
+    }
+    long cells = (long) grid.getRows() * grid.getCols();
+    long maxRuns = cells / MIN_CELLS_PER_RUN;
+    long runs = 0;
+    int previous = 0;
+    for (int row = 0; row < grid.getRows(); row++) {
+      for (int col = 0; col < grid.getCols(); col++) {
+        int state = grid.getCell(row, col).getCurrentState().getNumericValue();
+        if (runs == 0 || state != previous) {
+          if (++runs > maxRuns) {
+            return false;
+          }
+          previous = state;
+        }
+      }
+    }
+    return runs > 0;
+  }
+
+  /**
+   * Writes every cell's state, one grid row per line.
+   *
+   * @param writer The StAX writer to write to.
+   * @param grid   The grid representing the current simulation state.
+   * @throws XMLStreamException If the grid cannot be written.
+   */
+  private void writeRows(XMLStreamWriter writer, Grid grid) throws XMLStreamException {
+    StringBuilder rowContent = new StringBuilder();
     for (int row = 0; row < grid.getRows(); row++) {
-      StringBuilder rowContent = new StringBuilder("    ");
+      rowContent.setLength(0);
+      rowContent.append('\n').append(INDENT).append(INDENT);
       for (int col = 0; col < grid.getCols(); col++) {
         rowContent.append(grid.getCell(row, col).getCurrentState().getNumericValue());
         if (col < grid.getCols() - 1) {
-          rowContent.append(" ");
+          rowContent.append(' ');
         }
       }
-      xmlContent.append(rowContent).append("\n");
+      writer.writeCharacters(rowContent.toString());
     }
-    xmlContent.append(String.format("  </%s>\n", GRID_TAG));
+  }
 
-    xmlContent.append(String.format("</%s>", SIMULATION_TAG));
+  /**
+   * Writes the grid as runs of {@code count*state} in row-major order, a fixed number of runs per
+   * line.
+   *
+   * @param writer The StAX writer to write to.
+   * @param grid   The grid representing the current simulation state.
+   * @throws XMLStreamException If the grid cannot be written.
+   */
+  private void writeRuns(XMLStreamWriter writer, Grid grid) throws XMLStreamException {
+    StringBuilder line = new StringBuilder();
+    int runsOnLine = 0;
+    int state = 0;
+    int run = 0;
+    for (int row = 0; row < grid.getRows(); row++) {
+      for (int col = 0; col < grid.getCols(); col++) {
+        int next = grid.getCell(row, col).getCurrentState().getNumericValue();
+        if (run > 0 && next != state) {
+          appendRun(line, run, state, runsOnLine == 0);
+          if (++runsOnLine == RUNS_PER_LINE) {
+            writer.writeCharacters(line.toString());
+            line.setLength(0);
+            runsOnLine = 0;
+          }
+          run = 0;
+        }
+        state = next;
+        run++;
+      }
+    }
+    if (run > 0) {
+      appendRun(line, run, state, runsOnLine == 0);
+    }
+    writer.writeCharacters(line.toString());
+  }
 
-    return xmlContent.toString();
+  private void appendRun(StringBuilder line, int run, int state, boolean startsLine) {
+    if (startsLine) {
+      line.append('\n').append(INDENT).append(INDENT);
+    } else {
+      line.append(' ');
+    }
+    if (run > 1) {
+      line.append(run).append('*');
+    }
+    line.append(state);
   }
 
   /**
-   * Appends an XML tag with a value to the provided StringBuilder.
+   * Writes an indented element holding a text value.
    *
-   * @param builder The StringBuilder to append the tag to.
-   * @param tag     The XML tag name.
-   * @param value   The value to enclose within the tag.
+   * @param writer The StAX writer to write to.
+   * @param tag    The XML tag name.
+   * @param value  The value to enclose within the tag.
+   * @throws XMLStreamException If the element cannot be written.
    */
-  private void appendTag(StringBuilder builder, String tag, String value) {
-    builder.append(String.format("  <%s>%s</%s>\n", tag, value, tag));
+  private void writeTag(XMLStreamWriter writer, String tag, String value)
+      throws XMLStreamException {
+    writer.writeCharacters("\n" + INDENT);
+    writer.writeStartElement(tag);
+    writer.writeCharacters(String.valueOf(value));
+    writer.writeEndElement();
   }
 }
@@ -23,10 +23,11 @@ public class Agent {
   private boolean fertile;
   private List<Disease> diseases;
   private List<Integer> immuneSystem;
+  private final Random random;
   private static final int IMMUNE_SYSTEM_LENGTH = 10;
 
   /**
-   * Creates a new Agent with specified attributes.
+   * Creates a new Agent with specified attributes and an unseeded random number generator.
    *
    * @param position     initial position of the agent
    * @param initialSugar starting amount of sugar
@@ -35,6 +36,21 @@ public class Agent {
    * @throws IllegalArgumentException if any parameters are invalid
    */
   public Agent(Cell position, int initialSugar, int vision, int metabolism) {
+    this(position, initialSugar, vision, metabolism, new Random());
+  }
+
+  /**
+   * Creates a new Agent with specified attributes whose random choices, such as its immune system
+   * and which disease it passes on, come from the given generator.
+   *
+   * @param position     initial position of the agent
+   * @param initialSugar starting amount of sugar
+   * @param vision       how far the agent can see
+   * @param metabolism   rate at which agent consumes sugar
+   * @param random       the simulation's random number generator
+   * @throws IllegalArgumentException if any parameters are invalid
+   */
+  public Agent(Cell position, int initialSugar, int vision, int metabolism, Random random) {
     validateConstructorParams(position, initialSugar, vision, metabolism);
 
     this.position = position;
@@ -44,6 +60,7 @@ public class Agent {
     this.metabolism = metabolism;
     this.spice = 0;
     this.diseases = new ArrayList<>();
+    this.random = random;
     initializeImmuneSystem();
   }
 
@@ -77,7 +94,6 @@ public class Agent {
    */
   private void initializeImmuneSystem() {
     this.immuneSystem = new ArrayList<>(IMMUNE_SYSTEM_LENGTH);
-    Random random = new Random();
     for (int i = 0; i < IMMUNE_SYSTEM_LENGTH; i++) {
       immuneSystem.add(random.nextInt(2));  // Binary value (0 or 1)
     }
@@ -501,7 +517,7 @@ public class Agent {
     if (diseases.isEmpty()) {
       return null;
     }
-    return diseases.get(new Random().nextInt(diseases.size()));
+    return diseases.get(random.nextInt(diseases.size()));
   }
 
   /**
@@ -512,4 +528,68 @@ public class Agent {
   public List<Integer> getImmuneSystem() {
     return new ArrayList<>(immuneSystem);
   }
+
+  /**
+   * Captures the agent's mutable properties so they can be restored after stepping back. Diseases
+   * are kept by reference.
+   *
+   * @return a snapshot of the agent
+   */
+  public Snapshot snapshot() {
+    int[] immune = new int[immuneSystem.size()];
+    for (int i = 0; i < immune.length; i++) {
+      immune[i] = immuneSystem.get(i);
+    }
+    return new Snapshot(this, position, sugar, spice, sex, fertile,
+        diseases.toArray(new Disease[0]), immune);
+  }
+
+  /**
+   * Restores the agent's mutable properties from a snapshot of this agent.
+   *
+   * @param snapshot a snapshot returned by {@link #snapshot()}
+   * @throws IllegalArgumentException if the snapshot belongs to another agent
+   */
+  public void restore(Snapshot snapshot) {
+    if (snapshot.agent() != this) {
+      throw new IllegalArgumentException("Snapshot belongs to another agent");
+    }
+    position = snapshot.position();
+    sugar = snapshot.sugar();
+    spice = snapshot.spice();
+    sex = snapshot.sex();
+    fertile = snapshot.fertile();
+    diseases = new ArrayList<>(Arrays.asList(snapshot.diseases()));
+    immuneSystem = new ArrayList<>(snapshot.immuneSystem().length);
+    for (int value : snapshot.immuneSystem()) {
+      immuneSystem.add(value);
+    }
+  }
+
+  /**
+   * The mutable properties of an agent at one point in time.
+   *
+   * @param agent        the agent the snapshot was taken from
+   * @param position     the agent's cell
+   * @param sugar        sugar held
+   * @param spice        spice held
+   * @param sex          the agent's sex
+   * @param fertile      whether the agent is fertile
+   * @param diseases     diseases the agent carries
+   * @param immuneSystem the immune system bits
+   */
+  public record Snapshot(Agent agent, Cell position, int sugar, int spice, Sex sex,
+                         boolean fertile, Disease[] diseases, int[] immuneSystem) {
+
+    private static final int FIXED_BYTES = 64;
+
+    /**
+     * Estimates the memory held by the snapshot.
+     *
+     * @return the approximate number of bytes
+     */
+    public long sizeInBytes() {
+      return FIXED_BYTES + 8L * diseases.length + 4L * immuneSystem.length;
+    }
+  }
 }
@@ -0,0 +1,287 @@
+package cellsociety.model;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Moves the ants of a foraging colony over an {@link AntWorld}, processing large colonies in
+ * parallel batches.
+ * <p>
+ * Each step runs in two phases:
+ * <ol>
+ *   <li><b>Decide</b> (parallel): every ant picks up or drops food, deposits pheromone into the
+ *   world's next-step fields with an atomic max, and chooses a target cell. Ants only read the
+ *   current-step layers here, so the batches do not depend on each other.</li>
+ *   <li><b>Resolve</b> (sequential, in list order): chosen moves are applied while the target cell
+ *   still has room in the next step. When more ants want a cell than it can hold, ants earlier in
+ *   the list win and the rest stay where they are.</li>
+ * </ol>
+ * Random choices come from a counter-based generator keyed by the seed, the step number and the
+ * ant's position in the list, so a run gives the same result however the batches are
+ * scheduled.
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public class AntColonyEngine {
+
+  private static final int PARALLEL_THRESHOLD = 4096;
+  private static final int BATCH_SIZE = 1024;
+  private static final double TRAIL_DECAY = 2;
+  private static final double BASE_WEIGHT = 1.0;
+  private static final double RANDOM_WEIGHT = 0.5;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private final AntWorld world;
+  private final int maxAntsPerCell;
+  private final double maxPheromone;
+  private final long seed;
+  private long stepNumber;
+  private int[] targets = new int[0];
+  private byte[] directions = new byte[0];
+
+  /**
+   * Creates an engine for a world.
+   *
+   * @param world          the layers the ants live on
+   * @param maxAntsPerCell how many ants a cell can hold
+   * @param maxPheromone   pheromone level deposited on nests and food sources
+   * @param seed           seed for the ants' random choices
+   */
+  public AntColonyEngine(AntWorld world, int maxAntsPerCell, double maxPheromone, long seed) {
+    this.world = world;
+    this.maxAntsPerCell = maxAntsPerCell;
+    this.maxPheromone = maxPheromone;
+    this.seed = seed;
+  }
+
+  /**
+   * Processes one step of movement for every ant. Must be called between
+   * {@link AntWorld#beginStep()} and {@link AntWorld#commitAntCounts()}.
+   *
+   * @param ants the colony, in a stable order
+   */
+  public void moveAnts(List<Ant> ants) {
+    int count = ants.size();
+    if (targets.length < count) {
+      targets = new int[count];
+      directions = new byte[count];
+    }
+
+    if (count < PARALLEL_THRESHOLD) {
+      decideBatch(ants, 0, count);
+    } else {
+      int batches = (count + BATCH_SIZE - 1) / BATCH_SIZE;
+      IntStream.range(0, batches).parallel().forEach(batch ->
+          decideBatch(ants, batch * BATCH_SIZE, Math.min(count, (batch + 1) * BATCH_SIZE)));
+    }
+
+    for (int i = 0; i < count; i++) {
+      int target = targets[i];
+      if (target >= 0 && world.getNextAntCount(target) < maxAntsPerCell) {
+        moveAnt(ants.get(i), target, world.getNeighborOrientation(directions[i]));
+      }
+    }
+    stepNumber++;
+  }
+
+  /**
+   * Runs the decide phase for a contiguous range of ants.
+   *
+   * @param ants the colony
+   * @param from first ant index, inclusive
+   * @param to   last ant index, exclusive
+   */
+  private void decideBatch(List<Ant> ants, int from, int to) {
+    int[] candidates = new int[world.getNeighborCount()];
+    int[] candidateDirections = new int[world.getNeighborCount()];
+    double[] weights = new double[world.getNeighborCount()];
+    for (int i = from; i < to; i++) {
+      decide(ants.get(i), i, candidates, candidateDirections, weights);
+    }
+  }
+
+  /**
+   * Updates an ant's food status, deposits its pheromone and records the move it wants to make.
+   *
+   * @param ant                 the ant
+   * @param antIndex            the ant's position in the colony list
+   * @param candidates          scratch space for candidate cells
+   * @param candidateDirections scratch space for candidate directions
+   * @param weights             scratch space for candidate weights
+   */
+  private void decide(Ant ant, int antIndex, int[] candidates, int[] candidateDirections,
+      double[] weights) {
+    int row = ant.getRow();
+    int col = ant.getCol();
+    int index = world.indexOf(row, col);
+    byte terrain = world.getTerrain(index);
+
+    if (ant.hasFood() && terrain == AntWorld.NEST) {
+      ant.setHasFood(false);
+    } else if (!ant.hasFood() && terrain == AntWorld.FOOD) {
+      ant.setHasFood(true);
+    }
+    boolean hasFood = ant.hasFood();
+    world.deposit(index, calculateDesiredPheromone(row, col, hasFood, terrain), hasFood);
+
+    long stream = mix(seed ^ (stepNumber * GOLDEN_GAMMA) ^ ((long) antIndex << 1));
+    int count = 0;
+    double totalWeight = 0;
+    for (int k = 0; k < world.getNeighborCount(); k++) {
+      int neighbor = world.resolveNeighbor(row, col, k);
+      if (neighbor >= 0 && world.getTerrain(neighbor) != AntWorld.OBSTACLE
+          && world.getAntCount(neighbor) < maxAntsPerCell) {
+        double pheromone = hasFood ? world.getHomePheromone(neighbor)
+            : world.getFoodPheromone(neighbor);
+        candidates[count] = neighbor;
+        candidateDirections[count] = k;
+        weights[count] = BASE_WEIGHT + pheromone + unitRandom(stream, k) * RANDOM_WEIGHT;
+        totalWeight += weights[count];
+        count++;
+      }
+    }
+
+    if (count == 0) {
+      targets[antIndex] = -1;
+      return;
+    }
+    int selected = selectMove(weights, count, totalWeight,
+        unitRandom(stream, world.getNeighborCount()));
+    targets[antIndex] = candidates[selected];
+    directions[antIndex] = (byte) candidateDirections[selected];
+  }
+
+  /**
+   * Calculates desired pheromone level for deposition: the maximum on nests (home) and food
+   * sources (food), otherwise a little less than the strongest neighboring trail.
+   *
+   * @param row     Grid row coordinate
+   * @param col     Grid column coordinate
+   * @param hasFood Whether the ant is carrying food
+   * @param terrain Terrain code of the cell
+   * @return Pheromone level to deposit
+   */
+  private double calculateDesiredPheromone(int row, int col, boolean hasFood, byte terrain) {
+    if (hasFood) {
+      return terrain == AntWorld.FOOD ? maxPheromone
+          : Math.max(0, getMaxNeighborPheromone(row, col, false) - TRAIL_DECAY);
+    }
+    return terrain == AntWorld.NEST ? maxPheromone
+        : Math.max(0, getMaxNeighborPheromone(row, col, true) - TRAIL_DECAY);
+  }
+
+  /**
+   * Finds maximum pheromone value in neighboring cells.
+   *
+   * @param row    Center cell row
+   * @param col    Center cell column
+   * @param isHome Whether to check home (true) or food (false) pheromones
+   * @return Maximum pheromone value found
+   */
+  private double getMaxNeighborPheromone(int row, int col, boolean isHome) {
+    double max = 0;
+    for (int k = 0; k < world.getNeighborCount(); k++) {
+      int neighbor = world.resolveNeighbor(row, col, k);
+      if (neighbor >= 0) {
+        double pheromone = isHome ? world.getHomePheromone(neighbor)
+            : world.getFoodPheromone(neighbor);
+        max = Math.max(max, pheromone);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Selects a movement candidate with probability proportional to its weight.
+   *
+   * @param weights     Selection weights of the candidates
+   * @param count       Number of candidates
+   * @param totalWeight Sum of the candidate weights
+   * @param random      Uniform random value in [0, 1)
+   * @return Index of the selected candidate
+   */
+  private int selectMove(double[] weights, int count, double totalWeight, double random) {
+    if (totalWeight <= 0) {
+      return (int) (random * count);
+    }
+
+    double threshold = random * totalWeight;
+    double sum = 0;
+    for (int i = 0; i < count; i++) {
+      sum += weights[i];
+      if (sum >= threshold) {
+        return i;
+      }
+    }
+    return count - 1;
+  }
+
+  /**
+   * Moves an ant to a new cell and updates its orientation and step count.
+   *
+   * @param ant       The ant to move
+   * @param target    Flat index of the target cell
+   * @param direction Direction of the move
+   */
+  private void moveAnt(Ant ant, int target, Orientation direction) {
+    int oldRow = ant.getRow();
+    int oldCol = ant.getCol();
+    int newRow = target / world.getCols();
+    int newCol = target % world.getCols();
+
+    if (oldRow != newRow || oldCol != newCol) {
+      ant.setOrientation(direction);
+      ant.setLastRow(oldRow);
+      ant.setLastCol(oldCol);
+      ant.setSteps(ant.getSteps() + 1);
+    }
+
+    world.moveAnt(world.indexOf(oldRow, oldCol), target);
+    ant.setRow(newRow);
+    ant.setCol(newCol);
+  }
+
+  /**
+   * Returns the n-th uniform random value of a stream.
+   *
+   * @param stream the stream key
+   * @param n      which value of the stream to return
+   * @return a value in [0, 1)
+   */
+  private static double unitRandom(long stream, int n) {
+    return (mix(stream + (n + 1) * GOLDEN_GAMMA) >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * SplitMix64 finalizer: scrambles a 64-bit value.
+   *
+   * @param z the value to scramble
+   * @return the scrambled value
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Gets the number of steps processed so far.
+   *
+   * @return the step number
+   */
+  public long getStepNumber() {
+    return stepNumber;
+  }
+
+  /**
+   * Sets the number of steps processed so far, so that random choices after stepping back repeat
+   * those of the original run.
+   *
+   * @param stepNumber the step number to continue from
+   */
+  public void setStepNumber(long stepNumber) {
+    this.stepNumber = stepNumber;
+  }
+
+}
@@ -0,0 +1,401 @@
+package cellsociety.model;
+
+import cellsociety.model.state.AntState;
+import java.util.Arrays;
+
+/**
+ * Holds the per-cell data of the ant foraging simulation in primitive layers instead of in
+ * immutable {@link AntState} objects. Each layer is a flat array indexed by
+ * {@code row * cols + col}:
+ * <ul>
+ *   <li>a static terrain bitmap (empty, nest, food or obstacle)</li>
+ *   <li>home and food pheromone {@link ScalarField}s, registered on the grid as
+ *   {@value #HOME_FIELD} and {@value #FOOD_FIELD}, so ants read the current step's values while
+ *   deposits go into the next step's values</li>
+ *   <li>ant counts, also double-buffered</li>
+ * </ul>
+ * The cell states shown by the view are derived from these layers through
+ * {@link #getDerivedState(int)}, which only depends on the terrain and whether ants are present,
+ * so the grid's cells only need updating when that changes.
+ *
+ * @author Tatum McKinnis
+ */
+public class AntWorld {
+
+  /**
+   * Terrain code for an empty cell; matches {@link AntState#getNumericValue()}.
+   */
+  public static final byte EMPTY = 0;
+  /**
+   * Terrain code for a nest cell.
+   */
+  public static final byte NEST = 1;
+  /**
+   * Terrain code for a food source cell.
+   */
+  public static final byte FOOD = 2;
+  /**
+   * Terrain code for an obstacle cell.
+   */
+  public static final byte OBSTACLE = 3;
+  /**
+   * Name of the grid's home pheromone field.
+   */
+  public static final String HOME_FIELD = "homePheromone";
+  /**
+   * Name of the grid's food pheromone field.
+   */
+  public static final String FOOD_FIELD = "foodPheromone";
+
+  private static final int[] NEIGHBOR_DR = {-1, -1, -1, 0, 0, 1, 1, 1};
+  private static final int[] NEIGHBOR_DC = {-1, 0, 1, -1, 1, -1, 0, 1};
+  private static final AntState[][] DERIVED_STATES = {
+      {new AntState(false, false, false, 0, 0, 0), new AntState(false, false, false, 0, 0, 1)},
+      {new AntState(true, false, false, 0, 0, 0), new AntState(true, false, false, 0, 0, 1)},
+      {new AntState(false, true, false, 0, 0, 0), new AntState(false, true, false, 0, 0, 1)},
+      {new AntState(false, false, true, 0, 0, 0), new AntState(false, false, true, 0, 0, 1)}
+  };
+
+  private final Grid grid;
+  private final int rows;
+  private final int cols;
+  private final byte[] terrain;
+  private final ScalarField homePheromone;
+  private final ScalarField foodPheromone;
+  private int[] antCounts;
+  private int[] nextAntCounts;
+  private int[] changedCells;
+  private int changedCount;
+
+  /**
+   * Creates the layers for a grid and loads them from the grid's current {@link AntState}s.
+   *
+   * @param grid the grid whose cells hold the initial ant states
+   * @throws ClassCastException if a cell does not hold an {@link AntState}
+   */
+  public AntWorld(Grid grid) {
+    this.grid = grid;
+    this.rows = grid.getRows();
+    this.cols = grid.getCols();
+    int size = rows * cols;
+    terrain = new byte[size];
+    homePheromone = grid.getScalarField(HOME_FIELD);
+    foodPheromone = grid.getScalarField(FOOD_FIELD);
+    antCounts = new int[size];
+    nextAntCounts = new int[size];
+    changedCells = new int[16];
+    load();
+  }
+
+  /**
+   * Reloads every layer from the grid's current cell states.
+   */
+  public void load() {
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        int index = r * cols + c;
+        AntState state = (AntState) grid.getCell(r, c).getCurrentState();
+        terrain[index] = (byte) state.getNumericValue();
+        homePheromone.set(index, state.getHomePheromone());
+        foodPheromone.set(index, state.getFoodPheromone());
+        antCounts[index] = state.getAntCount();
+      }
+    }
+    changedCount = 0;
+  }
+
+  /**
+   * Captures the pheromone fields and ant counts, one grid row per snapshot row, sharing every row
+   * that has not changed since a previous snapshot.
+   *
+   * @param previous the snapshot to share unchanged rows with, or null
+   * @return a snapshot of the world's mutable layers
+   */
+  public Snapshot snapshot(Snapshot previous) {
+    return new Snapshot(
+        captureField(homePheromone, previous == null ? null : previous.homePheromone()),
+        captureField(foodPheromone, previous == null ? null : previous.foodPheromone()),
+        RowSnapshot.capture(rows, cols, (r, buffer) -> {
+          for (int c = 0; c < cols; c++) {
+            buffer[c] = antCounts[r * cols + c];
+          }
+        }, previous == null ? null : previous.antCounts()));
+  }
+
+  /**
+   * Captures a pheromone field as the raw bits of its values.
+   *
+   * @param field    the field to capture
+   * @param previous the field's previous snapshot, or null
+   * @return the field's snapshot
+   */
+  private RowSnapshot captureField(ScalarField field, RowSnapshot previous) {
+    return RowSnapshot.capture(rows, cols, (r, buffer) -> {
+      for (int c = 0; c < cols; c++) {
+        buffer[c] = Double.doubleToRawLongBits(field.get(r * cols + c));
+      }
+    }, previous);
+  }
+
+  /**
+   * Restores the pheromone fields and ant counts from a snapshot. The terrain never changes and
+   * is not part of the snapshot.
+   *
+   * @param snapshot a snapshot taken from this world
+   */
+  public void restore(Snapshot snapshot) {
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        int index = r * cols + c;
+        homePheromone.set(index, Double.longBitsToDouble(snapshot.homePheromone().get(r, c)));
+        foodPheromone.set(index, Double.longBitsToDouble(snapshot.foodPheromone().get(r, c)));
+        antCounts[index] = (int) snapshot.antCounts().get(r, c);
+      }
+    }
+    changedCount = 0;
+  }
+
+  /**
+   * The mutable layers of a world at one point in time, each held by grid row so rows that did not
+   * change are shared between generations.
+   *
+   * @param homePheromone raw bits of the home pheromone values
+   * @param foodPheromone raw bits of the food pheromone values
+   * @param antCounts     ant counts
+   */
+  public record Snapshot(RowSnapshot homePheromone, RowSnapshot foodPheromone,
+                         RowSnapshot antCounts) {
+
+    /**
+     * Estimates the memory held by the snapshot that is not shared with earlier snapshots.
+     *
+     * @return the approximate number of bytes
+     */
+    public long sizeInBytes() {
+      return homePheromone.sizeInBytes() + foodPheromone.sizeInBytes()
+          + antCounts.sizeInBytes();
+    }
+  }
+
+  /**
+   * Returns the canonical view state for a cell, derived from its terrain and whether any ants
+   * occupy it. The returned instances are shared and carry no pheromone values; use the layer
+   * getters for those.
+   *
+   * @param index flat cell index
+   * @return the derived cell state
+   */
+  public AntState getDerivedState(int index) {
+    return DERIVED_STATES[terrain[index]][antCounts[index] > 0 ? 1 : 0];
+  }
+
+  /**
+   * Returns the canonical view state for a terrain type with no ants present.
+   *
+   * @param terrainType one of {@link #EMPTY}, {@link #NEST}, {@link #FOOD} or {@link #OBSTACLE}
+   * @return the shared state instance
+   */
+  public static AntState getTerrainState(byte terrainType) {
+    return DERIVED_STATES[terrainType][0];
+  }
+
+  /**
+   * Copies the current pheromone and ant count layers into the next-step buffers.
+   */
+  public void beginStep() {
+    homePheromone.beginStep();
+    foodPheromone.beginStep();
+    System.arraycopy(antCounts, 0, nextAntCounts, 0, antCounts.length);
+    changedCount = 0;
+  }
+
+  /**
+   * Raises the next-step pheromone at a cell to at least the given level. Safe to call from
+   * several threads at once: concurrent deposits on the same cell keep the largest level.
+   *
+   * @param index  flat cell index
+   * @param level  the pheromone level to deposit
+   * @param isFood true for food pheromone, false for home pheromone
+   */
+  public void deposit(int index, double level, boolean isFood) {
+    (isFood ? foodPheromone : homePheromone).depositMax(index, level);
+  }
+
+  /**
+   * Moves one ant between cells in the next-step ant counts. Counts never drop below zero.
+   *
+   * @param from flat index of the cell the ant leaves
+   * @param to   flat index of the cell the ant enters
+   */
+  public void moveAnt(int from, int to) {
+    nextAntCounts[from] = Math.max(0, nextAntCounts[from] - 1);
+    nextAntCounts[to]++;
+    recordChange(from);
+    recordChange(to);
+  }
+
+  /**
+   * Makes the deposited pheromone current, then evaporates it and spreads part of what remains
+   * evenly over each cell's Moore neighbors.
+   *
+   * @param evaporationRate fraction of pheromone lost per step
+   * @param diffusionRate   fraction of the remaining pheromone spread to neighbors
+   * @param maxPheromone    upper bound for any pheromone level
+   */
+  public void evaporateAndDiffuse(double evaporationRate, double diffusionRate,
+      double maxPheromone) {
+    homePheromone.commit();
+    foodPheromone.commit();
+    homePheromone.decayAndDiffuse(evaporationRate, diffusionRate, maxPheromone);
+    foodPheromone.decayAndDiffuse(evaporationRate, diffusionRate, maxPheromone);
+  }
+
+  /**
+   * Makes the next-step ant counts current and publishes derived states to the next state of
+   * every cell whose view state changed.
+   */
+  public void commitAntCounts() {
+    int[] previous = antCounts;
+    antCounts = nextAntCounts;
+    nextAntCounts = previous;
+    for (int i = 0; i < changedCount; i++) {
+      int index = changedCells[i];
+      if ((previous[index] > 0) != (antCounts[index] > 0)) {
+        grid.getCell(index / cols, index % cols).setNextState(getDerivedState(index));
+      }
+    }
+    changedCount = 0;
+  }
+
+  /**
+   * Sets every cell's current and next state to its derived state.
+   */
+  public void publishAll() {
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        Cell cell = grid.getCell(r, c);
+        cell.setCurrentState(getDerivedState(r * cols + c));
+        cell.resetNextState();
+      }
+    }
+    grid.markAllCellsChanged();
+  }
+
+  /**
+   * Resolves the k-th Moore neighbor of a cell through the grid's edge strategy.
+   *
+   * @param row center row
+   * @param col center column
+   * @param k   neighbor number from 0 to 7
+   * @return flat index of the neighbor, or -1 if it does not exist
+   */
+  public int resolveNeighbor(int row, int col, int k) {
+    int nr = row + NEIGHBOR_DR[k];
+    int nc = col + NEIGHBOR_DC[k];
+    if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+      return nr * cols + nc;
+    }
+    return grid.getEdgeStrategy().resolveIndex(grid, nr, nc);
+  }
+
+  /**
+   * Gets the direction from a cell towards its k-th Moore neighbor.
+   *
+   * @param k neighbor number from 0 to 7
+   * @return the orientation of that neighbor
+   */
+  public Orientation getNeighborOrientation(int k) {
+    return Orientation.fromDrDc(NEIGHBOR_DR[k], NEIGHBOR_DC[k]);
+  }
+
+  /**
+   * Returns the number of Moore neighbors examined by {@link #resolveNeighbor(int, int, int)}.
+   *
+   * @return the neighbor count
+   */
+  public int getNeighborCount() {
+    return NEIGHBOR_DR.length;
+  }
+
+  /**
+   * Converts grid coordinates to a flat index.
+   *
+   * @param row row index
+   * @param col column index
+   * @return the flat index
+   */
+  public int indexOf(int row, int col) {
+    return row * cols + col;
+  }
+
+  /**
+   * Gets the number of columns covered by the layers.
+   *
+   * @return the column count
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Gets the terrain code of a cell.
+   *
+   * @param index flat cell index
+   * @return the terrain code
+   */
+  public byte getTerrain(int index) {
+    return terrain[index];
+  }
+
+  /**
+   * Gets the current home pheromone level of a cell.
+   *
+   * @param index flat cell index
+   * @return home pheromone level
+   */
+  public double getHomePheromone(int index) {
+    return homePheromone.get(index);
+  }
+
+  /**
+   * Gets the current food pheromone level of a cell.
+   *
+   * @param index flat cell index
+   * @return food pheromone level
+   */
+  public double getFoodPheromone(int index) {
+    return foodPheromone.get(index);
+  }
+
+  /**
+   * Gets the current ant count of a cell.
+   *
+   * @param index flat cell index
+   * @return ant count
+   */
+  public int getAntCount(int index) {
+    return antCounts[index];
+  }
+
+  /**
+   * Gets the ant count a cell will have after the step in progress.
+   *
+   * @param index flat cell index
+   * @return next-step ant count
+   */
+  public int getNextAntCount(int index) {
+    return nextAntCounts[index];
+  }
+
+  /**
+   * Remembers a cell whose ant count changed during the current step.
+   *
+   * @param index flat cell index
+   */
+  private void recordChange(int index) {
+    if (changedCount == changedCells.length) {
+      changedCells = Arrays.copyOf(changedCells, changedCells.length * 2);
+    }
+    changedCells[changedCount++] = index;
+  }
+}
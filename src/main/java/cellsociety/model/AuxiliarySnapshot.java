@@ -0,0 +1,19 @@
+package cellsociety.model;
+
+/**
+ * An immutable capture of the simulation-specific state that lives outside the grid's cell
+ * states, such as agent energies or program counters. Snapshots are recorded with every
+ * generation in a {@link StateHistory} and handed back to the simulation when it steps back.
+ *
+ * @author Tatum McKinnis
+ */
+public interface AuxiliarySnapshot {
+
+  /**
+   * Estimates the memory held by this snapshot that is not shared with earlier snapshots, so the
+   * history can keep within its memory budget.
+   *
+   * @return the approximate number of bytes owned by this snapshot
+   */
+  long sizeInBytes();
+}
@@ -4,8 +4,9 @@ import cellsociety.model.state.*;
 
 /**
  * Represents a cell that holds a state, which can vary depending on the simulation. The cell
- * maintains the current state, a next state (to be applied in the next generation), and a previous
- * state (the state prior to the current state). The state can be one of the following:
+ * maintains the current state and a next state (to be applied in the next generation). Earlier
+ * generations are kept by the simulation's {@link StateHistory}. The state can be one of the
+ * following:
  * <ul>
  *   <li>In Conway's Game of Life: {@link GameOfLifeState#ALIVE}, {@link GameOfLifeState#DEAD}</li>
  *   <li>In the Percolation simulation: {@link PercolationState#OPEN}, {@link PercolationState#BLOCKED}</li>
@@ -14,7 +15,7 @@ import cellsociety.model.state.*;
  *   <li>In the Wa-Tor World simulation: {@link WaTorWorldState#FISH}, {@link WaTorWorldState#SHARK}, {@link WaTorWorldState#EMPTY}</li>
  * </ul>
  * This class provides methods to get and set the states of the cell. The behavior of the cell is
- * determined by its current state within the simulation, and the previous state is tracked for reference.
+ * determined by its current state within the simulation.
  *
  * @author Tatum McKinnis
  */
@@ -26,11 +27,10 @@ public class Cell {
 
   private StateInterface currentState;
   private StateInterface nextState;
-  private StateInterface prevState;
 
   /**
-   * Constructs a new {@code Cell} with the specified initial state. Initializes the current, next,
-   * and previous state to the provided state.
+   * Constructs a new {@code Cell} with the specified initial state. Initializes the current and
+   * next state to the provided state.
    *
    * @param state The initial state of the cell. Must not be null.
    * @throws IllegalArgumentException if the provided state is null
@@ -39,7 +39,6 @@ public class Cell {
     validateState(state, NULL_INITIAL_STATE_ERROR);
     this.currentState = state;
     this.nextState = state;
-    this.prevState = state;
   }
 
   /**
@@ -52,23 +51,13 @@ public class Cell {
   }
 
   /**
-   * Returns the previous state of the cell.
-   *
-   * @return the previous state of the cell.
-   */
-  public StateInterface getPrevState() {
-    return prevState;
-  }
-
-  /**
-   * Sets a new state for the cell. Updates the previous state to the old current state.
+   * Sets a new state for the cell.
    *
    * @param newState The new state to set for the cell. Must not be null.
    * @throws IllegalArgumentException if the provided state is null
    */
   public void setCurrentState(StateInterface newState) {
     validateState(newState, NULL_STATE_ERROR);
-    this.prevState = this.currentState;
     this.currentState = newState;
   }
 
@@ -93,20 +82,12 @@ public class Cell {
   }
 
   /**
-   * Applies the next state to the cell. Before updating, the current state is saved as the previous
-   * state.
+   * Applies the next state to the cell.
    */
   public void applyNextState() {
-    this.prevState = this.currentState;
     this.currentState = this.nextState;
   }
 
-  public void applyPrevState() {
-    this.nextState = this.currentState;
-    this.currentState = this.prevState;
-    this.prevState = StepBackState.STEP_BACK_STATE;
-  }
-
   /**
    * Resets the next state back to the current state after applying the update.
    */
@@ -115,7 +96,7 @@ public class Cell {
   }
 
   /**
-   * Resets the current, next, and previous state to the specified state.
+   * Resets the current and next state to the specified state.
    *
    * @param state The state to reset the cell to. Must not be null.
    * @throws IllegalArgumentException if the provided state is null
@@ -124,7 +105,6 @@ public class Cell {
     validateState(state, NULL_STATE_ERROR);
     this.currentState = state;
     this.nextState = state;
-    this.prevState = state;
   }
 
   /**
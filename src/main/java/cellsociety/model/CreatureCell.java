@@ -154,6 +154,24 @@ public class CreatureCell extends Cell {
     }
   }
 
+  /**
+   * Restores every creature property at once, as recorded before a step back.
+   *
+   * @param species                 The species of the creature (null for empty cells)
+   * @param originalSpecies         The species before any infection
+   * @param orientation             The orientation in degrees
+   * @param programCounter          The program counter
+   * @param infectionStepsRemaining The number of infection steps remaining
+   */
+  public void restoreCreature(Species species, Species originalSpecies, int orientation,
+      int programCounter, int infectionStepsRemaining) {
+    this.species = species;
+    this.originalSpecies = originalSpecies;
+    this.orientation = orientation;
+    this.programCounter = programCounter;
+    this.infectionStepsRemaining = infectionStepsRemaining;
+  }
+
   /**
    * Turns the creature left by the specified degrees.
    *
@@ -180,14 +198,6 @@ public class CreatureCell extends Cell {
     super.applyNextState();
   }
 
-  /**
-   * {@inheritDoc}
-   */
-  @Override
-  public void applyPrevState() {
-    super.applyPrevState();
-  }
-
   /**
    * {@inheritDoc}
    */
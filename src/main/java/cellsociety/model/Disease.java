@@ -30,22 +30,27 @@ import java.util.Random;
 public class Disease implements Cloneable {
 
   private List<Integer> pattern;
+  private final Random random;
   private static final int DEFAULT_PATTERN_LENGTH = 8;
   private static final double MUTATION_RATE = 0.1;
-  private static final Random random = new Random();
 
   /**
    * Creates a new disease with a random binary pattern.
    * <p>
-   * Initializes the disease with a random binary pattern of a default length.
+   * Initializes the disease with a random binary pattern of a default length. The pattern and the
+   * mutations of later clones are drawn from the given generator.
    * </p>
+   *
+   * @param random the simulation's random number generator
    */
-  public Disease() {
+  public Disease(Random random) {
+    this.random = random;
     this.pattern = generateRandomPattern(DEFAULT_PATTERN_LENGTH);
   }
 
   /**
-   * Creates a new disease with a specified binary pattern.
+   * Creates a new disease with a specified binary pattern whose clones mutate using an unseeded
+   * random number generator.
    * <p>
    * The provided pattern string must consist only of 0s and 1s.
    * </p>
@@ -54,13 +59,40 @@ public class Disease implements Cloneable {
    * @throws IllegalArgumentException if the pattern contains invalid characters
    */
   public Disease(String patternString) {
+    this(patternString, new Random());
+  }
+
+  /**
+   * Creates a new disease with a specified binary pattern whose clones mutate using the given
+   * generator.
+   * <p>
+   * The provided pattern string must consist only of 0s and 1s.
+   * </p>
+   *
+   * @param patternString string representation of the binary pattern
+   * @param random        the simulation's random number generator
+   * @throws IllegalArgumentException if the pattern contains invalid characters
+   */
+  public Disease(String patternString, Random random) {
     validatePatternString(patternString);
+    this.random = random;
     this.pattern = new ArrayList<>();
     for (char c : patternString.toCharArray()) {
       pattern.add(Character.getNumericValue(c));
     }
   }
 
+  /**
+   * Creates a disease with a copy of the given pattern.
+   *
+   * @param pattern the binary pattern to copy
+   * @param random  the random number generator for later clones
+   */
+  private Disease(List<Integer> pattern, Random random) {
+    this.random = random;
+    this.pattern = new ArrayList<>(pattern);
+  }
+
   /**
    * Validates that the given pattern string consists only of 0s and 1s.
    *
@@ -102,15 +134,15 @@ public class Disease implements Cloneable {
   /**
    * Creates a clone of the disease with potential mutations.
    * <p>
-   * Each bit in the pattern has a chance to mutate based on the mutation rate.
+   * Each bit in the pattern has a chance to mutate based on the mutation rate, drawn from this
+   * disease's random number generator, which the clone shares.
    * </p>
    *
    * @return a new Disease instance with a potentially mutated pattern
    */
   @Override
   public Disease clone() {
-    Disease clone = new Disease();
-    clone.pattern = new ArrayList<>(this.pattern);
+    Disease clone = new Disease(pattern, random);
 
     // Apply mutations
     for (int i = 0; i < clone.pattern.size(); i++) {
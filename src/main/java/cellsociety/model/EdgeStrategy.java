@@ -31,6 +31,23 @@ public interface EdgeStrategy {
    */
   Cell getCell(Grid grid, int row, int col);
 
+  /**
+   * Maps coordinates to the flat index ({@code row * cols + col}) of the in-bounds cell they refer
+   * to under this strategy, without creating any cells. Used by simulations that keep per-cell
+   * data in primitive arrays alongside the grid.
+   *
+   * @param grid The grid containing the cells
+   * @param row  The row coordinate
+   * @param col  The column coordinate
+   * @return The flat index of the referenced cell, or -1 if no in-bounds cell corresponds
+   */
+  default int resolveIndex(Grid grid, int row, int col) {
+    if (row >= 0 && row < grid.getRows() && col >= 0 && col < grid.getCols()) {
+      return row * grid.getCols() + col;
+    }
+    return -1;
+  }
+
   /**
    * Returns a unique identifier for this edge strategy type.
    *
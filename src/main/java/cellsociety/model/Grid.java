@@ -1,9 +1,11 @@
 package cellsociety.model;
 
-import cellsociety.model.state.StepBackState;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -15,6 +17,11 @@ import java.util.Objects;
  */
 public class Grid {
 
+  // Rough per-object sizes on a 64-bit JVM with compressed references.
+  private static final int CELL_BYTES = 24;
+  private static final int REFERENCE_BYTES = 4;
+  private static final int ARRAY_HEADER_BYTES = 16;
+
   private Cell[][] cells;
   private int rows;
   private int cols;
@@ -22,6 +29,10 @@ public class Grid {
 
   private EdgeStrategy edgeStrategy;
   private NeighborhoodStrategy neighborhoodStrategy;
+  private final Map<String, ScalarField> scalarFields = new HashMap<>();
+  private StateChangeListener stateChangeListener = (index, before, after) -> {
+  };
+  private final BitSet changedCells = new BitSet();
 
   /**
    * Constructs a new {@code Grid} with the specified dimensions and initializes all cells to the
@@ -63,6 +74,7 @@ public class Grid {
 
     cells = new Cell[rows][cols];
     initializeCells(defaultState);
+    markAllCellsChanged();
   }
 
   /**
@@ -169,31 +181,24 @@ public class Grid {
 
   /**
    * Applies the next state to all cells in the grid. This method iterates through all cells and
-   * updates their state based on the precomputed next state.
+   * updates their state based on the precomputed next state, reporting each change to the
+   * registered state change listener.
    *
    * @throws IllegalStateException if any cell is {@code null} or if any cell's next state is
    *                               {@code null}
    */
   public void applyNextStates() {
-    for (int r = 0; r < rows; r++) {
-      for (int c = 0; c < cols; c++) {
-        Cell cell = cells[r][c];
-        if (cell == null) {
-          throw new IllegalStateException(
-              String.format("Cell at (%d,%d) is null", r, c));
-        }
-        cell.applyNextState();
-      }
-    }
+    applyNextStates(stateChangeListener);
   }
 
   /**
-   * Applies previous states to all cells in the grid, if available.
+   * Applies the next state to all cells in the grid and reports every cell whose state changed.
    *
-   * @return {@code true} if any cell was reverted to a previous state; {@code false} otherwise
+   * @param onChange receives the index and old and new state of each cell whose state changed
+   * @throws IllegalStateException if any cell is {@code null} or if any cell's next state is
+   *                               {@code null}
    */
-  public boolean applyPreviousStates() {
-    boolean applied = false;
+  public void applyNextStates(StateChangeListener onChange) {
     for (int r = 0; r < rows; r++) {
       for (int c = 0; c < cols; c++) {
         Cell cell = cells[r][c];
@@ -201,13 +206,15 @@ public class Grid {
           throw new IllegalStateException(
               String.format("Cell at (%d,%d) is null", r, c));
         }
-        if (cell.getPrevState() != StepBackState.STEP_BACK_STATE) {
-          cell.applyPrevState();
-          applied = true;
+        StateInterface before = cell.getCurrentState();
+        cell.applyNextState();
+        StateInterface after = cell.getCurrentState();
+        if (before != after) {
+          changedCells.set(r * cols + c);
+          onChange.stateChanged(r * cols + c, before, after);
         }
       }
     }
-    return applied;
   }
 
   /**
@@ -224,6 +231,7 @@ public class Grid {
         cells[r][c].resetNextState();
       }
     }
+    markAllCellsChanged();
   }
 
   /**
@@ -243,6 +251,46 @@ public class Grid {
     }
     Objects.requireNonNull(cell, "Cell cannot be null");
     cells[row][col] = cell;
+    markCellChanged(row, col);
+  }
+
+  /**
+   * Records that a cell's current state was changed directly rather than by
+   * {@link #applyNextStates()}, so views redraw it and the state change listener hears of it.
+   * Code that calls {@link Cell#setCurrentState(StateInterface)} on a grid cell must call this as
+   * well.
+   *
+   * @param row the row of the changed cell
+   * @param col the column of the changed cell
+   */
+  public void markCellChanged(int row, int col) {
+    if (isInBounds(row, col)) {
+      changedCells.set(row * cols + col);
+      stateChangeListener.stateChanged(row * cols + col, null, null);
+    }
+  }
+
+  /**
+   * Records that any cell may have changed, so views redraw the whole grid and the state change
+   * listener hears of every cell.
+   */
+  public void markAllCellsChanged() {
+    changedCells.set(0, rows * cols);
+    for (int i = 0; i < rows * cols; i++) {
+      stateChangeListener.stateChanged(i, null, null);
+    }
+  }
+
+  /**
+   * Returns the cells whose state has changed since the last call and starts collecting changes
+   * again. A cell is listed once however many times it changed, even if it changed back.
+   *
+   * @return the indices ({@code row * cols + col}) of the changed cells
+   */
+  public BitSet takeChangedCells() {
+    BitSet taken = (BitSet) changedCells.clone();
+    changedCells.clear();
+    return taken;
   }
 
   /**
@@ -302,6 +350,35 @@ public class Grid {
         "neighborhoodStrategy cannot be null");
   }
 
+  /**
+   * Sets the listener told about every cell whose state changes in {@link #applyNextStates()} or
+   * is marked as changed directly.
+   *
+   * @param stateChangeListener receives the index and old and new state of each changed cell
+   * @throws NullPointerException if stateChangeListener is null
+   */
+  public void setStateChangeListener(StateChangeListener stateChangeListener) {
+    this.stateChangeListener = Objects.requireNonNull(stateChangeListener,
+        "stateChangeListener cannot be null");
+  }
+
+  /**
+   * Returns the named scalar field layer of this grid, creating a field of zeros if it does not
+   * exist yet or if the grid has been resized since it was created.
+   *
+   * @param name the name of the layer, such as {@code "homePheromone"}
+   * @return the scalar field
+   * @throws NullPointerException if name is null
+   */
+  public ScalarField getScalarField(String name) {
+    Objects.requireNonNull(name, "name cannot be null");
+    ScalarField field = scalarFields.get(name);
+    if (field == null || !field.matchesGrid()) {
+      field = new ScalarField(this);
+      scalarFields.put(name, field);
+    }
+    return field;
+  }
 
   /**
    * Updates the cells array with a new array. This method is protected to allow subclasses like
@@ -323,5 +400,18 @@ public class Grid {
   protected void setDimensions(int newRows, int newCols) {
     this.rows = newRows;
     this.cols = newCols;
+    changedCells.clear();
+    markAllCellsChanged();
+  }
+
+  /**
+   * Estimates the heap used by the grid's cells: the cell objects and the arrays holding them.
+   * State objects are shared between cells and are not counted.
+   *
+   * @return the estimated footprint in bytes
+   */
+  public long estimateMemoryFootprint() {
+    long rowBytes = ARRAY_HEADER_BYTES + (long) cols * (REFERENCE_BYTES + CELL_BYTES);
+    return ARRAY_HEADER_BYTES + (long) rows * (REFERENCE_BYTES + rowBytes);
   }
-}
\ No newline at end of file
+}
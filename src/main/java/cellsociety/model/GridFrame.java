@@ -0,0 +1,153 @@
+package cellsociety.model;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A picture of a grid at one moment: the state of every cell, which cells changed since the
+ * previous frame, and the population of each state. Frames let a simulation keep stepping on one
+ * thread while another draws what it looked like, because the grid's later changes never reach a
+ * captured frame.
+ * <p>
+ * A frame is only valid until its buffer is released with {@link #releaseBuffer()}, after which a
+ * later capture may overwrite its states. Whoever releases a frame must be its last reader: the
+ * engine releases a drawn frame only once a newer frame has replaced it on screen, and an undrawn
+ * frame only when a newer capture takes its place.
+ * </p>
+ * <p>
+ * When frames are dropped because newer ones arrived first, the next frame drawn must still
+ * report every cell that changed since the last one drawn; {@link #capture} therefore folds the
+ * changed cells of an undrawn frame into the new one.
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public final class GridFrame {
+
+  private final int iteration;
+  private final int rows;
+  private final int cols;
+  private final StateInterface[] states;
+  private final BitSet changedCells;
+  private final Map<StateInterface, Double> stateCounts;
+
+  private GridFrame(int iteration, int rows, int cols, StateInterface[] states,
+      BitSet changedCells, Map<StateInterface, Double> stateCounts) {
+    this.iteration = iteration;
+    this.rows = rows;
+    this.cols = cols;
+    this.states = states;
+    this.changedCells = changedCells;
+    this.stateCounts = stateCounts;
+  }
+
+  /**
+   * Captures a frame of a grid alone, with no iteration count or state populations.
+   *
+   * @param grid the grid, which must not change while it is captured
+   * @return the frame
+   */
+  public static GridFrame capture(Grid grid) {
+    return capture(grid, 0, Map.of(), null, null);
+  }
+
+  /**
+   * Captures a frame of a grid and takes its changed cells, so the next frame only reports the
+   * cells that change after this one.
+   *
+   * @param grid        the grid, which must not change while it is captured
+   * @param iteration   the simulation's iteration count
+   * @param stateCounts the population of each state
+   * @param undrawn     a frame captured earlier but never drawn, whose changed cells are folded
+   *                    into this one; may be null
+   * @param buffer      an array no other frame still uses, filled with the cell states instead
+   *                    of allocating one if it is the right size; may be null. If it is the
+   *                    released buffer of {@code undrawn}, it already holds the previous capture,
+   *                    so only the cells changed since then are copied
+   * @return the frame
+   */
+  public static GridFrame capture(Grid grid, int iteration, Map<StateInterface, Double> stateCounts,
+      GridFrame undrawn, StateInterface[] buffer) {
+    int rows = grid.getRows();
+    int cols = grid.getCols();
+    StateInterface[] states =
+        buffer != null && buffer.length == rows * cols ? buffer : new StateInterface[rows * cols];
+    BitSet changedCells = grid.takeChangedCells();
+    boolean sameShape = undrawn != null && undrawn.rows == rows && undrawn.cols == cols;
+    if (sameShape && states == undrawn.states) {
+      for (int i = changedCells.nextSetBit(0); i >= 0 && i < states.length;
+          i = changedCells.nextSetBit(i + 1)) {
+        states[i] = grid.getCell(i / cols, i % cols).getCurrentState();
+      }
+    } else {
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          states[r * cols + c] = grid.getCell(r, c).getCurrentState();
+        }
+      }
+    }
+    if (sameShape) {
+      changedCells.or(undrawn.changedCells);
+    } else if (undrawn != null) {
+      changedCells.set(0, rows * cols);
+    }
+    return new GridFrame(iteration, rows, cols, states, changedCells,
+        Collections.unmodifiableMap(new HashMap<>(stateCounts)));
+  }
+
+  /**
+   * @return the simulation's iteration count when the frame was captured
+   */
+  public int getIteration() {
+    return iteration;
+  }
+
+  /**
+   * @return the number of rows of cells
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * @return the number of columns of cells
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * @param index the cell's index, {@code row * cols + col}
+   * @return the cell's state when the frame was captured
+   */
+  public StateInterface getState(int index) {
+    return states[index];
+  }
+
+  /**
+   * @return a copy of the indices ({@code row * cols + col}) of the cells that changed since the
+   * previous frame
+   */
+  public BitSet getChangedCells() {
+    return (BitSet) changedCells.clone();
+  }
+
+  /**
+   * @return the population of each state
+   */
+  public Map<StateInterface, Double> getStateCounts() {
+    return stateCounts;
+  }
+
+  /**
+   * Hands over the frame's state array for a later frame to fill, once nothing will read this
+   * frame again. The frame must not be read after this call.
+   *
+   * @return the array of cell states
+   */
+  public StateInterface[] releaseBuffer() {
+    return states;
+  }
+}
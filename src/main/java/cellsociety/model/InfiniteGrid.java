@@ -15,6 +15,7 @@ public class InfiniteGrid extends Grid implements DynamicGrid {
 
   private int rowOffset = 0;
   private int colOffset = 0;
+  private int expansionCount = 0;
 
   /**
    * Constructs a new InfiniteGrid with the specified dimensions and state. Uses InfiniteEdge
@@ -148,6 +149,16 @@ public class InfiniteGrid extends Grid implements DynamicGrid {
     setDimensions(newRows, newCols);
     this.rowOffset = newRowOffset;
     this.colOffset = newColOffset;
+    expansionCount++;
+  }
+
+  /**
+   * Gets how many times the grid has grown since it was created.
+   *
+   * @return the number of expansions
+   */
+  public int getExpansionCount() {
+    return expansionCount;
   }
 
   /**
@@ -218,17 +229,6 @@ public class InfiniteGrid extends Grid implements DynamicGrid {
     super.applyNextStates();
   }
 
-  /**
-   * Applies previous states to all cells in the grid. This method overrides the parent class to
-   * account for the expanded grid size.
-   *
-   * @return true if any cell was reverted to a previous state
-   */
-  @Override
-  public boolean applyPreviousStates() {
-    return super.applyPreviousStates();
-  }
-
   /**
    * Resets the grid with a new state. This method overrides the parent class to ensure all cells
    * are reset.
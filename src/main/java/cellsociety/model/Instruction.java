@@ -8,20 +8,49 @@ package cellsociety.model;
  */
 public class Instruction {
 
+  /**
+   * Integer opcodes used by compiled species programs (see {@link Species#getCompiledProgram()}).
+   */
+  public static final int OP_MOVE = 0;
+  public static final int OP_LEFT = 1;
+  public static final int OP_RIGHT = 2;
+  public static final int OP_INFECT = 3;
+  public static final int OP_IFEMPTY = 4;
+  public static final int OP_IFWALL = 5;
+  public static final int OP_IFSAME = 6;
+  public static final int OP_IFENEMY = 7;
+  public static final int OP_IFRANDOM = 8;
+  public static final int OP_GO = 9;
+
   /**
    * The type of instruction.
    */
   public enum Type {
-    MOVE,
-    LEFT,
-    RIGHT,
-    INFECT,
-    IFEMPTY,
-    IFWALL,
-    IFSAME,
-    IFENEMY,
-    IFRANDOM,
-    GO
+    MOVE(OP_MOVE),
+    LEFT(OP_LEFT),
+    RIGHT(OP_RIGHT),
+    INFECT(OP_INFECT),
+    IFEMPTY(OP_IFEMPTY),
+    IFWALL(OP_IFWALL),
+    IFSAME(OP_IFSAME),
+    IFENEMY(OP_IFENEMY),
+    IFRANDOM(OP_IFRANDOM),
+    GO(OP_GO);
+
+    private final int opcode;
+
+    Type(int opcode) {
+      this.opcode = opcode;
+    }
+
+    /**
+     * Gets the integer opcode used for this type in compiled programs.
+     *
+     * @return The opcode
+     */
+    public int getOpcode() {
+      return opcode;
+    }
   }
 
   private final Type type;
@@ -69,6 +98,15 @@ public class Instruction {
     return isActionInstruction;
   }
 
+  /**
+   * Checks if this is a control instruction whose parameter is a jump target.
+   *
+   * @return true if this is an IF or GO instruction, false otherwise
+   */
+  public boolean isJumpInstruction() {
+    return !isActionInstruction;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -49,7 +49,8 @@ public class LoanManager {
             .collect(Collectors.toList());
 
         for (Agent borrower : potentialBorrowers) {
-          if (lender.canLend() && borrower.needsBorrow() && !hasExistingLoan(lender, borrower)) {
+          if (lender.canLend() && borrower.needsBorrow() && !hasExistingLoan(lender, borrower)
+              && getLoanAmount(lender, borrower) > 0) {
             Loan loan = createLoan(lender, borrower);
             simulation.getActiveLoansInternal().add(loan);
             transferLoanAmount(loan);
@@ -81,8 +82,20 @@ public class LoanManager {
    * @return a newly created Loan instance
    */
   private Loan createLoan(Agent lender, Agent borrower) {
-    int amount = Math.min(lender.getAvailableToLend(), borrower.getNeededToBorrow());
-    return new Loan(lender, borrower, amount, simulation.getCurrentTick(), LOAN_INTEREST_RATE);
+    return new Loan(lender, borrower, getLoanAmount(lender, borrower), simulation.getCurrentTick(),
+        LOAN_INTEREST_RATE);
+  }
+
+  /**
+   * Calculates how much a lender can lend to a borrower. An infertile lender whose sugar is below
+   * its initial endowment has nothing to lend.
+   *
+   * @param lender   the lending agent
+   * @param borrower the borrowing agent
+   * @return the loan amount, which is not positive if no loan can be made
+   */
+  private int getLoanAmount(Agent lender, Agent borrower) {
+    return Math.min(lender.getAvailableToLend(), borrower.getNeededToBorrow());
   }
 
   /**
@@ -34,28 +34,37 @@ public class MirrorEdge implements EdgeStrategy {
    */
   @Override
   public Cell getCell(Grid grid, int row, int col) {
-    int rows = grid.getRows();
-    int cols = grid.getCols();
-
-    int mirroredRow = row;
-    int mirroredCol = col;
+    return grid.getCellDirect(mirror(row, grid.getRows()), mirror(col, grid.getCols()));
+  }
 
-    if (row < 0) {
-      mirroredRow = -row - 1;
-    } else if (row >= rows) {
-      mirroredRow = 2 * rows - row - 1;
-    }
+  /**
+   * Resolves coordinates to the flat index of the mirrored cell.
+   *
+   * @param grid The grid instance
+   * @param row  The row index of the desired cell
+   * @param col  The column index of the desired cell
+   * @return The flat index of the mirrored position within the grid
+   */
+  @Override
+  public int resolveIndex(Grid grid, int row, int col) {
+    return mirror(row, grid.getRows()) * grid.getCols() + mirror(col, grid.getCols());
+  }
 
-    if (col < 0) {
-      mirroredCol = -col - 1;
-    } else if (col >= cols) {
-      mirroredCol = 2 * cols - col - 1;
+  /**
+   * Reflects a single coordinate back into the range [0, size).
+   *
+   * @param index The coordinate to reflect
+   * @param size  The number of rows or columns
+   * @return The mirrored coordinate
+   */
+  private int mirror(int index, int size) {
+    int mirrored = index;
+    if (index < 0) {
+      mirrored = -index - 1;
+    } else if (index >= size) {
+      mirrored = 2 * size - index - 1;
     }
-
-    mirroredRow = Math.max(0, Math.min(rows - 1, mirroredRow));
-    mirroredCol = Math.max(0, Math.min(cols - 1, mirroredCol));
-
-    return grid.getCellDirect(mirroredRow, mirroredCol);
+    return Math.max(0, Math.min(size - 1, mirrored));
   }
 
   /**
@@ -0,0 +1,124 @@
+package cellsociety.model;
+
+import java.util.Arrays;
+
+/**
+ * A compact snapshot of per-cell or per-agent values packed into rows of {@code long}s. Rows that
+ * are unchanged since the previous snapshot are shared with it instead of copied, so recording a
+ * mostly static layer every step only costs the rows that changed.
+ *
+ * @author Tatum McKinnis
+ */
+public final class RowSnapshot implements AuxiliarySnapshot {
+
+  private static final int ARRAY_OVERHEAD_BYTES = 16;
+
+  /**
+   * Fills one row of packed values.
+   */
+  @FunctionalInterface
+  public interface RowWriter {
+
+    /**
+     * Writes the packed values of a row into a buffer.
+     *
+     * @param row    the row number
+     * @param buffer the buffer to fill, as long as the snapshot's row length
+     */
+    void write(int row, long[] buffer);
+  }
+
+  private final long[][] rows;
+  private final long ownedBytes;
+
+  private RowSnapshot(long[][] rows, long ownedBytes) {
+    this.rows = rows;
+    this.ownedBytes = ownedBytes;
+  }
+
+  /**
+   * Captures a snapshot, sharing every row that equals the same row of a previous snapshot.
+   *
+   * @param rowCount  number of rows
+   * @param rowLength number of packed values per row
+   * @param writer    fills each row
+   * @param previous  the snapshot to share unchanged rows with, or null
+   * @return the new snapshot
+   */
+  public static RowSnapshot capture(int rowCount, int rowLength, RowWriter writer,
+      RowSnapshot previous) {
+    long[][] rows = new long[rowCount][];
+    long[] buffer = new long[rowLength];
+    long owned = ARRAY_OVERHEAD_BYTES + 8L * rowCount;
+    for (int r = 0; r < rowCount; r++) {
+      Arrays.fill(buffer, 0);
+      writer.write(r, buffer);
+      if (previous != null && r < previous.rows.length && Arrays.equals(previous.rows[r], buffer)) {
+        rows[r] = previous.rows[r];
+      } else {
+        rows[r] = buffer.clone();
+        owned += ARRAY_OVERHEAD_BYTES + 8L * rowLength;
+      }
+    }
+    return new RowSnapshot(rows, owned);
+  }
+
+  /**
+   * Gets a packed value.
+   *
+   * @param row   the row number
+   * @param index the position within the row
+   * @return the packed value
+   */
+  public long get(int row, int index) {
+    return rows[row][index];
+  }
+
+  /**
+   * Gets the number of rows in the snapshot.
+   *
+   * @return the row count
+   */
+  public int getRowCount() {
+    return rows.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long sizeInBytes() {
+    return ownedBytes;
+  }
+
+  /**
+   * Packs two ints into one long.
+   *
+   * @param high the value for the upper 32 bits
+   * @param low  the value for the lower 32 bits
+   * @return the packed value
+   */
+  public static long pack(int high, int low) {
+    return ((long) high << 32) | (low & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Extracts the upper int of a packed value.
+   *
+   * @param packed the packed value
+   * @return the upper 32 bits
+   */
+  public static int high(long packed) {
+    return (int) (packed >> 32);
+  }
+
+  /**
+   * Extracts the lower int of a packed value.
+   *
+   * @param packed the packed value
+   * @return the lower 32 bits
+   */
+  public static int low(long packed) {
+    return (int) packed;
+  }
+}
@@ -45,7 +45,7 @@ public class RulesHelper {
     int metabolism = random.nextInt(3) + 1;   // Metabolism between 1 and 3
     int initialSugar = random.nextInt(20) + 10; // Initial sugar between 10 and 29
 
-    Agent agent = new Agent(position, initialSugar, vision, metabolism);
+    Agent agent = new Agent(position, initialSugar, vision, metabolism, random);
     agent.setSex(random.nextBoolean() ? Sex.MALE : Sex.FEMALE);
     agent.setFertile(random.nextBoolean());
 
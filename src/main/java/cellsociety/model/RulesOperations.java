@@ -33,7 +33,7 @@ public class RulesOperations {
     parent2.removeSugar(parent2.getInitialEndowment() / 2);
     int childVision = inheritVision(parent1, parent2);
     int childMetabolism = inheritMetabolism(parent1, parent2);
-    Agent child = new Agent(position, childSugar, childVision, childMetabolism);
+    Agent child = new Agent(position, childSugar, childVision, childMetabolism, random);
     child.setSex(random.nextBoolean() ? parent1.getSex() : parent2.getSex());
     child.setFertile(false);
     return child;
@@ -0,0 +1,252 @@
+package cellsociety.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A double-buffered layer of one {@code double} per grid cell, for quantities such as pheromones,
+ * pollution or chemical concentrations that spread and decay over time. Values are stored in a
+ * flat array indexed by {@code row * cols + col}.
+ * <p>
+ * Writes during a step go into the next buffer ({@link #beginStep()}, {@link #depositMax} and
+ * {@link #addNext}) while readers keep seeing the current values; {@link #commit()} makes them
+ * current. {@link #decayAndDiffuse} applies a Moore-neighborhood stencil in row tiles, in parallel
+ * for large grids. Neighbors outside the grid are resolved through the grid's
+ * {@link EdgeStrategy}, so toroidal and mirrored grids diffuse across their edges while bounded
+ * grids lose whatever would spread off the edge.
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public class ScalarField {
+
+  private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(double[].class);
+  private static final int[] NEIGHBOR_DR = {-1, -1, -1, 0, 0, 1, 1, 1};
+  private static final int[] NEIGHBOR_DC = {-1, 0, 1, -1, 1, -1, 0, 1};
+  private static final int TILE_ROWS = 32;
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  private final Grid grid;
+  private final int rows;
+  private final int cols;
+  private double[] values;
+  private double[] next;
+
+  /**
+   * Creates a field of zeros covering a grid.
+   *
+   * @param grid the grid whose dimensions and edge strategy the field uses
+   */
+  public ScalarField(Grid grid) {
+    this.grid = grid;
+    this.rows = grid.getRows();
+    this.cols = grid.getCols();
+    this.values = new double[rows * cols];
+    this.next = new double[rows * cols];
+  }
+
+  /**
+   * Gets the current value of a cell.
+   *
+   * @param index flat cell index
+   * @return the current value
+   */
+  public double get(int index) {
+    return values[index];
+  }
+
+  /**
+   * Gets the current value of a cell.
+   *
+   * @param row row index
+   * @param col column index
+   * @return the current value
+   */
+  public double get(int row, int col) {
+    return values[row * cols + col];
+  }
+
+  /**
+   * Sets the current value of a cell directly, outside of any step.
+   *
+   * @param index flat cell index
+   * @param value the new value
+   */
+  public void set(int index, double value) {
+    values[index] = value;
+  }
+
+  /**
+   * Copies the current values, for example to restore them after stepping back.
+   *
+   * @return a copy of the current values
+   */
+  public double[] copyValues() {
+    return values.clone();
+  }
+
+  /**
+   * Replaces the current values with previously copied ones.
+   *
+   * @param saved values returned by {@link #copyValues()}
+   * @throws IllegalArgumentException if the saved values do not cover the field
+   */
+  public void restoreValues(double[] saved) {
+    if (saved.length != values.length) {
+      throw new IllegalArgumentException(String.format(
+          "Saved field has %d values, expected %d", saved.length, values.length));
+    }
+    System.arraycopy(saved, 0, values, 0, values.length);
+  }
+
+  /**
+   * Sets every current value to zero.
+   */
+  public void clear() {
+    Arrays.fill(values, 0);
+  }
+
+  /**
+   * Copies the current values into the next buffer so a step can modify them.
+   */
+  public void beginStep() {
+    System.arraycopy(values, 0, next, 0, values.length);
+  }
+
+  /**
+   * Raises a cell's next value to at least the given level. Safe to call from several threads at
+   * once: concurrent deposits on the same cell keep the largest level.
+   *
+   * @param index flat cell index
+   * @param level the level to deposit
+   */
+  public void depositMax(int index, double level) {
+    double current = (double) ELEMENT.getVolatile(next, index);
+    while (level > current) {
+      double witness = (double) ELEMENT.compareAndExchange(next, index, current, level);
+      if (Double.doubleToRawLongBits(witness) == Double.doubleToRawLongBits(current)) {
+        return;
+      }
+      current = witness;
+    }
+  }
+
+  /**
+   * Adds an amount to a cell's next value. Not safe for concurrent writers to the same cell.
+   *
+   * @param index  flat cell index
+   * @param amount the amount to add
+   */
+  public void addNext(int index, double amount) {
+    next[index] += amount;
+  }
+
+  /**
+   * Makes the next buffer current.
+   */
+  public void commit() {
+    swap();
+  }
+
+  /**
+   * Applies one step of decay and diffusion to the current values. Each cell keeps
+   * {@code (1 - decayRate) * (1 - diffusionRate)} of its value and gives an equal share of
+   * {@code (1 - decayRate) * diffusionRate} to each of its eight Moore neighbors. Results are
+   * clamped to {@code maxValue}.
+   *
+   * @param decayRate     fraction of the value lost per step
+   * @param diffusionRate fraction of the remaining value spread to neighbors
+   * @param maxValue      upper bound for any value
+   */
+  public void decayAndDiffuse(double decayRate, double diffusionRate, double maxValue) {
+    double keep = (1 - decayRate) * (1 - diffusionRate);
+    double share = (1 - decayRate) * diffusionRate / NEIGHBOR_DR.length;
+    int tiles = (rows + TILE_ROWS - 1) / TILE_ROWS;
+    IntStream tileStream = IntStream.range(0, tiles);
+    if ((long) rows * cols >= PARALLEL_THRESHOLD) {
+      tileStream = tileStream.parallel();
+    }
+    tileStream.forEach(tile -> diffuseRows(tile * TILE_ROWS,
+        Math.min(rows, (tile + 1) * TILE_ROWS), keep, share, maxValue));
+    swap();
+  }
+
+  /**
+   * Computes the diffused next values of a band of rows by gathering from each cell's neighbors.
+   *
+   * @param fromRow  first row, inclusive
+   * @param toRow    last row, exclusive
+   * @param keep     fraction of its own value a cell keeps
+   * @param share    fraction of a neighbor's value a cell receives
+   * @param maxValue upper bound for any value
+   */
+  private void diffuseRows(int fromRow, int toRow, double keep, double share, double maxValue) {
+    for (int r = fromRow; r < toRow; r++) {
+      boolean interiorRow = r > 0 && r < rows - 1;
+      for (int c = 0; c < cols; c++) {
+        int index = r * cols + c;
+        double received;
+        if (interiorRow && c > 0 && c < cols - 1) {
+          int above = index - cols;
+          int below = index + cols;
+          received = values[above - 1] + values[above] + values[above + 1]
+              + values[index - 1] + values[index + 1]
+              + values[below - 1] + values[below] + values[below + 1];
+        } else {
+          received = gatherAtEdge(r, c);
+        }
+        next[index] = Math.min(values[index] * keep + received * share, maxValue);
+      }
+    }
+  }
+
+  /**
+   * Sums the values of a border cell's neighbors as resolved by the grid's edge strategy.
+   *
+   * @param row row index
+   * @param col column index
+   * @return the sum of the existing neighbors' values
+   */
+  private double gatherAtEdge(int row, int col) {
+    double sum = 0;
+    for (int k = 0; k < NEIGHBOR_DR.length; k++) {
+      int nr = row + NEIGHBOR_DR[k];
+      int nc = col + NEIGHBOR_DC[k];
+      int neighbor = nr >= 0 && nr < rows && nc >= 0 && nc < cols ? nr * cols + nc
+          : grid.getEdgeStrategy().resolveIndex(grid, nr, nc);
+      if (neighbor >= 0) {
+        sum += values[neighbor];
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Gets the number of cells covered by the field.
+   *
+   * @return the cell count
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Checks whether the field still matches the grid's dimensions.
+   *
+   * @return true if the grid has not been resized since the field was created
+   */
+  boolean matchesGrid() {
+    return rows == grid.getRows() && cols == grid.getCols();
+  }
+
+  /**
+   * Exchanges the current and next buffers.
+   */
+  private void swap() {
+    double[] previous = values;
+    values = next;
+    next = previous;
+  }
+}
@@ -1,9 +1,18 @@
 package cellsociety.model;
 
 import cellsociety.controller.SimulationConfig;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
 
 /**
  * Represents an abstract base class for cellular automata simulations operating on a {@link Grid}.
@@ -12,11 +21,32 @@ import java.util.Map;
  * and enforcing common simulation constraints. Subclasses must implement simulation-specific rules
  * through the abstract methods while benefiting from shared error handling and state management.
  * </p>
+ * <p>
+ * State counts are kept in a primitive array indexed by the order in which
+ * {@link #initializeStateCounts()} registers the counted states. After a full count they are
+ * updated only for the cells whose state changes when the grid commits next states, including
+ * commits made by subclasses during {@link #applyRules()}, and
+ * {@link #getStateCounts()} exposes them as a read-only map view.
+ * </p>
+ * <p>
+ * Every committed generation is recorded in a {@link StateHistory}, so {@link #stepBack(int)} can
+ * rewind the grid's cell states by any number of generations still held in the history.
+ * Simulations that keep state outside the cells record it alongside each generation by overriding
+ * {@link #captureAuxiliaryState()} and {@link #restoreAuxiliaryState(AuxiliarySnapshot)}.
+ * </p>
+ * <p>
+ * Each phase of a step is timed by a {@link SimulationEvents} flight recorder event.
+ * </p>
  *
  * @author Tatum McKinnis
  */
 public abstract class Simulation {
 
+  /**
+   * Name of the optional parameter that seeds a simulation's random choices.
+   */
+  public static final String SEED_PARAMETER = "seed";
+
   private static final String ERROR_GRID_NULL = "Grid cannot be null";
   private static final String ERROR_INITIAL_STATES_EMPTY = "Initial states array is empty";
   private static final String ERROR_INITIAL_STATES_SIZE = "Initial states array size does not match grid dimensions";
@@ -33,9 +63,20 @@ public abstract class Simulation {
    */
   private final Map<Integer, StateInterface> stateMap;
 
-  private Map<StateInterface, Double> stateCounts;
+  private final Map<StateInterface, Double> stateCountView = new StateCountView();
+  private StateInterface[] countedStates = new StateInterface[0];
+  private final Map<StateInterface, Integer> stateOrdinals = new HashMap<>();
+  private long[] counts = new long[0];
+  /**
+   * Number of grid cells covered by the last full count, or -1 if the counts need a full recount
+   */
+  private int countedCellCount = -1;
 
   private int iterationCount;
+  private long cellsChangedInStep;
+
+  private final StateHistory history = new StateHistory();
+  private final BitSet cellsChangedSinceRecord = new BitSet();
 
   /**
    * Constructs a new Simulation instance with specified configuration and grid.
@@ -48,9 +89,9 @@ public abstract class Simulation {
   public Simulation(SimulationConfig simulationConfig, Grid grid) {
     validateGrid(grid);
     this.grid = grid;
+    grid.setStateChangeListener(this::onStateChange);
     this.colorMap = initializeColorMap();
     this.stateMap = initializeStateMap();
-    this.stateCounts = new HashMap<>();
     initializeStateCounts();
     initializeGrid(simulationConfig);
     updateStateCountsMap();
@@ -103,6 +144,7 @@ public abstract class Simulation {
   public void reinitializeGridStates(SimulationConfig simulationConfig) {
     int cellCount = 0;
     resetIterationCount();
+    history.clear();
     initializeStateCounts();
     if (simulationConfig.getInitialStates().length == 0) {
       throw new NullPointerException("Initial states array is empty");
@@ -120,6 +162,8 @@ public abstract class Simulation {
         cellCount++;
       }
     }
+    grid.markAllCellsChanged();
+    invalidateStateCounts();
   }
 
   /**
@@ -165,6 +209,8 @@ public abstract class Simulation {
     StateInterface newState = stateMap.get(stateValue);
     if (grid.getCell(r, c).getCurrentState().equals(grid.getDefaultState())) {
       grid.getCell(r, c).setCurrentState(newState);
+      grid.markCellChanged(r, c);
+      invalidateStateCounts();
     }
   }
 
@@ -172,25 +218,183 @@ public abstract class Simulation {
    * Executes one simulation step by applying rules and updating grid.
    * <p>
    * Implementation sequence: 1. Apply simulation-specific rules through {@link #applyRules()} 2.
-   * Commit calculated next states to the grid 3. Increment iteration count
+   * Commit calculated next states to the grid, adjusting the state counts of changed cells 3.
+   * Record the new generation in the history 4. Increment iteration count
    * </p>
    */
   public void step() {
-    applyRules();
-    grid.applyNextStates();
-    updateStateCountsMap();
+    if (history.isEmpty()) {
+      history.record(grid, captureAuxiliaryState());
+      cellsChangedSinceRecord.clear();
+    }
+    cellsChangedInStep = 0;
+    runPhase(new SimulationEvents.ApplyRules(), this::applyRules);
+    runPhase(new SimulationEvents.Commit(), grid::applyNextStates);
+    runPhase(new SimulationEvents.CountStates(), this::refreshStateCounts);
+    runPhase(new SimulationEvents.RecordHistory(), this::recordHistory);
     iterationCount++;
   }
 
+  /**
+   * Records the new generation in the history, encoding only the cells the grid reported as
+   * changed since the last recording.
+   */
+  private void recordHistory() {
+    history.record(grid, cellsChangedSinceRecord, captureAuxiliaryState());
+    cellsChangedSinceRecord.clear();
+  }
+
+  /**
+   * Runs one phase of a step inside a flight recorder event, which is committed with the number
+   * of cells that changed state during the phase if a recording is enabled for it.
+   *
+   * @param event the event timing the phase
+   * @param phase the work of the phase
+   */
+  protected void runPhase(SimulationEvents.PhaseEvent event, Runnable phase) {
+    long changedBefore = cellsChangedInStep;
+    event.begin();
+    phase.run();
+    event.end();
+    if (event.shouldCommit()) {
+      event.describe(getClass().getSimpleName(), grid.getRows(), grid.getCols(),
+          cellsChangedInStep - changedBefore);
+      event.commit();
+    }
+  }
+
+  /**
+   * Gets how many cells changed state during the last step, or so far during a step in progress.
+   *
+   * @return the number of state changes committed to the grid
+   */
+  public long getCellsChangedLastStep() {
+    return cellsChangedInStep;
+  }
+
+  /**
+   * Reverts the grid's cell states to the previous generation.
+   *
+   * @return true if the grid was reverted, false if no earlier generation is recorded
+   */
   public boolean stepBackOnce() {
-    boolean applied = false;
-    if (iterationCount > 0) {
-      applied = grid.applyPreviousStates();
-      if (applied) {
-        iterationCount--;
-      }
+    return stepBack(1);
+  }
+
+  /**
+   * Reverts the grid's cell states by the given number of generations. Generations stepped back
+   * over can be replayed with {@link #stepForward(int)} until the simulation steps again, which
+   * computes a new generation and forgets them.
+   *
+   * @param steps the number of generations to go back
+   * @return true if the grid was reverted, false if that many generations are not recorded
+   */
+  public boolean stepBack(int steps) {
+    if (steps > iterationCount || !history.rewind(grid, steps)) {
+      return false;
+    }
+    AuxiliarySnapshot auxiliary = history.getCurrentAuxiliaryState();
+    if (auxiliary != null) {
+      restoreAuxiliaryState(auxiliary);
+    }
+    iterationCount -= steps;
+    invalidateStateCounts();
+    return true;
+  }
+
+  /**
+   * Replays generations that were stepped back over, restoring the cell states and auxiliary state
+   * recorded for them instead of computing them again.
+   *
+   * @param steps the number of generations to go forward
+   * @return true if the grid was advanced, false if that many generations are not recorded ahead
+   */
+  public boolean stepForward(int steps) {
+    if (!history.advance(grid, steps)) {
+      return false;
+    }
+    AuxiliarySnapshot auxiliary = history.getCurrentAuxiliaryState();
+    if (auxiliary != null) {
+      restoreAuxiliaryState(auxiliary);
+    }
+    iterationCount += steps;
+    invalidateStateCounts();
+    return true;
+  }
+
+  /**
+   * Creates the random number generator for a simulation, seeded from the optional
+   * {@value #SEED_PARAMETER} parameter so that runs can be reproduced.
+   *
+   * @param simulationConfig the simulation's configuration
+   * @return a generator seeded from the configuration, or an unseeded one if no seed is set
+   */
+  protected static Random createRandom(SimulationConfig simulationConfig) {
+    Map<String, Double> parameters = simulationConfig.getParameters();
+    Double seed = parameters == null ? null : parameters.get(SEED_PARAMETER);
+    return seed != null ? new Random(seed.longValue()) : new Random();
+  }
+
+  /**
+   * Captures the simulation-specific state that is not held in the grid's cell states, to be
+   * recorded with the current generation. Called after every committed step.
+   *
+   * @return an immutable snapshot, or null if the simulation keeps no such state
+   */
+  protected AuxiliarySnapshot captureAuxiliaryState() {
+    return null;
+  }
+
+  /**
+   * Restores simulation-specific state captured by {@link #captureAuxiliaryState()} after the
+   * grid's cell states have been rewound to the same generation.
+   *
+   * @param snapshot a snapshot previously returned by {@link #captureAuxiliaryState()}
+   */
+  protected void restoreAuxiliaryState(AuxiliarySnapshot snapshot) {
+  }
+
+  /**
+   * Gets simulation-specific counters for monitoring, such as the number of live agents. Subclasses
+   * that track more than cell states extend the map returned here. When the grid is an
+   * {@link InfiniteGrid}, the number of times it has expanded is reported as
+   * {@code gridExpansions}.
+   *
+   * @return counter values keyed by name, in a map the caller may modify
+   */
+  public Map<String, Long> getCounters() {
+    Map<String, Long> counters = new LinkedHashMap<>();
+    if (grid instanceof InfiniteGrid infiniteGrid) {
+      counters.put("gridExpansions", (long) infiniteGrid.getExpansionCount());
     }
-    return applied;
+    return counters;
+  }
+
+  /**
+   * Gets the memory held by the step-back history.
+   *
+   * @return the history's estimated size in bytes
+   */
+  public long getHistoryMemoryUsage() {
+    return history.getUsedBytes();
+  }
+
+  /**
+   * Gets how many generations the simulation can currently step back.
+   *
+   * @return the number of recorded generations before the current one
+   */
+  public int getStepBackDepth() {
+    return Math.min(iterationCount, history.getDepth());
+  }
+
+  /**
+   * Gets how many generations stepped back over can currently be replayed.
+   *
+   * @return the number of recorded generations after the current one
+   */
+  public int getStepForwardDepth() {
+    return history.getForwardDepth();
   }
 
   /**
@@ -216,28 +420,88 @@ public abstract class Simulation {
    * updates the numerical counts of each state for all cells
    */
   protected void updateStateCountsMap() {
-    initializeStateCounts();
+    Arrays.fill(counts, 0);
     for (int r = 0; r < grid.getRows(); r++) {
       for (int c = 0; c < grid.getCols(); c++) {
         StateInterface currentState = grid.getCell(r, c).getCurrentState();
         updateStateCountValue(currentState);
       }
     }
+    countedCellCount = grid.getRows() * grid.getCols();
   }
 
   /**
    * updates the state count for a given state value by 1 (for a specific cell)
    * <p>
-   * method is called for each cell
+   * method is called for each cell; states that are not counted are ignored
    * </p>
    *
    * @param state the state to be updated by 1
    */
   public void updateStateCountValue(StateInterface state) {
-    if (stateCounts.containsKey(state)) {
-      stateCounts.put(state, stateCounts.get(state) + 1);
-    } else {
-      return;
+    Integer ordinal = stateOrdinals.get(state);
+    if (ordinal != null) {
+      counts[ordinal]++;
+    }
+  }
+
+  /**
+   * Marks the state counts as out of date so they are fully recounted before they are next read
+   * or updated. Subclasses must call this after changing current cell states outside of a commit.
+   */
+  protected void invalidateStateCounts() {
+    countedCellCount = -1;
+  }
+
+  /**
+   * Checks whether the counts still describe the grid, so that commits can update them
+   * incrementally.
+   *
+   * @return true if the counts are up to date
+   */
+  private boolean areStateCountsCurrent() {
+    return countedCellCount == grid.getRows() * grid.getCols();
+  }
+
+  /**
+   * Notes a cell whose state changed for the next history recording and, if it changed by a
+   * commit, moves its contribution between state counts.
+   *
+   * @param index  the cell's index
+   * @param before the cell's state before the change, or null if it was changed directly
+   * @param after  the cell's state after the change, or null if it was changed directly
+   */
+  private void onStateChange(int index, StateInterface before, StateInterface after) {
+    cellsChangedSinceRecord.set(index);
+    if (before != null) {
+      countStateChange(before, after);
+    }
+  }
+
+  /**
+   * Moves one cell's contribution from its old state's count to its new state's count.
+   *
+   * @param before the cell's state before the commit
+   * @param after  the cell's state after the commit
+   */
+  private void countStateChange(StateInterface before, StateInterface after) {
+    cellsChangedInStep++;
+    Integer from = stateOrdinals.get(before);
+    Integer to = stateOrdinals.get(after);
+    if (from != null) {
+      counts[from]--;
+    }
+    if (to != null) {
+      counts[to]++;
+    }
+  }
+
+  /**
+   * Recounts every cell if the counts are out of date.
+   */
+  private void refreshStateCounts() {
+    if (!areStateCountsCurrent()) {
+      updateStateCountsMap();
     }
   }
 
@@ -276,10 +540,10 @@ public abstract class Simulation {
   /**
    * Retrieves state-cell count mappings.
    *
-   * @return map of state values to numerical cell counts
+   * @return read-only live view of state values to numerical cell counts
    */
   public Map<StateInterface, Double> getStateCounts() {
-    return stateCounts;
+    return stateCountView;
   }
 
   /**
@@ -297,12 +561,20 @@ public abstract class Simulation {
   }
 
   /**
-   * sets the stateCounts instance variable to the parameter
+   * sets the states to count, in the iteration order of the given map, and starts their counts
+   * at the map's values until the grid is next counted
    *
    * @param stateCounts map of state interface values to cell counts
    */
   protected void setStateCounts(Map<StateInterface, Double> stateCounts) {
-    this.stateCounts = stateCounts;
+    countedStates = stateCounts.keySet().toArray(new StateInterface[0]);
+    stateOrdinals.clear();
+    counts = new long[countedStates.length];
+    for (int i = 0; i < countedStates.length; i++) {
+      stateOrdinals.put(countedStates[i], i);
+      counts[i] = stateCounts.get(countedStates[i]).longValue();
+    }
+    invalidateStateCounts();
   }
 
   /**
@@ -314,6 +586,62 @@ public abstract class Simulation {
     this.colorMap = new HashMap<>(colorMap);
   }
 
-}
+  /**
+   * Read-only map view over the primitive state counts. Counts are boxed only when read.
+   */
+  private final class StateCountView extends AbstractMap<StateInterface, Double> {
+
+    @Override
+    public Double get(Object key) {
+      Integer ordinal = stateOrdinals.get(key);
+      if (ordinal == null) {
+        return null;
+      }
+      refreshStateCounts();
+      return (double) counts[ordinal];
+    }
 
+    @Override
+    public boolean containsKey(Object key) {
+      return stateOrdinals.containsKey(key);
+    }
 
+    @Override
+    public int size() {
+      return countedStates.length;
+    }
+
+    @Override
+    public Set<Entry<StateInterface, Double>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<StateInterface, Double>> iterator() {
+          refreshStateCounts();
+          return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+              return next < countedStates.length;
+            }
+
+            @Override
+            public Entry<StateInterface, Double> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              int ordinal = next++;
+              return new SimpleImmutableEntry<>(countedStates[ordinal],
+                  (double) counts[ordinal]);
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return countedStates.length;
+        }
+      };
+    }
+  }
+}
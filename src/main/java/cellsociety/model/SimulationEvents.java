@@ -0,0 +1,178 @@
+package cellsociety.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the phases of a simulation step. Every event records the
+ * simulation type, the grid size and how many cells changed state during the phase, so a
+ * recording shows where each frame's time goes without attaching a profiler.
+ * <p>
+ * The events are disabled unless a recording enables them, for example with
+ * {@code -XX:StartFlightRecording}; while disabled they cost little more than the allocation of
+ * the event object.
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public final class SimulationEvents {
+
+  private SimulationEvents() {
+  }
+
+  /**
+   * Common fields of all simulation phase events.
+   */
+  @Category({"Cell Society", "Simulation"})
+  @StackTrace(false)
+  public abstract static class PhaseEvent extends Event {
+
+    @Label("Simulation Type")
+    String simulationType;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int cols;
+
+    @Label("Cells Changed")
+    @Description("Number of cells whose state changed during the phase")
+    long cellsChanged;
+
+    /**
+     * Fills in the fields describing the simulation.
+     *
+     * @param simulationType the simulation's type
+     * @param rows           number of grid rows
+     * @param cols           number of grid columns
+     * @param cellsChanged   number of cells that changed state during the phase
+     */
+    public void describe(String simulationType, int rows, int cols, long cellsChanged) {
+      this.simulationType = simulationType;
+      this.rows = rows;
+      this.cols = cols;
+      this.cellsChanged = cellsChanged;
+    }
+  }
+
+  /**
+   * Computing the next states in {@link Simulation#applyRules()}.
+   */
+  @Name("cellsociety.ApplyRules")
+  @Label("Apply Rules")
+  public static final class ApplyRules extends PhaseEvent {
+
+  }
+
+  /**
+   * Committing next states with {@link Grid#applyNextStates()}.
+   */
+  @Name("cellsociety.Commit")
+  @Label("Commit Next States")
+  public static final class Commit extends PhaseEvent {
+
+  }
+
+  /**
+   * Bringing the state counts up to date.
+   */
+  @Name("cellsociety.CountStates")
+  @Label("Count States")
+  public static final class CountStates extends PhaseEvent {
+
+  }
+
+  /**
+   * Recording the generation in the step-back history.
+   */
+  @Name("cellsociety.RecordHistory")
+  @Label("Record History")
+  public static final class RecordHistory extends PhaseEvent {
+
+  }
+
+  /**
+   * Drawing a step's result in the user interface.
+   */
+  @Name("cellsociety.Render")
+  @Label("Render")
+  @Category({"Cell Society", "View"})
+  public static final class Render extends PhaseEvent {
+
+  }
+
+  /**
+   * SugarScape agent movement.
+   */
+  @Name("cellsociety.sugarscape.Movement")
+  @Label("SugarScape Movement")
+  @Category({"Cell Society", "SugarScape"})
+  public static final class Movement extends PhaseEvent {
+
+  }
+
+  /**
+   * SugarScape sugar grow-back.
+   */
+  @Name("cellsociety.sugarscape.Growth")
+  @Label("SugarScape Growth")
+  @Category({"Cell Society", "SugarScape"})
+  public static final class Growth extends PhaseEvent {
+
+  }
+
+  /**
+   * SugarScape agent reproduction.
+   */
+  @Name("cellsociety.sugarscape.Reproduction")
+  @Label("SugarScape Reproduction")
+  @Category({"Cell Society", "SugarScape"})
+  public static final class Reproduction extends PhaseEvent {
+
+  }
+
+  /**
+   * SugarScape trading between agents.
+   */
+  @Name("cellsociety.sugarscape.Trading")
+  @Label("SugarScape Trading")
+  @Category({"Cell Society", "SugarScape"})
+  public static final class Trading extends PhaseEvent {
+
+  }
+
+  /**
+   * SugarScape lending.
+   */
+  @Name("cellsociety.sugarscape.Lending")
+  @Label("SugarScape Lending")
+  @Category({"Cell Society", "SugarScape"})
+  public static final class Lending extends PhaseEvent {
+
+  }
+
+  /**
+   * SugarScape loan repayment at the end of a tick.
+   */
+  @Name("cellsociety.sugarscape.LoanRepayment")
+  @Label("SugarScape Loan Repayment")
+  @Category({"Cell Society", "SugarScape"})
+  public static final class LoanRepayment extends PhaseEvent {
+
+  }
+
+  /**
+   * SugarScape disease transmission.
+   */
+  @Name("cellsociety.sugarscape.Disease")
+  @Label("SugarScape Disease")
+  @Category({"Cell Society", "SugarScape"})
+  public static final class Disease extends PhaseEvent {
+
+  }
+}
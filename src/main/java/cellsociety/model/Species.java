@@ -11,9 +11,15 @@ import java.util.List;
  */
 public class Species {
 
+  /**
+   * Number of ints each instruction occupies in the compiled program: opcode, then operand.
+   */
+  public static final int INSTRUCTION_WIDTH = 2;
+
   private final String name;
   private final String color;
   private final List<Instruction> program;
+  private final int[] compiledProgram;
 
   /**
    * Creates a new species with the given name, color, and program.
@@ -26,6 +32,34 @@ public class Species {
     this.name = name;
     this.color = color;
     this.program = new ArrayList<>(program);
+    this.compiledProgram = compileProgram(this.program);
+  }
+
+  /**
+   * Compiles a program into a flat int array of (opcode, operand) pairs. Jump operands of IF and
+   * GO instructions are resolved here to the index of the instruction that runs next when the jump
+   * is taken, wrapping to the start of the program like the program counter does.
+   *
+   * @param program The instructions to compile
+   * @return The compiled program
+   * @throws IllegalArgumentException if a jump target is negative
+   */
+  private static int[] compileProgram(List<Instruction> program) {
+    int[] compiled = new int[program.size() * INSTRUCTION_WIDTH];
+    for (int i = 0; i < program.size(); i++) {
+      Instruction instruction = program.get(i);
+      int operand = instruction.getParameter();
+      if (instruction.isJumpInstruction()) {
+        if (operand < 0) {
+          throw new IllegalArgumentException(
+              String.format("Invalid jump target %d in instruction %d", operand, i));
+        }
+        operand = operand >= program.size() ? 0 : operand;
+      }
+      compiled[i * INSTRUCTION_WIDTH] = instruction.getType().getOpcode();
+      compiled[i * INSTRUCTION_WIDTH + 1] = operand;
+    }
+    return compiled;
   }
 
   /**
@@ -69,6 +103,19 @@ public class Species {
     return program.get(index);
   }
 
+  /**
+   * Gets the compiled form of the program, laid out as {@link #INSTRUCTION_WIDTH} ints per
+   * instruction: the {@link Instruction.Type#getOpcode() opcode} followed by its operand. For IF and
+   * GO instructions the operand is the already-resolved jump target index.
+   *
+   * <p>The returned array is shared and must not be modified.</p>
+   *
+   * @return The compiled program
+   */
+  public int[] getCompiledProgram() {
+    return compiledProgram;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,22 @@
+package cellsociety.model;
+
+/**
+ * Receives the cells of a {@link Grid} whose state changes, either when next states are committed
+ * or when a cell changed directly is marked with {@link Grid#markCellChanged(int, int)}. Directly
+ * changed cells are reported without their states, because the grid did not see the change
+ * itself.
+ *
+ * @author Tatum McKinnis
+ */
+@FunctionalInterface
+public interface StateChangeListener {
+
+  /**
+   * Called once for each cell whose state changed.
+   *
+   * @param index  the cell's index, {@code row * cols + col}
+   * @param before the cell's state before the change, or null if it was changed directly
+   * @param after  the cell's state after the change, or null if it was changed directly
+   */
+  void stateChanged(int index, StateInterface before, StateInterface after);
+}
@@ -0,0 +1,481 @@
+package cellsociety.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the cell states of a {@link Grid} after every step so a simulation can be rewound any
+ * number of generations.
+ * <p>
+ * States are stored as small integer codes assigned the first time each distinct state is seen.
+ * Every {@code keyframeInterval} frames the full code array is stored as a keyframe; in between,
+ * only the cells that changed are stored, as the XOR of their old and new codes. Frames are kept
+ * in a ring buffer limited by a frame count and an approximate memory budget; when either limit
+ * is exceeded the oldest frames are dropped, turning the next retained delta into a keyframe.
+ * </p>
+ * <p>
+ * The codes of the current frame are kept in one array that is updated in place. A caller that
+ * knows which cells changed since the last frame, such as a simulation listening to its grid,
+ * passes them to {@link #record(Grid, BitSet, AuxiliarySnapshot)} so only those cells are encoded;
+ * otherwise every cell is compared.
+ * </p>
+ * <p>
+ * Rewinding keeps the frames after the restored one, so {@link #advance(Grid, int)} can scrub
+ * forward through them again until the next frame is recorded, which discards them.
+ * </p>
+ * <p>
+ * Each frame may also carry an {@link AuxiliarySnapshot} of the simulation's other state, which
+ * counts towards the memory budget and is returned by {@link #getCurrentAuxiliaryState()} after a
+ * rewind.
+ * </p>
+ *
+ * @author Tatum McKinnis
+ */
+public class StateHistory {
+
+  /**
+   * Default number of frames between keyframes.
+   */
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+  /**
+   * Default maximum number of recorded frames.
+   */
+  public static final int DEFAULT_MAX_FRAMES = 1000;
+  /**
+   * Default memory budget for recorded frames, in bytes.
+   */
+  public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+  private static final int FRAME_OVERHEAD_BYTES = 48;
+
+  private final int keyframeInterval;
+  private final int maxFrames;
+  private final long memoryBudget;
+  private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+  private final Map<StateInterface, Integer> codes = new HashMap<>();
+  private final List<StateInterface> states = new ArrayList<>();
+  private int[] latest;
+  private int current = -1;
+  private int[] deltaIndices = new int[16];
+  private int[] deltaChanges = new int[16];
+  private long usedBytes;
+  private int framesSinceKeyframe;
+
+  /**
+   * Creates a history with the default keyframe interval and limits.
+   */
+  public StateHistory() {
+    this(DEFAULT_KEYFRAME_INTERVAL, DEFAULT_MAX_FRAMES, DEFAULT_MEMORY_BUDGET);
+  }
+
+  /**
+   * Creates a history with the given keyframe interval and limits.
+   *
+   * @param keyframeInterval number of frames between keyframes
+   * @param maxFrames        maximum number of frames to keep, including the oldest keyframe
+   * @param memoryBudget     approximate number of bytes the frames may use
+   * @throws IllegalArgumentException if the interval or frame count is less than 1, or the budget
+   *                                  is negative
+   */
+  public StateHistory(int keyframeInterval, int maxFrames, long memoryBudget) {
+    if (keyframeInterval < 1 || maxFrames < 1 || memoryBudget < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid history limits: interval=%d, frames=%d, budget=%d",
+          keyframeInterval, maxFrames, memoryBudget));
+    }
+    this.keyframeInterval = keyframeInterval;
+    this.maxFrames = maxFrames;
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Records the grid's current cell states as the newest frame.
+   *
+   * @param grid the grid to record
+   */
+  public void record(Grid grid) {
+    record(grid, null);
+  }
+
+  /**
+   * Records the grid's current cell states and the simulation's auxiliary state as the newest
+   * frame.
+   *
+   * @param grid      the grid to record
+   * @param auxiliary the auxiliary state to keep with the frame, or null
+   */
+  public void record(Grid grid, AuxiliarySnapshot auxiliary) {
+    record(grid, null, auxiliary);
+  }
+
+  /**
+   * Records the grid's current cell states and the simulation's auxiliary state as the newest
+   * frame, encoding only the given cells. Frames after the current one, left by a rewind, are
+   * discarded first.
+   *
+   * @param grid         the grid to record
+   * @param changedCells the indices ({@code row * cols + col}) of every cell that may have changed
+   *                     since the last frame, or null to compare every cell
+   * @param auxiliary    the auxiliary state to keep with the frame, or null
+   */
+  public void record(Grid grid, BitSet changedCells, AuxiliarySnapshot auxiliary) {
+    discardFramesAfterCurrent();
+    int cellCount = grid.getRows() * grid.getCols();
+    Frame frame;
+    if (latest == null || latest.length != cellCount) {
+      latest = new int[cellCount];
+      encodeAll(grid);
+      frame = Frame.keyframe(latest.clone(), auxiliary);
+      framesSinceKeyframe = 0;
+    } else {
+      int count = 0;
+      if (changedCells == null) {
+        for (int i = 0; i < cellCount; i++) {
+          count = encodeChange(grid, i, count);
+        }
+      } else {
+        for (int i = changedCells.nextSetBit(0); i >= 0 && i < cellCount;
+            i = changedCells.nextSetBit(i + 1)) {
+          count = encodeChange(grid, i, count);
+        }
+      }
+      if (framesSinceKeyframe + 1 >= keyframeInterval) {
+        frame = Frame.keyframe(latest.clone(), auxiliary);
+        framesSinceKeyframe = 0;
+      } else {
+        frame = Frame.delta(Arrays.copyOf(deltaIndices, count),
+            Arrays.copyOf(deltaChanges, count), auxiliary);
+        framesSinceKeyframe++;
+      }
+    }
+    frames.addLast(frame);
+    usedBytes += frame.sizeInBytes();
+    enforceLimits();
+    current = frames.size() - 1;
+  }
+
+  /**
+   * Returns how many steps back the history can rewind from the current frame.
+   *
+   * @return the number of recorded frames before the current one
+   */
+  public int getDepth() {
+    return Math.max(0, current);
+  }
+
+  /**
+   * Returns how many steps forward the history can advance after a rewind.
+   *
+   * @return the number of recorded frames after the current one
+   */
+  public int getForwardDepth() {
+    return frames.size() - 1 - current;
+  }
+
+  /**
+   * Checks whether no frame has been recorded since creation or the last {@link #clear()}.
+   *
+   * @return true if the history is empty
+   */
+  public boolean isEmpty() {
+    return frames.isEmpty();
+  }
+
+  /**
+   * Rewinds the grid by the given number of frames. The frames after the restored one are kept
+   * for {@link #advance(Grid, int)} until the next frame is recorded. Only cells whose state
+   * differs are updated; their next state is reset to the restored state.
+   *
+   * @param grid  the grid to restore
+   * @param steps how many frames to go back
+   * @return true if the grid was restored, false if the history is not deep enough or the grid's
+   * size no longer matches the recorded frame
+   */
+  public boolean rewind(Grid grid, int steps) {
+    if (steps < 1 || steps > getDepth()) {
+      return false;
+    }
+    return restore(grid, current - steps);
+  }
+
+  /**
+   * Advances the grid by the given number of frames recorded after the current one, undoing a
+   * rewind. Only cells whose state differs are updated; their next state is reset to the restored
+   * state.
+   *
+   * @param grid  the grid to restore
+   * @param steps how many frames to go forward
+   * @return true if the grid was restored, false if not enough frames follow the current one or
+   * the grid's size no longer matches the recorded frame
+   */
+  public boolean advance(Grid grid, int steps) {
+    if (steps < 1 || steps > getForwardDepth()) {
+      return false;
+    }
+    return restore(grid, current + steps);
+  }
+
+  /**
+   * Gets the auxiliary state recorded with the current frame, which after a rewind or advance is
+   * the frame that was restored.
+   *
+   * @return the auxiliary snapshot, or null if none was recorded
+   */
+  public AuxiliarySnapshot getCurrentAuxiliaryState() {
+    Frame frame = frameAt(current);
+    return frame == null ? null : frame.auxiliary;
+  }
+
+  /**
+   * Forgets every recorded frame.
+   */
+  public void clear() {
+    frames.clear();
+    latest = null;
+    current = -1;
+    usedBytes = 0;
+    framesSinceKeyframe = 0;
+  }
+
+  /**
+   * Gets the approximate number of bytes used by the recorded frames.
+   *
+   * @return the memory used
+   */
+  public long getUsedBytes() {
+    return usedBytes;
+  }
+
+  /**
+   * Restores the grid to a recorded frame and makes it the current frame.
+   *
+   * @param grid   the grid to restore
+   * @param target position of the frame, counted from the oldest
+   * @return true if the grid was restored, false if its size no longer matches the frame
+   */
+  private boolean restore(Grid grid, int target) {
+    int[] restored = reconstruct(target);
+    if (restored.length != grid.getRows() * grid.getCols()) {
+      return false;
+    }
+
+    int cols = grid.getCols();
+    for (int i = 0; i < restored.length; i++) {
+      Cell cell = grid.getCell(i / cols, i % cols);
+      StateInterface state = states.get(restored[i]);
+      if (cell.getCurrentState() != state) {
+        cell.setCurrentState(state);
+        grid.markCellChanged(i / cols, i % cols);
+      }
+      cell.resetNextState();
+    }
+
+    latest = restored;
+    current = target;
+    return true;
+  }
+
+  /**
+   * Converts every cell's current state to its code in the current frame's codes.
+   *
+   * @param grid the grid to encode, which must be the size of the current codes
+   */
+  private void encodeAll(Grid grid) {
+    int cols = grid.getCols();
+    for (int i = 0; i < latest.length; i++) {
+      latest[i] = codeOf(grid.getCell(i / cols, i % cols).getCurrentState());
+    }
+  }
+
+  /**
+   * Updates one cell's code in the current frame's codes and, if it changed, appends the cell to
+   * the delta being built.
+   *
+   * @param grid  the grid being recorded
+   * @param index the cell's index, {@code row * cols + col}
+   * @param count the number of changes in the delta so far
+   * @return the number of changes in the delta after this cell
+   */
+  private int encodeChange(Grid grid, int index, int count) {
+    int cols = grid.getCols();
+    int code = codeOf(grid.getCell(index / cols, index % cols).getCurrentState());
+    int xor = latest[index] ^ code;
+    if (xor == 0) {
+      return count;
+    }
+    if (count == deltaIndices.length) {
+      deltaIndices = Arrays.copyOf(deltaIndices, count * 2);
+      deltaChanges = Arrays.copyOf(deltaChanges, count * 2);
+    }
+    deltaIndices[count] = index;
+    deltaChanges[count] = xor;
+    latest[index] = code;
+    return count + 1;
+  }
+
+  /**
+   * Gets the code of a state, assigning a new code if the state has not been seen.
+   *
+   * @param state the state to encode
+   * @return the state's code
+   */
+  private int codeOf(StateInterface state) {
+    Integer code = codes.get(state);
+    if (code == null) {
+      code = states.size();
+      codes.put(state, code);
+      states.add(state);
+    }
+    return code;
+  }
+
+  /**
+   * Gets a recorded frame by position.
+   *
+   * @param position position of the frame, counted from the oldest
+   * @return the frame, or null if there is none at that position
+   */
+  private Frame frameAt(int position) {
+    if (position < 0 || position >= frames.size()) {
+      return null;
+    }
+    if (position == frames.size() - 1) {
+      return frames.peekLast();
+    }
+    Iterator<Frame> it = frames.iterator();
+    for (int i = 0; i < position; i++) {
+      it.next();
+    }
+    return it.next();
+  }
+
+  /**
+   * Drops the frames a rewind left after the current one, so recording continues from it.
+   */
+  private void discardFramesAfterCurrent() {
+    if (getForwardDepth() <= 0) {
+      return;
+    }
+    while (frames.size() - 1 > current) {
+      usedBytes -= frames.removeLast().sizeInBytes();
+    }
+    framesSinceKeyframe = countFramesSinceKeyframe();
+  }
+
+  /**
+   * Rebuilds the full codes of a frame from the nearest keyframe before it.
+   *
+   * @param target position of the frame, counted from the oldest
+   * @return the frame's codes
+   */
+  private int[] reconstruct(int target) {
+    int[] result = null;
+    int position = 0;
+    int keyframePosition = 0;
+    for (Frame frame : frames) {
+      if (position > target) {
+        break;
+      }
+      if (frame.isKeyframe()) {
+        keyframePosition = position;
+      }
+      position++;
+    }
+
+    position = 0;
+    for (Iterator<Frame> it = frames.iterator(); it.hasNext() && position <= target; position++) {
+      Frame frame = it.next();
+      if (position == keyframePosition) {
+        result = frame.codes.clone();
+      } else if (position > keyframePosition) {
+        frame.applyTo(result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drops the oldest frames while the history is over its frame count or memory budget. At least
+   * the newest frame is always kept, and the oldest kept frame is always a keyframe.
+   */
+  private void enforceLimits() {
+    while (frames.size() > 1 && (frames.size() > maxFrames || usedBytes > memoryBudget)) {
+      Frame oldest = frames.removeFirst();
+      usedBytes -= oldest.sizeInBytes();
+      Frame next = frames.peekFirst();
+      if (!next.isKeyframe()) {
+        int[] codesOfNext = oldest.codes.clone();
+        next.applyTo(codesOfNext);
+        Frame promoted = Frame.keyframe(codesOfNext, next.auxiliary);
+        frames.removeFirst();
+        frames.addFirst(promoted);
+        usedBytes += promoted.sizeInBytes() - next.sizeInBytes();
+      }
+    }
+  }
+
+  /**
+   * Counts the frames recorded since the newest keyframe.
+   *
+   * @return the number of delta frames after the newest keyframe
+   */
+  private int countFramesSinceKeyframe() {
+    int count = 0;
+    for (Iterator<Frame> it = frames.descendingIterator(); it.hasNext(); ) {
+      if (it.next().isKeyframe()) {
+        break;
+      }
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * One recorded step: either the full codes of every cell, or the indices of the changed cells
+   * with the XOR of their old and new codes.
+   */
+  private static final class Frame {
+
+    private final int[] codes;
+    private final int[] changedIndices;
+    private final int[] changes;
+    private final AuxiliarySnapshot auxiliary;
+
+    private Frame(int[] codes, int[] changedIndices, int[] changes, AuxiliarySnapshot auxiliary) {
+      this.codes = codes;
+      this.changedIndices = changedIndices;
+      this.changes = changes;
+      this.auxiliary = auxiliary;
+    }
+
+    static Frame keyframe(int[] codes, AuxiliarySnapshot auxiliary) {
+      return new Frame(codes, null, null, auxiliary);
+    }
+
+    static Frame delta(int[] changedIndices, int[] changes, AuxiliarySnapshot auxiliary) {
+      return new Frame(null, changedIndices, changes, auxiliary);
+    }
+
+    boolean isKeyframe() {
+      return codes != null;
+    }
+
+    void applyTo(int[] target) {
+      for (int i = 0; i < changedIndices.length; i++) {
+        target[changedIndices[i]] ^= changes[i];
+      }
+    }
+
+    long sizeInBytes() {
+      int ints = isKeyframe() ? codes.length : changedIndices.length * 2;
+      long auxiliaryBytes = auxiliary == null ? 0 : auxiliary.sizeInBytes();
+      return FRAME_OVERHEAD_BYTES + 4L * ints + auxiliaryBytes;
+    }
+  }
+}
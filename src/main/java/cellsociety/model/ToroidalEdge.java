@@ -42,6 +42,22 @@ public class ToroidalEdge implements EdgeStrategy {
     return grid.getCellDirect(wrappedRow, wrappedCol);
   }
 
+  /**
+   * Resolves coordinates to the flat index of the wrapped-around cell.
+   *
+   * @param grid The grid on which to resolve the position
+   * @param row  The row index (may be out of bounds)
+   * @param col  The column index (may be out of bounds)
+   * @return The flat index of the wrapped-around cell
+   */
+  @Override
+  public int resolveIndex(Grid grid, int row, int col) {
+    int wrappedRow = ((row % grid.getRows()) + grid.getRows()) % grid.getRows();
+    int wrappedCol = ((col % grid.getCols()) + grid.getCols()) % grid.getCols();
+
+    return wrappedRow * grid.getCols() + wrappedCol;
+  }
+
   /**
    * Returns the type identifier for this edge strategy.
    *
@@ -59,7 +59,7 @@ public abstract class AbstractLoopSimulation extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(LangtonState.EMPTY, 0.0);
     stateCounts.put(LangtonState.SHEATH, 0.0);
     stateCounts.put(LangtonState.CORE, 0.0);
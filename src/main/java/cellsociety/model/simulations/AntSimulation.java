@@ -2,17 +2,21 @@ package cellsociety.model.simulations;
 
 import cellsociety.controller.SimulationConfig;
 import cellsociety.model.Ant;
-import cellsociety.model.Cell;
+import cellsociety.model.AntColonyEngine;
+import cellsociety.model.AntWorld;
+import cellsociety.model.AuxiliarySnapshot;
 import cellsociety.model.Grid;
 import cellsociety.model.Simulation;
 import cellsociety.model.state.AntState;
 import cellsociety.model.Orientation;
+import cellsociety.model.RowSnapshot;
 import cellsociety.model.StateInterface;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Simulation implementing ant foraging behavior with pheromone trails and dynamic state
@@ -27,6 +31,12 @@ import java.util.Map;
  * </ul>
  * The simulation handles pheromone evaporation and diffusion dynamics automatically.
  * </p>
+ * <p>
+ * Pheromones, ant counts and terrain live in the primitive layers of an {@link AntWorld}; the
+ * grid's cells only hold the derived view state of each cell. Ant movement is delegated to an
+ * {@link AntColonyEngine}, which processes large colonies in parallel; setting the optional
+ * {@code seed} parameter makes runs reproducible.
+ * </p>
  *
  * @author Tatum McKinnis
  */
@@ -36,8 +46,14 @@ public class AntSimulation extends Simulation {
   private static final double DIFFUSION_RATE = 0.1;
   private static final int MAX_ANTS_PER_CELL = 10;
   private static final double MAX_PHEROMONE = 100.0;
+  private static final int ANTS_PER_SNAPSHOT_ROW = 256;
+  private static final int LONGS_PER_ANT = 3;
 
-  private final List<Ant> ants;
+  private final AntWorld world;
+  private final AntColonyEngine engine;
+  private List<Ant> ants;
+  private AntWorld.Snapshot lastWorldSnapshot;
+  private RowSnapshot lastAntSnapshot;
 
   /**
    * Constructs a new AntSimulation with specified configuration and grid.
@@ -47,7 +63,27 @@ public class AntSimulation extends Simulation {
    */
   public AntSimulation(SimulationConfig config, Grid grid) {
     super(config, grid);
+    this.world = new AntWorld(grid);
+    this.engine = new AntColonyEngine(world, MAX_ANTS_PER_CELL, MAX_PHEROMONE, readSeed(config));
     this.ants = initializeAnts(config);
+    world.publishAll();
+    invalidateStateCounts();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Reloads the pheromone layers from the new states and places a fresh set of ants at the
+   * nests.
+   * </p>
+   */
+  @Override
+  public void reinitializeGridStates(SimulationConfig simulationConfig) {
+    super.reinitializeGridStates(simulationConfig);
+    world.load();
+    ants = initializeAnts(simulationConfig);
+    world.publishAll();
+    invalidateStateCounts();
   }
 
   /**
@@ -65,10 +101,10 @@ public class AntSimulation extends Simulation {
   @Override
   protected Map<StateInterface, String> initializeColorMap() {
     Map<StateInterface, String> colorMap = new HashMap<>();
-    colorMap.put(new AntState(true, false, false, 0, 0, 0), "ant-state-nest");
-    colorMap.put(new AntState(false, true, false, 0, 0, 0), "ant-state-food");
-    colorMap.put(new AntState(false, false, true, 0, 0, 0), "ant-state-obstacle");
-    colorMap.put(new AntState(false, false, false, 0, 0, 0), "ant-state-empty");
+    colorMap.put(AntWorld.getTerrainState(AntWorld.NEST), "ant-state-nest");
+    colorMap.put(AntWorld.getTerrainState(AntWorld.FOOD), "ant-state-food");
+    colorMap.put(AntWorld.getTerrainState(AntWorld.OBSTACLE), "ant-state-obstacle");
+    colorMap.put(AntWorld.getTerrainState(AntWorld.EMPTY), "ant-state-empty");
     return colorMap;
   }
 
@@ -77,11 +113,11 @@ public class AntSimulation extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
-    stateCounts.put(new AntState(true, false, false, 0, 0, 0), 0.0);
-    stateCounts.put(new AntState(false, true, false, 0, 0, 0), 0.0);
-    stateCounts.put(new AntState(false, false, true, 0, 0, 0), 0.0);
-    stateCounts.put(new AntState(false, false, false, 0, 0, 0), 0.0);
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
+    stateCounts.put(AntWorld.getTerrainState(AntWorld.NEST), 0.0);
+    stateCounts.put(AntWorld.getTerrainState(AntWorld.FOOD), 0.0);
+    stateCounts.put(AntWorld.getTerrainState(AntWorld.OBSTACLE), 0.0);
+    stateCounts.put(AntWorld.getTerrainState(AntWorld.EMPTY), 0.0);
     setStateCounts(stateCounts);
   }
 
@@ -118,17 +154,11 @@ public class AntSimulation extends Simulation {
     Map<String, Double> params = config.getParameters();
     int numAnts = params.containsKey("numAnts") ? params.get("numAnts").intValue() : 10;
 
-    int totalNests = 0;
-    int totalAntsCreated = 0;
-
     for (int r = 0; r < getGrid().getRows(); r++) {
       for (int c = 0; c < getGrid().getCols(); c++) {
-        AntState state = (AntState) getGrid().getCell(r, c).getCurrentState();
-        if (state.isNest()) {
-          totalNests++;
+        if (world.getTerrain(world.indexOf(r, c)) == AntWorld.NEST) {
           for (int i = 0; i < numAnts; i++) {
             ants.add(new Ant(r, c, Orientation.N, false));
-            totalAntsCreated++;
           }
         }
       }
@@ -137,60 +167,37 @@ public class AntSimulation extends Simulation {
     return ants;
   }
 
+  /**
+   * Reads the seed for the ants' random choices from the optional {@code seed} parameter.
+   *
+   * @param config Simulation configuration containing parameters
+   * @return the configured seed, or a random one if none is set
+   */
+  private static long readSeed(SimulationConfig config) {
+    Double seed = config.getParameters().get(SEED_PARAMETER);
+    return seed != null ? seed.longValue() : ThreadLocalRandom.current().nextLong();
+  }
+
   /**
    * {@inheritDoc}
    * <p>
    * Executes one simulation step:
    * <ol>
-   *   <li>Initializes next cell states</li>
-   *   <li>Processes all ant movements</li>
+   *   <li>Copies the current layers into the next-step buffers</li>
+   *   <li>Processes all ant movements through the colony engine</li>
    *   <li>Applies pheromone evaporation/diffusion</li>
-   *   <li>Commits state changes to grid</li>
+   *   <li>Publishes changed view states to the grid's next states</li>
    * </ol>
    * </p>
    */
   @Override
   public void applyRules() {
-    initializeNextStates();
-
-    ants.forEach(this::processAntMovement);
+    world.beginStep();
 
-    applyEvaporationAndDiffusion();
-    getGrid().applyNextStates();
-  }
-
-  /**
-   * Initializes all cells' next states to their current states.
-   */
-  private void initializeNextStates() {
-    Grid grid = getGrid();
-    for (int r = 0; r < grid.getRows(); r++) {
-      for (int c = 0; c < grid.getCols(); c++) {
-        Cell cell = grid.getCell(r, c);
-        cell.setNextState(cell.getCurrentState());
-      }
-    }
-  }
-
-  /**
-   * Processes movement logic for a single ant.
-   *
-   * @param ant The ant to process
-   */
-  private void processAntMovement(Ant ant) {
-    int currentRow = ant.getRow();
-    int currentCol = ant.getCol();
-    Cell currentCell = getGrid().getCell(currentRow, currentCol);
-    AntState currentState = (AntState) currentCell.getCurrentState();
+    engine.moveAnts(ants);
 
-    if (ant.hasFood() && currentState.isNest()) {
-      ant.setHasFood(false);
-    } else if (!ant.hasFood() && currentState.isFood()) {
-      ant.setHasFood(true);
-    }
-
-    depositPheromones(currentRow, currentCol, ant.hasFood());
-    executeMovement(ant);
+    world.evaporateAndDiffuse(EVAPORATION_RATE, DIFFUSION_RATE, MAX_PHEROMONE);
+    world.commitAntCounts();
   }
 
   /**
@@ -209,349 +216,129 @@ public class AntSimulation extends Simulation {
   }
 
   /**
-   * Deposits pheromones at the ant's current location.
-   *
-   * @param row     Grid row coordinate
-   * @param col     Grid column coordinate
-   * @param hasFood True if ant is carrying food (deposits food pheromones), false if searching
-   *                (deposits home pheromones)
-   */
-  private void depositPheromones(int row, int col, boolean hasFood) {
-    Cell cell = getGrid().getCell(row, col);
-    AntState nextState = (AntState) cell.getNextState();
-    double desired = calculateDesiredPheromone(row, col, hasFood, nextState);
-
-    if (hasFood && desired > nextState.getFoodPheromone()) {
-      cell.setNextState(nextState.withFoodPheromone(desired));
-    } else if (!hasFood && desired > nextState.getHomePheromone()) {
-      cell.setNextState(nextState.withHomePheromone(desired));
-    }
-  }
-
-
-  /**
-   * Provides access to the maximum pheromone value for testing purposes
-   *
-   * @return The maximum allowed pheromone concentration
-   */
-  public static double getMaxPheromone() {
-    return MAX_PHEROMONE;
-  }
-
-  /**
-   * Calculates desired pheromone level for deposition.
-   *
-   * @param row     Grid row coordinate
-   * @param col     Grid column coordinate
-   * @param hasFood Whether the ant is carrying food
-   * @param state   Current cell state
-   * @return Pheromone level to deposit
-   */
-  private double calculateDesiredPheromone(int row, int col, boolean hasFood, AntState state) {
-    if (hasFood) {
-      return state.isFood() ? MAX_PHEROMONE
-          : Math.max(0, getMaxNeighborPheromone(row, col, false) - 2);
-    }
-    return state.isNest() ? MAX_PHEROMONE
-        : Math.max(0, getMaxNeighborPheromone(row, col, true) - 2);
-  }
-
-  /**
-   * Finds maximum pheromone value in neighboring cells.
-   *
-   * @param row    Center cell row
-   * @param col    Center cell column
-   * @param isHome Whether to check home (true) or food (false) pheromones
-   * @return Maximum pheromone value found
-   */
-  private double getMaxNeighborPheromone(int row, int col, boolean isHome) {
-    double max = 0;
-    for (int dr = -1; dr <= 1; dr++) {
-      for (int dc = -1; dc <= 1; dc++) {
-        if (dr == 0 && dc == 0) {
-          continue;
-        }
-        int nr = row + dr;
-        int nc = col + dc;
-        if (getGrid().isValidPosition(nr, nc)) {
-          AntState neighbor = (AntState) getGrid().getCell(nr, nc).getCurrentState();
-          double pheromone = isHome ? neighbor.getHomePheromone() : neighbor.getFoodPheromone();
-          max = Math.max(max, pheromone);
-        }
-      }
-    }
-    return max;
-  }
-
-  /**
-   * Executes movement logic for an ant.
-   *
-   * @param ant The ant to move
-   */
-  private void executeMovement(Ant ant) {
-    List<int[]> possibleMoves = getPossibleMoves(ant);
-
-    if (!possibleMoves.isEmpty()) {
-      int[] selectedMove = selectMove(possibleMoves, ant.hasFood());
-      if (selectedMove != null) {
-        moveAnt(ant, selectedMove[0], selectedMove[1]);
-      }
-    }
-  }
-
-  /**
-   * Gets valid movement options for an ant.
-   *
-   * @param ant The ant to evaluate
-   * @return List of valid [row,col] positions the ant can move to
+   * {@inheritDoc}
+   * <p>
+   * Adds the number of live ants.
+   * </p>
    */
-  private List<int[]> getPossibleMoves(Ant ant) {
-    return filterValidPositions(getAllNeighborPositions(ant.getRow(), ant.getCol()));
+  @Override
+  public Map<String, Long> getCounters() {
+    Map<String, Long> counters = super.getCounters();
+    counters.put("agentsAlive", (long) ants.size());
+    return counters;
   }
 
   /**
-   * Gets all neighboring positions around a location.
-   *
-   * @param row Center row
-   * @param col Center column
-   * @return List of [row,col] neighbor positions
+   * {@inheritDoc}
+   * <p>
+   * Captures the pheromone layers, the ant counts, the engine's step number and every ant packed
+   * into three longs, in rows of {@value #ANTS_PER_SNAPSHOT_ROW} ants. Rows that did not change
+   * since the last capture are shared with it.
+   * </p>
    */
-  private List<int[]> getAllNeighborPositions(int row, int col) {
-    List<int[]> positions = new ArrayList<>();
-    for (int dr = -1; dr <= 1; dr++) {
-      for (int dc = -1; dc <= 1; dc++) {
-        if (dr == 0 && dc == 0) {
-          continue;
-        }
-        int nr = row + dr;
-        int nc = col + dc;
-        if (getGrid().isValidPosition(nr, nc)) {
-          positions.add(new int[]{nr, nc});
-        }
-      }
-    }
-    return positions;
+  @Override
+  protected AuxiliarySnapshot captureAuxiliaryState() {
+    int rows = (ants.size() + ANTS_PER_SNAPSHOT_ROW - 1) / ANTS_PER_SNAPSHOT_ROW;
+    lastAntSnapshot = RowSnapshot.capture(rows, ANTS_PER_SNAPSHOT_ROW * LONGS_PER_ANT,
+        (row, buffer) -> {
+          int first = row * ANTS_PER_SNAPSHOT_ROW;
+          int last = Math.min(ants.size(), first + ANTS_PER_SNAPSHOT_ROW);
+          for (int i = first; i < last; i++) {
+            Ant ant = ants.get(i);
+            int offset = (i - first) * LONGS_PER_ANT;
+            buffer[offset] = RowSnapshot.pack(ant.getRow(), ant.getCol());
+            buffer[offset + 1] = RowSnapshot.pack(ant.getLastRow(), ant.getLastCol());
+            buffer[offset + 2] = RowSnapshot.pack(ant.getSteps(),
+                ant.getOrientation().ordinal() << 1 | (ant.hasFood() ? 1 : 0));
+          }
+        }, lastAntSnapshot);
+    lastWorldSnapshot = world.snapshot(lastWorldSnapshot);
+    return new ColonySnapshot(lastWorldSnapshot, lastAntSnapshot, engine.getStepNumber());
   }
 
   /**
-   * Filters out invalid positions (obstacles/overcrowded).
-   *
-   * @param positions Positions to filter
-   * @return Valid movement positions
+   * {@inheritDoc}
    */
-  private List<int[]> filterValidPositions(List<int[]> positions) {
-    List<int[]> valid = new ArrayList<>();
-    for (int[] pos : positions) {
-      Cell cell = getGrid().getCell(pos[0], pos[1]);
-      AntState state = (AntState) cell.getCurrentState();
-      AntState nextState = (AntState) cell.getNextState();
-
-      if (!state.isObstacle() && nextState.getAntCount() < MAX_ANTS_PER_CELL) {
-        valid.add(pos);
-      }
+  @Override
+  protected void restoreAuxiliaryState(AuxiliarySnapshot snapshot) {
+    ColonySnapshot saved = (ColonySnapshot) snapshot;
+    world.restore(saved.world());
+    engine.setStepNumber(saved.stepNumber());
+    Orientation[] orientations = Orientation.values();
+    for (int i = 0; i < ants.size(); i++) {
+      Ant ant = ants.get(i);
+      int row = i / ANTS_PER_SNAPSHOT_ROW;
+      int offset = (i % ANTS_PER_SNAPSHOT_ROW) * LONGS_PER_ANT;
+      long position = saved.ants().get(row, offset);
+      long last = saved.ants().get(row, offset + 1);
+      long status = saved.ants().get(row, offset + 2);
+      ant.setRow(RowSnapshot.high(position));
+      ant.setCol(RowSnapshot.low(position));
+      ant.setLastRow(RowSnapshot.high(last));
+      ant.setLastCol(RowSnapshot.low(last));
+      ant.setSteps(RowSnapshot.high(status));
+      ant.setOrientation(orientations[RowSnapshot.low(status) >> 1]);
+      ant.setHasFood((RowSnapshot.low(status) & 1) != 0);
     }
-    return valid;
+    lastWorldSnapshot = saved.world();
+    lastAntSnapshot = saved.ants();
   }
 
   /**
-   * Selects a movement position probabilistically based on pheromones.
+   * The colony's state at one generation.
    *
-   * @param possiblePositions Valid movement options
-   * @param hasFood           Whether ant is carrying food
-   * @return Selected [row,col] position, or null if no valid moves
+   * @param world      pheromone layers and ant counts
+   * @param ants       packed ant positions and status
+   * @param stepNumber the engine's step number
    */
-  private int[] selectMove(List<int[]> possiblePositions, boolean hasFood) {
-    if (possiblePositions.isEmpty()) {
-      return null;
-    }
-
-    double[] weights = new double[possiblePositions.size()];
-    double totalWeight = 0;
-
-    for (int i = 0; i < possiblePositions.size(); i++) {
-      int[] pos = possiblePositions.get(i);
-      weights[i] = getPheromoneWeight(pos[0], pos[1], hasFood);
-      totalWeight += weights[i];
-    }
+  private record ColonySnapshot(AntWorld.Snapshot world, RowSnapshot ants, long stepNumber)
+      implements AuxiliarySnapshot {
 
-    if (totalWeight <= 0) {
-      return possiblePositions.get((int) (Math.random() * possiblePositions.size()));
-    }
-
-    double rand = Math.random() * totalWeight;
-    double sum = 0;
-
-    for (int i = 0; i < weights.length; i++) {
-      sum += weights[i];
-      if (sum >= rand) {
-        return possiblePositions.get(i);
-      }
+    @Override
+    public long sizeInBytes() {
+      return world.sizeInBytes() + ants.sizeInBytes();
     }
-
-    return possiblePositions.get(possiblePositions.size() - 1);
-  }
-
-  /**
-   * Calculates pheromone weight for position selection.
-   *
-   * @param row     Position row
-   * @param col     Position column
-   * @param hasFood Whether ant is carrying food
-   * @return Weight value for selection probability
-   */
-  private double getPheromoneWeight(int row, int col, boolean hasFood) {
-    Cell cell = getGrid().getCell(row, col);
-    AntState state = (AntState) cell.getCurrentState();
-
-    double baseWeight = 1.0;
-    double pheromoneWeight = hasFood ? state.getHomePheromone() : state.getFoodPheromone();
-
-    double randomFactor = Math.random() * 0.5;
-
-    return baseWeight + pheromoneWeight + randomFactor;
   }
 
   /**
-   * Moves an ant to a new position and updates orientation.
-   *
-   * @param ant    The ant to move
-   * @param newRow Target row
-   * @param newCol Target column
-   */
-  private void moveAnt(Ant ant, int newRow, int newCol) {
-    int oldRow = ant.getRow();
-    int oldCol = ant.getCol();
-
-    if (oldRow != newRow || oldCol != newCol) {
-      int dr = newRow - oldRow;
-      int dc = newCol - oldCol;
-      ant.setOrientation(Orientation.fromDrDc(dr, dc));
-
-      ant.setLastRow(oldRow);
-      ant.setLastCol(oldCol);
-      ant.setSteps(ant.getSteps() + 1);
-
-    }
-
-    updateAntCount(oldRow, oldCol, -1);
-    ant.setRow(newRow);
-    ant.setCol(newCol);
-    updateAntCount(newRow, newCol, 1);
-  }
-
-  /**
-   * Updates ant count in a cell's next state.
+   * Provides access to the maximum pheromone value for testing purposes
    *
-   * @param row   Cell row
-   * @param col   Cell column
-   * @param delta Change in ant count (+1/-1)
-   */
-  private void updateAntCount(int row, int col, int delta) {
-    Cell cell = getGrid().getCell(row, col);
-    AntState nextState = (AntState) cell.getNextState();
-    int newCount = nextState.getAntCount() + delta;
-
-    newCount = Math.max(0, newCount);
-
-    cell.setNextState(nextState.withAntCount(newCount));
-  }
-
-  /**
-   * Applies pheromone evaporation and diffusion across the grid.
+   * @return The maximum allowed pheromone concentration
    */
-  private void applyEvaporationAndDiffusion() {
-    Grid grid = getGrid();
-    int rows = grid.getRows();
-    int cols = grid.getCols();
-    double[][] homeContributions = new double[rows][cols];
-    double[][] foodContributions = new double[rows][cols];
-
-    for (int r = 0; r < rows; r++) {
-      for (int c = 0; c < cols; c++) {
-        Cell cell = grid.getCell(r, c);
-        AntState nextState = (AntState) cell.getNextState();
-
-        double homeEvap = nextState.getHomePheromone() * (1 - EVAPORATION_RATE);
-        double foodEvap = nextState.getFoodPheromone() * (1 - EVAPORATION_RATE);
-
-        distributeDiffusion(r, c, homeEvap, foodEvap, homeContributions, foodContributions);
-        applyEvaporation(cell, homeEvap, foodEvap);
-      }
-    }
-
-    applyContributions(homeContributions, foodContributions);
+  public static double getMaxPheromone() {
+    return MAX_PHEROMONE;
   }
 
   /**
-   * Distributes diffusion contributions to neighboring cells.
+   * Gets the current home pheromone level of a cell.
    *
-   * @param row               Current cell row
-   * @param col               Current cell column
-   * @param homeEvap          Current cell's home pheromone after evaporation
-   * @param foodEvap          Current cell's food pheromone after evaporation
-   * @param homeContributions Matrix tracking home pheromone diffusion
-   * @param foodContributions Matrix tracking food pheromone diffusion
+   * @param row Grid row coordinate
+   * @param col Grid column coordinate
+   * @return home pheromone concentration
    */
-  private void distributeDiffusion(int row, int col, double homeEvap, double foodEvap,
-      double[][] homeContributions, double[][] foodContributions) {
-    double homeDiffuse = homeEvap * DIFFUSION_RATE;
-    double foodDiffuse = foodEvap * DIFFUSION_RATE;
-
-    for (int dr = -1; dr <= 1; dr++) {
-      for (int dc = -1; dc <= 1; dc++) {
-        if (dr == 0 && dc == 0) {
-          continue;
-        }
-        int nr = row + dr;
-        int nc = col + dc;
-        if (getGrid().isValidPosition(nr, nc)) {
-          homeContributions[nr][nc] += homeDiffuse / 8;
-          foodContributions[nr][nc] += foodDiffuse / 8;
-        }
-      }
-    }
+  public double getHomePheromone(int row, int col) {
+    return world.getHomePheromone(world.indexOf(row, col));
   }
 
   /**
-   * Applies evaporation to a cell's pheromone levels.
+   * Gets the current food pheromone level of a cell.
    *
-   * @param cell     Target cell
-   * @param homeEvap Home pheromone after evaporation
-   * @param foodEvap Food pheromone after evaporation
+   * @param row Grid row coordinate
+   * @param col Grid column coordinate
+   * @return food pheromone concentration
    */
-  private void applyEvaporation(Cell cell, double homeEvap, double foodEvap) {
-    AntState nextState = (AntState) cell.getNextState();
-    cell.setNextState(nextState
-        .withHomePheromone(homeEvap - (homeEvap * DIFFUSION_RATE))
-        .withFoodPheromone(foodEvap - (foodEvap * DIFFUSION_RATE)));
+  public double getFoodPheromone(int row, int col) {
+    return world.getFoodPheromone(world.indexOf(row, col));
   }
 
   /**
-   * Applies accumulated diffusion contributions to all cells.
+   * Gets the current number of ants counted in a cell.
    *
-   * @param homeContributions Home pheromone diffusion amounts
-   * @param foodContributions Food pheromone diffusion amounts
+   * @param row Grid row coordinate
+   * @param col Grid column coordinate
+   * @return ant count
    */
-  private void applyContributions(double[][] homeContributions, double[][] foodContributions) {
-    Grid grid = getGrid();
-    for (int r = 0; r < grid.getRows(); r++) {
-      for (int c = 0; c < grid.getCols(); c++) {
-        Cell cell = grid.getCell(r, c);
-        AntState nextState = (AntState) cell.getNextState();
-
-        double home = Math.min(
-            nextState.getHomePheromone() + homeContributions[r][c],
-            MAX_PHEROMONE
-        );
-        double food = Math.min(
-            nextState.getFoodPheromone() + foodContributions[r][c],
-            MAX_PHEROMONE
-        );
-
-        cell.setNextState(nextState
-            .withHomePheromone(home)
-            .withFoodPheromone(food));
-      }
-    }
+  public int getAntCount(int row, int col) {
+    return world.getAntCount(world.indexOf(row, col));
   }
-}
\ No newline at end of file
+}
@@ -79,7 +79,7 @@ public class BacteriaColoniesSimulation extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(BacteriaState.ROCK, 0.0);
     stateCounts.put(BacteriaState.PAPER, 0.0);
     stateCounts.put(BacteriaState.SCISSORS, 0.0);
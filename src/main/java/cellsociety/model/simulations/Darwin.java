@@ -1,20 +1,26 @@
 package cellsociety.model.simulations;
 
 import cellsociety.controller.SimulationConfig;
+import cellsociety.model.AuxiliarySnapshot;
 import cellsociety.model.Cell;
 import cellsociety.model.CreatureCell;
 import cellsociety.model.Grid;
 import cellsociety.model.Simulation;
 import cellsociety.model.Species;
 import cellsociety.model.Instruction;
+import cellsociety.model.RowSnapshot;
 import cellsociety.model.state.DarwinState;
 import cellsociety.model.StateInterface;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * Implementation of the Darwin simulation, modeling creatures following programmed behaviors.
@@ -38,9 +44,15 @@ public class Darwin extends Simulation {
 
   private static final int EMPTY_STATE_KEY = 0;
   private static final int CREATURE_STATE_KEY = 1;
-  private static final Random RANDOM = new Random();
+  private final Random random;
 
   private final Map<String, Species> speciesRegistry;
+  private final Set<CreatureCell> infectedCreatures = new LinkedHashSet<>();
+  private int[] processedGeneration = new int[0];
+  private int generation;
+  private final List<Species> speciesPalette = new ArrayList<>(Arrays.asList((Species) null));
+  private final Map<Species, Integer> paletteIndices = new IdentityHashMap<>();
+  private RowSnapshot lastSnapshot;
 
   /**
    * Constructs a Darwin simulation with the specified parameters.
@@ -52,6 +64,7 @@ public class Darwin extends Simulation {
   public Darwin(SimulationConfig simulationConfig, Grid grid, Map<String, Species> speciesMap) {
     super(simulationConfig, grid);
     this.speciesRegistry = new HashMap<>(speciesMap);
+    this.random = createRandom(simulationConfig);
 
     convertGridToCreatureCells(grid);
   }
@@ -72,8 +85,8 @@ public class Darwin extends Simulation {
           if (cell.getCurrentState() == DarwinState.CREATURE) {
             List<Species> allSpecies = new ArrayList<>(speciesRegistry.values());
             if (!allSpecies.isEmpty()) {
-              species = allSpecies.get(RANDOM.nextInt(allSpecies.size()));
-              orientation = RANDOM.nextInt(4) * 90;
+              species = allSpecies.get(random.nextInt(allSpecies.size()));
+              orientation = random.nextInt(4) * 90;
             }
           }
 
@@ -116,7 +129,7 @@ public class Darwin extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(DarwinState.EMPTY, 0.0);
     stateCounts.put(DarwinState.CREATURE, 0.0);
     setStateCounts(stateCounts);
@@ -129,35 +142,57 @@ public class Darwin extends Simulation {
   @Override
   public void applyRules() {
     Grid grid = getGrid();
-    List<CreatureCell> processedCells = new ArrayList<>();
-
-    for (int r = 0; r < grid.getRows(); r++) {
-      for (int c = 0; c < grid.getCols(); c++) {
+    int rows = grid.getRows();
+    int cols = grid.getCols();
+    startGeneration(rows * cols);
+    infectedCreatures.clear();
+
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        int index = r * cols + c;
+        if (processedGeneration[index] == generation) {
+          continue;
+        }
         CreatureCell cell = getCreatureCell(r, c);
-
-        if (cell.getCurrentState() != DarwinState.CREATURE ||
-            processedCells.contains(cell) ||
-            cell.isInfected()) {
+        if (cell.getCurrentState() != DarwinState.CREATURE) {
           continue;
         }
+        processedGeneration[index] = generation;
 
+        if (cell.isInfected()) {
+          infectedCreatures.add(cell);
+          continue;
+        }
         executeProgram(cell, r, c);
-        processedCells.add(cell);
       }
     }
 
-    for (int r = 0; r < grid.getRows(); r++) {
-      for (int c = 0; c < grid.getCols(); c++) {
-        CreatureCell cell = getCreatureCell(r, c);
-        if (cell.getCurrentState() == DarwinState.CREATURE && cell.isInfected()) {
-          cell.decreaseInfectionCounter();
-        }
-      }
+    for (CreatureCell cell : infectedCreatures) {
+      cell.decreaseInfectionCounter();
     }
   }
 
   /**
-   * Executes a program for a creature cell until an action is performed.
+   * Advances the generation stamp used to mark processed cells, growing the stamp array if the
+   * grid has more cells than it covers.
+   *
+   * @param cellCount The number of cells in the grid
+   */
+  private void startGeneration(int cellCount) {
+    if (processedGeneration.length < cellCount) {
+      processedGeneration = new int[cellCount];
+      generation = 0;
+    }
+    if (generation == Integer.MAX_VALUE) {
+      Arrays.fill(processedGeneration, 0);
+      generation = 0;
+    }
+    generation++;
+  }
+
+  /**
+   * Executes a creature's compiled program until an action is performed or every instruction in
+   * the program has been tried once.
    *
    * @param cell The creature cell
    * @param row  The row position of the cell
@@ -169,94 +204,89 @@ public class Darwin extends Simulation {
       return; // No program to execute
     }
 
-    boolean actionPerformed = false;
-    int instructionCount = 0;
-
-    while (!actionPerformed && instructionCount < species.getProgramLength()) {
-      int pc = cell.getProgramCounter();
-      Instruction instruction = species.getInstruction(pc);
+    int[] code = species.getCompiledProgram();
+    int length = species.getProgramLength();
+    int pc = cell.getProgramCounter();
 
-      actionPerformed = executeInstruction(cell, instruction, row, col);
+    for (int executed = 0; executed < length; executed++) {
+      int opcode = code[pc * Species.INSTRUCTION_WIDTH];
+      int operand = code[pc * Species.INSTRUCTION_WIDTH + 1];
+      int next = pc + 1 < length ? pc + 1 : 0;
 
-      if (actionPerformed) {
+      if (isActionOpcode(opcode)) {
+        cell.setProgramCounter(pc);
+        executeAction(cell, opcode, operand, row, col);
         cell.advanceProgramCounter();
-        break;
+        return;
       }
-
-      instructionCount++;
+      pc = isConditionMet(cell, opcode, row, col) ? operand : next;
     }
+    cell.setProgramCounter(pc);
   }
 
   /**
-   * Executes a single instruction for a creature.
+   * Checks whether an opcode is an action that ends the creature's turn.
    *
-   * @param cell        The creature cell
-   * @param instruction The instruction to execute
-   * @param row         The row position of the cell
-   * @param col         The column position of the cell
-   * @return true if an action was performed, false for control instructions
+   * @param opcode The instruction opcode
+   * @return true for MOVE, LEFT, RIGHT and INFECT, false otherwise
    */
-  private boolean executeInstruction(CreatureCell cell, Instruction instruction, int row, int col) {
-    Instruction.Type type = instruction.getType();
-    int parameter = instruction.getParameter();
-
-    switch (type) {
-      case MOVE:
-        return moveCreature(cell, row, col, parameter);
+  private boolean isActionOpcode(int opcode) {
+    return opcode == Instruction.OP_MOVE || opcode == Instruction.OP_LEFT
+        || opcode == Instruction.OP_RIGHT || opcode == Instruction.OP_INFECT;
+  }
 
-      case LEFT:
-        cell.turnLeft(parameter);
-        return true;
+  /**
+   * Executes a single action instruction for a creature.
+   *
+   * @param cell    The creature cell
+   * @param opcode  The action opcode
+   * @param operand The instruction parameter
+   * @param row     The row position of the cell
+   * @param col     The column position of the cell
+   */
+  private void executeAction(CreatureCell cell, int opcode, int operand, int row, int col) {
+    switch (opcode) {
+      case Instruction.OP_MOVE:
+        moveCreature(cell, row, col, operand);
+        break;
+      case Instruction.OP_LEFT:
+        cell.turnLeft(operand);
+        break;
+      case Instruction.OP_RIGHT:
+        cell.turnRight(operand);
+        break;
+      case Instruction.OP_INFECT:
+        infectCreatureAhead(cell, row, col, operand);
+        break;
+      default:
+        break;
+    }
+  }
 
-      case RIGHT:
-        cell.turnRight(parameter);
+  /**
+   * Evaluates the condition of a control instruction. GO is unconditional.
+   *
+   * @param cell   The creature cell
+   * @param opcode The control opcode
+   * @param row    The row position of the cell
+   * @param col    The column position of the cell
+   * @return true if the jump should be taken, false to fall through to the next instruction
+   */
+  private boolean isConditionMet(CreatureCell cell, int opcode, int row, int col) {
+    switch (opcode) {
+      case Instruction.OP_IFEMPTY:
+        return isEmptyAhead(row, col, cell.getOrientation());
+      case Instruction.OP_IFWALL:
+        return isWallAhead(row, col, cell.getOrientation());
+      case Instruction.OP_IFSAME:
+        return isSameSpeciesAhead(cell, row, col);
+      case Instruction.OP_IFENEMY:
+        return isEnemyAhead(cell, row, col);
+      case Instruction.OP_IFRANDOM:
+        return random.nextBoolean();
+      case Instruction.OP_GO:
         return true;
-
-      case INFECT:
-        return infectCreatureAhead(cell, row, col, parameter);
-
-      case IFEMPTY:
-        if (isEmptyAhead(row, col, cell.getOrientation())) {
-          cell.setProgramCounter(parameter - 1);
-        }
-        cell.advanceProgramCounter();
-        return false;
-
-      case IFWALL:
-        if (isWallAhead(row, col, cell.getOrientation())) {
-          cell.setProgramCounter(parameter - 1);
-        }
-        cell.advanceProgramCounter();
-        return false;
-
-      case IFSAME:
-        if (isSameSpeciesAhead(cell, row, col)) {
-          cell.setProgramCounter(parameter - 1);
-        }
-        cell.advanceProgramCounter();
-        return false;
-
-      case IFENEMY:
-        if (isEnemyAhead(cell, row, col)) {
-          cell.setProgramCounter(parameter - 1);
-        }
-        cell.advanceProgramCounter();
-        return false;
-
-      case IFRANDOM:
-        if (RANDOM.nextBoolean()) {
-          cell.setProgramCounter(parameter - 1);
-        }
-        cell.advanceProgramCounter();
-        return false;
-
-      case GO:
-        cell.setProgramCounter(parameter - 1);
-        cell.advanceProgramCounter();
-        return false;
-
       default:
-        cell.advanceProgramCounter();
         return false;
     }
   }
@@ -271,9 +301,8 @@ public class Darwin extends Simulation {
    * @return true if the move was performed
    */
   private boolean moveCreature(CreatureCell cell, int row, int col, int distance) {
-    int[] newPosition = calculatePositionAhead(row, col, cell.getOrientation(), distance);
-    int newRow = newPosition[0];
-    int newCol = newPosition[1];
+    int newRow = rowAhead(row, cell.getOrientation(), distance);
+    int newCol = colAhead(col, cell.getOrientation(), distance);
 
     Grid grid = getGrid();
     if (!grid.isValidPosition(newRow, newCol)) {
@@ -319,18 +348,20 @@ public class Darwin extends Simulation {
    */
   private boolean infectCreatureAhead(CreatureCell cell, int row, int col, int steps) {
 
-    int[] position = calculatePositionAhead(row, col, cell.getOrientation(), 1);
+    int targetRow = rowAhead(row, cell.getOrientation(), 1);
+    int targetCol = colAhead(col, cell.getOrientation(), 1);
 
     Grid grid = getGrid();
-    if (!grid.isValidPosition(position[0], position[1])) {
+    if (!grid.isValidPosition(targetRow, targetCol)) {
       return true;
     }
 
-    CreatureCell targetCell = getCreatureCell(position[0], position[1]);
+    CreatureCell targetCell = getCreatureCell(targetRow, targetCol);
 
     if (targetCell.getCurrentState() == DarwinState.CREATURE &&
         !isSameSpecies(cell, targetCell)) {
       targetCell.setInfection(cell.getSpecies(), steps);
+      infectedCreatures.add(targetCell);
     }
 
     return true;
@@ -345,15 +376,8 @@ public class Darwin extends Simulation {
    * @return true if the space ahead is empty, false otherwise
    */
   private boolean isEmptyAhead(int row, int col, int orientation) {
-    int[] position = calculatePositionAhead(row, col, orientation, 1);
-    Grid grid = getGrid();
-
-    if (!grid.isValidPosition(position[0], position[1])) {
-      return false;
-    }
-
-    CreatureCell cell = getCreatureCell(position[0], position[1]);
-    return cell.getCurrentState() == DarwinState.EMPTY;
+    CreatureCell cell = getCreatureCellAhead(row, col, orientation);
+    return cell != null && cell.getCurrentState() == DarwinState.EMPTY;
   }
 
   /**
@@ -365,8 +389,8 @@ public class Darwin extends Simulation {
    * @return true if the space ahead is a wall, false otherwise
    */
   private boolean isWallAhead(int row, int col, int orientation) {
-    int[] position = calculatePositionAhead(row, col, orientation, 1);
-    return !getGrid().isValidPosition(position[0], position[1]);
+    return !getGrid().isValidPosition(rowAhead(row, orientation, 1),
+        colAhead(col, orientation, 1));
   }
 
   /**
@@ -378,15 +402,8 @@ public class Darwin extends Simulation {
    * @return true if a creature of the same species is ahead, false otherwise
    */
   private boolean isSameSpeciesAhead(CreatureCell cell, int row, int col) {
-    int[] position = calculatePositionAhead(row, col, cell.getOrientation(), 1);
-    Grid grid = getGrid();
-
-    if (!grid.isValidPosition(position[0], position[1])) {
-      return false;
-    }
-
-    CreatureCell targetCell = getCreatureCell(position[0], position[1]);
-    return targetCell.getCurrentState() == DarwinState.CREATURE &&
+    CreatureCell targetCell = getCreatureCellAhead(row, col, cell.getOrientation());
+    return targetCell != null && targetCell.getCurrentState() == DarwinState.CREATURE &&
         isSameSpecies(cell, targetCell);
   }
 
@@ -410,47 +427,64 @@ public class Darwin extends Simulation {
    * @return true if a creature of a different species is ahead, false otherwise
    */
   private boolean isEnemyAhead(CreatureCell cell, int row, int col) {
-    int[] position = calculatePositionAhead(row, col, cell.getOrientation(), 1);
-    Grid grid = getGrid();
-
-    if (!grid.isValidPosition(position[0], position[1])) {
-      return false;
-    }
-
-    CreatureCell targetCell = getCreatureCell(position[0], position[1]);
-    return targetCell.getCurrentState() == DarwinState.CREATURE &&
+    CreatureCell targetCell = getCreatureCellAhead(row, col, cell.getOrientation());
+    return targetCell != null && targetCell.getCurrentState() == DarwinState.CREATURE &&
         !isSameSpecies(cell, targetCell);
   }
 
   /**
-   * Calculates the position ahead of a creature based on its orientation and distance.
+   * Calculates the row ahead of a creature based on its orientation and distance.
    *
    * @param row         The current row position
-   * @param col         The current column position
    * @param orientation The orientation in degrees
    * @param distance    The distance ahead
-   * @return The [row, col] position ahead of the creature
+   * @return The row ahead of the creature
    */
-  private int[] calculatePositionAhead(int row, int col, int orientation, int distance) {
-    int newRow = row;
-    int newCol = col;
-
+  private static int rowAhead(int row, int orientation, int distance) {
     switch (orientation) {
       case 0: // North
-        newRow = row - distance;
-        break;
-      case 90: // East
-        newCol = col + distance;
-        break;
+        return row - distance;
       case 180: // South
-        newRow = row + distance;
-        break;
+        return row + distance;
+      default:
+        return row;
+    }
+  }
+
+  /**
+   * Calculates the column ahead of a creature based on its orientation and distance.
+   *
+   * @param col         The current column position
+   * @param orientation The orientation in degrees
+   * @param distance    The distance ahead
+   * @return The column ahead of the creature
+   */
+  private static int colAhead(int col, int orientation, int distance) {
+    switch (orientation) {
+      case 90: // East
+        return col + distance;
       case 270: // West
-        newCol = col - distance;
-        break;
+        return col - distance;
+      default:
+        return col;
     }
+  }
 
-    return new int[]{newRow, newCol};
+  /**
+   * Retrieves the creature cell directly ahead of a position.
+   *
+   * @param row         The current row position
+   * @param col         The current column position
+   * @param orientation The orientation in degrees
+   * @return The CreatureCell ahead, or null if that position is a wall
+   */
+  private CreatureCell getCreatureCellAhead(int row, int col, int orientation) {
+    int aheadRow = rowAhead(row, orientation, 1);
+    int aheadCol = colAhead(col, orientation, 1);
+    if (!getGrid().isValidPosition(aheadRow, aheadCol)) {
+      return null;
+    }
+    return getCreatureCell(aheadRow, aheadCol);
   }
 
   /**
@@ -492,6 +526,8 @@ public class Darwin extends Simulation {
     }
 
     cell.setCurrentState(DarwinState.CREATURE);
+    grid.markCellChanged(row, col);
+    invalidateStateCounts();
     cell.setSpecies(species);
     cell.setOrientation(orientation);
 
@@ -506,4 +542,66 @@ public class Darwin extends Simulation {
   public Map<String, Species> getSpeciesRegistry() {
     return new HashMap<>(speciesRegistry);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Captures each creature's species, original species, orientation, program counter and
+   * infection countdown as three packed longs per cell, sharing grid rows that did not change
+   * since the previous step.
+   * </p>
+   */
+  @Override
+  protected AuxiliarySnapshot captureAuxiliaryState() {
+    Grid grid = getGrid();
+    int cols = grid.getCols();
+    lastSnapshot = RowSnapshot.capture(grid.getRows(), 3 * cols, (r, buffer) -> {
+      for (int c = 0; c < cols; c++) {
+        CreatureCell cell = getCreatureCell(r, c);
+        buffer[3 * c] = RowSnapshot.pack(paletteIndex(cell.getSpecies()),
+            paletteIndex(cell.getOriginalSpecies()));
+        buffer[3 * c + 1] = RowSnapshot.pack(cell.getOrientation(), cell.getProgramCounter());
+        buffer[3 * c + 2] = cell.getInfectionStepsRemaining();
+      }
+    }, lastSnapshot);
+    return lastSnapshot;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void restoreAuxiliaryState(AuxiliarySnapshot snapshot) {
+    RowSnapshot saved = (RowSnapshot) snapshot;
+    int cols = getGrid().getCols();
+    for (int r = 0; r < saved.getRowCount(); r++) {
+      for (int c = 0; c < cols; c++) {
+        long species = saved.get(r, 3 * c);
+        long position = saved.get(r, 3 * c + 1);
+        getCreatureCell(r, c).restoreCreature(
+            speciesPalette.get(RowSnapshot.high(species)),
+            speciesPalette.get(RowSnapshot.low(species)),
+            RowSnapshot.high(position), RowSnapshot.low(position),
+            (int) saved.get(r, 3 * c + 2));
+      }
+    }
+    lastSnapshot = saved;
+  }
+
+  /**
+   * Gets the stable snapshot index of a species, registering species seen for the first time.
+   * Index 0 stands for no species.
+   *
+   * @param species the species, or null
+   * @return the species' index in the palette
+   */
+  private int paletteIndex(Species species) {
+    if (species == null) {
+      return 0;
+    }
+    return paletteIndices.computeIfAbsent(species, added -> {
+      speciesPalette.add(added);
+      return speciesPalette.size() - 1;
+    });
+  }
 }
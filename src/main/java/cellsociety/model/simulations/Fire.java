@@ -55,7 +55,7 @@ public class Fire extends Simulation {
     validateProbability(f, "Ignition probability");
     this.regrowthProbability = p;
     this.ignitionProbability = f;
-    this.randomNumGenerator = new Random();
+    this.randomNumGenerator = createRandom(simulationConfig);
   }
 
   /**
@@ -104,7 +104,7 @@ public class Fire extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(FireState.TREE, 0.0);
     stateCounts.put(FireState.BURNING, 0.0);
     stateCounts.put(FireState.BURNT, 0.0);
@@ -213,33 +213,4 @@ public class Fire extends Simulation {
     return getGrid().getNeighbors(row, col).stream()
         .anyMatch(neighbor -> neighbor.getCurrentState() == FireState.BURNING);
   }
-
-  /**
-   * {@inheritDoc} Executes one simulation step: 1. Applies rules to calculate next states 2.
-   * Commits all state changes simultaneously
-   */
-  @Override
-  public void step() {
-    applyRules();
-    commitNextStates();
-    updateStateCountsMap();
-  }
-
-  /**
-   * Applies calculated next states to all cells and resets state buffers
-   */
-  private void commitNextStates() {
-    Grid grid = getGrid();
-    for (int row = 0; row < grid.getRows(); row++) {
-      for (int col = 0; col < grid.getCols(); col++) {
-        Cell cell = grid.getCell(row, col);
-        cell.applyNextState();
-        cell.resetNextState();
-      }
-    }
-  }
 }
-
-
-
-
@@ -9,6 +9,7 @@ import cellsociety.model.StateInterface;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * A probabilistic percolation simulation that models fluid flow through a porous medium.
@@ -41,6 +42,7 @@ public class Percolation extends Simulation {
   private static final double MIN_PROBABILITY = 0.0;
 
   private final double percolationProbability;
+  private final Random randomNumGenerator;
 
   /**
    * Constructs a new Percolation simulation with the specified configuration, grid, and percolation
@@ -58,6 +60,7 @@ public class Percolation extends Simulation {
     super(simulationConfig, grid);
     validateProbability(percolationProbability);
     this.percolationProbability = percolationProbability;
+    this.randomNumGenerator = createRandom(simulationConfig);
   }
 
   /**
@@ -98,7 +101,7 @@ public class Percolation extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(PercolationState.OPEN, 0.0);
     stateCounts.put(PercolationState.PERCOLATED, 0.0);
     stateCounts.put(PercolationState.BLOCKED, 0.0);
@@ -219,7 +222,7 @@ public class Percolation extends Simulation {
    * @return true if generated random value is below percolation probability threshold
    */
   private boolean shouldPercolate() {
-    return Math.random() < percolationProbability;
+    return randomNumGenerator.nextDouble() < percolationProbability;
   }
 }
 
@@ -63,7 +63,7 @@ public class RuleBasedGameOfLife extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(GameOfLifeState.ALIVE, 0.0);
     stateCounts.put(GameOfLifeState.DEAD, 0.0);
     setStateCounts(stateCounts);
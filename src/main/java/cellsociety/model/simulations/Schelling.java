@@ -8,6 +8,7 @@ import cellsociety.model.Simulation;
 import cellsociety.model.state.SchellingState;
 import cellsociety.model.StateInterface;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.ArrayList;
@@ -59,7 +60,7 @@ public class Schelling extends Simulation {
     convertGridToAgentCells(grid);
 
     this.tolerance = tolerance;
-    this.randomNumGenerator = new Random();
+    this.randomNumGenerator = createRandom(simulationConfig);
   }
 
   /**
@@ -115,7 +116,7 @@ public class Schelling extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(SchellingState.AGENT, 0.0);
     stateCounts.put(SchellingState.EMPTY_CELL, 0.0);
     setStateCounts(stateCounts);
@@ -2,6 +2,7 @@ package cellsociety.model.simulations;
 
 import cellsociety.controller.SimulationConfig;
 import cellsociety.model.Agent;
+import cellsociety.model.AuxiliarySnapshot;
 import cellsociety.model.Cell;
 import cellsociety.model.DiseaseManager;
 import cellsociety.model.Grid;
@@ -9,8 +10,10 @@ import cellsociety.model.GrowthManager;
 import cellsociety.model.Loan;
 import cellsociety.model.MovementManager;
 import cellsociety.model.ReproductionManager;
+import cellsociety.model.RowSnapshot;
 import cellsociety.model.RulesHelper;
 import cellsociety.model.Simulation;
+import cellsociety.model.SimulationEvents;
 import cellsociety.model.StateInterface;
 import cellsociety.model.SugarCell;
 import cellsociety.model.TradingManager;
@@ -40,6 +43,7 @@ public class SugarScape extends Simulation {
   private final List<Loan> activeLoans;
   private final Random random;
   private int currentTick;
+  private RowSnapshot lastSugarSnapshot;
 
   private final MovementManager movementManager;
   private final GrowthManager growthManager;
@@ -69,7 +73,7 @@ public class SugarScape extends Simulation {
     convertGridToSugarCells(grid);
     this.agents = new ArrayList<>();
     this.activeLoans = new ArrayList<>();
-    this.random = new Random();
+    this.random = createRandom(simulationConfig);
     this.currentTick = 0;
     this.sugarGrowBackInterval = DEFAULT_SUGAR_GROW_BACK_INTERVAL;
     this.sugarGrowBackRate = DEFAULT_SUGAR_GROW_BACK_RATE;
@@ -184,7 +188,7 @@ public class SugarScape extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(SugarScapeState.EMPTY, 0.0);
     stateCounts.put(SugarScapeState.SUGAR, 0.0);
     stateCounts.put(SugarScapeState.AGENT, 0.0);
@@ -222,15 +226,19 @@ public class SugarScape extends Simulation {
     var shuffledAgents = new ArrayList<>(agents);
     Collections.shuffle(shuffledAgents, random);
 
-    movementManager.applyMovement(shuffledAgents);
-    growthManager.applyGrowBack(currentTick, sugarGrowBackInterval, sugarGrowBackRate);
-    reproductionManager.applyReproduction(shuffledAgents);
-    tradingManager.applyTrading(shuffledAgents);
-    loanManager.applyLending(shuffledAgents);
-    diseaseManager.applyDiseaseRules(shuffledAgents);
+    runPhase(new SimulationEvents.Movement(),
+        () -> movementManager.applyMovement(shuffledAgents));
+    runPhase(new SimulationEvents.Growth(),
+        () -> growthManager.applyGrowBack(currentTick, sugarGrowBackInterval, sugarGrowBackRate));
+    runPhase(new SimulationEvents.Reproduction(),
+        () -> reproductionManager.applyReproduction(shuffledAgents));
+    runPhase(new SimulationEvents.Trading(), () -> tradingManager.applyTrading(shuffledAgents));
+    runPhase(new SimulationEvents.Lending(), () -> loanManager.applyLending(shuffledAgents));
+    runPhase(new SimulationEvents.Disease(),
+        () -> diseaseManager.applyDiseaseRules(shuffledAgents));
 
     removeDeadAgents();
-    loanManager.updateLoans(currentTick);
+    runPhase(new SimulationEvents.LoanRepayment(), () -> loanManager.updateLoans(currentTick));
     currentTick++;
   }
 
@@ -273,6 +281,20 @@ public class SugarScape extends Simulation {
     return Collections.unmodifiableList(activeLoans);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Adds the number of live agents and active loans.
+   * </p>
+   */
+  @Override
+  public Map<String, Long> getCounters() {
+    Map<String, Long> counters = super.getCounters();
+    counters.put("agentsAlive", (long) agents.size());
+    counters.put("activeLoans", (long) activeLoans.size());
+    return counters;
+  }
+
   /**
    * Returns the {@link Random} instance used in the simulation.
    *
@@ -303,4 +325,90 @@ public class SugarScape extends Simulation {
   public int getCurrentTick() {
     return currentTick;
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Captures the sugar levels of every cell (sharing grid rows that did not change since the
+   * previous step), a snapshot of every living agent, the active loans' terms and the current
+   * tick. The random number generator is not rewound, so a replay after stepping back may take a
+   * different course.
+   * </p>
+   */
+  @Override
+  protected AuxiliarySnapshot captureAuxiliaryState() {
+    Grid grid = getGrid();
+    int cols = grid.getCols();
+    lastSugarSnapshot = RowSnapshot.capture(grid.getRows(), cols, (r, buffer) -> {
+      for (int c = 0; c < cols; c++) {
+        SugarCell cell = (SugarCell) grid.getCell(r, c);
+        buffer[c] = RowSnapshot.pack(cell.getSugar(), cell.getMaxSugar());
+      }
+    }, lastSugarSnapshot);
+
+    Agent.Snapshot[] agentSnapshots = new Agent.Snapshot[agents.size()];
+    for (int i = 0; i < agentSnapshots.length; i++) {
+      agentSnapshots[i] = agents.get(i).snapshot();
+    }
+    Loan[] loans = activeLoans.toArray(new Loan[0]);
+    long[] loanTerms = new long[loans.length];
+    for (int i = 0; i < loans.length; i++) {
+      loanTerms[i] = RowSnapshot.pack(loans[i].getAmount(), loans[i].getIssueTick());
+    }
+    return new ScapeSnapshot(lastSugarSnapshot, agentSnapshots, loans, loanTerms, currentTick);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void restoreAuxiliaryState(AuxiliarySnapshot snapshot) {
+    ScapeSnapshot saved = (ScapeSnapshot) snapshot;
+    Grid grid = getGrid();
+    for (int r = 0; r < saved.sugar().getRowCount(); r++) {
+      for (int c = 0; c < grid.getCols(); c++) {
+        SugarCell cell = (SugarCell) grid.getCell(r, c);
+        long levels = saved.sugar().get(r, c);
+        cell.setMaxSugar(RowSnapshot.low(levels));
+        cell.setSugar(RowSnapshot.high(levels));
+      }
+    }
+
+    agents.clear();
+    for (Agent.Snapshot agentSnapshot : saved.agents()) {
+      agentSnapshot.agent().restore(agentSnapshot);
+      agents.add(agentSnapshot.agent());
+    }
+    activeLoans.clear();
+    for (int i = 0; i < saved.loans().length; i++) {
+      Loan loan = saved.loans()[i];
+      loan.updateAmount(RowSnapshot.high(saved.loanTerms()[i]));
+      loan.setIssueTick(RowSnapshot.low(saved.loanTerms()[i]));
+      activeLoans.add(loan);
+    }
+    currentTick = saved.tick();
+    lastSugarSnapshot = saved.sugar();
+  }
+
+  /**
+   * The state of the sugarscape outside its cell states at one generation.
+   *
+   * @param sugar     packed sugar and maximum sugar per cell
+   * @param agents    snapshots of the living agents
+   * @param loans     the active loans
+   * @param loanTerms packed amount and issue tick of each loan
+   * @param tick      the simulation tick
+   */
+  private record ScapeSnapshot(RowSnapshot sugar, Agent.Snapshot[] agents, Loan[] loans,
+                               long[] loanTerms, int tick) implements AuxiliarySnapshot {
+
+    @Override
+    public long sizeInBytes() {
+      long bytes = sugar.sizeInBytes() + 16L * loans.length;
+      for (Agent.Snapshot agent : agents) {
+        bytes += agent.sizeInBytes();
+      }
+      return bytes;
+    }
+  }
 }
@@ -1,8 +1,10 @@
 package cellsociety.model.simulations;
 
 import cellsociety.controller.SimulationConfig;
+import cellsociety.model.AuxiliarySnapshot;
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
+import cellsociety.model.RowSnapshot;
 import cellsociety.model.Simulation;
 import cellsociety.model.state.WaTorWorldState;
 import cellsociety.model.StateInterface;
@@ -30,8 +32,8 @@ public class WaTorWorld extends Simulation {
   private static final int[] DIRECTION_ROW_OFFSETS = {-1, 0, 1, 0};
   private static final int[] DIRECTION_COL_OFFSETS = {0, 1, 0, -1};
   private static final int SHARK_ENERGY_DECAY = 1;
-  private static final Random RANDOM = new Random();
 
+  private final Random random;
   private final double fishBreedTime;
   private final double sharkBreedTime;
   private final double sharkInitialEnergy;
@@ -44,6 +46,8 @@ public class WaTorWorld extends Simulation {
   private final double[][] breedCounters;
   // sharkEnergies holds the current energy for sharks. (Unused for fish.)
   private final double[][] sharkEnergies;
+  // lastSnapshot shares unchanged rows with the next captured snapshot.
+  private RowSnapshot lastSnapshot;
 
   /**
    * Constructs a Wa-Tor World simulation with the specified configuration.
@@ -62,6 +66,7 @@ public class WaTorWorld extends Simulation {
   public WaTorWorld(SimulationConfig simulationConfig, Grid grid, double fishBreedTime,
       double sharkBreedTime, double sharkInitialEnergy, double sharkEnergyGain) {
     super(simulationConfig, grid);
+    this.random = createRandom(simulationConfig);
 
     if (fishBreedTime <= 0) {
       throw new IllegalArgumentException("fishBreedTime must be greater than 0.");
@@ -124,7 +129,7 @@ public class WaTorWorld extends Simulation {
    */
   @Override
   public void initializeStateCounts() {
-    Map<StateInterface, Double> stateCounts = getStateCounts();
+    Map<StateInterface, Double> stateCounts = new HashMap<>();
     stateCounts.put(WaTorWorldState.FISH, 0.0);
     stateCounts.put(WaTorWorldState.SHARK, 0.0);
     stateCounts.put(WaTorWorldState.EMPTY, 0.0);
@@ -167,7 +172,7 @@ public class WaTorWorld extends Simulation {
     }
 
     // Shuffle to randomize processing order
-    Collections.shuffle(agentCoords, RANDOM);
+    Collections.shuffle(agentCoords, random);
 
     // Process agents in shuffled order
     for (int[] coord : agentCoords) {
@@ -427,7 +432,7 @@ public class WaTorWorld extends Simulation {
     if (positions.isEmpty()) {
       throw new IllegalArgumentException("No available neighbor positions.");
     }
-    int index = RANDOM.nextInt(positions.size());
+    int index = random.nextInt(positions.size());
     return positions.get(index);
   }
 
@@ -491,7 +496,39 @@ public class WaTorWorld extends Simulation {
   private void setEmpty(int r, int c) {
     getGrid().getCell(r, c).setNextState(WaTorWorldState.EMPTY);
   }
-}
 
+  // ===================== Step-Back Support =====================
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Captures the breeding counters and shark energies as one row of raw double bits per grid
+   * row, sharing rows that did not change since the previous step.
+   * </p>
+   */
+  @Override
+  protected AuxiliarySnapshot captureAuxiliaryState() {
+    lastSnapshot = RowSnapshot.capture(rows, 2 * cols, (r, buffer) -> {
+      for (int c = 0; c < cols; c++) {
+        buffer[2 * c] = Double.doubleToRawLongBits(breedCounters[r][c]);
+        buffer[2 * c + 1] = Double.doubleToRawLongBits(sharkEnergies[r][c]);
+      }
+    }, lastSnapshot);
+    return lastSnapshot;
+  }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void restoreAuxiliaryState(AuxiliarySnapshot snapshot) {
+    RowSnapshot saved = (RowSnapshot) snapshot;
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        breedCounters[r][c] = Double.longBitsToDouble(saved.get(r, 2 * c));
+        sharkEnergies[r][c] = Double.longBitsToDouble(saved.get(r, 2 * c + 1));
+      }
+    }
+    lastSnapshot = saved;
+  }
+}
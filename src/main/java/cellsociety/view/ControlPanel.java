@@ -16,6 +16,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Control;
 import javafx.scene.control.Slider;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ComboBox;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -179,6 +180,9 @@ public class ControlPanel {
 
     Slider speedSlider = myUserControl.makeSpeedSlider();
     speedSlider.setId("speedSlider");
+    ToggleButton turboToggle = myUserControl.makeTurboToggleButton(
+        myResources.getString("Turbo"));
+    turboToggle.setId("turboToggle");
     ComboBox<String> themeSelector = myUserControl.makeThemeComboBox(mySimView, myScene);
     themeSelector.setId("themeSelector");
     myUserControl.selectTheme(mySimView, myScene, themeSelector);
@@ -194,8 +198,11 @@ public class ControlPanel {
         e -> myGridSettingsDisplay.openWindow());
     Button helpButton = myUserControl.makeButton(myResources.getString("Help"),
         e -> new HelpView().showHelpWindow());
-    List<Control> elements = List.of(speedSlider, themeSelector, gridLinesToggle, flipGridButton,
-        gridSettings, helpButton);
+    Button performanceHudToggle = myUserControl.makeButton(
+        myResources.getString("PerformanceHud"), e -> mySimView.togglePerformanceHud());
+    performanceHudToggle.setId("performanceHudToggle");
+    List<Control> elements = List.of(speedSlider, turboToggle, themeSelector, gridLinesToggle, flipGridButton,
+        gridSettings, helpButton, performanceHudToggle);
     myCustomizationBar.getChildren().addAll(elements);
   }
 
@@ -0,0 +1,185 @@
+package cellsociety.view;
+
+import cellsociety.controller.SimulationMetrics;
+import java.util.List;
+import java.util.ResourceBundle;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+/**
+ * A toggleable panel showing how fast the application is running: frames drawn per second,
+ * simulation steps per second, the time spent stepping the model against the time spent drawing
+ * it, the number of JavaFX nodes in the scene and the heap in use. Comparing the step and render
+ * times tells whether a slow simulation is limited by the model or by the grid view.
+ * <p>
+ * Frames are the grid views the engine draws, as recorded in the metrics, rather than JavaFX
+ * pulses, which keep coming while nothing is drawn. An {@link AnimationTimer} refreshes the
+ * figures a few times a second while the panel is showing, from a single
+ * {@link SimulationMetrics#snapshot()} call, so the panel costs nothing while hidden and very
+ * little while shown.
+ * </p>
+ *
+ * @author Alana Zinkin
+ */
+public class PerformanceHud {
+
+  private static final ResourceBundle CONFIG = ResourceBundle.getBundle(
+      PerformanceHud.class.getPackageName() + ".InfoDisplay");
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  private final SimulationMetrics myMetrics;
+  private final Scene myScene;
+  private final ResourceBundle myResources;
+  private final long mySampleIntervalNanos;
+  private final VBox myDisplayBox;
+  private final Text myFpsText;
+  private final Text myStepsPerSecondText;
+  private final Text myStepTimeText;
+  private final Text myRenderTimeText;
+  private final Text myNodeCountText;
+  private final Text myHeapText;
+  private final AnimationTimer myRefreshTimer;
+  private long myLastRefresh = -1;
+
+  /**
+   * creates a hidden performance display
+   *
+   * @param metrics   measurements of the running simulation
+   * @param scene     the scene whose nodes are counted
+   * @param resources the language file for user-selected language
+   */
+  public PerformanceHud(SimulationMetrics metrics, Scene scene, ResourceBundle resources) {
+    myMetrics = metrics;
+    myScene = scene;
+    myResources = resources;
+    mySampleIntervalNanos = (long) (Double.parseDouble(
+        CONFIG.getString("hud.sample.interval.millis")) * NANOS_PER_MILLI);
+    myFpsText = createText("hudFps");
+    myStepsPerSecondText = createText("hudStepsPerSecond");
+    myStepTimeText = createText("hudStepTime");
+    myRenderTimeText = createText("hudRenderTime");
+    myNodeCountText = createText("hudNodeCount");
+    myHeapText = createText("hudHeap");
+    myDisplayBox = new VBox();
+    myDisplayBox.setId("PerformanceHud");
+    myDisplayBox.setAlignment(Pos.CENTER_LEFT);
+    myDisplayBox.getChildren().addAll(List.of(myFpsText, myStepsPerSecondText, myStepTimeText,
+        myRenderTimeText, myNodeCountText, myHeapText));
+    myRefreshTimer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        refresh(now);
+      }
+    };
+    setShowing(false);
+  }
+
+  /**
+   * retrieves the pane holding the performance figures, to be added to the view
+   *
+   * @return the display box
+   */
+  public Pane getDisplayBox() {
+    return myDisplayBox;
+  }
+
+  /**
+   * shows the display if it is hidden and hides it if it is showing
+   */
+  public void toggle() {
+    setShowing(!isShowing());
+  }
+
+  /**
+   * shows or hides the display, starting or stopping the sampling with it
+   *
+   * @param showing true to show the display
+   */
+  public void setShowing(boolean showing) {
+    myDisplayBox.setVisible(showing);
+    myDisplayBox.setManaged(showing);
+    if (showing) {
+      myLastRefresh = -1;
+      myRefreshTimer.start();
+    } else {
+      myRefreshTimer.stop();
+    }
+  }
+
+  /**
+   * @return true if the display is showing
+   */
+  public boolean isShowing() {
+    return myDisplayBox.isVisible();
+  }
+
+  /**
+   * refreshes the figures right away when the display is first shown, then once every sample
+   * interval
+   *
+   * @param now the pulse's timestamp in nanoseconds
+   */
+  private void refresh(long now) {
+    if (myLastRefresh >= 0 && now - myLastRefresh < mySampleIntervalNanos) {
+      return;
+    }
+    myLastRefresh = now;
+    update();
+  }
+
+  /**
+   * refreshes every figure shown
+   */
+  private void update() {
+    SimulationMetrics.Snapshot snapshot = myMetrics.snapshot();
+    Runtime runtime = Runtime.getRuntime();
+    long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+    myFpsText.setText(String.format("%s: %.1f", myResources.getString("HudFps"),
+        snapshot.rendersPerSecond()));
+    myStepsPerSecondText.setText(String.format("%s: %.1f",
+        myResources.getString("HudStepsPerSecond"), snapshot.stepsPerSecond()));
+    myStepTimeText.setText(String.format("%s: %.2f ms (p99 %.2f)",
+        myResources.getString("HudStepTime"), snapshot.stepLatencyP50Millis(),
+        snapshot.stepLatencyP99Millis()));
+    myRenderTimeText.setText(String.format("%s: %.2f ms (p99 %.2f)",
+        myResources.getString("HudRenderTime"), snapshot.renderLatencyP50Millis(),
+        snapshot.renderLatencyP99Millis()));
+    myNodeCountText.setText(String.format("%s: %d", myResources.getString("HudNodeCount"),
+        countNodes(myScene.getRoot())));
+    myHeapText.setText(String.format("%s: %d / %d MB", myResources.getString("HudHeap"),
+        usedHeap / BYTES_PER_MEGABYTE, runtime.maxMemory() / BYTES_PER_MEGABYTE));
+  }
+
+  /**
+   * counts a node and all of its descendants
+   *
+   * @param node the root of the subtree, or null
+   * @return the number of nodes in the subtree
+   */
+  static int countNodes(Node node) {
+    if (node == null) {
+      return 0;
+    }
+    int count = 1;
+    if (node instanceof Parent parent) {
+      for (Node child : parent.getChildrenUnmodifiable()) {
+        count += countNodes(child);
+      }
+    }
+    return count;
+  }
+
+  private Text createText(String id) {
+    Text text = new Text();
+    text.setId(id);
+    text.getStyleClass().add("custom-text");
+    return text;
+  }
+}
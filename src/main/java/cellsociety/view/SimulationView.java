@@ -7,8 +7,10 @@ import cellsociety.controller.SimulationConfig;
 import cellsociety.controller.SimulationController;
 import cellsociety.controller.SimulationUI;
 import cellsociety.model.Grid;
+import cellsociety.model.GridFrame;
 import cellsociety.model.Simulation;
 import cellsociety.model.StateInterface;
+import cellsociety.view.gridview.CanvasGridViewFactory;
 import cellsociety.view.gridview.GridViewFactory;
 
 import java.io.FileNotFoundException;
@@ -45,6 +47,7 @@ public class SimulationView {
   private Text iterationCounter;
   private CellStateLineGraph myCellStateLineGraph;
   private CellStateBarGraph myCellStateBarGraph;
+  private PerformanceHud myPerformanceHud;
 
   /**
    * @param simulationConfig  the simulation configuration containing all information about the
@@ -83,6 +86,8 @@ public class SimulationView {
     VBox rightSideBox = new VBox();
     rightSideBox.setPadding(new Insets(30, 20, 20, 0));  // Adds 20px padding inside the VBox
     simView.getRoot().setRight(rightSideBox);
+    myPerformanceHud = new PerformanceHud(myController.getMetrics(), myScene, myResources);
+    rightSideBox.getChildren().add(myPerformanceHud.getDisplayBox());
     Pane simInfoDisplay = createSimulationInfoDisplay(simulation, simView, themeColor);
     Pane cellPopChart = createCellPopulationsBarChart(themeColor, simulation, colorMap);
     Pane cellStateBarGraph = createCellPopChangesPerStepChart(themeColor, simulation, colorMap);
@@ -245,6 +250,28 @@ public class SimulationView {
     }
   }
 
+  /**
+   * draws a frame of the simulation in the grid view
+   *
+   * @param frame    the cell states to draw
+   * @param stateMap map of cell states to CSS identifiers
+   * @throws ClassNotFoundException    if there is no factory class for creating the grid view
+   * @throws InvocationTargetException if a new grid view cannot be made
+   * @throws NoSuchMethodException     if there is no constructor for creating the gridview
+   * @throws InstantiationException    if a new gridview cannot be instantiated
+   * @throws IllegalAccessException    if user attempts to access a method that should not be
+   *                                   accessed
+   */
+  public void updateGrid(GridFrame frame, Map<StateInterface, String> stateMap)
+      throws ClassNotFoundException, InvocationTargetException, InstantiationException, IllegalAccessException, NoSuchMethodException {
+    if (myGridView != null) {
+      myGridView.renderFrame(frame, stateMap, myConfig);
+    } else {
+      SimulationUI.displayAlert(myResources.getString("Error"),
+          myResources.getString("GridViewNull"));
+    }
+  }
+
   /**
    * updates the cell population chart according to the number of cells in a given state
    *
@@ -257,6 +284,15 @@ public class SimulationView {
     myCellStateBarGraph.updateChart(stateCounts, colorMap);
   }
 
+  /**
+   * shows the performance display if it is hidden and hides it if it is showing
+   */
+  public void togglePerformanceHud() {
+    if (myPerformanceHud != null) {
+      myPerformanceHud.toggle();
+    }
+  }
+
   /**
    * retrieves the scene instance variable for the simulation view
    *
@@ -271,7 +307,16 @@ public class SimulationView {
    * the simulation
    */
   public void updateIterationCounter() {
-    iterationCounter.setText(myResources.getString("IterCount") + ": " + myController.getIterationCount());
+    updateIterationCounter(myController.getIterationCount());
+  }
+
+  /**
+   * updates the iterationCounter instance variable text to show a given number of iterations
+   *
+   * @param iterationCount the number of iterations of the simulation to show
+   */
+  public void updateIterationCounter(int iterationCount) {
+    iterationCounter.setText(myResources.getString("IterCount") + ": " + iterationCount);
   }
 
   private void makeIterationCounter() {
@@ -280,6 +325,11 @@ public class SimulationView {
 
   private GridView makeGridViewFromTiling(SimulationConfig simulationConfig, Grid grid)
       throws ClassNotFoundException, InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
+    if ((long) grid.getRows() * grid.getCols() > parseInt(
+        mySimulationResourceMap.getOrDefault("canvas.cell.threshold", "10000"))) {
+      // one shape per cell is too slow for large grids, so they are drawn as a single image
+      return new CanvasGridViewFactory().createGridView(myController, simulationConfig, grid);
+    }
     String gridFactoryClassName = getGridFactoryName(simulationConfig);
     String fullFactoryClassName = "cellsociety.view.gridview." + gridFactoryClassName;
 
@@ -17,6 +17,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Control;
 import javafx.scene.control.Slider;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.layout.Pane;
 
 /**
@@ -88,6 +89,20 @@ public class UserController {
     return slider;
   }
 
+  /**
+   * creates a toggle button that switches turbo mode on and off, in which the simulation runs as
+   * fast as it can
+   *
+   * @param label label of the button
+   * @return a new turbo mode toggle button
+   */
+  public ToggleButton makeTurboToggleButton(String label) {
+    ToggleButton toggleButton = new ToggleButton(label);
+    toggleButton.selectedProperty().addListener((observable, oldValue, newValue) ->
+        myController.setTurboMode(newValue));
+    return toggleButton;
+  }
+
   private void makeSliderAdjustToSpeed(Slider slider) {
     slider.valueProperty().addListener((observable, oldValue, newValue) -> {
       myController.setSimulationSpeed(newValue.doubleValue());
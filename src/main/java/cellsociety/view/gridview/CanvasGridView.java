@@ -0,0 +1,390 @@
+package cellsociety.view.gridview;
+
+import static java.lang.Double.parseDouble;
+
+import cellsociety.controller.SimulationConfig;
+import cellsociety.controller.SimulationController;
+import cellsociety.model.Grid;
+import cellsociety.model.GridFrame;
+import cellsociety.model.StateInterface;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * GridView that paints the whole grid into one image instead of building a shape per cell, so
+ * grids far larger than the shape-based views can handle still draw quickly. It lays cells out
+ * exactly as the view for its tiling would, including per-state cell shapes in the default
+ * tiling and vertical flipping.
+ * <p>
+ * The layout is rasterized once into a {@link CellRaster}; each frame then looks up every pixel's
+ * cell and writes its state's color through a {@link javafx.scene.image.PixelWriter}. State colors
+ * come from the same CSS ids the shape-based views use, resolved through a hidden probe shape.
+ * </p>
+ *
+ * @author Alana Zinkin
+ */
+public class CanvasGridView extends GridView {
+
+  private static final ResourceBundle myGridViewResourceBundle = ResourceBundle.getBundle(
+      "cellsociety.view.GridSettings");
+  private static final String DEFAULT_TILING = "Default";
+  private static final String DEFAULT_SHAPE = "Rectangle";
+  private static final double MIN_OUTLINED_CELL_SIZE = 4;
+  private static final int OUTLINE_ARGB = toArgb(Color.BLACK);
+  private static final int FALLBACK_ARGB = toArgb(Color.GRAY);
+
+  private final String tiling;
+  private final double hexagonRowOffset;
+  private final double drawingWidth;
+  private final double drawingHeight;
+  private final Pane myGridPane;
+  private final ImageView imageView;
+  private final Rectangle colorProbe;
+  private final Map<StateInterface, StateStyle> stateStyles = new HashMap<>();
+  private Map<StateInterface, String> paintedColorMap;
+
+  private int numRows;
+  private int numCols;
+  private CellRaster raster;
+  private boolean rasterFlipped;
+  private WritableImage image;
+  private int[] pixels;
+
+  /**
+   * Constructor for creating a CanvasGridView, which draws the grid of cells as a single image.
+   *
+   * @param simulationController simulation controller responsible for managing the simulation and
+   *                             merging the back-end and front-end
+   * @param simulationConfig     configuration object containing relevant simulation details such as
+   *                             type, title, description etc.
+   * @param grid                 the grid of cells of the simulation
+   */
+  public CanvasGridView(SimulationController simulationController,
+      SimulationConfig simulationConfig, Grid grid) {
+    super(simulationController, simulationConfig, grid);
+    Map<String, String> configResourceMap =
+        SimulationController.retrieveImmutableConfigResourceBundle();
+    tiling = simulationConfig.getTiling();
+    if (!tiling.equals(DEFAULT_TILING) && !CellRaster.SHAPES.contains(tiling)) {
+      throw new IllegalArgumentException("Unknown tiling: " + tiling);
+    }
+    hexagonRowOffset = parseDouble(
+        myGridViewResourceBundle.getString("hexagon.tiling.row.offset"));
+    double scale = tiling.equals("Hexagon") || tiling.equals("Parallelogram")
+        ? parseDouble(myGridViewResourceBundle.getString("shape.shrinkage.factor")) : 1;
+    drawingWidth = scale * parseDouble(configResourceMap.getOrDefault("grid.width", "400"));
+    drawingHeight = scale * parseDouble(configResourceMap.getOrDefault("grid.height", "400"));
+    resize(grid.getRows(), grid.getCols());
+
+    imageView = new ImageView();
+    imageView.setSmooth(false);
+    colorProbe = new Rectangle();
+    colorProbe.setManaged(false);
+    colorProbe.setVisible(false);
+    myGridPane = new Pane(imageView, colorProbe);
+    setGridPane(myGridPane);
+  }
+
+  /**
+   * Paints every cell in the frame's state for it, rebuilding the pixel map first if the layout
+   * changed, including when the frame has different dimensions from the last one drawn. Nothing is painted when no cell changed state and the colors are the same as last
+   * time.
+   *
+   * @param frame            the states to draw
+   * @param colorMap         mapping of state interfaces to the CSS ids of their colors
+   * @param simulationConfig the object representation of the simulation configuration
+   */
+  @Override
+  public void renderFrame(GridFrame frame, Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig) {
+    boolean cellsChanged = frame != getCurrentFrame() && !frame.getChangedCells().isEmpty();
+    setCurrentFrame(frame);
+    boolean layoutChanged = raster == null || rasterFlipped != getFlipped()
+        || frame.getRows() != numRows || frame.getCols() != numCols;
+    if (layoutChanged) {
+      layoutCells(colorMap, simulationConfig);
+    }
+    if (!layoutChanged && !cellsChanged && colorMap.equals(paintedColorMap)) {
+      return;
+    }
+    updateStateStyles(colorMap, simulationConfig);
+    paintedColorMap = Map.copyOf(colorMap);
+    paint();
+  }
+
+  /**
+   * Repaints the grid with or without cell outlines.
+   *
+   * @param visible true to outline cells
+   */
+  @Override
+  protected void showGridLines(boolean visible) {
+    if (raster != null) {
+      paint();
+    }
+  }
+
+  /**
+   * Finds the cell under the mouse in the pixel map, which already records which cell covers each
+   * pixel of the image.
+   *
+   * @param event a mouse event on the grid pane
+   * @return the index ({@code row * cols + col}) of the cell under the mouse, or {@link #NO_CELL}
+   */
+  @Override
+  protected int findCellAt(MouseEvent event) {
+    if (raster == null) {
+      return NO_CELL;
+    }
+    int x = (int) Math.floor(event.getX());
+    int y = (int) Math.floor(event.getY());
+    if (x < 0 || y < 0 || x >= raster.getWidth() || y >= raster.getHeight()) {
+      return NO_CELL;
+    }
+    return raster.cellAt(x, y);
+  }
+
+  /**
+   * Builds the pixel map of the current layout and an image to match, sized to the dimensions of
+   * the current frame.
+   *
+   * @param colorMap         mapping of state interfaces to the CSS ids of their colors
+   * @param simulationConfig the object representation of the simulation configuration
+   */
+  @Override
+  protected void layoutCells(Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig) {
+    GridFrame frame = getCurrentFrame();
+    if (frame != null && (frame.getRows() != numRows || frame.getCols() != numCols)) {
+      resize(frame.getRows(), frame.getCols());
+    }
+    int slotShape = tiling.equals(DEFAULT_TILING) ? 0 : CellRaster.SHAPES.indexOf(tiling);
+    List<Integer> shapes = new ArrayList<>(List.of(slotShape));
+    if (tiling.equals(DEFAULT_TILING)) {
+      for (String shapeName : simulationConfig.getCellShapeMap().values()) {
+        int shape = shapeIndex(shapeName);
+        if (!shapes.contains(shape)) {
+          shapes.add(shape);
+        }
+      }
+    }
+    boolean outlined = Math.min(getCellWidth(), getCellHeight()) >= MIN_OUTLINED_CELL_SIZE;
+    rasterFlipped = getFlipped();
+    raster = CellRaster.build(numRows, numCols, this::traceCell, slotShape, shapes, outlined);
+    image = new WritableImage(raster.getWidth(), raster.getHeight());
+    pixels = new int[raster.getWidth() * raster.getHeight()];
+    imageView.setImage(image);
+  }
+
+  /**
+   * Sets the grid's dimensions and scales the cells so the grid keeps the same drawing size.
+   */
+  private void resize(int rows, int cols) {
+    numRows = rows;
+    numCols = cols;
+    setCellWidth(drawingWidth / numCols);
+    setCellHeight(drawingHeight / numRows);
+  }
+
+  /**
+   * Traces a cell where the shape-based view for this tiling would place it.
+   */
+  private int traceCell(int row, int col, int shape, double[] xs, double[] ys) {
+    double width = getCellWidth();
+    double height = getCellHeight();
+    int displayRow = rasterFlipped ? numRows - row - 1 : row;
+    switch (tiling) {
+      case "Hexagon" -> {
+        double hexHeight = Math.sqrt(3) / 2 * width;
+        // odd columns sit half a row lower; flipped, they sit half a row higher, so the even
+        // columns move down instead to keep every cell inside the image
+        double rowPosition = displayRow + ((col % 2 == 1) != rasterFlipped ? hexagonRowOffset : 0);
+        return traceShape(shape, width, hexHeight, true, col * width * 0.75,
+            rowPosition * hexHeight, xs, ys);
+      }
+      case "Triangle" -> {
+        return traceShape(shape, width, height, (row + col) % 2 == 0, col * width * 0.5,
+            displayRow * height, xs, ys);
+      }
+      case "Parallelogram" -> {
+        return traceShape(shape, width, height, row % 2 == 0, col * width, displayRow * height,
+            xs, ys);
+      }
+      default -> {
+        return traceShape(shape, width, height, true, col * width, displayRow * height, xs, ys);
+      }
+    }
+  }
+
+  /**
+   * Traces a cell shape with its top-left corner at ({@code x}, {@code y}), matching the outlines
+   * of the {@link cellsociety.view.shapefactory.CellShape} implementations.
+   */
+  private static int traceShape(int shape, double width, double height, boolean isUpward,
+      double x, double y, double[] xs, double[] ys) {
+    switch (CellRaster.SHAPES.get(shape)) {
+      case "Triangle" -> {
+        if (isUpward) {
+          return vertices(x, y, xs, ys, 0, height, width, height, width / 2, 0);
+        }
+        return vertices(x, y, xs, ys, 0, 0, width, 0, width / 2, height);
+      }
+      case "Hexagon" -> {
+        double hexHeight = Math.sqrt(3) / 2 * width;
+        return vertices(x, y, xs, ys, 0, hexHeight / 2, width / 4, 0, 3 * width / 4, 0, width,
+            hexHeight / 2, 3 * width / 4, hexHeight, width / 4, hexHeight);
+      }
+      case "Parallelogram" -> {
+        double skew = height / 2;
+        if (isUpward) {
+          return vertices(x, y, xs, ys, 0, height, skew, 0, width + skew, 0, width, height);
+        }
+        return vertices(x, y, xs, ys, 0, 0, width, 0, width + skew, height, skew, height);
+      }
+      default -> {
+        return vertices(x, y, xs, ys, 0, 0, width, 0, width, height, 0, height);
+      }
+    }
+  }
+
+  /**
+   * Stores outline vertices given as alternating x and y offsets from ({@code x}, {@code y}).
+   *
+   * @return the number of vertices
+   */
+  private static int vertices(double x, double y, double[] xs, double[] ys, double... offsets) {
+    for (int v = 0; v < offsets.length / 2; v++) {
+      xs[v] = x + offsets[2 * v];
+      ys[v] = y + offsets[2 * v + 1];
+    }
+    return offsets.length / 2;
+  }
+
+  private static int shapeIndex(String shapeName) {
+    int shape = CellRaster.SHAPES.indexOf(shapeName);
+    return shape >= 0 ? shape : CellRaster.SHAPES.indexOf(DEFAULT_SHAPE);
+  }
+
+  /**
+   * Works out each state's color and shape: the color from the state's CSS id, and in the default
+   * tiling the shape from the configuration's cell shapes.
+   */
+  private void updateStateStyles(Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig) {
+    stateStyles.clear();
+    Map<String, Integer> colors = new HashMap<>();
+    for (Map.Entry<StateInterface, String> entry : colorMap.entrySet()) {
+      int argb = colors.computeIfAbsent(entry.getValue(), this::resolveColor);
+      int shape = tiling.equals(DEFAULT_TILING)
+          ? shapeIndex(simulationConfig.getCellShapeMap()
+              .getOrDefault(entry.getKey().getNumericValue(), DEFAULT_SHAPE))
+          : CellRaster.SHAPES.indexOf(tiling);
+      stateStyles.put(entry.getKey(), new StateStyle(argb, shape));
+    }
+  }
+
+  /**
+   * Finds the fill a shape with a CSS id would get in the current scene.
+   *
+   * @param cssId the CSS id of a state
+   * @return the fill as a non-premultiplied ARGB value
+   */
+  private int resolveColor(String cssId) {
+    colorProbe.setId(cssId);
+    colorProbe.applyCss();
+    Paint fill = colorProbe.getFill();
+    return fill instanceof Color color ? toArgb(color) : FALLBACK_ARGB;
+  }
+
+  /**
+   * Writes every pixel of the image. Neighboring pixels usually show the same cell, so a cell's
+   * state is only looked up when the cell changes along a row.
+   */
+  private void paint() {
+    int[] cells = raster.cells();
+    byte[] shapeMask = raster.shapeMask();
+    boolean outlines = isShowingGridLines();
+    int lastCell = CellRaster.NO_CELL;
+    StateStyle style = null;
+    for (int p = 0; p < pixels.length; p++) {
+      int cell = cells[p];
+      if (cell == CellRaster.NO_CELL) {
+        pixels[p] = 0;
+        continue;
+      }
+      if (cell != lastCell) {
+        style = styleOf(cell);
+        lastCell = cell;
+      }
+      int mask = shapeMask[p];
+      if ((mask & style.fillBit()) == 0) {
+        pixels[p] = 0;
+      } else if (outlines && (mask & style.borderBit()) != 0) {
+        pixels[p] = OUTLINE_ARGB;
+      } else {
+        pixels[p] = style.argb();
+      }
+    }
+    image.getPixelWriter().setPixels(0, 0, raster.getWidth(), raster.getHeight(),
+        PixelFormat.getIntArgbInstance(), pixels, 0, raster.getWidth());
+  }
+
+  private StateStyle styleOf(int cell) {
+    StateInterface state = getCurrentFrame().getState(cell);
+    StateStyle style = stateStyles.get(state);
+    if (style == null) {
+      int shape = tiling.equals(DEFAULT_TILING) ? 0 : CellRaster.SHAPES.indexOf(tiling);
+      style = new StateStyle(FALLBACK_ARGB, shape);
+      stateStyles.put(state, style);
+    }
+    return style;
+  }
+
+  /**
+   * Packs a color into a non-premultiplied ARGB value.
+   *
+   * @param color the color
+   * @return the color as {@code 0xAARRGGBB}
+   */
+  static int toArgb(Color color) {
+    return (int) Math.round(color.getOpacity() * 255) << 24
+        | (int) Math.round(color.getRed() * 255) << 16
+        | (int) Math.round(color.getGreen() * 255) << 8
+        | (int) Math.round(color.getBlue() * 255);
+  }
+
+  /**
+   * @return the pixel map of the current layout, or null before the first render
+   */
+  CellRaster getRaster() {
+    return raster;
+  }
+
+  /**
+   * How cells in one state are painted.
+   *
+   * @param argb  the state's color
+   * @param shape the index in {@link CellRaster#SHAPES} of the state's cell shape
+   */
+  private record StateStyle(int argb, int shape) {
+
+    int fillBit() {
+      return CellRaster.fillBit(shape);
+    }
+
+    int borderBit() {
+      return CellRaster.borderBit(shape);
+    }
+  }
+}
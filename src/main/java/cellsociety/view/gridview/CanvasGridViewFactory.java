@@ -0,0 +1,27 @@
+package cellsociety.view.gridview;
+
+import cellsociety.controller.SimulationConfig;
+import cellsociety.controller.SimulationController;
+import cellsociety.model.Grid;
+
+/**
+ * class for generating a CanvasGridView from a Factory class
+ * @author Alana Zinkin
+ */
+public class CanvasGridViewFactory extends GridViewFactory {
+
+  /**
+   * initializes a new CanvasGridView, which draws any tiling as a single image
+   *
+   * @param simulationController simulation controller responsible for managing simulation
+   * @param simulationConfig     the class responsible for representing the simulation
+   *                             configuration
+   * @param grid                 the grid holding the states of the simulation cells
+   * @return a new CanvasGridView object
+   */
+  @Override
+  public GridView createGridView(SimulationController simulationController,
+      SimulationConfig simulationConfig, Grid grid) {
+    return new CanvasGridView(simulationController, simulationConfig, grid);
+  }
+}
@@ -0,0 +1,261 @@
+package cellsociety.view.gridview;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pixel map of a grid layout: which cell covers each pixel of the drawing and which of the cell
+ * shapes cover it. A {@link CanvasGridView} builds one whenever its layout changes and then colors
+ * every frame straight from it, so drawing a frame never touches cell geometry.
+ * <p>
+ * A pixel belongs to the last cell whose outline contains the pixel's center, the same cell the
+ * scene graph would show on top. Cells smaller than a pixel are sampled: a pixel shows whichever
+ * of the cells under it contains its center.
+ * </p>
+ *
+ * @author Alana Zinkin
+ */
+final class CellRaster {
+
+  /**
+   * Cell shapes in the order of their bits in the shape mask.
+   */
+  static final List<String> SHAPES = List.of("Rectangle", "Triangle", "Hexagon", "Parallelogram");
+
+  /**
+   * Value in the cell map of a pixel no cell covers.
+   */
+  static final int NO_CELL = -1;
+
+  private static final int MAX_VERTICES = 8;
+  private static final int OUTLINE_SHIFT = 4;
+
+  /**
+   * Traces the outline of a cell drawn as one of the cell shapes.
+   */
+  @FunctionalInterface
+  interface CellOutline {
+
+    /**
+     * @param row   the cell's row
+     * @param col   the cell's column
+     * @param shape the index of the shape in {@link #SHAPES}
+     * @param xs    receives the x coordinates of the outline's vertices, in pixels
+     * @param ys    receives the y coordinates of the outline's vertices, in pixels
+     * @return the number of vertices
+     */
+    int trace(int row, int col, int shape, double[] xs, double[] ys);
+  }
+
+  private final int width;
+  private final int height;
+  private final int[] cells;
+  private final byte[] shapeMask;
+
+  private CellRaster(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.cells = new int[width * height];
+    this.shapeMask = new byte[width * height];
+    Arrays.fill(cells, NO_CELL);
+  }
+
+  /**
+   * Builds the pixel map of a layout. Each cell owns the pixels inside its slot outline; each shape
+   * in use then marks the pixels of the cell's slot that the shape covers, and, if outlines are
+   * wanted, the pixels on the shape's border.
+   *
+   * @param rows      the number of rows of cells
+   * @param cols      the number of columns of cells
+   * @param outline   traces cell outlines
+   * @param slotShape the shape whose outline gives each cell's slot
+   * @param shapes    the shapes cells may be drawn as
+   * @param outlined  whether to mark the border pixels of each shape
+   * @return the pixel map, just large enough to hold every cell
+   */
+  static CellRaster build(int rows, int cols, CellOutline outline, int slotShape,
+      List<Integer> shapes, boolean outlined) {
+    double[] xs = new double[MAX_VERTICES];
+    double[] ys = new double[MAX_VERTICES];
+    double maxX = 0;
+    double maxY = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int n = outline.trace(row, col, slotShape, xs, ys);
+        for (int v = 0; v < n; v++) {
+          maxX = Math.max(maxX, xs[v]);
+          maxY = Math.max(maxY, ys[v]);
+        }
+      }
+    }
+    CellRaster raster = new CellRaster(Math.max(1, (int) Math.ceil(maxX)),
+        Math.max(1, (int) Math.ceil(maxY)));
+
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int n = outline.trace(row, col, slotShape, xs, ys);
+        raster.fill(xs, ys, n, row * cols + col, NO_CELL, 0);
+      }
+    }
+    for (int shape : shapes) {
+      if (shape == slotShape) {
+        raster.markSlots(1 << shape);
+        continue;
+      }
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          int n = outline.trace(row, col, shape, xs, ys);
+          raster.fill(xs, ys, n, NO_CELL, row * cols + col, 1 << shape);
+        }
+      }
+    }
+    if (outlined) {
+      for (int shape : shapes) {
+        raster.markBorders(1 << shape);
+      }
+    }
+    return raster;
+  }
+
+  /**
+   * Visits the pixels whose centers lie inside a convex outline. When {@code cell} is a cell
+   * index, the pixels are given to that cell; otherwise the pixels already belonging to
+   * {@code owner} gain the shape bit {@code bit}.
+   */
+  private void fill(double[] xs, double[] ys, int n, int cell, int owner, int bit) {
+    double minX = Double.MAX_VALUE;
+    double minY = Double.MAX_VALUE;
+    double maxX = -Double.MAX_VALUE;
+    double maxY = -Double.MAX_VALUE;
+    for (int v = 0; v < n; v++) {
+      minX = Math.min(minX, xs[v]);
+      minY = Math.min(minY, ys[v]);
+      maxX = Math.max(maxX, xs[v]);
+      maxY = Math.max(maxY, ys[v]);
+    }
+    // pixel x covers [x, x + 1), so its center lies inside [minX, maxX] when these bounds hold
+    int fromX = Math.max(0, (int) Math.ceil(minX - 0.5));
+    int toX = Math.min(width - 1, (int) Math.floor(maxX - 0.5));
+    int fromY = Math.max(0, (int) Math.ceil(minY - 0.5));
+    int toY = Math.min(height - 1, (int) Math.floor(maxY - 0.5));
+    for (int y = fromY; y <= toY; y++) {
+      for (int x = fromX; x <= toX; x++) {
+        if (!contains(xs, ys, n, x + 0.5, y + 0.5)) {
+          continue;
+        }
+        int p = y * width + x;
+        if (cell != NO_CELL) {
+          cells[p] = cell;
+        } else if (cells[p] == owner) {
+          shapeMask[p] |= (byte) bit;
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks whether a point lies inside or on a convex outline traced in either direction.
+   */
+  private static boolean contains(double[] xs, double[] ys, int n, double x, double y) {
+    boolean anyPositive = false;
+    boolean anyNegative = false;
+    for (int v = 0; v < n; v++) {
+      int next = (v + 1) % n;
+      double cross = (xs[next] - xs[v]) * (y - ys[v]) - (ys[next] - ys[v]) * (x - xs[v]);
+      anyPositive |= cross > 0;
+      anyNegative |= cross < 0;
+      if (anyPositive && anyNegative) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void markSlots(int bit) {
+    for (int p = 0; p < cells.length; p++) {
+      if (cells[p] != NO_CELL) {
+        shapeMask[p] |= (byte) bit;
+      }
+    }
+  }
+
+  /**
+   * Marks the pixels of a shape that touch a pixel of another cell or outside the shape.
+   */
+  private void markBorders(int bit) {
+    int borderBit = bit << OUTLINE_SHIFT;
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int p = y * width + x;
+        if ((shapeMask[p] & bit) == 0) {
+          continue;
+        }
+        if (x == 0 || y == 0 || x == width - 1 || y == height - 1
+            || !sameShape(p, p - 1, bit) || !sameShape(p, p + 1, bit)
+            || !sameShape(p, p - width, bit) || !sameShape(p, p + width, bit)) {
+          shapeMask[p] |= (byte) borderBit;
+        }
+      }
+    }
+  }
+
+  private boolean sameShape(int p, int q, int bit) {
+    return cells[q] == cells[p] && (shapeMask[q] & bit) != 0;
+  }
+
+  /**
+   * @return the width of the drawing in pixels
+   */
+  int getWidth() {
+    return width;
+  }
+
+  /**
+   * @return the height of the drawing in pixels
+   */
+  int getHeight() {
+    return height;
+  }
+
+  /**
+   * @param x the pixel's column
+   * @param y the pixel's row
+   * @return the index ({@code row * cols + col}) of the cell covering the pixel, or
+   * {@link #NO_CELL}
+   */
+  int cellAt(int x, int y) {
+    return cells[y * width + x];
+  }
+
+  /**
+   * @return the cell covering each pixel, row by row; shared, not to be changed
+   */
+  int[] cells() {
+    return cells;
+  }
+
+  /**
+   * @return the shape bits of each pixel, row by row: bit {@code s} is set where shape {@code s}
+   * covers the pixel and bit {@code s + 4} where the pixel is on that shape's border; shared, not
+   * to be changed
+   */
+  byte[] shapeMask() {
+    return shapeMask;
+  }
+
+  /**
+   * @param shape the index of a shape in {@link #SHAPES}
+   * @return the mask bit of pixels the shape covers
+   */
+  static int fillBit(int shape) {
+    return 1 << shape;
+  }
+
+  /**
+   * @param shape the index of a shape in {@link #SHAPES}
+   * @return the mask bit of pixels on the shape's border
+   */
+  static int borderBit(int shape) {
+    return 1 << (shape + OUTLINE_SHIFT);
+  }
+}
@@ -50,9 +50,9 @@ public class DefaultGridView extends GridView {
   }
 
   @Override
-  public void renderGrid(Map<StateInterface, String> colorMap, SimulationConfig simulationConfig)
+  protected void layoutCells(Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig)
       throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
-    getGridPane().getChildren().clear();
     for (int i = 0; i < numRows; i++) {
       for (int j = 0; j < numCols; j++) {
         Cell cell = myGrid.getCell(i, j);
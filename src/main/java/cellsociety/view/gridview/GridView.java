@@ -11,19 +11,24 @@ import static java.lang.Integer.parseInt;
 import cellsociety.controller.SimulationController;
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
+import cellsociety.model.GridFrame;
 import cellsociety.model.StateInterface;
 import cellsociety.view.SimulationInfoDisplay;
-import cellsociety.view.shapefactory.CellShape;
-import cellsociety.view.shapefactory.CellShapeFactory;
+import cellsociety.view.shapefactory.CellShapeRegistry;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 import javafx.animation.PauseTransition;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.ColumnConstraints;
@@ -45,17 +50,33 @@ import javafx.util.Duration;
  */
 public abstract class GridView {
 
+  /**
+   * Index returned by {@link #findCellAt(MouseEvent)} when the mouse is not over a cell.
+   */
+  protected static final int NO_CELL = -1;
+
   private boolean hasGridLines = true;
 
   private Grid myGrid;
-  private List<Shape> myCells;
+  private List<Shape> myCells = new ArrayList<>();
+  private StateInterface[] drawnStates;
+  private GridFrame currentFrame;
+  private Map<StateInterface, String> drawnColorMap;
+  private boolean layoutValid;
+  private final CellShapeRegistry shapeRegistry = new CellShapeRegistry();
+  private final Map<StateInterface, String> stateShapeTypes = new HashMap<>();
   private Pane gridPane;
   private Pane zoomPane;
   private SimulationController myController;
   private Map<String, String> myConfigResourceMap;
   private ResourceBundle myInfoDisplayBundle = ResourceBundle.getBundle(
       SimulationInfoDisplay.class.getPackageName() + ".InfoDisplay");
+  private ResourceBundle myGridSettingsBundle = ResourceBundle.getBundle(
+      "cellsociety.view.GridSettings");
   private PauseTransition delay = new PauseTransition(Duration.seconds(0));
+  private Popup inspector;
+  private Label inspectorLabel;
+  private int inspectedCell = NO_CELL;
   private ShapeStrategyContext addStrategy = new ShapeStrategyContext(new DefaultStrategy());
 
   private int numRows;
@@ -128,6 +149,7 @@ public abstract class GridView {
       SimulationConfig simulationConfig)
       throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
     addGridZoom();
+    addCellInspector();
     myRoot.setLeft(zoomPane);
     getGridPane().setMaxWidth(
         parseInt(myConfigResourceMap.getOrDefault("grid.width", "400")) - parseInt(
@@ -137,12 +159,13 @@ public abstract class GridView {
             myConfigResourceMap.getOrDefault("lower.bar.height", "150")));
     //gridPane.setStyle("bacteria-state-rock: #f542dd;");
     myCells = new ArrayList<>();
+    stateShapeTypes.clear();
+    layoutValid = false;
     renderGrid(colorMap, simulationConfig);
   }
 
   /**
-   * Abstract method for creating the visual display of grid cells based on the Grid object and
-   * organizes them in the view
+   * Updates the visual display of the grid cells to the grid's current states.
    *
    * @param colorMap         mapping of state interfaces to colors to visually render each cell
    *                         according to its state value
@@ -154,10 +177,137 @@ public abstract class GridView {
    * @throws IllegalAccessException    if user attempts to access a method that should not be
    *                                   accessed
    */
-  public abstract void renderGrid(Map<StateInterface, String> colorMap,
+  public void renderGrid(Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig)
+      throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+    renderFrame(myController.captureFrame(myGrid), colorMap, simulationConfig);
+  }
+
+  /**
+   * Updates the visual display of the grid cells to the states of a frame. The first call lays out
+   * a shape for every cell; later calls keep those shapes and only restyle the cells the frame
+   * reports as changed, so a step costs time in proportion to the cells it changed rather than to
+   * the size of the grid.
+   *
+   * @param frame            the states to draw
+   * @param colorMap         mapping of state interfaces to colors to visually render each cell
+   *                         according to its state value
+   * @param simulationConfig the object representation of the simulation configuration
+   * @throws ClassNotFoundException    if there is no factory class for creating the grid view
+   * @throws InvocationTargetException if a new grid view cannot be made
+   * @throws NoSuchMethodException     if there is no constructor for creating the gridview
+   * @throws InstantiationException    if a new gridview cannot be instantiated
+   * @throws IllegalAccessException    if user attempts to access a method that should not be
+   *                                   accessed
+   */
+  public void renderFrame(GridFrame frame, Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig)
+      throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+    currentFrame = frame;
+    BitSet changedCells = frame.getChangedCells();
+    int cellCount = frame.getRows() * frame.getCols();
+    if (!layoutValid || myCells.size() != cellCount) {
+      getGridPane().getChildren().clear();
+      myCells.clear();
+      layoutCells(colorMap, simulationConfig);
+      drawnStates = new StateInterface[cellCount];
+      for (int i = 0; i < cellCount; i++) {
+        drawnStates[i] = frame.getState(i);
+      }
+      drawnColorMap = Map.copyOf(colorMap);
+      layoutValid = true;
+      return;
+    }
+    if (!colorMap.equals(drawnColorMap)) {
+      changedCells.set(0, cellCount);
+      drawnColorMap = Map.copyOf(colorMap);
+    }
+    for (int i = changedCells.nextSetBit(0); i >= 0 && i < cellCount;
+        i = changedCells.nextSetBit(i + 1)) {
+      restyleCell(i, colorMap, simulationConfig);
+    }
+  }
+
+  /**
+   * Abstract method for creating a shape for every grid cell and arranging the shapes in the
+   * view, in row-major order, by calling
+   * {@link #addCellShapeToGridView(Map, SimulationConfig, Cell, double, double, boolean)} once per
+   * cell. The grid pane is empty when this is called.
+   *
+   * @param colorMap         mapping of state interfaces to colors to visually render each cell
+   *                         according to its state value
+   * @param simulationConfig the object representation of the simulation configuration
+   * @throws ClassNotFoundException    if there is no factory class for creating the grid view
+   * @throws InvocationTargetException if a new grid view cannot be made
+   * @throws NoSuchMethodException     if there is no constructor for creating the gridview
+   * @throws InstantiationException    if a new gridview cannot be instantiated
+   * @throws IllegalAccessException    if user attempts to access a method that should not be
+   *                                   accessed
+   */
+  protected abstract void layoutCells(Map<StateInterface, String> colorMap,
       SimulationConfig simulationConfig)
       throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException;
 
+  /**
+   * Brings one cell's shape up to date with the cell's state. The shape is restyled in place
+   * unless the new state is drawn as a different kind of shape, in which case the new shape takes
+   * the old one's place in the pane.
+   *
+   * @param index            the cell's index, {@code row * cols + col}
+   * @param colorMap         map of state interface to CSS identifier
+   * @param simulationConfig simulation configuration object
+   */
+  private void restyleCell(int index, Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig)
+      throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+    StateInterface state = currentFrame.getState(index);
+    Shape shape = myCells.get(index);
+    if (simulationConfig.getTiling().equals("Default")
+        && !getShapeTypeFromState(state, simulationConfig).equals(
+        getShapeTypeFromState(drawnStates[index], simulationConfig))) {
+      Shape replacement = makeCellShape(state, simulationConfig, true);
+      styleTheShape(colorMap, replacement, state);
+      replacement.setUserData(index);
+      // layout panes keep a child's constraints, such as its GridPane cell, in its properties
+      replacement.getProperties().putAll(shape.getProperties());
+      replacement.setTranslateX(shape.getTranslateX());
+      replacement.setTranslateY(shape.getTranslateY());
+      ObservableList<Node> children = getGridPane().getChildren();
+      children.set(children.indexOf(shape), replacement);
+      myCells.set(index, replacement);
+    } else {
+      styleTheShape(colorMap, shape, state);
+    }
+    drawnStates[index] = state;
+  }
+
+  /**
+   * @return the frame last drawn, or null before the first render
+   */
+  protected GridFrame getCurrentFrame() {
+    return currentFrame;
+  }
+
+  /**
+   * Records the frame being drawn, for views that draw frames their own way.
+   *
+   * @param frame the frame being drawn
+   */
+  protected void setCurrentFrame(GridFrame frame) {
+    currentFrame = frame;
+  }
+
+  /**
+   * Tells which state to draw a cell in while laying out cells: the state in the frame being
+   * drawn, or the cell's own state for cells the frame does not cover.
+   */
+  private StateInterface stateToDraw(int index, Cell cell) {
+    if (currentFrame != null && index < currentFrame.getRows() * currentFrame.getCols()) {
+      return currentFrame.getState(index);
+    }
+    return cell.getCurrentState();
+  }
+
   /**
    * adds the cell shape to the grid view
    *
@@ -200,11 +350,11 @@ public abstract class GridView {
       SimulationConfig simulationConfig,
       Cell cell, boolean isUpward)
       throws ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-    StateInterface cellState = cell.getCurrentState();
+    StateInterface cellState = stateToDraw(myCells.size(), cell);
     Shape shape = makeCellShape(cellState, simulationConfig, isUpward);
     styleTheShape(colorMap, shape, cellState);
+    shape.setUserData(myCells.size());
     myCells.add(shape);
-    makeCellPopUp(cellState, shape);
     return shape;
   }
 
@@ -227,74 +377,96 @@ public abstract class GridView {
   }
 
   /**
-   * makes the visual pop up when hovering over a given cell
+   * Sets up the one pop up that shows the state and coordinates of the cell under the mouse. The
+   * grid pane hit-tests the mouse position itself, so cells carry no pop ups or mouse handlers of
+   * their own.
+   */
+  private void addCellInspector() {
+    inspector = new Popup();
+    inspectorLabel = new Label();
+    inspectorLabel.setId("popupLabel");
+    inspector.getContent().add(inspectorLabel);
+    inspectedCell = NO_CELL;
+    getGridPane().setOnMouseMoved(this::inspectCellUnderMouse);
+    getGridPane().setOnMouseExited(event -> hideInspector());
+  }
+
+  private void inspectCellUnderMouse(MouseEvent event) {
+    int index = currentFrame == null ? NO_CELL : findCellAt(event);
+    if (index == inspectedCell) {
+      return;
+    }
+    hideInspector();
+    if (index == NO_CELL) {
+      return;
+    }
+    inspectedCell = index;
+    int row = index / currentFrame.getCols();
+    int col = index % currentFrame.getCols();
+    inspectorLabel.setText(String.format(myGridSettingsBundle.getString("cell.inspector.format"),
+        currentFrame.getState(index), row, col));
+    int offset = parseInt(myConfigResourceMap.getOrDefault("pop.up.offset", "10"));
+    delay.setOnFinished(e -> inspector.show(getGridPane(), event.getScreenX() + offset,
+        event.getScreenY() + offset));
+    delay.playFromStart();
+  }
+
+  private void hideInspector() {
+    delay.stop();
+    inspector.hide();
+    inspectedCell = NO_CELL;
+  }
+
+  /**
+   * Finds the cell under the mouse. Each cell shape knows its own outline, so the shape the mouse
+   * event picked is the cell under the mouse in every tiling.
    *
-   * @param cellState cell's state
-   * @param shape     cell's visual shape
+   * @param event a mouse event on the grid pane
+   * @return the index ({@code row * cols + col}) of the cell under the mouse, or {@link #NO_CELL}
    */
-  protected void makeCellPopUp(StateInterface cellState, Shape shape) {
-    Popup popup = new Popup();
-    Label popupLabel = new Label(cellState.toString());
-    popupLabel.setId("popupLabel");
-    popup.getContent().add(popupLabel);
-
-    shape.setOnMouseEntered(event -> {
-      delay.setOnFinished(e -> {
-        if (!popup.isShowing()) {
-          popup.show(shape, event.getScreenX() +
-                  parseInt(myConfigResourceMap.getOrDefault("pop.up.offset", "10")),
-              event.getScreenY() +
-                  parseInt(myConfigResourceMap.getOrDefault("pop.up.offset", "10")));
-        }
-      });
-      delay.playFromStart();
-    });
-    shape.setOnMouseExited(event -> {
-      delay.stop();
-      popup.hide();
-    });
+  protected int findCellAt(MouseEvent event) {
+    Node picked = event.getPickResult().getIntersectedNode();
+    if (picked instanceof Shape && picked.getUserData() instanceof Integer index
+        && index < myCells.size() && myCells.get(index) == picked) {
+      return index;
+    }
+    return NO_CELL;
   }
 
   protected Shape makeCellShape(StateInterface cellState,
       SimulationConfig simulationConfig, boolean isUpward)
       throws ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-    String factoryClassName;
+    String shapeType;
     if (simulationConfig.getTiling().equals("Default")) {
-      factoryClassName = getCellFactoryNameFromState(cellState, simulationConfig);
+      shapeType = getShapeTypeFromState(cellState, simulationConfig);
     } else {
-      factoryClassName = getCellFactoryNameFromTiling(simulationConfig);
+      shapeType = getShapeTypeFromTiling(simulationConfig);
     }
-    String fullFactoryClassName = "cellsociety.view.shapefactory." + factoryClassName;
-
-    Class<?> factoryClass = Class.forName(fullFactoryClassName);
-    CellShapeFactory factory = (CellShapeFactory) factoryClass.getDeclaredConstructor()
-        .newInstance();
-
-    CellShape cellShape = factory.createCellShape(cellWidth, cellHeight, isUpward);
-
-    return cellShape.getShape();
+    return shapeRegistry.createShape(shapeType, cellWidth, cellHeight, isUpward);
   }
 
-  private String getCellFactoryNameFromState(StateInterface cellState,
+  private String getShapeTypeFromState(StateInterface cellState,
       SimulationConfig simulationConfig) {
-    int cellStateNumericValue = cellState.getNumericValue();
-    Map<Integer, String> cellShapeMap = simulationConfig.getCellShapeMap();
-    if (cellShapeMap == null) {
-      throw new NullPointerException("Cell shape map is null");
+    String shapeType = stateShapeTypes.get(cellState);
+    if (shapeType == null) {
+      Map<Integer, String> cellShapeMap = simulationConfig.getCellShapeMap();
+      if (cellShapeMap == null) {
+        throw new NullPointerException("Cell shape map is null");
+      }
+      // Get the shape type from the map (e.g., "Rectangle" or "Triangle")
+      shapeType = cellShapeMap.getOrDefault(cellState.getNumericValue(), "Rectangle");
+      stateShapeTypes.put(cellState, shapeType);
     }
-    // Get the shape type from the map (e.g., "Rectangle" or "Triangle")
-    String shapeType = cellShapeMap.getOrDefault(cellStateNumericValue, "Rectangle");
-    String factoryClassName = shapeType + "CellFactory";
-    return factoryClassName;
+    return shapeType;
   }
 
 
-  private String getCellFactoryNameFromTiling(SimulationConfig simulationConfig) {
+  private String getShapeTypeFromTiling(SimulationConfig simulationConfig) {
     String tilingShape = simulationConfig.getTiling();
     if (tilingShape == null) {
       throw new NullPointerException("Tiling value is null, may not have been initialized");
     }
-    return tilingShape + "CellFactory";
+    return tilingShape;
   }
 
   /**
@@ -305,14 +477,32 @@ public abstract class GridView {
   public void setGridLinesToggleButtonAction(Button toggleButton) {
     toggleButton.setOnAction(e -> {
       hasGridLines = !hasGridLines;
-      if (hasGridLines) {
-        addGridLines();
-      } else {
-        removeGridLines();
-      }
+      showGridLines(hasGridLines);
     });
   }
 
+  /**
+   * shows or hides the outlines of the cells
+   *
+   * @param visible true to outline the cells
+   */
+  protected void showGridLines(boolean visible) {
+    if (visible) {
+      addGridLines();
+    } else {
+      removeGridLines();
+    }
+  }
+
+  /**
+   * Checks whether cell outlines are shown.
+   *
+   * @return true if the grid lines are visible
+   */
+  protected boolean isShowingGridLines() {
+    return hasGridLines;
+  }
+
   /**
    * visually removes the grid lines y setting stroke outline of cells to 0 pixels
    */
@@ -337,7 +527,12 @@ public abstract class GridView {
   public void renderGridFlippedVertically(Map<StateInterface, String> colorMap)
       throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
     flipped = !flipped;
-    renderGrid(myController.getSimulation().getColorMap(), myController.getSimulationConfig());
+    layoutValid = false;
+    if (currentFrame != null) {
+      renderFrame(currentFrame, colorMap, myController.getSimulationConfig());
+    } else {
+      renderGrid(colorMap, myController.getSimulationConfig());
+    }
   }
 
   /**
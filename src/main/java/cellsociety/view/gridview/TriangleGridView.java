@@ -63,8 +63,7 @@ public class TriangleGridView extends GridView {
 
 
   /**
-   * Creates the visual display of grid cells based on the Grid object and organizes them in the
-   * view
+   * Creates a shape for every grid cell and organizes the shapes in the view
    *
    * @param colorMap         mapping of state interfaces to colors to visually render each cell
    *                         according to its state value
@@ -77,10 +76,10 @@ public class TriangleGridView extends GridView {
    *                                   accessed
    */
   @Override
-  public void renderGrid(Map<StateInterface, String> colorMap, SimulationConfig simulationConfig)
+  protected void layoutCells(Map<StateInterface, String> colorMap,
+      SimulationConfig simulationConfig)
       throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
     // Generate a triangular tiling pattern
-    getGridPane().getChildren().clear();
     for (int i = 0; i < numRows; i++) {
       for (int j = 0; j < numCols; j++) {
         Cell cell = myGrid.getCell(i, j);
@@ -0,0 +1,97 @@
+package cellsociety.view.shapefactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+
+/**
+ * Looks up cell shape factories by shape name and creates cell shapes from them. Each factory is
+ * found by reflection once, and each shape is built by its factory once per size and orientation;
+ * later shapes of the same kind are copied from that first one rather than traced again.
+ *
+ * @author Alana Zinkin
+ */
+public class CellShapeRegistry {
+
+  private static final String FACTORY_PACKAGE = "cellsociety.view.shapefactory.";
+  private static final String FACTORY_SUFFIX = "CellFactory";
+
+  private final Map<String, CellShapeFactory> factories = new HashMap<>();
+  private final Map<TemplateKey, Shape> templates = new HashMap<>();
+
+  /**
+   * Finds the factory for a shape, loading it the first time the shape is asked for.
+   *
+   * @param shapeType the name of the shape (ex: Rectangle, Triangle)
+   * @return the factory that creates cells of that shape
+   * @throws ClassNotFoundException    There is no factory class for the shape
+   * @throws NoSuchMethodException     no constructor exists to create the factory
+   * @throws InvocationTargetException if the factory's constructor fails
+   * @throws InstantiationException    if the factory cannot be instantiated
+   * @throws IllegalAccessException    if the factory's constructor cannot be accessed
+   */
+  public CellShapeFactory getFactory(String shapeType)
+      throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+    CellShapeFactory factory = factories.get(shapeType);
+    if (factory == null) {
+      Class<?> factoryClass = Class.forName(FACTORY_PACKAGE + shapeType + FACTORY_SUFFIX);
+      factory = (CellShapeFactory) factoryClass.getDeclaredConstructor().newInstance();
+      factories.put(shapeType, factory);
+    }
+    return factory;
+  }
+
+  /**
+   * Creates a new shape for one cell.
+   *
+   * @param shapeType the name of the shape (ex: Rectangle, Triangle)
+   * @param width     width of the cell
+   * @param height    height of the cell
+   * @param isUpward  true if cell is in normal orientation, false if its upside down
+   * @return a new shape, not shared with any other cell
+   * @throws ClassNotFoundException    There is no factory class for the shape
+   * @throws NoSuchMethodException     no constructor exists to create the factory
+   * @throws InvocationTargetException if the factory's constructor fails
+   * @throws InstantiationException    if the factory cannot be instantiated
+   * @throws IllegalAccessException    if the factory's constructor cannot be accessed
+   */
+  public Shape createShape(String shapeType, double width, double height, boolean isUpward)
+      throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+    TemplateKey key = new TemplateKey(shapeType, width, height, isUpward);
+    Shape template = templates.get(key);
+    if (template == null) {
+      template = getFactory(shapeType).createCellShape(width, height, isUpward).getShape();
+      templates.put(key, template);
+    }
+    Shape copy = copyGeometry(template);
+    if (copy == null) {
+      return getFactory(shapeType).createCellShape(width, height, isUpward).getShape();
+    }
+    return copy;
+  }
+
+  /**
+   * Copies the outline of a template shape.
+   *
+   * @return the copy, or null if the template is not a kind of shape that can be copied
+   */
+  private static Shape copyGeometry(Shape template) {
+    if (template instanceof Polygon polygon) {
+      Polygon copy = new Polygon();
+      copy.getPoints().setAll(polygon.getPoints());
+      return copy;
+    }
+    if (template instanceof Rectangle rectangle) {
+      return new Rectangle(rectangle.getX(), rectangle.getY(), rectangle.getWidth(),
+          rectangle.getHeight());
+    }
+    return null;
+  }
+
+  private record TemplateKey(String shapeType, double width, double height, boolean isUpward) {
+
+  }
+}
@@ -0,0 +1,73 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BatchRunner}.
+ *
+ * @author Tatum McKinnis
+ */
+public class BatchRunnerTest {
+
+  private static final Path BLINKER = Path.of("data", "GameOfLife", "Blinker.xml");
+
+  /**
+   * Tests that a run writes the counts of every step, starting from the initial grid.
+   */
+  @Test
+  void run_BlinkerConfig_WritesCountsForEveryStep(@TempDir Path output) throws Exception {
+    BatchRunner runner = new BatchRunner(4, 0, null, null);
+
+    BatchRunner.RunResult result = runner.run(BLINKER, output);
+
+    List<String> lines = Files.readAllLines(output.resolve("Blinker-counts.csv"));
+    assertEquals("step,state,count", lines.get(0));
+    assertEquals(1 + 5 * 2, lines.size());
+    assertTrue(lines.contains("0,Alive,3"));
+    assertTrue(lines.contains("4,Alive,3"));
+    assertEquals("Blinker", result.name());
+    assertEquals(3.0, result.finalCounts().get("Alive"));
+  }
+
+  /**
+   * Tests that snapshots are written at the configured interval with one grid row per line.
+   */
+  @Test
+  void run_SnapshotInterval_WritesGridSnapshots(@TempDir Path output) throws Exception {
+    BatchRunner runner = new BatchRunner(3, 2, null, null);
+
+    runner.run(BLINKER, output);
+
+    assertTrue(Files.exists(output.resolve("Blinker-step-000000.txt")));
+    assertFalse(Files.exists(output.resolve("Blinker-step-000001.txt")));
+    List<String> step2 = Files.readAllLines(output.resolve("Blinker-step-000002.txt"));
+    assertEquals(List.of("0 0 0 0 0", "0 1 1 1 0", "0 0 0 0 0", "0 0 0 0 0", "0 0 0 0 0"),
+        step2);
+  }
+
+  /**
+   * Tests that negative step counts are rejected.
+   */
+  @Test
+  void constructor_NegativeSteps_ThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> new BatchRunner(-1, 0, null, null));
+  }
+
+  /**
+   * Tests that CSV fields containing separators are quoted.
+   */
+  @Test
+  void csvField_ValueWithComma_IsQuoted() {
+    assertEquals("\"a,\"\"b\"\"\"", BatchRunner.csvField("a,\"b\""));
+    assertEquals("plain", BatchRunner.csvField("plain"));
+  }
+}
@@ -0,0 +1,141 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.Grid;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BinarySnapshotWriter} and {@link BinarySnapshotParser}.
+ *
+ * @author angelapredolac
+ */
+public class BinarySnapshotTest {
+
+  private static final int ROWS = 7;
+  private static final int COLS = 9;
+
+  /**
+   * Tests that a compressed snapshot of a grid with several states reads back unchanged.
+   */
+  @Test
+  void save_CompressedFireGrid_RoundTrips(@TempDir Path directory) throws Exception {
+    assertRoundTrip(directory.resolve("fire.cellsnap"), true);
+  }
+
+  /**
+   * Tests that an uncompressed, memory-mapped snapshot reads back unchanged.
+   */
+  @Test
+  void save_UncompressedFireGrid_RoundTrips(@TempDir Path directory) throws Exception {
+    assertRoundTrip(directory.resolve("fire.cellsnap"), false);
+  }
+
+  /**
+   * Tests that a two-state grid is packed at one bit per cell.
+   */
+  @Test
+  void save_TwoStateGrid_PacksOneBitPerCell(@TempDir Path directory) throws Exception {
+    int[] states = new int[64 * 64];
+    for (int i = 0; i < states.length; i += 3) {
+      states[i] = 1;
+    }
+    SimulationConfig config = new SimulationConfig("Game of Life", "Title", "Author",
+        "Description", 64, 64, states, new HashMap<>(), "Rectangle");
+    Grid grid = BatchRunner.buildSimulation(config, null, null).getGrid();
+    Path file = directory.resolve("life.cellsnap");
+
+    new BinarySnapshotWriter(false).save(config, grid, file.toString());
+
+    assertTrue(Files.size(file) < 64 * 64 / 8 + 200);
+    assertArrayEquals(states, new BinarySnapshotParser().parseSnapshotFile(file.toString())
+        .getInitialStates());
+  }
+
+  /**
+   * Tests that a file that is not a snapshot is rejected.
+   */
+  @Test
+  void parseSnapshotFile_NotSnapshot_ThrowsConfigurationException(@TempDir Path directory)
+      throws Exception {
+    Path file = directory.resolve("bad.cellsnap");
+    Files.writeString(file, "<simulation></simulation>");
+
+    assertThrows(ConfigurationException.class,
+        () -> new BinarySnapshotParser().parseSnapshotFile(file.toString()));
+  }
+
+  /**
+   * Tests that a snapshot cut short is rejected.
+   */
+  @Test
+  void parseSnapshotFile_Truncated_ThrowsConfigurationException(@TempDir Path directory)
+      throws Exception {
+    Path file = directory.resolve("fire.cellsnap");
+    SimulationConfig config = fireConfig();
+    new BinarySnapshotWriter().save(config,
+        BatchRunner.buildSimulation(config, null, null).getGrid(), file.toString());
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+    assertThrows(ConfigurationException.class,
+        () -> new BinarySnapshotParser().parseSnapshotFile(file.toString()));
+  }
+
+  /**
+   * Tests that saving over a longer file replaces it whole and leaves no temporary file behind.
+   */
+  @Test
+  void save_OverExistingFile_ReplacesFileWithoutTemporaries(@TempDir Path directory)
+      throws Exception {
+    Path file = directory.resolve("fire.cellsnap");
+    Files.write(file, new byte[1 << 16]);
+
+    assertRoundTrip(file, false);
+
+    try (var files = Files.list(directory)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  private void assertRoundTrip(Path file, boolean compress) throws Exception {
+    SimulationConfig config = fireConfig();
+    Grid grid = BatchRunner.buildSimulation(config, null, null).getGrid();
+
+    new BinarySnapshotWriter(compress).save(config, grid, file.toString());
+    SimulationConfig loaded = new BinarySnapshotParser().parseSnapshotFile(file.toString());
+
+    assertEquals("Spreading of Fire", loaded.getType());
+    assertEquals("Forest", loaded.getTitle());
+    assertNull(loaded.getDescription());
+    assertEquals(ROWS, loaded.getWidth());
+    assertEquals(COLS, loaded.getHeight());
+    assertEquals(Map.of("fireProb", 0.25, "treeProb", 0.5), loaded.getParameters());
+    assertArrayEquals(config.getInitialStates(), loaded.getInitialStates());
+    assertTrue(loaded.getCellShapeMap().isEmpty());
+  }
+
+  private SimulationConfig fireConfig() {
+    Random random = new Random(3);
+    int[] states = new int[ROWS * COLS];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = random.nextInt(3);
+    }
+    Map<String, Double> parameters = new HashMap<>();
+    parameters.put("fireProb", 0.25);
+    parameters.put("treeProb", 0.5);
+    return new SimulationConfig("Spreading of Fire", "Forest", "Author", null, ROWS, COLS, states,
+        parameters, "Rectangle");
+  }
+}
@@ -0,0 +1,72 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link FrameBudget}.
+ *
+ * @author angelapredolac
+ */
+public class FrameBudgetTest {
+
+  private static final long MILLIS = 1_000_000;
+
+  /**
+   * Tests that the budget starts at its minimum before any frame is drawn.
+   */
+  @Test
+  void budgetNanos_NoRenders_ReturnsMinimum() {
+    FrameBudget budget = new FrameBudget(16 * MILLIS, 250 * MILLIS, 0.5);
+
+    assertEquals(16 * MILLIS, budget.budgetNanos());
+  }
+
+  /**
+   * Tests that slower renders lengthen the budget so rendering keeps to its share of the time.
+   */
+  @Test
+  void budgetNanos_SlowRenders_GrowsWithRenderCost() {
+    FrameBudget budget = new FrameBudget(16 * MILLIS, 250 * MILLIS, 0.5);
+
+    budget.recordRender(40 * MILLIS);
+
+    assertEquals(80 * MILLIS, budget.budgetNanos());
+  }
+
+  /**
+   * Tests that one unusually slow render only moves the budget part of the way.
+   */
+  @Test
+  void recordRender_OneSpike_SmoothsBudget() {
+    FrameBudget budget = new FrameBudget(MILLIS, 1000 * MILLIS, 1);
+    budget.recordRender(10 * MILLIS);
+
+    budget.recordRender(60 * MILLIS);
+
+    assertEquals(20 * MILLIS, budget.budgetNanos());
+  }
+
+  /**
+   * Tests that the budget never passes its maximum.
+   */
+  @Test
+  void budgetNanos_VerySlowRenders_ReturnsMaximum() {
+    FrameBudget budget = new FrameBudget(16 * MILLIS, 250 * MILLIS, 0.5);
+
+    budget.recordRender(500 * MILLIS);
+
+    assertEquals(250 * MILLIS, budget.budgetNanos());
+  }
+
+  /**
+   * Tests that a render share outside (0, 1] is rejected.
+   */
+  @Test
+  void constructor_InvalidRenderShare_ThrowsException() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new FrameBudget(16 * MILLIS, 250 * MILLIS, 0));
+  }
+}
@@ -0,0 +1,186 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link RLEPatternParser} and {@link MacrocellParser}.
+ *
+ * @author angelapredolac
+ */
+public class LifePatternParserTest {
+
+  private static final int MARGIN = 8;
+
+  /**
+   * Tests that an RLE glider is placed inside a margin of dead cells with its metadata.
+   */
+  @Test
+  void parse_RleGlider_CentersPatternInMargin(@TempDir Path directory) throws Exception {
+    Path file = write(directory, "glider.rle", """
+        #N Glider
+        #O Richard K. Guy
+        #C The smallest spaceship.
+        x = 3, y = 3, rule = B3/S23
+        bob$2bo$3o!
+        """);
+
+    SimulationConfig config = new RLEPatternParser().parse(file.toString());
+
+    assertEquals("Game of Life", config.getType());
+    assertEquals("Glider", config.getTitle());
+    assertEquals("Richard K. Guy", config.getAuthor());
+    assertEquals("The smallest spaceship.", config.getDescription());
+    assertEquals(3 + 2 * MARGIN, config.getWidth());
+    assertEquals(3 + 2 * MARGIN, config.getHeight());
+    assertArrayEquals(new int[][]{{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}},
+        liveCells(config));
+  }
+
+  /**
+   * Tests that the sample glider gun reads with all of its live cells.
+   */
+  @Test
+  void parse_GosperGliderGun_ReadsEveryLiveCell() throws Exception {
+    SimulationConfig config = new RLEPatternParser().parse("data/GameOfLife/GosperGliderGun.rle");
+
+    assertEquals(9 + 2 * MARGIN, config.getWidth());
+    assertEquals(36 + 2 * MARGIN, config.getHeight());
+    assertEquals(36, Arrays.stream(config.getInitialStates()).sum());
+    BatchRunner.buildSimulation(config, null, null).step();
+  }
+
+  /**
+   * Tests that a rule in survival/birth notation other than Conway's runs as a rules-based Game of Life.
+   */
+  @Test
+  void parse_RleSurvivalBirthRule_UsesRuleCode(@TempDir Path directory) throws Exception {
+    Path file = write(directory, "seeds.rle", """
+        x = 2, y = 1, rule = 34/3
+        2o!
+        """);
+
+    SimulationConfig config = new RLEPatternParser().parse(file.toString());
+
+    assertEquals("Rules-Based Game of Life", config.getType());
+    assertEquals(Map.of("ruleCode", 334.0), config.getParameters());
+    assertEquals("seeds", config.getTitle());
+  }
+
+  /**
+   * Tests that rules with several birth counts, which the rule code cannot hold, are rejected.
+   */
+  @Test
+  void parse_RleHighLifeRule_ThrowsConfigurationException(@TempDir Path directory)
+      throws Exception {
+    Path file = write(directory, "highlife.rle", """
+        x = 2, y = 1, rule = B36/S23
+        2o!
+        """);
+
+    assertThrows(ConfigurationException.class,
+        () -> new RLEPatternParser().parse(file.toString()));
+  }
+
+  /**
+   * Tests that multi-state patterns are rejected.
+   */
+  @Test
+  void parse_RleMultiState_ThrowsConfigurationException(@TempDir Path directory)
+      throws Exception {
+    Path file = write(directory, "wires.rle", """
+        x = 3, y = 1, rule = WireWorld
+        ABC!
+        """);
+
+    assertThrows(ConfigurationException.class,
+        () -> new RLEPatternParser().parse(file.toString()));
+  }
+
+  /**
+   * Tests that a Macrocell glider reads the same live cells as the RLE glider.
+   */
+  @Test
+  void parse_MacrocellGlider_MatchesRleGlider() throws Exception {
+    SimulationConfig config = new MacrocellParser().parse("data/GameOfLife/GliderMacrocell.mc");
+
+    assertEquals("Glider", config.getTitle());
+    assertEquals(3 + 2 * MARGIN, config.getWidth());
+    assertArrayEquals(new int[][]{{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}},
+        liveCells(config));
+  }
+
+  /**
+   * Tests that a node used in several quadrants is expanded at each of them.
+   */
+  @Test
+  void parse_MacrocellSharedNode_ExpandsEveryQuadrant(@TempDir Path directory)
+      throws Exception {
+    Path file = write(directory, "blocks.mc", """
+        [M2] (golly 2.0)
+        **$**$
+        4 1 0 0 1
+        5 0 2 2 0
+        """);
+
+    SimulationConfig config = new MacrocellParser().parse(file.toString());
+
+    assertEquals(16, Arrays.stream(config.getInitialStates()).sum());
+    assertEquals(26 + 2 * MARGIN, config.getWidth());
+    assertEquals(26 + 2 * MARGIN, config.getHeight());
+  }
+
+  /**
+   * Tests that a node referring to a node not yet defined is rejected.
+   */
+  @Test
+  void parse_MacrocellForwardReference_ThrowsConfigurationException(@TempDir Path directory)
+      throws Exception {
+    Path file = write(directory, "bad.mc", """
+        [M2] (golly 2.0)
+        4 2 0 0 0
+        """);
+
+    assertThrows(ConfigurationException.class,
+        () -> new MacrocellParser().parse(file.toString()));
+  }
+
+  /**
+   * Tests that each importer only accepts its own extension.
+   */
+  @Test
+  void accepts_PatternExtensions_MatchesOwnFormat() {
+    assertTrue(new RLEPatternParser().accepts("data/GameOfLife/Gun.RLE"));
+    assertTrue(new MacrocellParser().accepts("glider.mc"));
+    assertFalse(new MacrocellParser().accepts("glider.rle"));
+  }
+
+  private Path write(Path directory, String name, String content) throws Exception {
+    Path file = directory.resolve(name);
+    Files.writeString(file, content);
+    return file;
+  }
+
+  /**
+   * Lists the live cells relative to the top-left corner inside the margin.
+   */
+  private int[][] liveCells(SimulationConfig config) {
+    int cols = config.getHeight();
+    int[] states = config.getInitialStates();
+    return IntStream.range(0, states.length)
+        .filter(i -> states[i] == 1)
+        .mapToObj(i -> new int[]{i / cols - MARGIN, i % cols - MARGIN})
+        .toArray(int[][]::new);
+  }
+}
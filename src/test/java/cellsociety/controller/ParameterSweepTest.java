@@ -0,0 +1,128 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ParameterSweep}.
+ *
+ * @author Tatum McKinnis
+ */
+public class ParameterSweepTest {
+
+  private static final int SIZE = 6;
+  private static final int STEPS = 5;
+  private static final int FIRE_STATES = 4;
+
+  private SimulationConfig baseConfig;
+  private Map<String, List<Double>> ranges;
+
+  /**
+   * Sets up a forest of trees and a two-by-two sweep over the fire probabilities.
+   */
+  @BeforeEach
+  void setUp() {
+    int[] trees = new int[SIZE * SIZE];
+    Arrays.fill(trees, 1);
+    baseConfig = new SimulationConfig("Spreading of Fire", "Forest", "Test Author",
+        "Sweep test", SIZE, SIZE, trees, new HashMap<>(), "Default");
+    ranges = new LinkedHashMap<>();
+    ranges.put("fireProb", List.of(0.1, 0.5));
+    ranges.put("treeProb", List.of(0.0, 0.2));
+  }
+
+  /**
+   * Tests that every point of the cross product is run and reported.
+   */
+  @Test
+  void run_TwoByTwoSweep_WritesEveryTrajectory(@TempDir Path output) throws Exception {
+    ParameterSweep sweep = new ParameterSweep(baseConfig, ranges, STEPS, 2, 7);
+    AtomicInteger progress = new AtomicInteger();
+
+    List<ParameterSweep.RunOutcome> outcomes = sweep.run(output.resolve("sweep.csv"),
+        (completed, total, outcome) -> progress.incrementAndGet());
+
+    assertEquals(4, outcomes.size());
+    assertEquals(4, progress.get());
+    assertTrue(outcomes.stream().allMatch(ParameterSweep.RunOutcome::succeeded));
+    assertEquals(Map.of("fireProb", 0.5, "treeProb", 0.0), outcomes.get(2).parameters());
+    assertEquals(9, outcomes.get(2).seed());
+    List<String> lines = Files.readAllLines(output.resolve("sweep.csv"));
+    assertEquals("run,seed,fireProb,treeProb,step,state,count", lines.get(0));
+    assertEquals(1 + 4 * (STEPS + 1) * FIRE_STATES, lines.size());
+  }
+
+  /**
+   * Tests that runs with the same seeds produce the same trajectories, whatever order the runs
+   * finish in, for both fire and percolation.
+   */
+  @Test
+  void run_SameSeed_ProducesSameTrajectories(@TempDir Path output) throws Exception {
+    assertSameTrajectories(baseConfig, ranges, output.resolve("fire"));
+
+    int[] open = new int[SIZE * SIZE];
+    Arrays.fill(open, 1);
+    Arrays.fill(open, 0, SIZE, 2);
+    SimulationConfig percolationConfig = new SimulationConfig("Percolation", "Open",
+        "Test Author", "Sweep test", SIZE, SIZE, open, new HashMap<>(), "Default");
+    Map<String, List<Double>> percolationRanges = Map.of("percolationProb", List.of(0.3, 0.6));
+    assertSameTrajectories(percolationConfig, percolationRanges, output.resolve("percolation"));
+  }
+
+  /**
+   * Runs a sweep twice with the same base seed, once in parallel and once on one thread, and
+   * checks that both write the same trajectories.
+   */
+  private void assertSameTrajectories(SimulationConfig config, Map<String, List<Double>> sweep,
+      Path output) throws Exception {
+    Files.createDirectories(output);
+    new ParameterSweep(config, sweep, STEPS, 4, 11)
+        .run(output.resolve("first.csv"), (completed, total, outcome) -> { });
+    new ParameterSweep(config, sweep, STEPS, 1, 11)
+        .run(output.resolve("second.csv"), (completed, total, outcome) -> { });
+
+    List<String> first = Files.readAllLines(output.resolve("first.csv"));
+    List<String> second = Files.readAllLines(output.resolve("second.csv"));
+    first.sort(null);
+    second.sort(null);
+    assertEquals(first, second);
+  }
+
+  /**
+   * Tests that the points of the sweep vary the last parameter fastest.
+   */
+  @Test
+  void getPoints_TwoRanges_ReturnsCrossProduct() {
+    ParameterSweep sweep = new ParameterSweep(baseConfig, ranges, STEPS, 1, 0);
+
+    List<Map<String, Double>> points = sweep.getPoints();
+
+    assertEquals(4, points.size());
+    assertEquals(Map.of("fireProb", 0.1, "treeProb", 0.2), points.get(1));
+  }
+
+  /**
+   * Tests that both range formats are parsed, with inclusive end points.
+   */
+  @Test
+  void parseRange_StepAndListFormats_ReturnsValues() {
+    List<Double> stepped = ParameterSweep.parseRange("0.1:0.5:0.2");
+    assertEquals(3, stepped.size());
+    assertEquals(0.5, stepped.get(2), 1e-12);
+    assertEquals(List.of(1.0, 2.5, 4.0), ParameterSweep.parseRange("1, 2.5, 4"));
+    assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parseRange("1:0:1"));
+  }
+}
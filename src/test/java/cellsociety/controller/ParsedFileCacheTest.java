@@ -0,0 +1,141 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ParsedFileCache}.
+ *
+ * @author angelapredolac
+ */
+public class ParsedFileCacheTest {
+
+  private AtomicInteger parses;
+  private ParsedFileCache<SimulationConfig> cache;
+
+  @BeforeEach
+  void setUp() {
+    parses = new AtomicInteger();
+    cache = new ParsedFileCache<>(2, this::parseConfig, SimulationConfig::copy,
+        SimulationConfig::isReproducible);
+  }
+
+  /**
+   * Tests that a cached file is not parsed again and each lookup gets its own initial states.
+   */
+  @Test
+  void get_UnchangedFile_ReturnsIndependentCopies(@TempDir Path directory) throws Exception {
+    Path file = write(directory, "a.txt", "1 0 1");
+
+    SimulationConfig first = cache.get(file.toString());
+    first.getInitialStates()[0] = 7;
+    SimulationConfig second = cache.get(file.toString());
+
+    assertEquals(1, parses.get());
+    assertNotSame(first.getInitialStates(), second.getInitialStates());
+    assertArrayEquals(new int[]{1, 0, 1}, second.getInitialStates());
+  }
+
+  /**
+   * Tests that a file changed on disk is parsed again.
+   */
+  @Test
+  void get_ModifiedFile_ParsesAgain(@TempDir Path directory) throws Exception {
+    Path file = write(directory, "a.txt", "1 0 1");
+    cache.get(file.toString());
+
+    Files.writeString(file, "0 1 0 1");
+    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+    SimulationConfig config = cache.get(file.toString());
+
+    assertEquals(2, parses.get());
+    assertArrayEquals(new int[]{0, 1, 0, 1}, config.getInitialStates());
+  }
+
+  /**
+   * Tests that the least recently used file is dropped once the cache is full.
+   */
+  @Test
+  void get_MoreFilesThanCapacity_EvictsLeastRecentlyUsed(@TempDir Path directory)
+      throws Exception {
+    Path a = write(directory, "a.txt", "1");
+    Path b = write(directory, "b.txt", "2");
+    Path c = write(directory, "c.txt", "3");
+
+    cache.get(a.toString());
+    cache.get(b.toString());
+    cache.get(a.toString());
+    cache.get(c.toString());
+    assertEquals(3, parses.get());
+    assertEquals(2, cache.size());
+
+    cache.get(a.toString());
+    assertEquals(3, parses.get());
+    cache.get(b.toString());
+    assertEquals(4, parses.get());
+  }
+
+  /**
+   * Tests that a configuration that would not be reproduced by parsing again is not kept.
+   */
+  @Test
+  void get_UnreproducibleConfig_ParsesEveryTime(@TempDir Path directory) throws Exception {
+    Path file = write(directory, "random.txt", "0 1");
+
+    cache.get(file.toString());
+    cache.get(file.toString());
+
+    assertEquals(2, parses.get());
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Tests that a missing file is passed to the parser so it can report the problem.
+   */
+  @Test
+  void get_MissingFile_ReportsParserError(@TempDir Path directory) {
+    String missing = directory.resolve("missing.txt").toString();
+
+    assertThrows(ConfigurationException.class, () -> cache.get(missing));
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Parses a file of space-separated states; files named random.txt are marked as unreproducible.
+   */
+  private SimulationConfig parseConfig(String filePath) throws ConfigurationException {
+    parses.incrementAndGet();
+    String text;
+    try {
+      text = Files.readString(Path.of(filePath)).trim();
+    } catch (Exception e) {
+      throw new ConfigurationException("Error reading file: " + e.getMessage());
+    }
+    String[] tokens = text.split(" ");
+    int[] states = new int[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      states[i] = Integer.parseInt(tokens[i]);
+    }
+    SimulationConfig config = new SimulationConfig("Game of Life", "Test", "Author", "",
+        1, states.length, states, new HashMap<>(), "Default");
+    config.setReproducible(!filePath.endsWith("random.txt"));
+    return config;
+  }
+
+  private Path write(Path directory, String name, String contents) throws Exception {
+    Path file = directory.resolve(name);
+    Files.writeString(file, contents);
+    return file;
+  }
+}
@@ -0,0 +1,42 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import cellsociety.model.Grid;
+import cellsociety.model.GridFrame;
+import cellsociety.model.Simulation;
+import cellsociety.model.state.GameOfLifeState;
+import java.util.HashMap;
+import java.util.ResourceBundle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SimulationEngine}.
+ *
+ * @author angelapredolac
+ */
+public class SimulationEngineTest {
+
+  /**
+   * Tests that frames show the grid the simulation steps, even after the engine's grid is
+   * replaced, as an infinite edge policy does.
+   */
+  @Test
+  void captureFrame_EngineGridReplaced_CapturesSteppedGrid() {
+    SimulationController controller = new SimulationController();
+    SimulationEngine engine = new SimulationEngine(ResourceBundle.getBundle(
+        SimulationController.class.getPackageName() + ".Simulation"));
+    int[] states = {0, 1, 0, 0, 1, 0, 0, 1, 0};
+    engine.initializeSimulation(new SimulationConfig("Game of Life", "Blinker", "Test Author",
+        "Engine test", 3, 3, states, new HashMap<>(), "Default"), controller);
+    Simulation simulation = engine.getSimulation();
+    engine.setGrid(new Grid(3, 3, GameOfLifeState.DEAD));
+
+    engine.runLocked(simulation::step);
+    GridFrame frame = engine.captureFrame(simulation.getGrid());
+
+    assertEquals(1, frame.getIteration());
+    assertEquals(GameOfLifeState.ALIVE, frame.getState(3));
+    assertEquals(GameOfLifeState.DEAD, frame.getState(1));
+  }
+}
@@ -0,0 +1,182 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.Grid;
+import cellsociety.model.InfiniteGrid;
+import cellsociety.model.simulations.GameOfLife;
+import cellsociety.model.state.GameOfLifeState;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SimulationMetrics}.
+ *
+ * @author Tatum McKinnis
+ */
+public class SimulationMetricsTest {
+
+  private static final long MILLI = 1_000_000L;
+
+  private AtomicLong now;
+  private SimulationMetrics metrics;
+
+  /**
+   * Sets up metrics driven by a manual clock.
+   */
+  @BeforeEach
+  void setUp() {
+    now = new AtomicLong();
+    metrics = new SimulationMetrics(now::get);
+  }
+
+  /**
+   * Tests that latency percentiles are taken over the recorded steps by nearest rank.
+   */
+  @Test
+  void recordStep_HundredSteps_ReportsPercentiles() {
+    GameOfLife blinker = createBlinker(new Grid(3, 3, GameOfLifeState.DEAD));
+    metrics.setSimulation(blinker);
+
+    for (int i = 1; i <= 100; i++) {
+      metrics.recordStep(blinker, i * MILLI, 0);
+    }
+
+    assertEquals(100, metrics.getTotalSteps());
+    assertEquals(50.0, metrics.getStepLatencyP50Millis(), 1e-9);
+    assertEquals(90.0, metrics.getStepLatencyP90Millis(), 1e-9);
+    assertEquals(99.0, metrics.getStepLatencyP99Millis(), 1e-9);
+    assertEquals(100.0, metrics.getStepLatencyMaxMillis(), 1e-9);
+  }
+
+  /**
+   * Tests that measuring a real step records the cells it changed and the grid's footprint.
+   */
+  @Test
+  void measureStep_Blinker_RecordsChangedCellsAndFootprint() {
+    GameOfLife blinker = createBlinker(new Grid(3, 3, GameOfLifeState.DEAD));
+    metrics.setSimulation(blinker);
+
+    metrics.measureStep(blinker);
+
+    assertEquals("GameOfLife", metrics.getSimulationType());
+    assertEquals(4, metrics.getCellsChangedLastStep());
+    assertEquals(4.0, metrics.getCellsChangedPerStepMean(), 1e-9);
+    assertTrue(metrics.getGridMemoryFootprintBytes()
+        > blinker.getGrid().estimateMemoryFootprint());
+  }
+
+  /**
+   * Tests that the step rate counts only steps from the last few seconds.
+   */
+  @Test
+  void getStepsPerSecond_OldStepsLeaveWindow_ReportsRecentRate() {
+    GameOfLife blinker = createBlinker(new Grid(3, 3, GameOfLifeState.DEAD));
+    metrics.setSimulation(blinker);
+    for (int i = 0; i < 10; i++) {
+      now.addAndGet(100 * MILLI);
+      metrics.recordStep(blinker, MILLI, 0);
+    }
+    assertEquals(10.0, metrics.getStepsPerSecond(), 1e-9);
+
+    now.addAndGet(10_000 * MILLI);
+
+    assertEquals(0.0, metrics.getStepsPerSecond(), 1e-9);
+  }
+
+  /**
+   * Tests that a rate far above what the latency window could hold is reported in full.
+   */
+  @Test
+  void getStepsPerSecond_ThousandsOfStepsPerSecond_NotCappedByWindow() {
+    GameOfLife blinker = createBlinker(new Grid(3, 3, GameOfLifeState.DEAD));
+    metrics.setSimulation(blinker);
+    for (int i = 0; i < 8 * 2000; i++) {
+      now.addAndGet(MILLI / 2);
+      metrics.recordStep(blinker, MILLI / 4, 0);
+    }
+
+    assertEquals(2000.0, metrics.getStepsPerSecond(), 1.0);
+  }
+
+  /**
+   * Tests that the render rate counts recorded renders, not steps, so frames dropped while the
+   * simulation runs ahead of the view do not count as drawn.
+   */
+  @Test
+  void getRendersPerSecond_FewerRendersThanSteps_CountsOnlyRenders() {
+    GameOfLife blinker = createBlinker(new Grid(3, 3, GameOfLifeState.DEAD));
+    metrics.setSimulation(blinker);
+    for (int i = 0; i < 100; i++) {
+      now.addAndGet(10 * MILLI);
+      metrics.recordStep(blinker, MILLI, 0);
+      if (i % 4 == 3) {
+        metrics.recordRender(MILLI);
+      }
+    }
+
+    assertEquals(100.0, metrics.getStepsPerSecond(), 1e-9);
+    assertEquals(25.0, metrics.getRendersPerSecond(), 1e-9);
+    assertEquals(25.0, metrics.snapshot().rendersPerSecond(), 1e-9);
+  }
+
+  /**
+   * Tests that a snapshot reports step and render latencies together.
+   */
+  @Test
+  void snapshot_StepsAndRenders_ReportsBothLatencies() {
+    GameOfLife blinker = createBlinker(new Grid(3, 3, GameOfLifeState.DEAD));
+    metrics.setSimulation(blinker);
+    metrics.recordStep(blinker, 2 * MILLI, 512);
+    metrics.recordRender(8 * MILLI);
+
+    SimulationMetrics.Snapshot snapshot = metrics.snapshot();
+
+    assertEquals(2.0, snapshot.stepLatencyP50Millis(), 1e-9);
+    assertEquals(8.0, snapshot.renderLatencyP99Millis(), 1e-9);
+    assertEquals(metrics.getGridMemoryFootprintBytes(), snapshot.gridFootprintBytes());
+  }
+
+  /**
+   * Tests that an infinite grid's expansions are reported among the simulation counters.
+   */
+  @Test
+  void getSimulationCounters_InfiniteGrid_ReportsExpansions() {
+    InfiniteGrid grid = new InfiniteGrid(3, 3, GameOfLifeState.DEAD);
+    GameOfLife blinker = createBlinker(grid);
+    grid.expandToInclude(-1, 3, -1, 3);
+
+    metrics.setSimulation(blinker);
+
+    assertEquals(1L, metrics.getSimulationCounters().get("gridExpansions"));
+  }
+
+  /**
+   * Tests that registered metrics are visible on the platform MBean server until unregistered.
+   */
+  @Test
+  void register_PlatformServer_ExposesAttributes() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = metrics.register();
+    try {
+      assertEquals(0L, server.getAttribute(name, "TotalSteps"));
+    } finally {
+      metrics.unregister();
+    }
+    assertFalse(server.isRegistered(name));
+  }
+
+  private GameOfLife createBlinker(Grid grid) {
+    int[] blinker = {0, 0, 0, 1, 1, 1, 0, 0, 0};
+    SimulationConfig config = new SimulationConfig("GameOfLife", "Blinker", "Test Author",
+        "Blinker", 3, 3, blinker, new HashMap<>(), "Default");
+    return new GameOfLife(config, grid);
+  }
+}
@@ -7,6 +7,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -84,6 +85,202 @@ public class XMLParserTest {
         });
     }
 
+    /**
+     * Verifies that a large initial_states grid is tokenized into the configuration in document order.
+     */
+    @Test
+    void testParseXMLFile_LargeInitialStates_ParsedInOrder(@TempDir Path tempDir) throws Exception {
+        int size = 300;
+        StringBuilder states = new StringBuilder();
+        int[] expected = new int[size * size];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (i % 7 == 0) ? 1 : 0;
+            states.append(expected[i]).append(i % size == size - 1 ? "\n" : " ");
+        }
+        File xmlFile = writeXmlFile(tempDir, size, "<initial_states>\n" + states + "</initial_states>");
+
+        SimulationConfig config = xmlParser.parseXMLFile(xmlFile.getAbsolutePath());
+
+        assertArrayEquals(expected, config.getInitialStates());
+    }
+
+    /**
+     * Verifies that initial states containing anything but numbers and whitespace are rejected.
+     */
+    @Test
+    void testParseXMLFile_InitialStatesWithLetters_ThrowsException(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 2, "<initial_states>0 1 x 0</initial_states>");
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+        assertTrue(e.getMessage().contains("only contain numbers and whitespace"));
+    }
+
+    /**
+     * Verifies that states outside the simulation's valid states are reported with their positions.
+     */
+    @Test
+    void testParseXMLFile_InitialStatesWithInvalidState_ReportsPosition(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 2, "<initial_states>0 1 5 0</initial_states>");
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+        assertTrue(e.getMessage().contains("Invalid cell states found at positions [2]"));
+    }
+
+    /**
+     * Verifies that a state far beyond the simulation's valid states is rejected as soon as it is
+     * read, rather than being recorded among the distinct states.
+     */
+    @Test
+    void testParseXMLFile_InitialStatesWithHugeState_RejectedAtToken(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 2, "<initial_states>0 1 2000000000 0</initial_states>");
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+        assertTrue(e.getMessage().contains("Invalid cell states found at positions [2]"));
+        assertTrue(e.getMessage().contains("2000000000"));
+    }
+
+    /**
+     * Verifies that a state too large for an int is rejected as an invalid state format.
+     */
+    @Test
+    void testParseXMLFile_InitialStatesOverflowingInt_ThrowsException(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 2, "<initial_states>0 1 99999999999999999999 0</initial_states>");
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+        assertTrue(e.getMessage().contains("All states must be integers"));
+    }
+
+    /**
+     * Verifies that initial states must fill the grid exactly.
+     */
+    @Test
+    void testParseXMLFile_InitialStatesWrongCount_ThrowsException(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 2, "<initial_states>0 1 0</initial_states>");
+
+        assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+    }
+
+    /**
+     * Verifies that run-length encoded initial states expand to one state per cell.
+     */
+    @Test
+    void testParseXMLFile_RunLengthInitialStates_Expanded(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 3, "<initial_states encoding=\"rle\">4*0 1\n 3*0 1</initial_states>");
+
+        SimulationConfig config = xmlParser.parseXMLFile(xmlFile.getAbsolutePath());
+
+        assertArrayEquals(new int[]{0, 0, 0, 0, 1, 0, 0, 0, 1}, config.getInitialStates());
+    }
+
+    /**
+     * Verifies that a run without a state is rejected.
+     */
+    @Test
+    void testParseXMLFile_RunLengthWithoutState_ThrowsException(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 2, "<initial_states encoding=\"rle\">3* 1</initial_states>");
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+        assertTrue(e.getMessage().contains("count*state"));
+    }
+
+    /**
+     * Verifies that runs describing more cells than the grid holds are rejected before expansion.
+     */
+    @Test
+    void testParseXMLFile_RunLengthTooLong_ThrowsException(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 2, "<initial_states encoding=\"rle\">2000000000*0</initial_states>");
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+        assertTrue(e.getMessage().contains("does not match grid size"));
+    }
+
+    /**
+     * Verifies that random states fill exactly the requested counts, even when they cover the whole grid.
+     */
+    @Test
+    void testParseXMLFile_RandomStatesFillGrid_ExactCounts(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 100, """
+                <random_states>
+                    <state value="1" count="7000"/>
+                    <state value="0" count="3000"/>
+                </random_states>""");
+
+        int[] states = xmlParser.parseXMLFile(xmlFile.getAbsolutePath()).getInitialStates();
+
+        assertEquals(10000, states.length);
+        assertEquals(7000, Arrays.stream(states).sum());
+    }
+
+    /**
+     * Verifies that the seed parameter makes random initial states reproducible.
+     */
+    @Test
+    void testParseXMLFile_RandomStatesWithSeed_Reproducible(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 30, """
+                <parameter name="seed" value="42"/>
+                <random_proportions>
+                    <state value="1" proportion="0.5"/>
+                </random_proportions>""");
+
+        int[] first = xmlParser.parseXMLFile(xmlFile.getAbsolutePath()).getInitialStates();
+        int[] second = xmlParser.parseXMLFile(xmlFile.getAbsolutePath()).getInitialStates();
+
+        assertArrayEquals(first, second);
+        assertEquals(450, Arrays.stream(first).sum());
+    }
+
+    /**
+     * Verifies that cell elements set their cells and leave the rest of the grid in state 0.
+     */
+    @Test
+    void testParseXMLFile_CellElements_SetListedCells(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 3,
+                "<cell row=\"0\" col=\"1\" state=\"1\"/><cell row=\"2\" col=\"2\" state=\"1\"/>");
+
+        SimulationConfig config = xmlParser.parseXMLFile(xmlFile.getAbsolutePath());
+
+        assertArrayEquals(new int[]{0, 1, 0, 0, 0, 0, 0, 0, 1}, config.getInitialStates());
+    }
+
+    /**
+     * Verifies that two cell elements at the same location are rejected.
+     */
+    @Test
+    void testParseXMLFile_DuplicateCellElements_ThrowsException(@TempDir Path tempDir) throws Exception {
+        File xmlFile = writeXmlFile(tempDir, 3,
+                "<cell row=\"1\" col=\"1\" state=\"1\"/><cell row=\"1\" col=\"1\" state=\"0\"/>");
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> xmlParser.parseXMLFile(xmlFile.getAbsolutePath()));
+        assertTrue(e.getMessage().contains("Duplicate cell locations"));
+    }
+
+    private File writeXmlFile(Path tempDir, int size, String grid) throws IOException {
+        String content = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <simulation>
+            <type>Game of Life</type>
+            <title>Streamed</title>
+            <author>Angela Predolac</author>
+            <description>Grid parsed while streaming</description>
+            <width>%d</width>
+            <height>%d</height>
+            %s
+        </simulation>
+        """.formatted(size, size, grid);
+
+        File xmlFile = tempDir.resolve("streamed_simulation.xml").toFile();
+        Files.writeString(xmlFile.toPath(), content);
+        return xmlFile;
+    }
+
     private File createValidXmlFile(Path tempDir) throws IOException {
         String validXmlContent = """
         <?xml version="1.0" encoding="UTF-8"?>
@@ -0,0 +1,110 @@
+package cellsociety.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.Grid;
+import cellsociety.model.state.FireState;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link XMLWriter}.
+ *
+ * @author angelapredolac
+ */
+public class XMLWriterTest {
+
+  /**
+   * Tests that a saved simulation parses back with the same metadata, parameters and states.
+   */
+  @Test
+  void save_FireSimulation_ParsesBack(@TempDir Path directory) throws Exception {
+    int[] states = {0, 1, 2, 1, 1, 1, 2, 0, 0, 1, 1, 2};
+    Map<String, Double> parameters = new HashMap<>();
+    parameters.put("fireProb", 0.125);
+    parameters.put("treeProb", 0.5);
+    SimulationConfig config = new SimulationConfig("Spreading of Fire", "Fire & Trees",
+        "Author", "Trees <burn>", 3, 4, states, parameters, "Rectangle");
+    Grid grid = BatchRunner.buildSimulation(config, null, null).getGrid();
+    Path file = directory.resolve("fire.xml");
+
+    new XMLWriter().save(config, grid, file.toString());
+    SimulationConfig loaded = new XMLParser().parseXMLFile(file.toString());
+
+    assertEquals("Fire & Trees", loaded.getTitle());
+    assertEquals("Trees <burn>", loaded.getDescription());
+    assertEquals(parameters, loaded.getParameters());
+    assertArrayEquals(states, loaded.getInitialStates());
+  }
+
+  /**
+   * Tests that a mostly empty grid is written as runs that parse back to the same states.
+   */
+  @Test
+  void save_SparseGrid_WritesRunsThatParseBack(@TempDir Path directory) throws Exception {
+    int[] states = new int[200 * 200];
+    states[4321] = 1;
+    states[4322] = 1;
+    states[39999] = 1;
+    SimulationConfig config = new SimulationConfig("Game of Life", "Sparse", "Author",
+        "Description", 200, 200, states, new HashMap<>(), "Rectangle");
+    Grid grid = BatchRunner.buildSimulation(config, null, null).getGrid();
+    Path file = directory.resolve("sparse.xml");
+
+    new XMLWriter().save(config, grid, file.toString());
+
+    String content = Files.readString(file);
+    assertTrue(content.contains("encoding=\"rle\""));
+    assertTrue(content.contains("4321*0 2*1 35676*0 1"));
+    assertArrayEquals(states, new XMLParser().parseXMLFile(file.toString()).getInitialStates());
+  }
+
+  /**
+   * Tests that a grid without long runs is written one cell at a time by default, and as runs
+   * when asked.
+   */
+  @Test
+  void save_ShortRuns_ChoosesEncoding(@TempDir Path directory) throws Exception {
+    int[] states = {0, 1, 0, 1, 1, 0, 0, 0, 1};
+    SimulationConfig config = new SimulationConfig("Game of Life", "Checks", "Author",
+        "Description", 3, 3, states, new HashMap<>(), "Rectangle");
+    Grid grid = BatchRunner.buildSimulation(config, null, null).getGrid();
+    Path plain = directory.resolve("plain.xml");
+    Path runs = directory.resolve("runs.xml");
+
+    new XMLWriter().save(config, grid, plain.toString());
+    new XMLWriter(XMLWriter.GridEncoding.RUN_LENGTH).save(config, grid, runs.toString());
+
+    assertFalse(Files.readString(plain).contains("encoding=\"rle\""));
+    assertTrue(Files.readString(runs).contains("0 1 0 2*1 3*0 1"));
+    assertArrayEquals(states, new XMLParser().parseXMLFile(runs.toString()).getInitialStates());
+  }
+
+  /**
+   * Tests that a save that fails part way leaves the existing file as it was.
+   */
+  @Test
+  void save_WritingFails_KeepsExistingFile(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("fire.xml");
+    Files.writeString(file, "previous");
+    SimulationConfig config = new SimulationConfig("Spreading of Fire", "Title", "Author",
+        "Description", 3, 4, new int[12], null, "Rectangle");
+    Grid grid = new Grid(3, 4, FireState.TREE);
+
+    assertThrows(NullPointerException.class,
+        () -> new XMLWriter().save(config, grid, file.toString()));
+
+    assertEquals("previous", Files.readString(file));
+    try (var files = Files.list(directory)) {
+      assertEquals(1, files.count());
+    }
+  }
+}
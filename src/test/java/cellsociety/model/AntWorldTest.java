@@ -0,0 +1,111 @@
+package cellsociety.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.state.AntState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link AntWorld}.
+ * <p>
+ * Verifies loading of the primitive layers from cell states, pheromone deposition, diffusion and
+ * publishing of derived view states.
+ * </p>
+ * Naming convention: * [UnitOfWork_StateUnderTest_ExpectedBehavior]
+ *
+ * @author Tatum McKinnis
+ */
+class AntWorldTest {
+
+  private static final double TOLERANCE = 1e-9;
+
+  private Grid grid;
+  private AntWorld world;
+
+  @BeforeEach
+  void setUp() {
+    grid = new Grid(3, 3, new AntState(false, false, false, 0, 0, 0));
+    grid.getCell(0, 0).setCurrentState(new AntState(true, false, false, 50, 0, 0));
+    grid.getCell(2, 2).setCurrentState(new AntState(false, false, true, 0, 0, 0));
+    world = new AntWorld(grid);
+  }
+
+  /**
+   * Tests that terrain and pheromones are read from the grid's cell states.
+   */
+  @Test
+  void load_GridWithNestAndObstacle_LayersMatchStates() {
+    assertEquals(AntWorld.NEST, world.getTerrain(world.indexOf(0, 0)));
+    assertEquals(AntWorld.OBSTACLE, world.getTerrain(world.indexOf(2, 2)));
+    assertEquals(AntWorld.EMPTY, world.getTerrain(world.indexOf(1, 1)));
+    assertEquals(50, world.getHomePheromone(world.indexOf(0, 0)), TOLERANCE);
+  }
+
+  /**
+   * Tests that deposits only ever raise the next-step pheromone level.
+   */
+  @Test
+  void deposit_LowerThanExisting_KeepsMaximum() {
+    int index = world.indexOf(1, 1);
+    world.beginStep();
+    world.deposit(index, 30, true);
+    world.deposit(index, 10, true);
+    world.evaporateAndDiffuse(0, 0, 100);
+
+    assertEquals(30, world.getFoodPheromone(index), TOLERANCE);
+  }
+
+  /**
+   * Tests that diffusion spreads pheromone evenly to every neighbor of an interior cell.
+   */
+  @Test
+  void evaporateAndDiffuse_InteriorSource_SpreadsToAllNeighbors() {
+    int center = world.indexOf(1, 1);
+    world.beginStep();
+    world.deposit(center, 80, true);
+    world.evaporateAndDiffuse(0, 0.5, 100);
+
+    assertEquals(40, world.getFoodPheromone(center), TOLERANCE);
+    assertEquals(5, world.getFoodPheromone(world.indexOf(1, 2)), TOLERANCE);
+    assertEquals(5, world.getFoodPheromone(world.indexOf(2, 1)), TOLERANCE);
+  }
+
+  /**
+   * Tests that a cell gaining its first ant gets the derived "ants present" state.
+   */
+  @Test
+  void commitAntCounts_AntEntersEmptyCell_PublishesDerivedState() {
+    int from = world.indexOf(0, 0);
+    int to = world.indexOf(0, 1);
+    world.beginStep();
+    world.moveAnt(from, to);
+    world.commitAntCounts();
+    grid.applyNextStates();
+
+    assertEquals(1, world.getAntCount(to));
+    AntState published = (AntState) grid.getCell(0, 1).getCurrentState();
+    assertEquals(1, published.getAntCount());
+    assertNotEquals(AntWorld.getTerrainState(AntWorld.EMPTY), published);
+  }
+
+  /**
+   * Tests that a snapshot shares the rows that did not change with the previous one and that
+   * restoring it brings back the captured layers.
+   */
+  @Test
+  void snapshot_OneRowChanged_SharesOtherRows() {
+    AntWorld.Snapshot first = world.snapshot(null);
+    world.beginStep();
+    world.deposit(world.indexOf(1, 1), 20, true);
+    world.evaporateAndDiffuse(0, 0, 100);
+
+    AntWorld.Snapshot second = world.snapshot(first);
+    world.restore(first);
+
+    long rowBytes = 16 + 8 * 3;
+    assertEquals(3 * (rowBytes + 3 * rowBytes), first.sizeInBytes());
+    assertEquals(3 * rowBytes + rowBytes, second.sizeInBytes());
+    assertEquals(0, world.getFoodPheromone(world.indexOf(1, 1)), TOLERANCE);
+  }
+}
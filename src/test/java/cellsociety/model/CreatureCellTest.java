@@ -254,8 +254,6 @@ public class CreatureCellTest {
 
     assertEquals(DarwinState.EMPTY, creatureCell.getCurrentState(),
         "Current state should be updated to EMPTY");
-    assertEquals(DarwinState.CREATURE, creatureCell.getPrevState(),
-        "Previous state should be updated to CREATURE");
   }
 
   /**
@@ -50,7 +50,7 @@ class DiseaseTest {
    */
   @Test
   void constructor_WithNullPattern_ThrowsException() {
-    assertThrows(IllegalArgumentException.class, () -> new Disease(null));
+    assertThrows(IllegalArgumentException.class, () -> new Disease((String) null));
   }
 
   /**
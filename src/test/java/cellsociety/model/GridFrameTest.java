@@ -0,0 +1,110 @@
+package cellsociety.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.state.MockState;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link GridFrame}.
+ *
+ * @author Tatum McKinnis
+ */
+class GridFrameTest {
+
+  /**
+   * Tests that a frame keeps the states it was captured with after the grid moves on.
+   */
+  @Test
+  void capture_GridChangesAfterwards_FrameKeepsCapturedStates() {
+    Grid grid = new Grid(2, 3, MockState.STATE_ONE);
+    grid.getCell(1, 2).setCurrentState(MockState.STATE_TWO);
+    Map<StateInterface, Double> counts = new HashMap<>(Map.of(MockState.STATE_ONE, 5.0));
+
+    GridFrame frame = GridFrame.capture(grid, 4, counts, null, null);
+    grid.getCell(0, 0).setCurrentState(MockState.STATE_TWO);
+    counts.put(MockState.STATE_ONE, 4.0);
+
+    assertEquals(4, frame.getIteration());
+    assertEquals(MockState.STATE_ONE, frame.getState(0));
+    assertEquals(MockState.STATE_TWO, frame.getState(5));
+    assertEquals(5.0, frame.getStateCounts().get(MockState.STATE_ONE));
+  }
+
+  /**
+   * Tests that a frame reports the cells that changed since the previous capture.
+   */
+  @Test
+  void capture_AfterStep_ReportsChangedCells() {
+    Grid grid = new Grid(2, 3, MockState.STATE_ONE);
+    GridFrame.capture(grid);
+
+    grid.getCell(0, 1).setNextState(MockState.STATE_TWO);
+    grid.applyNextStates();
+    GridFrame frame = GridFrame.capture(grid);
+
+    assertEquals(BitSet.valueOf(new long[]{1L << 1}), frame.getChangedCells());
+  }
+
+  /**
+   * Tests that the changes of a frame that was never drawn carry over into the next frame.
+   */
+  @Test
+  void capture_UndrawnFrame_FoldsInItsChangedCells() {
+    Grid grid = new Grid(2, 3, MockState.STATE_ONE);
+    GridFrame.capture(grid);
+    grid.getCell(0, 1).setNextState(MockState.STATE_TWO);
+    grid.applyNextStates();
+    GridFrame undrawn = GridFrame.capture(grid, 1, Map.of(), null, null);
+
+    grid.getCell(1, 0).setNextState(MockState.STATE_TWO);
+    grid.applyNextStates();
+    GridFrame frame = GridFrame.capture(grid, 2, Map.of(), undrawn, undrawn.releaseBuffer());
+
+    BitSet expected = new BitSet();
+    expected.set(1);
+    expected.set(3);
+    assertEquals(expected, frame.getChangedCells());
+    assertEquals(MockState.STATE_TWO, frame.getState(1));
+    assertEquals(MockState.STATE_TWO, frame.getState(3));
+  }
+
+  /**
+   * Tests that reusing an undrawn frame's buffer copies only the cells changed since that frame:
+   * a cell the grid did not change keeps whatever the buffer held, here a marker value.
+   */
+  @Test
+  void capture_UndrawnFrameBuffer_CopiesOnlyChangedCells() {
+    Grid grid = new Grid(2, 3, MockState.STATE_ONE);
+    GridFrame.capture(grid);
+    GridFrame undrawn = GridFrame.capture(grid, 1, Map.of(), null, null);
+    StateInterface[] buffer = undrawn.releaseBuffer();
+    buffer[4] = MockState.STATE_TWO;
+
+    grid.getCell(1, 0).setNextState(MockState.STATE_TWO);
+    grid.applyNextStates();
+    GridFrame frame = GridFrame.capture(grid, 2, Map.of(), undrawn, buffer);
+
+    assertSame(buffer, frame.releaseBuffer());
+    assertEquals(MockState.STATE_TWO, frame.getState(3));
+    assertEquals(MockState.STATE_TWO, frame.getState(4));
+    assertEquals(MockState.STATE_ONE, frame.getState(5));
+  }
+
+  /**
+   * Tests that a buffer of the wrong size is not used.
+   */
+  @Test
+  void capture_BufferWrongSize_AllocatesNewStates() {
+    Grid grid = new Grid(2, 3, MockState.STATE_ONE);
+    StateInterface[] small = new StateInterface[2];
+
+    GridFrame frame = GridFrame.capture(grid, 0, Map.of(), null, small);
+
+    assertNotSame(small, frame.releaseBuffer());
+    assertEquals(MockState.STATE_ONE, frame.getState(5));
+  }
+}
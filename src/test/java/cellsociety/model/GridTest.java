@@ -3,6 +3,8 @@ package cellsociety.model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import cellsociety.model.state.MockState;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -333,4 +335,71 @@ class GridTest {
     List<Cell> neighbors = grid.getNeighbors(2, 2);
     assertTrue(neighbors.size() > 8);
   }
-}
\ No newline at end of file
+
+  /**
+   * Tests that committing next states reports each changed cell to the registered listener.
+   * <p>
+   * Verifies that only cells whose state actually changes are reported.
+   * </p>
+   */
+  @Test
+  void applyNextStates_ListenerRegistered_ReportsChangedCells() {
+    Grid grid = new Grid(2, 2, MockState.STATE_ONE);
+    List<StateInterface> reported = new ArrayList<>();
+    grid.setStateChangeListener((index, before, after) -> reported.add(after));
+
+    grid.getCell(0, 1).setNextState(MockState.STATE_TWO);
+    grid.applyNextStates();
+
+    assertEquals(List.of(MockState.STATE_TWO), reported);
+  }
+
+  /**
+   * Tests that committing next states records the positions of the cells that changed.
+   * <p>
+   * Verifies that the changes are cleared once taken, so the next step starts empty.
+   * </p>
+   */
+  @Test
+  void takeChangedCells_AfterCommit_ReturnsChangedIndices() {
+    Grid grid = new Grid(3, 4, MockState.STATE_ONE);
+    grid.takeChangedCells();
+
+    grid.getCell(1, 2).setNextState(MockState.STATE_TWO);
+    grid.getCell(2, 0).setNextState(MockState.STATE_ONE);
+    grid.applyNextStates();
+
+    assertEquals(BitSet.valueOf(new long[]{1L << 6}), grid.takeChangedCells());
+    assertTrue(grid.takeChangedCells().isEmpty());
+  }
+
+  /**
+   * Tests that a new grid and a reset grid report every cell as changed.
+   */
+  @Test
+  void takeChangedCells_NewOrResetGrid_ReturnsEveryCell() {
+    Grid grid = new Grid(3, 4, MockState.STATE_ONE);
+    assertEquals(12, grid.takeChangedCells().cardinality());
+
+    grid.resetGrid(MockState.STATE_TWO);
+    assertEquals(12, grid.takeChangedCells().cardinality());
+  }
+
+  /**
+   * Tests that directly changed cells are reported once marked, and that marks outside the grid
+   * are ignored.
+   */
+  @Test
+  void markCellChanged_DirectChange_ReportsCell() {
+    Grid grid = new Grid(3, 4, MockState.STATE_ONE);
+    grid.takeChangedCells();
+
+    grid.getCell(2, 3).setCurrentState(MockState.STATE_TWO);
+    grid.markCellChanged(2, 3);
+    grid.markCellChanged(5, 5);
+
+    BitSet changed = grid.takeChangedCells();
+    assertEquals(1, changed.cardinality());
+    assertTrue(changed.get(11));
+  }
+}
@@ -160,4 +160,20 @@ class MirrorEdgeTest {
     EdgeStrategy mirrorEdge = new MirrorEdge();
     assertEquals("MIRROR", mirrorEdge.getType());
   }
-}
\ No newline at end of file
+
+  /**
+   * Tests index resolution for positions outside the grid.
+   * <p>
+   * Verifies that out-of-bounds coordinates resolve to the same cell that getCell returns.
+   * </p>
+   */
+  @Test
+  void resolveIndex_PositionOutsideGrid_MatchesMirroredCell() {
+    EdgeStrategy mirrorEdge = new MirrorEdge();
+    Grid grid = new Grid(5, 4, MockState.STATE_ONE);
+
+    assertEquals(0, mirrorEdge.resolveIndex(grid, -1, -1));
+    assertEquals(4 * 4 + 3, mirrorEdge.resolveIndex(grid, 5, 4));
+    assertEquals(2 * 4 + 1, mirrorEdge.resolveIndex(grid, 2, 1));
+  }
+}
@@ -0,0 +1,91 @@
+package cellsociety.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.state.GameOfLifeState;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link ScalarField}.
+ * <p>
+ * Verifies staged deposits, decay, diffusion and edge handling of grid scalar fields.
+ * </p>
+ * Naming convention: * [UnitOfWork_StateUnderTest_ExpectedBehavior]
+ *
+ * @author Tatum McKinnis
+ */
+class ScalarFieldTest {
+
+  private static final double TOLERANCE = 1e-9;
+
+  /**
+   * Tests that deposits are only visible after the step is committed.
+   */
+  @Test
+  void depositMax_BeforeCommit_CurrentValueUnchanged() {
+    ScalarField field = new ScalarField(new Grid(3, 3, GameOfLifeState.DEAD));
+    field.beginStep();
+    field.depositMax(4, 7);
+    field.depositMax(4, 3);
+
+    assertEquals(0, field.get(4), TOLERANCE);
+    field.commit();
+    assertEquals(7, field.get(4), TOLERANCE);
+  }
+
+  /**
+   * Tests that decay without diffusion scales every value.
+   */
+  @Test
+  void decayAndDiffuse_NoDiffusion_DecaysInPlace() {
+    ScalarField field = new ScalarField(new Grid(3, 3, GameOfLifeState.DEAD));
+    field.set(0, 10);
+    field.decayAndDiffuse(0.5, 0, 100);
+
+    assertEquals(5, field.get(0, 0), TOLERANCE);
+    assertEquals(0, field.get(1, 1), TOLERANCE);
+  }
+
+  /**
+   * Tests that a bounded grid loses the share that would spread off its edge.
+   */
+  @Test
+  void decayAndDiffuse_BoundedCorner_LosesOffGridShare() {
+    ScalarField field = new ScalarField(new Grid(3, 3, GameOfLifeState.DEAD));
+    field.set(0, 80);
+    field.decayAndDiffuse(0, 1, 100);
+
+    double total = 0;
+    for (int i = 0; i < field.size(); i++) {
+      total += field.get(i);
+    }
+    assertEquals(30, total, TOLERANCE);
+    assertEquals(10, field.get(1, 1), TOLERANCE);
+  }
+
+  /**
+   * Tests that a toroidal grid spreads values across its edges and conserves the total.
+   */
+  @Test
+  void decayAndDiffuse_ToroidalCorner_WrapsAroundEdges() {
+    Grid grid = new Grid(4, 4, GameOfLifeState.DEAD, new ToroidalEdge(), new MooreNeighborhood());
+    ScalarField field = new ScalarField(grid);
+    field.set(0, 80);
+    field.decayAndDiffuse(0, 1, 100);
+
+    assertEquals(10, field.get(3, 3), TOLERANCE);
+    assertEquals(10, field.get(0, 3), TOLERANCE);
+    assertEquals(0, field.get(0, 0), TOLERANCE);
+  }
+
+  /**
+   * Tests that the grid hands out the same named field until it is resized.
+   */
+  @Test
+  void getScalarField_SameName_ReturnsSameField() {
+    Grid grid = new Grid(2, 2, GameOfLifeState.DEAD);
+
+    assertSame(grid.getScalarField("pollution"), grid.getScalarField("pollution"));
+    assertNotSame(grid.getScalarField("pollution"), grid.getScalarField("chemical"));
+  }
+}
@@ -147,4 +147,33 @@ public class SpeciesTest {
     assertEquals(Instruction.Type.GO, largeSpecies.getInstruction(999).getType());
     assertEquals(1000, largeSpecies.getInstruction(999).getParameter());
   }
+
+  /**
+   * Tests that the compiled program stores opcodes and parameters, resolving jump targets.
+   */
+  @Test
+  void getCompiledProgram_JumpInstructions_TargetsResolvedAtLoad() {
+    List<Instruction> jumpProgram = List.of(
+        new Instruction(Instruction.Type.IFENEMY, 2),
+        new Instruction(Instruction.Type.MOVE, 1),
+        new Instruction(Instruction.Type.GO, 3));
+    Species jumpSpecies = new Species("Jumper", "#0000FF", jumpProgram);
+
+    int[] compiled = jumpSpecies.getCompiledProgram();
+
+    assertArrayEquals(new int[]{Instruction.OP_IFENEMY, 2, Instruction.OP_MOVE, 1,
+            Instruction.OP_GO, 0}, compiled,
+        "Jump past the end of the program should wrap to the first instruction");
+  }
+
+  /**
+   * Tests that a negative jump target is rejected when the species is created.
+   */
+  @Test
+  void constructor_NegativeJumpTarget_ThrowsIllegalArgumentException() {
+    List<Instruction> badProgram = List.of(new Instruction(Instruction.Type.GO, -1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Species("Bad", "#000000", badProgram),
+        "Negative jump targets should be rejected at load time");
+  }
 }
@@ -0,0 +1,128 @@
+package cellsociety.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.state.GameOfLifeState;
+import java.util.BitSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link StateHistory}.
+ * <p>
+ * Verifies recording of keyframes and deltas, rewinding by several generations and eviction of
+ * old frames.
+ * </p>
+ * Naming convention: * [UnitOfWork_StateUnderTest_ExpectedBehavior]
+ *
+ * @author Tatum McKinnis
+ */
+class StateHistoryTest {
+
+  private Grid grid;
+
+  @BeforeEach
+  void setUp() {
+    grid = new Grid(2, 2, GameOfLifeState.DEAD);
+  }
+
+  /**
+   * Tests that rewinding across keyframes and deltas restores each recorded generation.
+   */
+  @Test
+  void rewind_SeveralGenerations_RestoresRecordedStates() {
+    StateHistory history = new StateHistory(2, 100, 1 << 20);
+    history.record(grid);
+    for (int i = 0; i < 4; i++) {
+      grid.getCell(i / 2, i % 2).setCurrentState(GameOfLifeState.ALIVE);
+      history.record(grid);
+    }
+
+    assertTrue(history.rewind(grid, 3));
+    assertEquals(GameOfLifeState.ALIVE, grid.getCell(0, 0).getCurrentState());
+    assertEquals(GameOfLifeState.DEAD, grid.getCell(0, 1).getCurrentState());
+    assertEquals(1, history.getDepth());
+
+    assertTrue(history.rewind(grid, 1));
+    assertEquals(GameOfLifeState.DEAD, grid.getCell(0, 0).getCurrentState());
+    assertFalse(history.rewind(grid, 1));
+  }
+
+  /**
+   * Tests that the frame limit drops the oldest generations but keeps the rest restorable.
+   */
+  @Test
+  void record_OverFrameLimit_DropsOldestFrames() {
+    StateHistory history = new StateHistory(8, 3, 1 << 20);
+    for (int i = 0; i < 4; i++) {
+      grid.getCell(i / 2, i % 2).setCurrentState(GameOfLifeState.ALIVE);
+      history.record(grid);
+    }
+
+    assertEquals(2, history.getDepth());
+    assertTrue(history.rewind(grid, 2));
+    assertEquals(GameOfLifeState.ALIVE, grid.getCell(0, 1).getCurrentState());
+    assertEquals(GameOfLifeState.DEAD, grid.getCell(1, 0).getCurrentState());
+  }
+
+  /**
+   * Tests that rewinding does not leave a stale next state behind.
+   */
+  @Test
+  void rewind_CellWithPendingNextState_ResetsNextState() {
+    StateHistory history = new StateHistory();
+    history.record(grid);
+    grid.getCell(0, 0).setCurrentState(GameOfLifeState.ALIVE);
+    history.record(grid);
+    grid.getCell(1, 1).setNextState(GameOfLifeState.ALIVE);
+
+    history.rewind(grid, 1);
+
+    assertEquals(GameOfLifeState.DEAD, grid.getCell(1, 1).getNextState());
+  }
+
+  /**
+   * Tests that frames after a rewind can be advanced through again until a new frame is recorded.
+   */
+  @Test
+  void advance_AfterRewind_RestoresLaterGenerations() {
+    StateHistory history = new StateHistory(2, 100, 1 << 20);
+    history.record(grid);
+    for (int i = 0; i < 3; i++) {
+      grid.getCell(i / 2, i % 2).setCurrentState(GameOfLifeState.ALIVE);
+      history.record(grid);
+    }
+    history.rewind(grid, 3);
+
+    assertTrue(history.advance(grid, 2));
+    assertEquals(GameOfLifeState.ALIVE, grid.getCell(0, 1).getCurrentState());
+    assertEquals(GameOfLifeState.DEAD, grid.getCell(1, 0).getCurrentState());
+    assertEquals(2, history.getDepth());
+    assertEquals(1, history.getForwardDepth());
+
+    history.record(grid);
+    assertEquals(0, history.getForwardDepth());
+    assertFalse(history.advance(grid, 1));
+  }
+
+  /**
+   * Tests that recording with a set of changed cells encodes only those cells.
+   */
+  @Test
+  void record_ChangedCellsGiven_EncodesOnlyThoseCells() {
+    StateHistory history = new StateHistory();
+    history.record(grid);
+    grid.getCell(0, 0).setCurrentState(GameOfLifeState.ALIVE);
+    grid.getCell(1, 1).setCurrentState(GameOfLifeState.ALIVE);
+    BitSet changed = new BitSet();
+    changed.set(3);
+    history.record(grid, changed, null);
+    grid.getCell(0, 0).setCurrentState(GameOfLifeState.DEAD);
+    grid.getCell(1, 1).setCurrentState(GameOfLifeState.DEAD);
+    history.record(grid, changed, null);
+
+    assertTrue(history.rewind(grid, 1));
+    assertEquals(GameOfLifeState.DEAD, grid.getCell(0, 0).getCurrentState());
+    assertEquals(GameOfLifeState.ALIVE, grid.getCell(1, 1).getCurrentState());
+  }
+}
@@ -143,4 +143,20 @@ class ToroidalEdgeTest {
     EdgeStrategy toroidalEdge = new ToroidalEdge();
     assertEquals("TOROIDAL", toroidalEdge.getType());
   }
+
+  /**
+   * Tests index resolution for positions outside the grid.
+   * <p>
+   * Verifies that out-of-bounds coordinates resolve to the flat index of the wrapped cell.
+   * </p>
+   */
+  @Test
+  void resolveIndex_PositionOutsideGrid_ReturnsWrappedIndex() {
+    EdgeStrategy toroidalEdge = new ToroidalEdge();
+    Grid grid = new Grid(5, 4, MockState.STATE_ONE);
+
+    assertEquals(2 * 4 + 3, toroidalEdge.resolveIndex(grid, 2, 3));
+    assertEquals(4 * 4 + 3, toroidalEdge.resolveIndex(grid, -1, -1));
+    assertEquals(1, toroidalEdge.resolveIndex(grid, 5, 5));
+  }
 }
@@ -2,8 +2,9 @@ package cellsociety.model.simulations;
 
 import cellsociety.controller.SimulationConfig;
 import cellsociety.model.Ant;
-import cellsociety.model.Cell;
+import cellsociety.model.AntWorld;
 import cellsociety.model.Grid;
+import cellsociety.model.ScalarField;
 import cellsociety.model.state.AntState;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * Test class for {@link AntSimulation} functionality.
@@ -117,9 +119,7 @@ class AntSimulationTest {
 
     simulation.applyRules();
 
-    Cell currentCell = testGrid.getCell(testAnt.getRow(), testAnt.getCol());
-    AntState state = (AntState) currentCell.getCurrentState();
-    assertTrue(state.getHomePheromone() > 0,
+    assertTrue(simulation.getHomePheromone(testAnt.getRow(), testAnt.getCol()) > 0,
         "Should deposit home pheromones when returning");
   }
 
@@ -134,13 +134,12 @@ class AntSimulationTest {
     Grid testGrid = createTestGrid();
     AntSimulation simulation = new AntSimulation(testConfig, testGrid);
 
+    ScalarField foodPheromone = testGrid.getScalarField(AntWorld.FOOD_FIELD);
     for (int i = 0; i <= FOOD_ROW - NEST_ROW; i++) {
       int row = NEST_ROW + i;
       int col = NEST_COL + i;
       double expectedFood = AntSimulation.getMaxPheromone() - (i * 20);
-      testGrid.getCell(row, col).setCurrentState(
-          new AntState(false, false, false, 0, expectedFood, 0)
-      );
+      foodPheromone.set(row * GRID_SIZE + col, expectedFood);
     }
 
     simulation.applyRules();
@@ -151,12 +150,12 @@ class AntSimulationTest {
       int nextRow = currentRow + 1;
       int nextCol = currentCol + 1;
 
-      AntState current = (AntState) testGrid.getCell(currentRow, currentCol).getCurrentState();
-      AntState next = (AntState) testGrid.getCell(nextRow, nextCol).getCurrentState();
+      double current = simulation.getFoodPheromone(currentRow, currentCol);
+      double next = simulation.getFoodPheromone(nextRow, nextCol);
 
-      assertTrue(current.getFoodPheromone() > next.getFoodPheromone(),
+      assertTrue(current > next,
           () -> String.format("Food pheromone should decrease from %.1f to %.1f",
-              current.getFoodPheromone(), next.getFoodPheromone()));
+              current, next));
     }
   }
 
@@ -232,4 +231,100 @@ class AntSimulationTest {
     AntSimulation simulation = new AntSimulation(testConfig, emptyGrid);
     assertTrue(simulation.getAnts().isEmpty());
   }
+
+  /**
+   * Tests that a seeded colony large enough to be processed in parallel moves the same way on
+   * every run.
+   */
+  @Test
+  void AntSimulation_SameSeedLargeColony_ProducesSameMoves() {
+    AntSimulation first = new AntSimulation(createLargeColonyConfig(), createTestGrid());
+    AntSimulation second = new AntSimulation(createLargeColonyConfig(), createTestGrid());
+
+    for (int step = 0; step < 3; step++) {
+      first.applyRules();
+      second.applyRules();
+    }
+
+    for (int i = 0; i < first.getAnts().size(); i++) {
+      Ant a = first.getAnts().get(i);
+      Ant b = second.getAnts().get(i);
+      assertEquals(a.getRow(), b.getRow());
+      assertEquals(a.getCol(), b.getCol());
+      assertEquals(a.hasFood(), b.hasFood());
+    }
+  }
+
+  /**
+   * Tests that competing moves never push a cell beyond its capacity.
+   * <p>
+   * Only the nest starts over capacity; every other cell must stay within the limit of 10 ants.
+   * </p>
+   */
+  @Test
+  void AntSimulation_LargeColonyContention_CellCapacityRespected() {
+    AntSimulation simulation = new AntSimulation(createLargeColonyConfig(), createTestGrid());
+
+    for (int step = 0; step < 3; step++) {
+      simulation.applyRules();
+      for (int r = 0; r < GRID_SIZE; r++) {
+        for (int c = 0; c < GRID_SIZE; c++) {
+          if (r != NEST_ROW || c != NEST_COL) {
+            assertTrue(simulation.getAntCount(r, c) <= 10);
+          }
+        }
+      }
+    }
+    assertEquals(5000, simulation.getAnts().size());
+  }
+
+  /**
+   * Creates a seeded configuration with enough ants to use parallel processing.
+   *
+   * @return configuration for a large colony
+   */
+  private SimulationConfig createLargeColonyConfig() {
+    Map<String, Double> params = new HashMap<>();
+    params.put("numAnts", 5000.0);
+    params.put("seed", 42.0);
+    return new SimulationConfig("AntForaging", "Ant Simulation", "Test Author",
+        "Test Description", GRID_SIZE, GRID_SIZE,
+        new int[GRID_SIZE * GRID_SIZE], params, "Default");
+  }
+
+  /**
+   * Tests that stepping back restores the ants and pheromones, so a seeded replay repeats the
+   * original run.
+   */
+  @Test
+  void AntSimulation_StepBackAndReplay_RepeatsOriginalRun() {
+    testConfig.getParameters().put("seed", 7.0);
+    AntSimulation simulation = new AntSimulation(testConfig, createTestGrid());
+    simulation.step();
+    int[] positions = antPositions(simulation);
+    double food = simulation.getFoodPheromone(NEST_ROW + 1, NEST_COL + 1);
+
+    simulation.step();
+    simulation.step();
+    int[] later = antPositions(simulation);
+    assertTrue(simulation.stepBack(2));
+
+    assertArrayEquals(positions, antPositions(simulation));
+    assertEquals(food, simulation.getFoodPheromone(NEST_ROW + 1, NEST_COL + 1), 1e-9);
+    simulation.step();
+    simulation.step();
+    assertArrayEquals(later, antPositions(simulation));
+  }
+
+  /**
+   * Collects the row and column of every ant.
+   *
+   * @param simulation the simulation
+   * @return row and column pairs in ant order
+   */
+  private int[] antPositions(AntSimulation simulation) {
+    return simulation.getAnts().stream()
+        .flatMapToInt(ant -> IntStream.of(ant.getRow(), ant.getCol()))
+        .toArray();
+  }
 }
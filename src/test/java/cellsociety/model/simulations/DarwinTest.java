@@ -322,4 +322,23 @@ public class DarwinTest {
     assertEquals(testSpecies2, registry.get("Infector"),
         "Registry should have correct species object");
   }
+
+  /**
+   * Tests that stepping back restores a creature's infection countdown and species.
+   */
+  @Test
+  void stepBack_InfectedCreature_RestoresInfectionState() {
+    CreatureCell targetCell = new CreatureCell(DarwinState.CREATURE, testSpecies1, 180);
+    grid.setCellAt(1, 2, targetCell);
+    targetCell.setInfection(testSpecies2, 5);
+
+    darwin.step();
+    darwin.step();
+    assertEquals(3, targetCell.getInfectionStepsRemaining());
+
+    assertTrue(darwin.stepBack(2));
+    assertEquals(5, targetCell.getInfectionStepsRemaining());
+    assertEquals(testSpecies2, targetCell.getSpecies());
+    assertEquals(testSpecies1, targetCell.getOriginalSpecies());
+  }
 }
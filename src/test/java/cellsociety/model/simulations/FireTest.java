@@ -6,6 +6,7 @@ import cellsociety.model.Cell;
 import cellsociety.model.Grid;
 import cellsociety.model.state.FireState;
 import cellsociety.controller.SimulationConfig;
+import java.util.BitSet;
 import java.util.HashMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -229,8 +230,28 @@ class FireTest {
             "An ignition probability greater than 1 should throw an IllegalArgumentException.")
     );
   }
-}
-
 
+  /**
+   * step: A step should commit through the grid, so the cells whose state changed are reported
+   * to views and the iteration count advances. Input: Center cell burning, left neighbor a tree,
+   * all others empty.
+   */
+  @Test
+  void step_FireSpreads_ReportsChangedCells() {
+    Fire fireSim = new Fire(simulationConfig, grid, 0.0, 0.0);
+    grid.getCell(1, 1).setCurrentState(FireState.BURNING);
+    grid.getCell(1, 0).setCurrentState(FireState.TREE);
+    grid.takeChangedCells();
 
+    fireSim.step();
 
+    assertEquals(FireState.BURNT, grid.getCell(1, 1).getCurrentState());
+    assertEquals(FireState.BURNING, grid.getCell(1, 0).getCurrentState());
+    BitSet expected = new BitSet();
+    expected.set(1 * 3 + 0);
+    expected.set(1 * 3 + 1);
+    assertEquals(expected, grid.takeChangedCells());
+    assertEquals(2, fireSim.getCellsChangedLastStep());
+    assertEquals(1, fireSim.retrieveIterationCount());
+  }
+}
@@ -5,10 +5,16 @@ import static org.junit.jupiter.api.Assertions.*;
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
 import cellsociety.model.state.GameOfLifeState;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import cellsociety.controller.SimulationConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 /**
  * Combined JUnit tests for the GameOfLife simulation. Naming convention:
@@ -171,6 +177,136 @@ public class GameOfLifeTest {
         "Constructing GameOfLife with null SimulationConfig should throw NullPointerException.");
   }
 
-}
+  /**
+   * step: State counts follow the cells that change during a commit. Input: A horizontal blinker
+   * in the middle row of a 3x3 grid, stepped twice.
+   */
+  @Test
+  void step_BlinkerOscillates_StateCountsTrackChanges() {
+    int[] blinker = {0, 0, 0, 1, 1, 1, 0, 0, 0};
+    SimulationConfig config = new SimulationConfig("GameOfLife", "Blinker", "Test Author",
+        "Blinker", 3, 3, blinker, new HashMap<>(), "Default");
+    GameOfLife blinkerSimulation = new GameOfLife(config, new Grid(3, 3, GameOfLifeState.DEAD));
+
+    assertEquals(3.0, blinkerSimulation.getStateCounts().get(GameOfLifeState.ALIVE));
+    blinkerSimulation.step();
+    assertEquals(GameOfLifeState.ALIVE,
+        blinkerSimulation.getGrid().getCell(0, 1).getCurrentState());
+    assertEquals(3.0, blinkerSimulation.getStateCounts().get(GameOfLifeState.ALIVE));
+    assertEquals(6.0, blinkerSimulation.getStateCounts().get(GameOfLifeState.DEAD));
+    blinkerSimulation.step();
+    assertEquals(3.0, blinkerSimulation.getStateCounts().get(GameOfLifeState.ALIVE));
+  }
+
+  /**
+   * getStateCounts: The returned view cannot be modified. Input: Attempt to put a count.
+   */
+  @Test
+  void getStateCounts_PutAttempt_ThrowsUnsupportedOperationException() {
+    assertThrows(UnsupportedOperationException.class,
+        () -> simulation.getStateCounts().put(GameOfLifeState.ALIVE, 1.0));
+  }
+
+  /**
+   * stepBack: The simulation can rewind several generations in one call. Input: A blinker stepped
+   * three times, then rewound three generations.
+   */
+  @Test
+  void stepBack_ThreeGenerations_RestoresInitialGrid() {
+    int[] blinker = {0, 0, 0, 1, 1, 1, 0, 0, 0};
+    SimulationConfig config = new SimulationConfig("GameOfLife", "Blinker", "Test Author",
+        "Blinker", 3, 3, blinker, new HashMap<>(), "Default");
+    GameOfLife blinkerSimulation = new GameOfLife(config, new Grid(3, 3, GameOfLifeState.DEAD));
+    for (int i = 0; i < 3; i++) {
+      blinkerSimulation.step();
+    }
+
+    assertEquals(3, blinkerSimulation.getStepBackDepth());
+    assertTrue(blinkerSimulation.stepBackOnce());
+    assertTrue(blinkerSimulation.stepBack(2));
+    assertEquals(0, blinkerSimulation.retrieveIterationCount());
+    assertEquals(GameOfLifeState.ALIVE,
+        blinkerSimulation.getGrid().getCell(1, 0).getCurrentState());
+    assertEquals(GameOfLifeState.DEAD,
+        blinkerSimulation.getGrid().getCell(0, 1).getCurrentState());
+    assertFalse(blinkerSimulation.stepBackOnce());
+  }
+
+  /**
+   * stepForward: Generations stepped back over can be replayed until the simulation steps again.
+   * Input: A blinker stepped three times, rewound two generations and replayed one.
+   */
+  @Test
+  void stepForward_AfterStepBack_ReplaysRecordedGeneration() {
+    int[] blinker = {0, 0, 0, 1, 1, 1, 0, 0, 0};
+    SimulationConfig config = new SimulationConfig("GameOfLife", "Blinker", "Test Author",
+        "Blinker", 3, 3, blinker, new HashMap<>(), "Default");
+    GameOfLife blinkerSimulation = new GameOfLife(config, new Grid(3, 3, GameOfLifeState.DEAD));
+    for (int i = 0; i < 3; i++) {
+      blinkerSimulation.step();
+    }
+    assertTrue(blinkerSimulation.stepBack(2));
+
+    assertEquals(2, blinkerSimulation.getStepForwardDepth());
+    assertTrue(blinkerSimulation.stepForward(1));
+    assertEquals(2, blinkerSimulation.retrieveIterationCount());
+    assertEquals(GameOfLifeState.ALIVE,
+        blinkerSimulation.getGrid().getCell(1, 0).getCurrentState());
+    assertEquals(GameOfLifeState.DEAD,
+        blinkerSimulation.getGrid().getCell(0, 1).getCurrentState());
+
+    blinkerSimulation.step();
+    assertEquals(0, blinkerSimulation.getStepForwardDepth());
+    assertFalse(blinkerSimulation.stepForward(1));
+  }
+
+  /**
+   * step: The simulation reports how many cells changed state. Input: A blinker, which turns two
+   * cells on and two cells off each generation.
+   */
+  @Test
+  void step_Blinker_CountsChangedCells() {
+    GameOfLife blinkerSimulation = createBlinker();
+
+    blinkerSimulation.step();
+
+    assertEquals(4, blinkerSimulation.getCellsChangedLastStep());
+  }
 
+  /**
+   * step: With a flight recording running, each step commits a commit-phase event describing the
+   * simulation. Input: A blinker stepped once while recording.
+   */
+  @Test
+  void step_FlightRecordingEnabled_EmitsCommitEvent(@TempDir Path tempDir) throws Exception {
+    GameOfLife blinkerSimulation = createBlinker();
+    Path dump = tempDir.resolve("step.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("cellsociety.Commit");
+      recording.start();
+      blinkerSimulation.step();
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+        .filter(event -> event.getEventType().getName().equals("cellsociety.Commit"))
+        .toList();
+    assertEquals(1, events.size());
+    assertEquals("GameOfLife", events.get(0).getString("simulationType"));
+    assertEquals(3, events.get(0).getInt("rows"));
+    assertEquals(4, events.get(0).getLong("cellsChanged"));
+  }
 
+  /**
+   * Creates a horizontal blinker on a 3x3 grid.
+   *
+   * @return the blinker simulation
+   */
+  private GameOfLife createBlinker() {
+    int[] blinker = {0, 0, 0, 1, 1, 1, 0, 0, 0};
+    SimulationConfig config = new SimulationConfig("GameOfLife", "Blinker", "Test Author",
+        "Blinker", 3, 3, blinker, new HashMap<>(), "Default");
+    return new GameOfLife(config, new Grid(3, 3, GameOfLifeState.DEAD));
+  }
+}
@@ -7,9 +7,14 @@ import cellsociety.controller.SimulationConfig;
 import cellsociety.model.*;
 import cellsociety.model.LoanManager;
 import cellsociety.model.state.SugarScapeState;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test class for SugarScape simulation. Tests the core functionality of the SugarScape simulation
@@ -150,6 +155,32 @@ public class SugarScapeTest {
     inOrder.verify(mockDiseaseManager).applyDiseaseRules(any());
   }
 
+  /**
+   * Tests that lending and loan repayment are recorded as one flight recorder event each per
+   * tick.
+   */
+  @Test
+  void applyRules_FlightRecordingEnabled_EmitsOneLendingEventPerTick(@TempDir Path tempDir)
+      throws Exception {
+    Path dump = tempDir.resolve("tick.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("cellsociety.sugarscape.Lending");
+      recording.enable("cellsociety.sugarscape.LoanRepayment");
+      recording.start();
+      sugarScape.applyRules();
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    List<String> lending = List.of("cellsociety.sugarscape.Lending",
+        "cellsociety.sugarscape.LoanRepayment");
+    List<String> names = RecordingFile.readAllEvents(dump).stream()
+        .map(event -> event.getEventType().getName())
+        .filter(lending::contains)
+        .toList();
+    assertEquals(lending, names);
+  }
+
   /**
    * Tests that dead agents are properly removed from the simulation.
    */
@@ -0,0 +1,34 @@
+package cellsociety.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PerformanceHud}.
+ *
+ * @author Alana Zinkin
+ */
+class PerformanceHudTest {
+
+  /**
+   * Tests that nested groups and their leaves are all counted.
+   */
+  @Test
+  void countNodes_NestedGroups_CountsEveryNode() {
+    Group inner = new Group(new Rectangle(), new Rectangle());
+    Group root = new Group(inner, new Rectangle());
+
+    assertEquals(5, PerformanceHud.countNodes(root));
+  }
+
+  /**
+   * Tests that a missing scene root counts as no nodes.
+   */
+  @Test
+  void countNodes_NullRoot_ReturnsZero() {
+    assertEquals(0, PerformanceHud.countNodes(null));
+  }
+}
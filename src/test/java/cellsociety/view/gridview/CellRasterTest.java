@@ -0,0 +1,113 @@
+package cellsociety.view.gridview;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CellRaster}.
+ *
+ * @author Alana Zinkin
+ */
+class CellRasterTest {
+
+  private static final int RECTANGLE = CellRaster.SHAPES.indexOf("Rectangle");
+  private static final int TRIANGLE = CellRaster.SHAPES.indexOf("Triangle");
+
+  /**
+   * Traces cells as 10 x 10 squares, or upward triangles filling the same square.
+   */
+  private static int traceSquares(int row, int col, int shape, double[] xs, double[] ys) {
+    double x = col * 10;
+    double y = row * 10;
+    if (shape == TRIANGLE) {
+      xs[0] = x;
+      ys[0] = y + 10;
+      xs[1] = x + 10;
+      ys[1] = y + 10;
+      xs[2] = x + 5;
+      ys[2] = y;
+      return 3;
+    }
+    xs[0] = x;
+    ys[0] = y;
+    xs[1] = x + 10;
+    ys[1] = y;
+    xs[2] = x + 10;
+    ys[2] = y + 10;
+    xs[3] = x;
+    ys[3] = y + 10;
+    return 4;
+  }
+
+  /**
+   * Tests that each pixel of a square layout belongs to the cell drawn over it.
+   */
+  @Test
+  void build_SquareCells_MapsPixelsToCells() {
+    CellRaster raster = CellRaster.build(2, 3, CellRasterTest::traceSquares, RECTANGLE,
+        List.of(RECTANGLE), false);
+
+    assertEquals(30, raster.getWidth());
+    assertEquals(20, raster.getHeight());
+    assertEquals(0, raster.cellAt(0, 0));
+    assertEquals(2, raster.cellAt(29, 9));
+    assertEquals(4, raster.cellAt(15, 15));
+    assertEquals(5, raster.cellAt(29, 19));
+  }
+
+  /**
+   * Tests that a shape smaller than its slot only covers the pixels inside it.
+   */
+  @Test
+  void build_TriangleInSquareSlot_MarksOnlyTrianglePixels() {
+    CellRaster raster = CellRaster.build(1, 1, CellRasterTest::traceSquares, RECTANGLE,
+        List.of(RECTANGLE, TRIANGLE), false);
+    int triangleBit = CellRaster.fillBit(TRIANGLE);
+
+    assertEquals(0, raster.shapeMask()[0] & triangleBit);
+    assertNotEquals(0, raster.shapeMask()[9 * 10 + 5] & triangleBit);
+    assertNotEquals(0, raster.shapeMask()[0] & CellRaster.fillBit(RECTANGLE));
+  }
+
+  /**
+   * Tests that outlines mark the pixels along cell borders but not inside cells.
+   */
+  @Test
+  void build_Outlined_MarksBorderPixels() {
+    CellRaster raster = CellRaster.build(2, 2, CellRasterTest::traceSquares, RECTANGLE,
+        List.of(RECTANGLE), true);
+    int borderBit = CellRaster.borderBit(RECTANGLE);
+
+    assertNotEquals(0, raster.shapeMask()[9] & borderBit);
+    assertNotEquals(0, raster.shapeMask()[10] & borderBit);
+    assertEquals(0, raster.shapeMask()[5 * 20 + 5] & borderBit);
+  }
+
+  /**
+   * Tests that cells smaller than a pixel are sampled, so every pixel still shows a cell.
+   */
+  @Test
+  void build_CellsSmallerThanPixels_SamplesEveryPixel() {
+    CellRaster raster = CellRaster.build(400, 400, (row, col, shape, xs, ys) -> {
+      double size = 0.25;
+      xs[0] = col * size;
+      ys[0] = row * size;
+      xs[1] = (col + 1) * size;
+      ys[1] = row * size;
+      xs[2] = (col + 1) * size;
+      ys[2] = (row + 1) * size;
+      xs[3] = col * size;
+      ys[3] = (row + 1) * size;
+      return 4;
+    }, RECTANGLE, List.of(RECTANGLE), false);
+
+    assertEquals(100, raster.getWidth());
+    for (int cell : raster.cells()) {
+      assertNotEquals(CellRaster.NO_CELL, cell);
+    }
+    assertEquals(2 * 400 + 2, raster.cellAt(0, 0));
+  }
+}
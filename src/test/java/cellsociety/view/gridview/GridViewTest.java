@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import cellsociety.controller.SimulationConfig;
 import cellsociety.controller.SimulationController;
 import cellsociety.model.Grid;
+import cellsociety.model.GridFrame;
 import cellsociety.model.Simulation;
 import cellsociety.model.simulations.GameOfLife;
 import cellsociety.model.state.GameOfLifeState;
@@ -23,6 +24,8 @@ import java.util.Map;
 import java.util.ResourceBundle;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.shape.Shape;
@@ -243,4 +246,64 @@ class GridViewTest extends DukeApplicationTest {
     });
   }
 
-}
\ No newline at end of file
+  @Test
+  public void createGridView_CanvasViewSelected_DrawsCellsAsOneImage() {
+    runAsJFXAction(() -> {
+      CanvasGridView gridView = new CanvasGridView(myController, mySimulationConfig, myGrid);
+      try {
+        gridView.createGridDisplay(myRoot, mySimulation.getColorMap(), mySimulationConfig);
+      } catch (ReflectiveOperationException e) {
+        throw new RuntimeException(e);
+      }
+      assertTrue(gridView.getImmutableCellsList().isEmpty());
+      CellRaster raster = gridView.getRaster();
+      assertEquals(800, raster.getWidth());
+      assertEquals(600, raster.getHeight());
+      assertEquals(0, raster.cellAt(0, 0));
+      assertEquals(24, raster.cellAt(799, 599));
+    });
+  }
+
+  @Test
+  public void findCellAt_CanvasViewMousePosition_ReturnsCellUnderMouse() {
+    runAsJFXAction(() -> {
+      CanvasGridView gridView = new CanvasGridView(myController, mySimulationConfig, myGrid);
+      try {
+        gridView.createGridDisplay(myRoot, mySimulation.getColorMap(), mySimulationConfig);
+      } catch (ReflectiveOperationException e) {
+        throw new RuntimeException(e);
+      }
+      assertEquals(0, gridView.findCellAt(mouseMovedTo(5, 5)));
+      assertEquals(24, gridView.findCellAt(mouseMovedTo(795, 595)));
+      assertEquals(GridView.NO_CELL, gridView.findCellAt(mouseMovedTo(900, 5)));
+    });
+  }
+
+  @Test
+  public void renderFrame_CanvasViewFrameLargerThanGrid_RebuildsRasterForFrame() {
+    runAsJFXAction(() -> {
+      CanvasGridView gridView = new CanvasGridView(myController, mySimulationConfig, myGrid);
+      try {
+        gridView.createGridDisplay(myRoot, mySimulation.getColorMap(), mySimulationConfig);
+      } catch (ReflectiveOperationException e) {
+        throw new RuntimeException(e);
+      }
+      GridFrame largerFrame = GridFrame.capture(new Grid(10, 10, GameOfLifeState.DEAD));
+
+      gridView.renderFrame(largerFrame, mySimulation.getColorMap(), mySimulationConfig);
+
+      CellRaster raster = gridView.getRaster();
+      assertEquals(800, raster.getWidth());
+      assertEquals(600, raster.getHeight());
+      assertEquals(0, raster.cellAt(0, 0));
+      assertEquals(99, raster.cellAt(799, 599));
+      assertEquals(11, gridView.findCellAt(mouseMovedTo(85, 65)));
+    });
+  }
+
+  private MouseEvent mouseMovedTo(double x, double y) {
+    return new MouseEvent(MouseEvent.MOUSE_MOVED, x, y, x, y, MouseButton.NONE, 0, false, false,
+        false, false, false, false, false, false, false, false, null);
+  }
+
+}
@@ -0,0 +1,76 @@
+package cellsociety.view.shapefactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CellShapeRegistry}.
+ *
+ * @author Alana Zinkin
+ */
+public class CellShapeRegistryTest {
+
+  private final CellShapeRegistry registry = new CellShapeRegistry();
+
+  /**
+   * Tests that a factory is only loaded once per shape.
+   */
+  @Test
+  void getFactory_SameShapeTwice_ReturnsSameFactory() throws Exception {
+    CellShapeFactory first = registry.getFactory("Triangle");
+
+    assertInstanceOf(TriangleCellFactory.class, first);
+    assertSame(first, registry.getFactory("Triangle"));
+  }
+
+  /**
+   * Tests that copied shapes have the factory's outline but are separate nodes.
+   */
+  @Test
+  void createShape_SameShapeTwice_ReturnsSeparateCopiesOfOutline() throws Exception {
+    Polygon expected = (Polygon) new HexagonCellFactory().createCellShape(20, 10, true).getShape();
+
+    Shape first = registry.createShape("Hexagon", 20, 10, true);
+    Shape second = registry.createShape("Hexagon", 20, 10, true);
+
+    assertNotSame(first, second);
+    assertEquals(expected.getPoints(), ((Polygon) first).getPoints());
+    assertEquals(expected.getPoints(), ((Polygon) second).getPoints());
+  }
+
+  /**
+   * Tests that orientation and size are part of what makes a shape.
+   */
+  @Test
+  void createShape_DifferentOrientationAndSize_TracesEachOutline() throws Exception {
+    Polygon upward = (Polygon) registry.createShape("Triangle", 10, 10, true);
+    Polygon downward = (Polygon) registry.createShape("Triangle", 10, 10, false);
+    Rectangle small = (Rectangle) registry.createShape("Rectangle", 5, 5, true);
+    Rectangle large = (Rectangle) registry.createShape("Rectangle", 8, 6, true);
+
+    assertEquals(((Polygon) new TriangleCellFactory().createCellShape(10, 10, false).getShape())
+        .getPoints(), downward.getPoints());
+    assertNotEquals(upward.getPoints(), downward.getPoints());
+    assertEquals(5, small.getWidth());
+    assertEquals(8, large.getWidth());
+    assertEquals(6, large.getHeight());
+  }
+
+  /**
+   * Tests that an unknown shape is reported as a missing factory class.
+   */
+  @Test
+  void createShape_UnknownShape_ThrowsClassNotFound() {
+    assertThrows(ClassNotFoundException.class,
+        () -> registry.createShape("Octagon", 10, 10, true));
+  }
+}